@@ -1,114 +1,253 @@
 package controller;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
-import javafx.beans.property.SimpleStringProperty;
+import export.CsvExporter;
 import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.util.Duration;
 import model.AuditLog;
-import repository.AuditLogRepository;
+import search.AuditLogSearchIndex;
+import search.FilterEngine;
+import search.LazyPagedList;
 
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * Kontroler za ekran prikaza revizijskog traga (Audit Log).
  * Upravlja učitavanjem, prikazom i filtriranjem zapisa o promjenama u sustavu.
  */
-public class AuditLogController {
+public class AuditLogController implements ScreenLifecycle {
 
     @FXML
-    private TableView<AuditLog> auditLogTable;
+    private TableView<AuditLogRow> auditLogTable;
 
     @FXML
-    private TableColumn<AuditLog, String> actionColumn;
+    private TableColumn<AuditLogRow, String> actionColumn;
 
     @FXML
-    private TableColumn<AuditLog, String> entityColumn;
+    private TableColumn<AuditLogRow, String> entityColumn;
 
     @FXML
-    private TableColumn<AuditLog, String> oldValueColumn;
+    private TableColumn<AuditLogRow, String> oldValueColumn;
 
     @FXML
-    private TableColumn<AuditLog, String> newValueColumn;
+    private TableColumn<AuditLogRow, String> newValueColumn;
 
     @FXML
-    private TableColumn<AuditLog, String> roleColumn;
+    private TableColumn<AuditLogRow, String> roleColumn;
 
     @FXML
-    private TableColumn<AuditLog, String> timestampColumn;
+    private TableColumn<AuditLogRow, String> timestampColumn;
 
     @FXML
     private ComboBox<String> actionFilterComboBox;
 
     @FXML
-    private DatePicker dateFilterPicker;
+    private DatePicker fromDatePicker;
 
-    private final AuditLogRepository auditLogRepository = new AuditLogRepository();
-    private final ObservableList<AuditLog> auditLogList = FXCollections.observableArrayList();
+    @FXML
+    private DatePicker toDatePicker;
+
+    @FXML
+    private TextField searchTextField;
+
+    @FXML
+    private Button exportButton;
+
+    @FXML
+    private ProgressBar exportProgressBar;
+
+    @FXML
+    private ProgressIndicator loadingIndicator;
+
+    private final CsvExporter csvExporter = new CsvExporter();
+    private final AuditLogSearchIndex auditLogSearchIndex = AuditLogSearchIndex.getInstance();
+    private final ScreenTasks tasks = new ScreenTasks();
+    private static final int PAGE_SIZE = 200;
+    private LazyPagedList<AuditLogRow> shownLogs;
 
     /**
      * Inicijalizira kontroler nakon što je FXML datoteka učitana.
-     * Postavlja tvornice vrijednosti za stupce tablice, popunjava filtere
-     * i pokreće učitavanje podataka.
+     * Postavlja tvornice vrijednosti za stupce tablice i popunjava filtere.
+     * Indikator učitavanja je vidljiv dok se zapisi traže u pozadini. Tablica učitava zapise po stranicama,
+     * a klik na zaglavlje stupca ponovno pokreće pretragu, koja zapise poreda u indeksu.
      */
     public void initialize() {
-        actionColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().action()));
-        entityColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().entityName()));
-        oldValueColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().oldValue()));
-        newValueColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().newValue()));
-        roleColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().userRole()));
-        timestampColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().timestamp()));
-
-        actionFilterComboBox.setItems(FXCollections.observableArrayList("ALL", "ADD", "UPDATE", "DELETE", "UPDATE STATUS"));
+        PagedTableSupport.bindText(actionColumn, AuditLogRow::actionProperty);
+        PagedTableSupport.bindText(entityColumn, AuditLogRow::entityNameProperty);
+        PagedTableSupport.bindText(oldValueColumn, AuditLogRow::oldValueProperty);
+        PagedTableSupport.bindText(newValueColumn, AuditLogRow::newValueProperty);
+        PagedTableSupport.bindText(roleColumn, AuditLogRow::userRoleProperty);
+        PagedTableSupport.bindText(timestampColumn, AuditLogRow::timestampProperty);
+        PagedTableSupport.sortOnServer(auditLogTable, this::sortAuditLogs);
+
+        actionFilterComboBox.setItems(FXCollections.observableArrayList("ALL", "ADD", "UPDATE", "DELETE", "UPDATE STATUS", "IMPORT"));
         actionFilterComboBox.setValue("ALL");
 
-        loadAuditLogs();
-
         actionFilterComboBox.setOnAction(event -> filterAuditLogs());
-        dateFilterPicker.setOnAction(event -> filterAuditLogs());
+        fromDatePicker.setOnAction(event -> filterAuditLogs());
+        toDatePicker.setOnAction(event -> filterAuditLogs());
+        searchTextField.textProperty().addListener((observable, oldValue, newValue) -> filterAuditLogs());
+        loadingIndicator.visibleProperty().bind(tasks.busyProperty());
     }
 
     /**
-     * Učitava zapise iz audit log datoteke koristeći {@link Timeline}.
-     * Akcija se pokreće s malim zakašnjenjem kako bi se osiguralo da je UI spreman.
-     * Budući da se izvršava na JavaFX Application Threadu, ovo rješenje je prikladno
-     * samo za brze I/O operacije koje neće blokirati korisničko sučelje.
+     * Vraća filtere u početno stanje i ponovno učitava zapise, uključujući one nastale dok ekran nije bio prikazan.
      */
-    private void loadAuditLogs() {
-        Timeline timeline = new Timeline(
-                new KeyFrame(Duration.millis(100), event -> {
-                    List<AuditLog> logs = auditLogRepository.readAuditLogs();
-                    auditLogList.setAll(logs);
-                    auditLogTable.setItems(auditLogList);
-                })
-        );
-        timeline.setCycleCount(1);
-        timeline.play();
+    @Override
+    public void onShow() {
+        actionFilterComboBox.setValue("ALL");
+        fromDatePicker.setValue(null);
+        toDatePicker.setValue(null);
+        searchTextField.clear();
+        auditLogTable.getSortOrder().clear();
+        filterAuditLogs();
+    }
+
+    /**
+     * Otkazuje učitavanje zapisa u tijeku i prestaje učitavati stranice prikazanih zapisa.
+     */
+    @Override
+    public void onHide() {
+        tasks.cancelLoads();
+        if (shownLogs != null) {
+            shownLogs.close();
+        }
     }
 
     /**
      * Filtrira prikazane zapise u tablici na temelju odabranih vrijednosti
-     * u ComboBox-u za akciju i DatePicker-u za datum.
+     * u ComboBox-u za akciju, rasponu datuma i teksta pretrage.
+     * Zapisi koji sadrže tražene riječi pronalaze se u invertiranom indeksu unutar raspona datuma,
+     * a akcija se provjerava samo nad njima. Indeks pri tome čita samo nove zapise iz audit datoteke.
+     * Pretraga se izvodi u pozadini, a prethodna pretraga koja se još izvodi se otkazuje.
+     * Tablica zatim čita samo stranice pronađenih zapisa koje prikazuje, poredane prema stupcu tablice,
+     * a svaka stranica se pri učitavanju pretvara u retke s gotovim tekstovima stupaca.
      */
     private void filterAuditLogs() {
+        String text = searchTextField.getText();
+        Instant from = rangeStart();
+        Instant to = rangeEnd();
+        FilterEngine<AuditLog> filter = buildFilter();
+        Comparator<AuditLog> order = sortOrder();
+
+        tasks.cancelLoads();
+        tasks.load("Loading audit log", () -> auditLogSearchIndex.searchPages(text, from, to, filter, order, PAGE_SIZE)
+                        .mapPages(page -> page.stream().map(AuditLogRow::new).toList()),
+                logs -> {
+                    if (shownLogs != null) {
+                        shownLogs.close();
+                    }
+                    shownLogs = new LazyPagedList<>(logs, e -> showLoadError(e.getMessage()));
+                    auditLogTable.setItems(shownLogs);
+                });
+    }
+
+    /**
+     * Poziva se kada korisnik promijeni poredavanje tablice i ponovno pokreće pretragu s novim redoslijedom.
+     * Prije prvog prikaza ekrana nema zapisa za poredati, pa se pretraga ne pokreće.
+     */
+    private void sortAuditLogs() {
+        if (shownLogs != null) {
+            filterAuditLogs();
+        }
+    }
+
+    /**
+     * Određuje redoslijed zapisa prema prvom stupcu po kojem je tablica poredana.
+     * Vrijeme se uspoređuje kao trenutak, a ne kao tekst.
+     * @return Redoslijed zapisa ili {@code null} ako tablica nije poredana, pa se zapisi prikazuju redom kojim su zapisani.
+     */
+    private Comparator<AuditLog> sortOrder() {
+        if (auditLogTable.getSortOrder().isEmpty()) {
+            return null;
+        }
+
+        TableColumn<AuditLogRow, ?> column = auditLogTable.getSortOrder().get(0);
+        Comparator<AuditLog> order;
+        if (column == timestampColumn) {
+            order = Comparator.comparing(AuditLog::instant, Comparator.nullsFirst(Comparator.naturalOrder()));
+        } else {
+            order = Comparator.comparing(columnValue(column), Comparator.nullsFirst(Comparator.naturalOrder()));
+        }
+        return column.getSortType() == TableColumn.SortType.ASCENDING ? order : order.reversed();
+    }
+
+    /**
+     * Vraća vrijednost zapisa koja se prikazuje u zadanom tekstualnom stupcu.
+     * @param column Stupac tablice.
+     * @return Funkcija koja za zapis vraća vrijednost stupca.
+     */
+    private Function<AuditLog, String> columnValue(TableColumn<AuditLogRow, ?> column) {
+        if (column == actionColumn) {
+            return AuditLog::action;
+        } else if (column == entityColumn) {
+            return AuditLog::entityName;
+        } else if (column == oldValueColumn) {
+            return AuditLog::oldValue;
+        } else if (column == newValueColumn) {
+            return AuditLog::newValue;
+        }
+        return AuditLog::userRole;
+    }
+
+    /**
+     * Prikazuje poruku o grešci pri učitavanju stranice zapisa.
+     * @param message Poruka greške.
+     */
+    private void showLoadError(String message) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("Loading Audit Log Failed");
+        alert.setHeaderText("Error");
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+
+    /**
+     * Stvara uvjet filtriranja iz trenutno odabrane akcije.
+     * @return Uvjet koji zapis mora zadovoljiti da bi bio prikazan.
+     */
+    private FilterEngine<AuditLog> buildFilter() {
         String selectedAction = actionFilterComboBox.getValue();
-        LocalDate selectedDate = dateFilterPicker.getValue();
 
-        List<AuditLog> filteredLogs = auditLogList.stream()
-                .filter(log -> "ALL".equalsIgnoreCase(selectedAction) || log.action().equalsIgnoreCase(selectedAction))
-                .filter(log -> {
-                    if (selectedDate == null) {
-                        return true;
-                    }
-                    return log.timestamp().startsWith(selectedDate.format(DateTimeFormatter.ISO_LOCAL_DATE));
-                })
-                .toList();
+        return FilterEngine.<AuditLog>builder()
+                .equalsIgnoreCase(AuditLog::action, "ALL".equalsIgnoreCase(selectedAction) ? null : selectedAction)
+                .build();
+    }
+
+    /**
+     * Vraća početak odabranog raspona datuma: početak dana "od".
+     * @return Početak raspona ili {@code null} ako datum "od" nije odabran.
+     */
+    private Instant rangeStart() {
+        LocalDate fromDate = fromDatePicker.getValue();
+        return fromDate == null ? null : fromDate.atStartOfDay(ZoneId.systemDefault()).toInstant();
+    }
 
-        auditLogTable.setItems(FXCollections.observableArrayList(filteredLogs));
+    /**
+     * Vraća kraj odabranog raspona datuma: početak dana nakon dana "do", kako bi dan "do" bio uključen u raspon.
+     * @return Kraj raspona ili {@code null} ako datum "do" nije odabran.
+     */
+    private Instant rangeEnd() {
+        LocalDate toDate = toDatePicker.getValue();
+        return toDate == null ? null : toDate.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant();
+    }
+
+    /**
+     * Izvozi zapise koji zadovoljavaju trenutni filter u CSV datoteku.
+     * Zapisi iz odabranog raspona datuma čitaju se izravno iz audit datoteke u pozadini,
+     * a napredak se prikazuje u traci napretka.
+     */
+    public void exportAuditLogs() {
+        Instant from = rangeStart();
+        Instant to = rangeEnd();
+        Predicate<AuditLog> filter = buildFilter().and(AuditLogSearchIndex.matchingText(searchTextField.getText()));
+        CsvExportSupport.exportInBackground(exportButton, exportProgressBar, "audit_log.csv",
+                (target, progress) -> csvExporter.exportAuditLogs(from, to, filter, target, progress),
+                () -> -1);
     }
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package controller;
+
+import javafx.beans.property.ReadOnlyStringProperty;
+import model.AuditLog;
+
+/**
+ * Nepromjenjivi redak tablice revizijskog traga. Tekstovi stupaca izračunavaju se jednom, kada stigne stranica zapisa,
+ * pa tablica pri iscrtavanju ćelija ne stvara nova svojstva.
+ */
+final class AuditLogRow {
+
+    private final ReadOnlyStringProperty action;
+    private final ReadOnlyStringProperty entityName;
+    private final ReadOnlyStringProperty oldValue;
+    private final ReadOnlyStringProperty newValue;
+    private final ReadOnlyStringProperty userRole;
+    private final ReadOnlyStringProperty timestamp;
+
+    /**
+     * Stvara redak za zapis.
+     *
+     * @param auditLog Zapis revizijskog traga.
+     */
+    AuditLogRow(AuditLog auditLog) {
+        this.action = PagedTableSupport.text(auditLog.action());
+        this.entityName = PagedTableSupport.text(auditLog.entityName());
+        this.oldValue = PagedTableSupport.text(auditLog.oldValue());
+        this.newValue = PagedTableSupport.text(auditLog.newValue());
+        this.userRole = PagedTableSupport.text(auditLog.userRole());
+        this.timestamp = PagedTableSupport.text(auditLog.localTimestamp());
+    }
+
+    ReadOnlyStringProperty actionProperty() {
+        return action;
+    }
+
+    ReadOnlyStringProperty entityNameProperty() {
+        return entityName;
+    }
+
+    ReadOnlyStringProperty oldValueProperty() {
+        return oldValue;
+    }
+
+    ReadOnlyStringProperty newValueProperty() {
+        return newValue;
+    }
+
+    ReadOnlyStringProperty userRoleProperty() {
+        return userRole;
+    }
+
+    ReadOnlyStringProperty timestampProperty() {
+        return timestamp;
+    }
+}
@@ -0,0 +1,38 @@
+package controller;
+
+import enums.EntityType;
+import event.ChangeEvent;
+import event.ChangeEventBus;
+import javafx.application.Platform;
+
+import java.util.function.Consumer;
+
+/**
+ * Pomoćna klasa za povezivanje ekrana sa sabirnicom događaja o promjenama podataka.
+ */
+final class ChangeEventSupport {
+
+    /**
+     * Privatni konstruktor kako bi se spriječilo stvaranje instanci.
+     */
+    private ChangeEventSupport() {
+    }
+
+    /**
+     * Pretplaćuje obrađivač na promjene zadane vrste entiteta. Događaji se obrađuju na JavaFX dretvi.
+     * Ekran zatvara pretplatu kada se skrije (npr. u {@link ScreenLifecycle#onHide()}).
+     *
+     * @param entityType Vrsta entiteta čije se promjene prate.
+     * @param handler Obrađivač događaja.
+     * @return Pretplata koju treba zatvoriti kada ekran više ne prima promjene.
+     */
+    static ChangeEventBus.Subscription subscribeOnFxThread(EntityType entityType, Consumer<ChangeEvent> handler) {
+        return ChangeEventBus.subscribe(entityType, event -> {
+            if (Platform.isFxApplicationThread()) {
+                handler.accept(event);
+            } else {
+                Platform.runLater(() -> handler.accept(event));
+            }
+        });
+    }
+}
@@ -0,0 +1,61 @@
+package controller;
+
+import javafx.beans.property.ReadOnlyStringProperty;
+import model.Client;
+import model.ClientSummary;
+
+/**
+ * Nepromjenjivi redak tablice klijenata, s brojem prijedloga i udjelom odobrenih prijedloga klijenta.
+ * Tekstovi stupaca izračunavaju se jednom, kada stigne stranica rezultata,
+ * pa tablica pri iscrtavanju ćelija ne stvara nova svojstva.
+ */
+final class ClientRow {
+
+    private final ReadOnlyStringProperty name;
+    private final ReadOnlyStringProperty email;
+    private final ReadOnlyStringProperty phone;
+    private final ReadOnlyStringProperty company;
+    private final ReadOnlyStringProperty proposals;
+    private final ReadOnlyStringProperty approvedRatio;
+
+    /**
+     * Stvara redak za klijenta i broj njegovih prijedloga.
+     *
+     * @param summary Klijent s brojem prijedloga.
+     */
+    ClientRow(ClientSummary summary) {
+        Client client = summary.client();
+        this.name = PagedTableSupport.text(client.getName());
+        this.email = PagedTableSupport.text(client.getEmail());
+        this.phone = PagedTableSupport.text(client.getPhone());
+        this.company = PagedTableSupport.text(client.getCompany());
+        this.proposals = PagedTableSupport.text(Long.toString(summary.proposalCount()));
+        this.approvedRatio = PagedTableSupport.text(summary.proposalCount() == 0
+                ? "-"
+                : String.format("%.0f%%", summary.approvedRatio() * 100));
+    }
+
+    ReadOnlyStringProperty nameProperty() {
+        return name;
+    }
+
+    ReadOnlyStringProperty emailProperty() {
+        return email;
+    }
+
+    ReadOnlyStringProperty phoneProperty() {
+        return phone;
+    }
+
+    ReadOnlyStringProperty companyProperty() {
+        return company;
+    }
+
+    ReadOnlyStringProperty proposalsProperty() {
+        return proposals;
+    }
+
+    ReadOnlyStringProperty approvedRatioProperty() {
+        return approvedRatio;
+    }
+}
@@ -1,22 +1,27 @@
 package controller;
 
-import javafx.beans.property.SimpleStringProperty;
+import enums.EntityType;
+import export.CsvExporter;
 import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import model.Client;
-import repository.AbstractRepository;
+import model.ClientSearchCriteria;
+import model.ClientSummary;
+import model.Page;
 import repository.ClientDatabaseRepository;
+import repository.QueryCancellation;
+import search.QueryResultCache;
+import search.SearchExecutor;
 
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.List;
 
 /**
  * Kontroler za ekran pretrage klijenata.
  * Omogućuje filtriranje i prikaz klijenata iz baze podataka.
  */
-public class ClientSearchController {
+public class ClientSearchController implements ScreenLifecycle {
 
     @FXML
     private TextField clientNameTextField;
@@ -31,71 +36,223 @@ public class ClientSearchController {
     private TextField clientCompanyTextField;
 
     @FXML
-    private TableView<Client> clientTableView;
+    private TableView<ClientRow> clientTableView;
 
     @FXML
-    private TableColumn<Client, String> clientNameTableColumn;
+    private TableColumn<ClientRow, String> clientNameTableColumn;
 
     @FXML
-    private TableColumn<Client, String> clientEmailTableColumn;
+    private TableColumn<ClientRow, String> clientEmailTableColumn;
 
     @FXML
-    private TableColumn<Client, String> clientPhoneTableColumn;
+    private TableColumn<ClientRow, String> clientPhoneTableColumn;
 
     @FXML
-    private TableColumn<Client, String> clientCompanyTableColumn;
+    private TableColumn<ClientRow, String> clientCompanyTableColumn;
 
-    private final AbstractRepository<Client> clientRepository = new ClientDatabaseRepository<>();
+    @FXML
+    private TableColumn<ClientRow, String> clientProposalsTableColumn;
+
+    @FXML
+    private TableColumn<ClientRow, String> clientApprovedRatioTableColumn;
+
+    @FXML
+    private Button exportButton;
+
+    @FXML
+    private ProgressBar exportProgressBar;
+
+    @FXML
+    private Button previousPageButton;
+
+    @FXML
+    private Button nextPageButton;
+
+    @FXML
+    private Label pageLabel;
+
+    @FXML
+    private ProgressIndicator loadingIndicator;
+
+    private static final int PAGE_SIZE = 100;
+
+    private final ClientDatabaseRepository<Client> clientRepository = new ClientDatabaseRepository<>();
+    private final CsvExporter csvExporter = new CsvExporter();
+    private final SearchExecutor<Page<ClientRow>> searchExecutor = new SearchExecutor<>("client-search",
+            Duration.ofMillis(300), this::showClients, this::showSearchError);
+    private ClientSearchCriteria activeCriteria;
+    private static final QueryResultCache<PageQuery, Page<ClientRow>> SEARCH_CACHE =
+            new QueryResultCache<>("client-search", 64, EntityType.CLIENT, EntityType.PROPOSAL);
+
+    /**
+     * Ključ međuspremnika rezultata: normalizirani kriteriji i redni broj stranice.
+     */
+    private record PageQuery(ClientSearchCriteria criteria, int pageIndex) {}
+    private int requestedPageIndex;
 
     /**
      * Inicijalizira kontroler, postavljajući tvornice vrijednosti za stupce tablice
      * kako bi se podaci o klijentima ispravno prikazali.
+     * Promjena bilo kojeg polja za pretragu pokreće pretragu u pozadini nakon kratke stanke u unosu
+     * i vraća prikaz na prvu stranicu rezultata.
      */
     public void initialize() {
-        clientNameTableColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getName()));
-        clientEmailTableColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getEmail()));
-        clientPhoneTableColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getPhone()));
-        clientCompanyTableColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getCompany()));
+        PagedTableSupport.bindText(clientNameTableColumn, ClientRow::nameProperty);
+        PagedTableSupport.bindText(clientEmailTableColumn, ClientRow::emailProperty);
+        PagedTableSupport.bindText(clientPhoneTableColumn, ClientRow::phoneProperty);
+        PagedTableSupport.bindText(clientCompanyTableColumn, ClientRow::companyProperty);
+        PagedTableSupport.bindText(clientProposalsTableColumn, ClientRow::proposalsProperty);
+        PagedTableSupport.bindText(clientApprovedRatioTableColumn, ClientRow::approvedRatioProperty);
+
+        for (TextField searchField : List.of(clientNameTextField, clientEmailTextField, clientPhoneTextField, clientCompanyTextField)) {
+            searchField.textProperty().addListener((observable, oldValue, newValue) -> {
+                ClientSearchCriteria criteria = buildSearchCriteria();
+                activeCriteria = criteria;
+                requestedPageIndex = 0;
+                searchExecutor.submit(cancellation -> findPage(criteria, 0, cancellation));
+            });
+        }
+        loadingIndicator.visibleProperty().bind(searchExecutor.searchingProperty());
     }
 
     /**
-     * Filtrira klijente na temelju unesenih vrijednosti u tekstualna polja.
-     * Dohvaća sve klijente, a zatim primjenjuje filtere za ime, email, telefon i tvrtku.
-     * Ažurira TableView s filtriranim rezultatima.
+     * Vraća ekran u početno stanje (prazna polja za pretragu) i prikazuje prvu stranicu svih klijenata.
      */
-    public void filterClients(){
-        List<Client> clientList;
-        clientList = clientRepository.findAll();
-
-        String clientName = clientNameTextField.getText();
-        if (!clientName.isEmpty()) {
-            clientList = new ArrayList<>(clientList.stream()
-                    .filter(client -> client.getName().toLowerCase().contains(clientName.toLowerCase()))
-                    .toList());
+    @Override
+    public void onShow() {
+        for (TextField searchField : List.of(clientNameTextField, clientEmailTextField, clientPhoneTextField, clientCompanyTextField)) {
+            searchField.clear();
         }
+        filterClients();
+    }
 
-        String clientEmail = clientEmailTextField.getText();
-        if (!clientEmail.isEmpty()) {
-            clientList = new ArrayList<>(clientList.stream()
-                    .filter(client -> client.getEmail().toLowerCase().contains(clientEmail.toLowerCase()))
-                    .toList());
-        }
+    /**
+     * Otkazuje pretragu u tijeku.
+     */
+    @Override
+    public void onHide() {
+        searchExecutor.cancel();
+        SEARCH_CACHE.logStats();
+    }
 
-        String clientPhone = clientPhoneTextField.getText();
-        if (!clientPhone.isEmpty()) {
-            clientList = new ArrayList<>(clientList.stream()
-                    .filter(client -> client.getPhone().toLowerCase().contains(clientPhone.toLowerCase()))
-                    .toList());
-        }
+    /**
+     * Zaustavlja pozadinske dretve pretrage.
+     */
+    @Override
+    public void onDispose() {
+        searchExecutor.close();
+    }
 
-        String clientCompany = clientCompanyTextField.getText();
-        if (!clientCompany.isEmpty()) {
-            clientList = new ArrayList<>(clientList.stream()
-                    .filter(client -> client.getCompany().toLowerCase().contains(clientCompany.toLowerCase()))
-                    .toList());
+    /**
+     * Filtrira klijente na temelju unesenih vrijednosti u tekstualna polja (ime, email, telefon i tvrtka).
+     * Upit se odmah pokreće u pozadini, a prethodna pretraga koja se još izvodi se otkazuje.
+     * Ažurira TableView s prvom stranicom filtriranih rezultata.
+     */
+    public void filterClients(){
+        activeCriteria = buildSearchCriteria();
+        showPage(0);
+    }
+
+    /**
+     * Prikazuje prethodnu stranicu rezultata trenutne pretrage.
+     */
+    public void showPreviousPage() {
+        showPage(requestedPageIndex - 1);
+    }
+
+    /**
+     * Prikazuje sljedeću stranicu rezultata trenutne pretrage.
+     */
+    public void showNextPage() {
+        showPage(requestedPageIndex + 1);
+    }
+
+    /**
+     * Odmah dohvaća zadanu stranicu rezultata trenutne pretrage u pozadini.
+     * @param pageIndex Redni broj stranice, počevši od 0.
+     */
+    private void showPage(int pageIndex) {
+        ClientSearchCriteria criteria = activeCriteria;
+        requestedPageIndex = Math.max(0, pageIndex);
+        int index = requestedPageIndex;
+        searchExecutor.submitNow(cancellation -> findPage(criteria, index, cancellation));
+    }
+
+    /**
+     * Dohvaća stranicu klijenata iz međuspremnika rezultata ili iz baze podataka; ako je stranica iza zadnje
+     * (npr. jer su klijenti u međuvremenu obrisani), dohvaća zadnju postojeću stranicu.
+     * @param criteria Kriteriji pretrage.
+     * @param pageIndex Redni broj stranice, počevši od 0.
+     * @param cancellation Oznaka preko koje se upit može otkazati.
+     * @return Stranica redaka s klijentima.
+     */
+    private Page<ClientRow> findPage(ClientSearchCriteria criteria, int pageIndex, QueryCancellation cancellation) {
+        ClientSearchCriteria normalizedCriteria = criteria.normalized();
+        Page<ClientRow> page = findCachedPage(normalizedCriteria, pageIndex, cancellation);
+        if (page.items().isEmpty() && page.pageIndex() >= page.totalPages()) {
+            page = findCachedPage(normalizedCriteria, page.totalPages() - 1, cancellation);
         }
+        return page;
+    }
 
-        ObservableList<Client> categoryObservableList = FXCollections.observableList(clientList);
-        clientTableView.setItems(categoryObservableList);
+    /**
+     * Dohvaća stranicu iz međuspremnika ili iz baze; klijenti se zajedno s brojem prijedloga čitaju jednim upitom
+     * i pretvaraju u retke tablice jednom, prije spremanja u međuspremnik. Budući da retci prikazuju i broj
+     * prijedloga, spremljene stranice zastarijevaju i pri promjeni prijedloga.
+     */
+    private Page<ClientRow> findCachedPage(ClientSearchCriteria criteria, int pageIndex, QueryCancellation cancellation) {
+        return SEARCH_CACHE.get(new PageQuery(criteria, pageIndex), () -> {
+            Page<ClientSummary> page = clientRepository.findSummaryPage(criteria, pageIndex, PAGE_SIZE, cancellation);
+            List<ClientRow> rows = page.items().stream().map(ClientRow::new).toList();
+            return new Page<>(rows, page.totalCount(), page.pageIndex(), page.pageSize());
+        });
+    }
+
+    /**
+     * Stvara kriterije pretrage iz trenutnih vrijednosti polja za pretragu.
+     * @return Kriteriji pretrage.
+     */
+    private ClientSearchCriteria buildSearchCriteria() {
+        return new ClientSearchCriteria(
+                clientNameTextField.getText(),
+                clientEmailTextField.getText(),
+                clientPhoneTextField.getText(),
+                clientCompanyTextField.getText());
+    }
+
+    /**
+     * Prikazuje stranicu rezultata pretrage u tablici i ažurira kontrole za promjenu stranice.
+     * @param page Stranica redaka s pronađenim klijentima.
+     */
+    private void showClients(Page<ClientRow> page) {
+        clientTableView.setItems(FXCollections.observableArrayList(page.items()));
+
+        requestedPageIndex = page.pageIndex();
+        pageLabel.setText(String.format("Page %d of %d (%d clients)", page.pageIndex() + 1, page.totalPages(), page.totalCount()));
+        previousPageButton.setDisable(!page.hasPrevious());
+        nextPageButton.setDisable(!page.hasNext());
+    }
+
+    /**
+     * Prikazuje dijalog s greškom pretrage.
+     * @param error Greška koja se dogodila.
+     */
+    private void showSearchError(Throwable error) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("Search Failed");
+        alert.setHeaderText("Error");
+        alert.setContentText(error.getMessage());
+        alert.showAndWait();
+    }
+
+    /**
+     * Izvozi klijente koji zadovoljavaju trenutne kriterije pretrage u CSV datoteku.
+     * Izvoz se izvodi u pozadini, a napredak se prikazuje u traci napretka.
+     */
+    public void exportClients() {
+        ClientSearchCriteria criteria = buildSearchCriteria();
+        CsvExportSupport.exportInBackground(exportButton, exportProgressBar, "clients.csv",
+                (target, progress) -> csvExporter.exportClients(criteria, target, progress),
+                () -> clientRepository.count(criteria));
     }
-}
\ No newline at end of file
+}
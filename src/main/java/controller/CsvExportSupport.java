@@ -0,0 +1,81 @@
+package controller;
+
+import export.ExportJob;
+import export.ExportTask;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
+import javafx.scene.control.ProgressBar;
+import javafx.stage.FileChooser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import task.BackgroundExecutor;
+
+import java.io.File;
+import java.util.function.LongSupplier;
+
+/**
+ * Pomoćna klasa koju ekrani za pretragu koriste za izvoz u CSV.
+ * Pita korisnika za odredišnu datoteku, pokreće {@link ExportTask} na zajedničkom {@link BackgroundExecutor}-u
+ * i prikazuje napredak te ishod izvoza.
+ */
+final class CsvExportSupport {
+
+    private static final Logger log = LoggerFactory.getLogger(CsvExportSupport.class);
+
+    /**
+     * Privatni konstruktor kako bi se spriječilo stvaranje instanci.
+     */
+    private CsvExportSupport() {
+    }
+
+    /**
+     * Pita korisnika za odredišnu datoteku i pokreće izvoz u pozadinskoj niti.
+     * Gumb za izvoz je onemogućen, a traka napretka vidljiva dok izvoz traje.
+     *
+     * @param exportButton Gumb kojim je izvoz pokrenut.
+     * @param progressBar Traka napretka koja prikazuje napredak izvoza.
+     * @param defaultFileName Predloženi naziv datoteke.
+     * @param job Izvoz koji se izvodi.
+     * @param expectedRows Procjena ukupnog broja redaka (poziva se u pozadinskoj niti).
+     */
+    static void exportInBackground(Button exportButton, ProgressBar progressBar, String defaultFileName,
+                                   ExportJob job, LongSupplier expectedRows) {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Export to CSV");
+        fileChooser.setInitialFileName(defaultFileName);
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV files", "*.csv"));
+
+        File file = fileChooser.showSaveDialog(exportButton.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        ExportTask task = new ExportTask(job, file.toPath(), expectedRows);
+        progressBar.progressProperty().bind(task.progressProperty());
+        progressBar.visibleProperty().bind(task.runningProperty());
+        exportButton.disableProperty().bind(task.runningProperty());
+
+        task.setOnSucceeded(event -> showAlert(Alert.AlertType.INFORMATION, "Export finished",
+                task.getValue() + " rows were exported to " + file.getName() + "."));
+        task.setOnFailed(event -> {
+            log.error("Export to {} failed: {}", file, task.getException().getMessage(), task.getException());
+            showAlert(Alert.AlertType.ERROR, "Export failed", task.getException().getMessage());
+        });
+
+        BackgroundExecutor.execute(task);
+    }
+
+    /**
+     * Prikazuje dijalog s porukom o ishodu izvoza.
+     * @param type Tip alerta.
+     * @param header Tekst zaglavlja.
+     * @param message Poruka koja se prikazuje.
+     */
+    private static void showAlert(Alert.AlertType type, String header, String message) {
+        Alert alert = new Alert(type);
+        alert.setTitle("CSV Export");
+        alert.setHeaderText(header);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+}
@@ -1,40 +1,78 @@
 package controller;
 
+import enums.EntityType;
+import enums.ProposalStatus;
+import event.ChangeEventBus;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.Alert;
+import javafx.scene.control.ListView;
+import model.DashboardSummary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import session.SessionManager;
+import statistics.DashboardStatistics;
+
 import java.io.IOException;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Kontroler za glavnu nadzornu ploču (Dashboard).
- * Prikazuje poruku dobrodošlice i omogućuje navigaciju na druge ekrane,
- * uz provjeru korisničkih prava (rola).
+ * Prikazuje poruku dobrodošlice, broj prijedloga po statusu, klijente s najviše prijedloga i zadnje promjene,
+ * te omogućuje navigaciju na druge ekrane, uz provjeru korisničkih prava (rola).
+ * Pokazatelji se čitaju iz {@link DashboardStatistics}, koji ih održava iz promjena podataka, pa se ploča
+ * ponovno iscrtava pri svakoj promjeni bez upita bazi.
  */
-public class DashboardController {
+public class DashboardController implements ScreenLifecycle {
 
     private final MenuController menuController = new MenuController();
     private static final Logger log = LoggerFactory.getLogger(DashboardController.class);
     private static final String IO_ERROR = "IO error: {}";
+    private static final DateTimeFormatter ACTIVITY_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     @FXML
     private Label welcomeLabel;
 
+    @FXML
+    private Label pendingLabel;
+
+    @FXML
+    private Label approvedLabel;
+
+    @FXML
+    private Label rejectedLabel;
+
+    @FXML
+    private ListView<String> topClientsListView;
+
+    @FXML
+    private ListView<String> recentActivityListView;
+
     @FXML
     private Button clientsButton;
 
     @FXML
     private Button auditLogButton;
 
+    private final DashboardStatistics statistics = DashboardStatistics.getInstance();
+    private final ScreenTasks tasks = new ScreenTasks();
+    private final List<ChangeEventBus.Subscription> subscriptions = new ArrayList<>();
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+
     /**
-     * Inicijalizira nadzornu ploču.
-     * Provjerava je li korisnik prijavljen, postavlja poruku dobrodošlice
-     * i onemogućuje gumbe za administrativne funkcije ako korisnik nije admin.
+     * Provjerava je li korisnik prijavljen, postavlja poruku dobrodošlice i onemogućuje gumbe za administrativne
+     * funkcije ako korisnik nije admin, a zatim prikazuje pokazatelje i počinje pratiti promjene prijedloga i klijenata.
+     * Ako pokazatelji još nisu učitani, učitavaju se u pozadini.
+     * Provjera prijave je ovdje, a ne u {@code initialize()}, jer se FXML ekrana pri pokretanju učitava
+     * na pozadinskoj dretvi prije prijave, gdje se dijalog greške ne smije prikazati.
      */
-    public void initialize() {
+    @Override
+    public void onShow() {
         if (!SessionManager.isUserLoggedIn()) {
             showError("Error", "No user logged in!");
             return;
@@ -48,6 +86,67 @@ public class DashboardController {
             disableButton(clientsButton);
             disableButton(auditLogButton);
         }
+
+        if (statistics.isBuilt()) {
+            showSummary(statistics.summary());
+        } else {
+            tasks.load("Loading dashboard", statistics::summary, this::showSummary);
+        }
+    }
+
+    /**
+     * Prestaje pratiti promjene podataka.
+     */
+    @Override
+    public void onHide() {
+        tasks.cancelLoads();
+        subscriptions.forEach(ChangeEventBus.Subscription::close);
+        subscriptions.clear();
+    }
+
+    /**
+     * Prikazuje pokazatelje i, ako ekran još ne prati promjene, pretplaćuje se na njih. Pretplata se otvara tek
+     * kada su pokazatelji učitani, pa pokazatelji promjenu uvijek prime prije ekrana.
+     *
+     * @param summary Pokazatelji nadzorne ploče.
+     */
+    private void showSummary(DashboardSummary summary) {
+        pendingLabel.setText("Pending: " + summary.count(ProposalStatus.PENDING));
+        approvedLabel.setText("Approved: " + summary.count(ProposalStatus.APPROVED));
+        rejectedLabel.setText("Rejected: " + summary.count(ProposalStatus.REJECTED));
+        topClientsListView.getItems().setAll(summary.topClients().stream()
+                .map(clientTotal -> clientTotal.clientName() + " (" + clientTotal.proposalCount() + ")")
+                .toList());
+        recentActivityListView.getItems().setAll(summary.recentActivity().stream()
+                .map(DashboardController::describe)
+                .toList());
+
+        if (subscriptions.isEmpty()) {
+            subscriptions.add(ChangeEventBus.subscribe(EntityType.PROPOSAL, event -> requestRefresh()));
+            subscriptions.add(ChangeEventBus.subscribe(EntityType.CLIENT, event -> requestRefresh()));
+        }
+    }
+
+    /**
+     * Zakazuje ponovno iscrtavanje pokazatelja na JavaFX dretvi. Više promjena koje stignu prije iscrtavanja
+     * (npr. skupni uvoz) iscrtava se jednom.
+     */
+    private void requestRefresh() {
+        if (refreshPending.compareAndSet(false, true)) {
+            Platform.runLater(() -> {
+                refreshPending.set(false);
+                if (!subscriptions.isEmpty()) {
+                    showSummary(statistics.summary());
+                }
+            });
+        }
+    }
+
+    private static String describe(DashboardSummary.RecentChange change) {
+        String entity = change.entityType() == EntityType.PROPOSAL ? "Proposal" : "Client";
+        String fields = change.changedFields().isEmpty() ? "" : " (" + String.join(", ", change.changedFields()) + ")";
+        return change.changedAt().format(ACTIVITY_TIME_FORMAT) + "  " + entity + " #" + change.entityId()
+                + " " + change.changeType().name().toLowerCase() + fields;
     }
 
     /**
@@ -2,6 +2,7 @@ package controller;
 
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.TextField;
 import model.Client;
@@ -11,7 +12,7 @@ import repository.ClientDatabaseRepository;
  * Kontroler za ekran dodavanja novog klijenta.
  * Upravlja unosom podataka, validacijom i spremanjem novog klijenta u bazu.
  */
-public class EditClientController {
+public class EditClientController implements ScreenLifecycle {
 
     @FXML
     private TextField newClientTextField;
@@ -25,10 +26,31 @@ public class EditClientController {
     @FXML
     private TextField newCompanyTextField;
 
+    @FXML
+    private Button saveProposal;
+
+    private final ClientDatabaseRepository<Client> clientRepository = new ClientDatabaseRepository<>();
+    private final ScreenTasks tasks = new ScreenTasks();
+
+    /**
+     * Inicijalizira kontroler. Gumb za spremanje je onemogućen dok se klijent sprema u pozadini.
+     */
+    public void initialize() {
+        saveProposal.disableProperty().bind(tasks.busyProperty());
+    }
+
+    /**
+     * Prazni polja obrasca kako bi se pri svakom prikazu ekrana unosio novi klijent.
+     */
+    @Override
+    public void onShow() {
+        clearFields();
+    }
+
     /**
      * Metoda koja se poziva za dodavanje novog klijenta.
      * Prikuplja podatke iz tekstualnih polja, vrši validaciju,
-     * traži potvrdu od korisnika i na kraju sprema klijenta.
+     * traži potvrdu od korisnika i na kraju sprema klijenta na pozadinskoj dretvi.
      */
     public void addNewClient() {
         StringBuilder errorMessages = new StringBuilder();
@@ -71,24 +93,35 @@ public class EditClientController {
 
             if (confirmation.showAndWait().orElse(ButtonType.CANCEL) == ButtonType.OK) {
                 Client client = new Client(name, email, company, phone);
-                ClientDatabaseRepository<Client> repository = new ClientDatabaseRepository<>();
-                repository.save(client);
-
-                Alert successAlert = new Alert(Alert.AlertType.INFORMATION);
-                successAlert.setTitle("Successfully added a new client");
-                successAlert.setHeaderText("Client " + name + " was successfully added!");
-                successAlert.setContentText("Client Details:\n"
-                        + "Name: " + name + "\n"
-                        + "Email: " + email + "\n"
-                        + "Phone number: " + phone + "\n"
-                        + "Company: " + company);
-                successAlert.showAndWait();
-
-                clearFields();
+                tasks.perform("Saving client", () -> {
+                    clientRepository.save(client);
+                    return client;
+                }, savedClient -> showClientAdded(name, email, phone, company));
             }
         }
     }
 
+    /**
+     * Prikazuje potvrdu o dodanom klijentu i prazni polja obrasca.
+     * @param name Ime klijenta.
+     * @param email Email klijenta.
+     * @param phone Telefon klijenta.
+     * @param company Tvrtka klijenta.
+     */
+    private void showClientAdded(String name, String email, String phone, String company) {
+        Alert successAlert = new Alert(Alert.AlertType.INFORMATION);
+        successAlert.setTitle("Successfully added a new client");
+        successAlert.setHeaderText("Client " + name + " was successfully added!");
+        successAlert.setContentText("Client Details:\n"
+                + "Name: " + name + "\n"
+                + "Email: " + email + "\n"
+                + "Phone number: " + phone + "\n"
+                + "Company: " + company);
+        successAlert.showAndWait();
+
+        clearFields();
+    }
+
     /**
      * Pomoćna metoda za čišćenje svih tekstualnih polja nakon uspješnog unosa.
      */
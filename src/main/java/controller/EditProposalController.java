@@ -1,16 +1,22 @@
 package controller;
 
+import exception.EmptyRepositoryResultException;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
+import javafx.util.StringConverter;
 import model.Client;
 import model.Proposal;
 import repository.ClientDatabaseRepository;
 import repository.ProposalDatabaseRepository;
+import search.SearchExecutor;
 
+import java.sql.SQLException;
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -28,8 +34,16 @@ public class EditProposalController {
     @FXML
     private ComboBox<Client> newClientComboBox;
 
+    @FXML
+    private Button saveButton;
+
     private final ProposalDatabaseRepository<Proposal> proposalRepository = new ProposalDatabaseRepository<>();
     private final ClientDatabaseRepository<Client> clientRepository = new ClientDatabaseRepository<>();
+    private final SearchExecutor<List<Client>> clientSuggestionExecutor = new SearchExecutor<>("client-picker",
+            Duration.ofMillis(150), this::showClientSuggestions, this::showSuggestionError);
+    private final ScreenTasks tasks = new ScreenTasks();
+
+    private static final int CLIENT_SUGGESTION_LIMIT = 20;
 
     private Proposal currentProposal;
     private Long currentUserId;
@@ -43,28 +57,120 @@ public class EditProposalController {
     }
 
     /**
-     * Inicijalizira kontroler. Popunjava ComboBox s klijentima iz baze podataka.
+     * Inicijalizira kontroler. ComboBox s klijentima postaje polje s automatskim dovršavanjem:
+     * dok korisnik upisuje ime, u pozadini se dohvaća prvih {@value #CLIENT_SUGGESTION_LIMIT} klijenata
+     * čije ime počinje upisanim tekstom, umjesto da se učitaju svi klijenti iz baze podataka.
+     * Gumb za spremanje je onemogućen dok se prijedlog učitava ili sprema u pozadini.
      */
     public void initialize() {
-        List<Client> clients = clientRepository.findAll();
-        newClientComboBox.getItems().addAll(clients);
+        newClientComboBox.setEditable(true);
+        newClientComboBox.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(Client client) {
+                return client == null ? "" : client.getName();
+            }
+
+            @Override
+            public Client fromString(String text) {
+                return resolveClient(text);
+            }
+        });
+
+        newClientComboBox.getEditor().textProperty().addListener((observable, oldValue, newValue) -> {
+            Client selectedClient = newClientComboBox.getValue();
+            if (selectedClient != null && selectedClient.getName().equals(newValue)) {
+                return;
+            }
+            String prefix = newValue == null ? "" : newValue.strip();
+            clientSuggestionExecutor.submit(cancellation ->
+                    clientRepository.findByNamePrefix(prefix, CLIENT_SUGGESTION_LIMIT, cancellation));
+        });
+        ScreenLifecycleSupport.runWhenHidden(newClientComboBox, () -> {
+            clientSuggestionExecutor.close();
+            tasks.cancelLoads();
+        });
+        saveButton.disableProperty().bind(tasks.busyProperty());
+
+        clientSuggestionExecutor.submitNow(cancellation ->
+                clientRepository.findByNamePrefix("", CLIENT_SUGGESTION_LIMIT, cancellation));
+    }
+
+    /**
+     * Prikazuje klijente koji odgovaraju upisanom tekstu kao ponuđene vrijednosti ComboBoxa.
+     * @param clients Pronađeni klijenti.
+     */
+    private void showClientSuggestions(List<Client> clients) {
+        newClientComboBox.getItems().setAll(clients);
+        if (!clients.isEmpty() && newClientComboBox.getEditor().isFocused()) {
+            newClientComboBox.show();
+        }
+    }
+
+    /**
+     * Prikazuje dijalog s greškom dohvaćanja klijenata.
+     * @param error Greška koja se dogodila.
+     */
+    private void showSuggestionError(Throwable error) {
+        showAlert(Alert.AlertType.ERROR, "Error", "Clients could not be loaded", error.getMessage());
+    }
+
+    /**
+     * Pretvara upisani tekst u klijenta: ponuđeni klijent s tim imenom ili trenutno odabrani klijent.
+     * @param text Upisani tekst.
+     * @return Klijent ili {@code null} ako nijedan klijent ne odgovara tekstu.
+     */
+    private Client resolveClient(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        Client selectedClient = newClientComboBox.getValue();
+        if (selectedClient != null && selectedClient.getName().equals(text)) {
+            return selectedClient;
+        }
+        return newClientComboBox.getItems().stream()
+                .filter(client -> client.getName().equalsIgnoreCase(text.strip()))
+                .findFirst()
+                .orElse(null);
     }
 
     /**
-     * Učitava podatke postojećeg prijedloga u polja za uređivanje.
-     * @param proposal Prijedlog koji se uređuje.
+     * Učitava podatke postojećeg prijedloga u polja za uređivanje. Klijent prijedloga dohvaća se u pozadini.
+     * Prijedlog iz popisa prijedloga sadrži samo početak opisa, pa se cijeli opis dohvaća u pozadini,
+     * a polje opisa je do tada onemogućeno.
+     * Uređuje se kopija prijedloga: prijedlog iz popisa (i međuspremnika rezultata pretrage) se ne mijenja,
+     * nego ga nakon uspješnog spremanja zamjenjuje prijedlog iz događaja o promjeni.
+     * @param selectedProposal Prijedlog koji se uređuje.
      */
-    public void loadProposalForEditing(Proposal proposal) {
+    public void loadProposalForEditing(Proposal selectedProposal) {
+        Proposal proposal = copyOf(selectedProposal, selectedProposal.getTitle(), selectedProposal.getDescription(),
+                selectedProposal.getClientId());
         this.currentProposal = proposal;
 
         newProposalTextField.setText(proposal.getTitle());
         newDescriptionTextField.setText(proposal.getDescription());
 
-        for (Client client : newClientComboBox.getItems()) {
-            if (client.getId() == proposal.getClientId()) {
-                newClientComboBox.setValue(client);
-                break;
-            }
+        if (proposal.isDescriptionTruncated()) {
+            newDescriptionTextField.setDisable(true);
+            tasks.load("Loading description", () -> proposalRepository.findDescription(proposal.getId()), description -> {
+                proposal.setDescription(description);
+                newDescriptionTextField.setText(description);
+                newDescriptionTextField.setDisable(false);
+            });
+        }
+        tasks.load("Loading client", () -> findClient(proposal.getClientId()), newClientComboBox::setValue);
+    }
+
+    /**
+     * Dohvaća klijenta prijedloga. Izvodi se na pozadinskoj dretvi.
+     * @param clientId ID klijenta.
+     * @return Klijent ili {@code null} ako klijent više ne postoji.
+     * @throws SQLException ako dođe do SQL greške.
+     */
+    private Client findClient(Long clientId) throws SQLException {
+        try {
+            return clientRepository.findById(clientId);
+        } catch (EmptyRepositoryResultException e) {
+            return null;
         }
     }
 
@@ -75,12 +181,14 @@ public class EditProposalController {
         this.currentProposal = null;
         newProposalTextField.clear();
         newDescriptionTextField.clear();
-        newClientComboBox.getSelectionModel().clearSelection();
+        newClientComboBox.setValue(null);
     }
 
     /**
      * Sprema promjene (ili novi prijedlog) nakon validacije i potvrde korisnika.
-     * Ako je {@code currentProposal} null, kreira se novi prijedlog. Inače, ažurira se postojeći.
+     * Ako je {@code currentProposal} null, kreira se novi prijedlog. Inače, ažurira se postojeći;
+     * prijedlog čiji cijeli opis nije učitan ne sprema se, kako skraćeni opis ne bi zamijenio cijeli.
+     * Prijedlog se sprema na pozadinskoj dretvi, a prozor se zatvara nakon uspješnog spremanja.
      */
     public void saveProposal() {
         String title = newProposalTextField.getText();
@@ -91,6 +199,10 @@ public class EditProposalController {
             showAlert(Alert.AlertType.ERROR, "Error", "Proposal not saved", "All fields must be filled!");
             return;
         }
+        if (currentProposal != null && currentProposal.isDescriptionTruncated()) {
+            showAlert(Alert.AlertType.ERROR, "Error", "Proposal not saved", "The full description could not be loaded.");
+            return;
+        }
 
         Alert confirmation = new Alert(Alert.AlertType.CONFIRMATION);
         confirmation.setTitle("Confirm Save");
@@ -98,27 +210,50 @@ public class EditProposalController {
         confirmation.setContentText("Title: " + title + "\nDescription: " + description);
 
         if (confirmation.showAndWait().orElse(ButtonType.CANCEL) == ButtonType.OK) {
-            if (currentProposal == null) {
-                Proposal newProposal = new Proposal.Builder(proposalRepository.getNextProposalId())
-                        .withTitle(title)
-                        .withDescription(description)
-                        .withStatus(enums.ProposalStatus.PENDING)
-                        .withClientId(selectedClient.getId())
-                        .withUserId(currentUserId)
-                        .build();
-                proposalRepository.save(newProposal);
-            } else {
-                currentProposal.setTitle(title);
-                currentProposal.setDescription(description);
-                currentProposal.setClientId(selectedClient.getId());
-                proposalRepository.update(currentProposal);
-            }
+            Proposal editedProposal = currentProposal == null
+                    ? null
+                    : copyOf(currentProposal, title, description, selectedClient.getId());
 
-            showAlert(Alert.AlertType.INFORMATION, "Success", "Proposal Saved!", "The proposal has been successfully saved.");
-            closeWindow();
+            tasks.perform("Saving proposal", () -> {
+                if (editedProposal == null) {
+                    Proposal newProposal = new Proposal.Builder(proposalRepository.getNextProposalId())
+                            .withTitle(title)
+                            .withDescription(description)
+                            .withStatus(enums.ProposalStatus.PENDING)
+                            .withClientId(selectedClient.getId())
+                            .withUserId(currentUserId)
+                            .build();
+                    proposalRepository.save(newProposal);
+                    return newProposal;
+                }
+                proposalRepository.update(editedProposal);
+                return editedProposal;
+            }, savedProposal -> {
+                showAlert(Alert.AlertType.INFORMATION, "Success", "Proposal Saved!", "The proposal has been successfully saved.");
+                closeWindow();
+            });
         }
     }
 
+    /**
+     * Stvara kopiju prijedloga sa zadanim naslovom, opisom i klijentom.
+     * @param proposal Prijedlog koji se kopira.
+     * @param title Naslov kopije.
+     * @param description Opis kopije.
+     * @param clientId ID klijenta kopije.
+     * @return Kopija prijedloga.
+     */
+    private static Proposal copyOf(Proposal proposal, String title, String description, long clientId) {
+        return new Proposal.Builder(proposal.getId())
+                .withTitle(title)
+                .withDescription(description)
+                .withDescriptionTruncated(proposal.isDescriptionTruncated())
+                .withStatus(proposal.getStatus())
+                .withClientId(clientId)
+                .withUserId(proposal.getUserId())
+                .build();
+    }
+
     /**
      * Zatvara prozor za uređivanje prijedloga.
      */
@@ -0,0 +1,82 @@
+package controller;
+
+import enums.EntityType;
+import javafx.collections.FXCollections;
+import javafx.fxml.FXML;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import model.AuditLog;
+import repository.AuditLogRepository;
+
+/**
+ * Kontroler za prozor s poviješću promjena jednog entiteta (npr. prijedloga).
+ * Zapisi se dohvaćaju preko indeksa entiteta u audit logu, pa trajanje učitavanja ovisi samo o broju
+ * promjena tog entiteta, a ne o veličini cijelog audit loga.
+ */
+public class EntityHistoryController {
+
+    @FXML
+    private Label titleLabel;
+
+    @FXML
+    private TableView<AuditLogRow> historyTable;
+
+    @FXML
+    private TableColumn<AuditLogRow, String> timestampColumn;
+
+    @FXML
+    private TableColumn<AuditLogRow, String> actionColumn;
+
+    @FXML
+    private TableColumn<AuditLogRow, String> oldValueColumn;
+
+    @FXML
+    private TableColumn<AuditLogRow, String> newValueColumn;
+
+    @FXML
+    private TableColumn<AuditLogRow, String> roleColumn;
+
+    private final AuditLogRepository auditLogRepository = new AuditLogRepository();
+    private final ScreenTasks tasks = new ScreenTasks();
+
+    /**
+     * Konstruktor bez parametara koji koristi {@code FXMLLoader} pri učitavanju prozora povijesti.
+     */
+    public EntityHistoryController() {
+    }
+
+    /**
+     * Inicijalizira kontroler, postavljajući tvornice vrijednosti za stupce tablice.
+     * Zapisi se u retke s gotovim tekstovima stupaca pretvaraju u pozadini, zajedno s učitavanjem povijesti.
+     * Učitavanje povijesti se otkazuje ako se prozor zatvori prije nego što završi.
+     */
+    public void initialize() {
+        PagedTableSupport.bindText(timestampColumn, AuditLogRow::timestampProperty);
+        PagedTableSupport.bindText(actionColumn, AuditLogRow::actionProperty);
+        PagedTableSupport.bindText(oldValueColumn, AuditLogRow::oldValueProperty);
+        PagedTableSupport.bindText(newValueColumn, AuditLogRow::newValueProperty);
+        PagedTableSupport.bindText(roleColumn, AuditLogRow::userRoleProperty);
+        ScreenLifecycleSupport.runWhenHidden(historyTable, tasks::cancelLoads);
+    }
+
+    /**
+     * Učitava povijest promjena zadanog entiteta u pozadini i prikazuje je u tablici.
+     * Dok se povijest učitava, umjesto praznog sadržaja tablice prikazuje se indikator učitavanja.
+     * @param entityType Vrsta entiteta.
+     * @param entityId ID entiteta.
+     * @param title Naslov koji se prikazuje iznad tablice.
+     */
+    public void loadHistory(EntityType entityType, long entityId, String title) {
+        titleLabel.setText(title);
+
+        historyTable.setPlaceholder(new ProgressIndicator());
+        tasks.load("Loading history", () -> auditLogRepository.findHistory(entityType, entityId).stream()
+                .map(AuditLogRow::new)
+                .toList(), history -> {
+            historyTable.setItems(FXCollections.observableArrayList(history));
+            historyTable.setPlaceholder(new Label("No recorded changes"));
+        });
+    }
+}
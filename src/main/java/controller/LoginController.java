@@ -2,6 +2,7 @@ package controller;
 
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
 import org.slf4j.Logger;
@@ -9,9 +10,7 @@ import org.slf4j.LoggerFactory;
 import repository.Pair;
 import repository.UserRepository;
 import session.SessionManager;
-import hr.javafx.business.businessproposalsystem.BusinessProposalApplication;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Scene;
+import task.StartupSequence;
 import java.io.IOException;
 
 /**
@@ -33,12 +32,30 @@ public class LoginController {
     @FXML
     private Label wrongPasswordLabel;
 
+    @FXML
+    private Button signInButton;
+
     private final UserRepository userRepository = new UserRepository();
+    private final ScreenTasks tasks = new ScreenTasks();
     private static final Logger log = LoggerFactory.getLogger(LoginController.class);
 
+    /**
+     * Ishod provjere korisničkih podataka.
+     * @param user ID i status administratora prijavljenog korisnika, ili {@code null} ako prijava nije uspjela.
+     * @param usernameExists Postoji li korisnik s unesenim korisničkim imenom.
+     */
+    private record LoginResult(Pair<Long, Boolean> user, boolean usernameExists) {}
+
+    /**
+     * Inicijalizira kontroler. Gumb za prijavu je onemogućen dok se provjera korisničkih podataka izvodi u pozadini.
+     */
+    public void initialize() {
+        signInButton.disableProperty().bind(tasks.busyProperty());
+    }
+
     /**
      * Obrađuje pokušaj prijave korisnika.
-     * Provjerava unesene podatke, poziva metodu za autentifikaciju
+     * Provjerava unesene podatke, poziva metodu za autentifikaciju na pozadinskoj dretvi
      * i, ako je uspješna, preusmjerava na nadzornu ploču.
      */
     public void handleLogin() {
@@ -50,27 +67,43 @@ public class LoginController {
             return;
         }
 
-        Pair<Long, Boolean> authenticatedUser = userRepository.authenticateUser(username, password);
+        tasks.perform("Signing in", () -> authenticate(username, password), result -> {
+            if (result.user() != null) {
+                Long userId = result.user().getKey();
+                boolean isAdmin = result.user().getValue();
+                SessionManager.login(userId, isAdmin);
+                showDashboardScreen();
+            } else {
+                showLoginError(result.usernameExists());
+            }
+        });
+    }
 
+    /**
+     * Provjerava korisničke podatke. Izvodi se na pozadinskoj dretvi.
+     * Ako se aplikacija još pokreće, prvo pričeka da korisnici iz datoteke budu sinkronizirani s bazom.
+     * @param username Uneseno korisničko ime.
+     * @param password Unesena lozinka.
+     * @return Ishod provjere; ako prijava nije uspjela, i podatak postoji li korisničko ime.
+     */
+    private LoginResult authenticate(String username, String password) {
+        StartupSequence.awaitDatabaseReady();
+        Pair<Long, Boolean> authenticatedUser = userRepository.authenticateUser(username, password);
         if (authenticatedUser != null) {
-            Long userId = authenticatedUser.getKey();
-            boolean isAdmin = authenticatedUser.getValue();
-            SessionManager.login(userId, isAdmin);
-            showDashboardScreen();
-        } else {
-            showLoginError(username);
+            return new LoginResult(authenticatedUser, true);
         }
+        return new LoginResult(null, userRepository.findByUsername(username) != null);
     }
 
     /**
      * Prikazuje odgovarajuću poruku o grešci ako prijava nije uspjela.
-     * @param username Uneseno korisničko ime, za provjeru postoji li.
+     * @param usernameExists Postoji li korisnik s unesenim korisničkim imenom.
      */
-    private void showLoginError(String username) {
+    private void showLoginError(boolean usernameExists) {
         wrongUsernameLabel.setVisible(false);
         wrongPasswordLabel.setVisible(false);
 
-        if (userRepository.findByUsername(username) == null) {
+        if (!usernameExists) {
             wrongUsernameLabel.setText("Username not found.");
             wrongUsernameLabel.setVisible(true);
         } else {
@@ -80,15 +113,12 @@ public class LoginController {
     }
 
     /**
-     * Prikazuje nadzornu ploču nakon uspješne prijave.
+     * Prikazuje nadzornu ploču nakon uspješne prijave i u pozadini učitava ekrane koje korisnik najčešće otvara.
      */
     private void showDashboardScreen() {
         try {
-            FXMLLoader fxmlLoader = new FXMLLoader(BusinessProposalApplication.class.getResource("dashboardScreen.fxml"));
-            Scene scene = new Scene(fxmlLoader.load(), 700, 400);
-            BusinessProposalApplication.getMainStage().setTitle("Dashboard");
-            BusinessProposalApplication.getMainStage().setScene(scene);
-            BusinessProposalApplication.getMainStage().show();
+            ScreenRegistry.show(ScreenRegistry.Screen.DASHBOARD);
+            ScreenRegistry.preloadCommonScreens();
         } catch (IOException e) {
             showAlert("Navigation Error", "Unable to open Dashboard.");
             log.error("IO error: {}", e.getMessage(), e);
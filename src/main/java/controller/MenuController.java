@@ -1,5 +1,6 @@
 package controller;
 
+import enums.EntityType;
 import exception.SwitchingScreensExcpetion;
 import hr.javafx.business.businessproposalsystem.BusinessProposalApplication;
 import javafx.fxml.FXMLLoader;
@@ -16,6 +17,7 @@ import java.io.IOException;
 /**
  * Kontroler koji upravlja navigacijom između ekrana putem glavnog izbornika (MenuBar).
  * Svaka FXML datoteka koja sadrži menu.fxml koristi ovaj kontroler.
+ * Ekrani glavnog prozora prikazuju se preko {@link ScreenRegistry}, koji ih učitava samo jednom.
  */
 public class MenuController {
 
@@ -28,11 +30,7 @@ public class MenuController {
      * @throws IOException ako dođe do greške pri učitavanju FXML datoteke.
      */
     public void showProposalSearchScreen() throws IOException {
-        FXMLLoader fxmlLoader = new FXMLLoader(BusinessProposalApplication.class.getResource("proposalSearchScreen.fxml"));
-        Scene scene = new Scene(fxmlLoader.load(), 700, 600);
-        BusinessProposalApplication.getMainStage().setTitle("Search Proposals");
-        BusinessProposalApplication.getMainStage().setScene(scene);
-        BusinessProposalApplication.getMainStage().show();
+        ScreenRegistry.show(ScreenRegistry.Screen.PROPOSAL_SEARCH);
     }
 
     /**
@@ -80,17 +78,38 @@ public class MenuController {
         }
     }
 
+    /**
+     * Prikazuje povijest promjena prijedloga iz audit loga.
+     * Otvara se u novom prozoru (Stage).
+     * @param proposal Prijedlog čija se povijest prikazuje.
+     * @throws SwitchingScreensExcpetion ako dođe do greške pri učitavanju FXML-a.
+     */
+    public void showProposalHistoryScreen(Proposal proposal) throws SwitchingScreensExcpetion {
+        try {
+            FXMLLoader loader = new FXMLLoader(BusinessProposalApplication.class.getResource("entityHistoryScreen.fxml"));
+            Scene scene = new Scene(loader.load(), 700, 400);
+            EntityHistoryController controller = loader.getController();
+            controller.loadHistory(EntityType.PROPOSAL, proposal.getId(), "History of \"" + proposal.getTitle() + "\"");
+
+            Stage stage = new Stage();
+            stage.setTitle("Proposal History");
+            stage.setScene(scene);
+            stage.show();
+
+        } catch (IOException e) {
+            showError(ERROR_MESSAGE, "Error loading proposal history screen: " + e.getMessage());
+            log.error("Input error: {}", e.getMessage(), e);
+            throw new SwitchingScreensExcpetion("Failed to load proposal history screen", e);
+        }
+    }
+
     /**
      * Prikazuje ekran za pretragu klijenata, samo ako je korisnik administrator.
      * @throws IOException ako dođe do greške pri učitavanju FXML datoteke.
      */
     public void showClientSearchScreen() throws IOException {
         if (SessionManager.isAdmin()) {
-            FXMLLoader fxmlLoader = new FXMLLoader(BusinessProposalApplication.class.getResource("clientSearchScreen.fxml"));
-            Scene scene = new Scene(fxmlLoader.load(), 700, 600);
-            BusinessProposalApplication.getMainStage().setTitle("Search Clients");
-            BusinessProposalApplication.getMainStage().setScene(scene);
-            BusinessProposalApplication.getMainStage().show();
+            ScreenRegistry.show(ScreenRegistry.Screen.CLIENT_SEARCH);
         } else {
             showError(ERROR_MESSAGE, ERROR_ADMIN_MESSAGE);
         }
@@ -102,23 +121,29 @@ public class MenuController {
      */
     public void showClientEditScreen() throws IOException {
         if (SessionManager.isAdmin()) {
-            FXMLLoader fxmlLoader = new FXMLLoader(BusinessProposalApplication.class.getResource("clientEditScreen.fxml"));
-            Scene scene = new Scene(fxmlLoader.load(), 700, 600);
-            BusinessProposalApplication.getMainStage().setTitle("Edit Clients");
-            BusinessProposalApplication.getMainStage().setScene(scene);
-            BusinessProposalApplication.getMainStage().show();
+            ScreenRegistry.show(ScreenRegistry.Screen.CLIENT_EDIT);
         } else {
             showError(ERROR_MESSAGE, ERROR_ADMIN_MESSAGE);
         }
     }
 
+    /**
+     * Unaprijed učitava FXML datoteke ekrana glavnog prozora, bez spremanja u registar.
+     * Poziva se s pozadinske dretve pri pokretanju aplikacije, dok korisnik unosi podatke za prijavu.
+     */
+    public void warmUpScreens() {
+        ScreenRegistry.warmUp();
+    }
+
     /**
      * Vraća korisnika na ekran za prijavu i odjavljuje ga.
+     * Učitani ekrani se uklanjaju iz registra jer ovise o roli prijavljenog korisnika.
      * @throws IOException ako dođe do greške pri učitavanju FXML datoteke.
      */
     public void showLogInScreen() throws IOException {
         FXMLLoader fxmlLoader = new FXMLLoader(BusinessProposalApplication.class.getResource("loginScreen.fxml"));
         Scene scene = new Scene(fxmlLoader.load(), 700, 400);
+        ScreenRegistry.clear();
         BusinessProposalApplication.getMainStage().setTitle("Login");
         BusinessProposalApplication.getMainStage().setScene(scene);
         BusinessProposalApplication.getMainStage().show();
@@ -131,11 +156,7 @@ public class MenuController {
      */
     public void showAuditLogScreen() throws IOException {
         if (SessionManager.isAdmin()) {
-            FXMLLoader fxmlLoader = new FXMLLoader(BusinessProposalApplication.class.getResource("auditLogScreen.fxml"));
-            Scene scene = new Scene(fxmlLoader.load(), 700, 600);
-            BusinessProposalApplication.getMainStage().setTitle("Audit Log");
-            BusinessProposalApplication.getMainStage().setScene(scene);
-            BusinessProposalApplication.getMainStage().show();
+            ScreenRegistry.show(ScreenRegistry.Screen.AUDIT_LOG);
         } else {
             showError(ERROR_MESSAGE, ERROR_ADMIN_MESSAGE);
         }
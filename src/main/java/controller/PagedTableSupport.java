@@ -0,0 +1,65 @@
+package controller;
+
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+
+import java.util.function.Function;
+
+/**
+ * Pomoćna klasa za tablice koje prikazuju stranice rezultata, npr. iz {@link search.LazyPagedList}.
+ * Retci su pripremljeni za prikaz (npr. {@link ProposalRow}) i svaki stupac čita svojstvo koje je redak
+ * izračunao jednom, umjesto da tvornica vrijednosti stvara novo svojstvo pri svakom iscrtavanju ćelije.
+ * Retci čija se stranica još učitava su {@code null}, a poredavanje se ne može provesti nad samom listom,
+ * nego se prepušta upitu koji ponovno puni tablicu.
+ */
+final class PagedTableSupport {
+
+    private static final ReadOnlyStringProperty EMPTY_TEXT = text("");
+
+    /**
+     * Privatni konstruktor kako bi se spriječilo stvaranje instanci.
+     */
+    private PagedTableSupport() {
+    }
+
+    /**
+     * Postavlja tvornicu vrijednosti stupca koja vraća svojstvo retka, a za redak koji se još učitava
+     * zajedničko svojstvo s praznim tekstom. Tvornica pri iscrtavanju ćelije ništa ne stvara.
+     *
+     * @param column Stupac tablice.
+     * @param text Vraća svojstvo s tekstom stupca za učitani redak.
+     * @param <S> Tip retka.
+     */
+    static <S> void bindText(TableColumn<S, String> column, Function<S, ReadOnlyStringProperty> text) {
+        column.setCellValueFactory(cellData -> cellData.getValue() == null ? EMPTY_TEXT : text.apply(cellData.getValue()));
+    }
+
+    /**
+     * Stvara nepromjenjivo svojstvo s tekstom ćelije, koje redak stvara jednom i tablica ga ponovno koristi
+     * pri svakom iscrtavanju.
+     *
+     * @param value Tekst ćelije.
+     * @return Svojstvo samo za čitanje.
+     */
+    static ReadOnlyStringProperty text(String value) {
+        return new ReadOnlyStringWrapper(value).getReadOnlyProperty();
+    }
+
+    /**
+     * Zamjenjuje poredavanje u memoriji: kada korisnik klikne na zaglavlje stupca, tablica poziva zadanu akciju,
+     * koja prema {@link TableView#getSortOrder()} ponovno pokreće upit s traženim redoslijedom.
+     * Tablica akciju poziva i odmah pri postavljanju, pa akcija sama mora prepoznati kada upit nije potreban.
+     *
+     * @param table Tablica.
+     * @param sortOnServer Akcija koja pokreće upit s redoslijedom iz tablice.
+     * @param <S> Tip retka.
+     */
+    static <S> void sortOnServer(TableView<S> table, Runnable sortOnServer) {
+        table.setSortPolicy(sortedTable -> {
+            sortOnServer.run();
+            return true;
+        });
+    }
+}
@@ -0,0 +1,67 @@
+package controller;
+
+import javafx.beans.property.ReadOnlyStringProperty;
+import model.Proposal;
+
+/**
+ * Nepromjenjivi redak tablice prijedloga. Tekstovi stupaca, uključujući ime klijenta i oznaku statusa,
+ * izračunavaju se jednom, kada stigne stranica rezultata, pa tablica pri iscrtavanju ćelija
+ * ne stvara nova svojstva i ne dohvaća ime klijenta.
+ */
+final class ProposalRow {
+
+    private final Proposal proposal;
+    private final ReadOnlyStringProperty title;
+    private final ReadOnlyStringProperty description;
+    private final ReadOnlyStringProperty status;
+    private final ReadOnlyStringProperty client;
+
+    /**
+     * Stvara redak za prijedlog.
+     *
+     * @param proposal Prijedlog.
+     * @param clientName Ime klijenta prijedloga.
+     */
+    ProposalRow(Proposal proposal, String clientName) {
+        this.proposal = proposal;
+        this.title = PagedTableSupport.text(proposal.getTitle());
+        this.description = PagedTableSupport.text(descriptionPreview(proposal));
+        this.status = PagedTableSupport.text(proposal.getStatus().toString());
+        this.client = PagedTableSupport.text(clientName);
+    }
+
+    /**
+     * Vraća opis prijedloga za prikaz u popisu; skraćeni opis završava trotočjem.
+     *
+     * @param proposal Prijedlog.
+     * @return Opis za prikaz.
+     */
+    static String descriptionPreview(Proposal proposal) {
+        return proposal.isDescriptionTruncated() ? proposal.getDescription() + "…" : proposal.getDescription();
+    }
+
+    /**
+     * Vraća prijedlog prikazan u retku.
+     *
+     * @return Prijedlog.
+     */
+    Proposal proposal() {
+        return proposal;
+    }
+
+    ReadOnlyStringProperty titleProperty() {
+        return title;
+    }
+
+    ReadOnlyStringProperty descriptionProperty() {
+        return description;
+    }
+
+    ReadOnlyStringProperty statusProperty() {
+        return status;
+    }
+
+    ReadOnlyStringProperty clientProperty() {
+        return client;
+    }
+}
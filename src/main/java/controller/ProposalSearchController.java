@@ -1,30 +1,55 @@
 package controller;
 
-import exception.EmptyRepositoryResultException;
-import exception.ProposalSearchException;
+import enums.ChangeType;
+import enums.EntityType;
+import event.ChangeEvent;
+import event.ChangeEventBus;
 import exception.SwitchingScreensExcpetion;
-import javafx.beans.property.SimpleStringProperty;
+import export.CsvExporter;
+import javafx.application.Platform;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import model.Proposal;
 import model.Client;
+import model.ClientSearchCriteria;
+import model.ProposalSearchCriteria;
+import model.ProposalSort;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import repository.PageSource;
 import repository.ProposalDatabaseRepository;
 import repository.ClientDatabaseRepository;
+import repository.QueryCancellation;
+import search.FilterEngine;
+import search.LazyPagedList;
+import search.MicroBatchSubscriber;
+import search.ProposalSearchIndex;
+import search.QueryResultCache;
+import search.SearchExecutor;
 import session.SessionManager;
+import task.BackgroundExecutor;
 
-import java.sql.SQLException;
-import java.util.ArrayList;
+import java.time.Duration;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.stream.Collectors;
 
 /**
  * Kontroler za ekran pretrage poslovnih prijedloga.
  * Omogućuje filtriranje, prikaz, uređivanje, brisanje, odobravanje i odbijanje prijedloga.
  */
-public class ProposalSearchController {
+public class ProposalSearchController implements ScreenLifecycle {
 
     @FXML
     private TextField ideaTextField;
@@ -36,19 +61,19 @@ public class ProposalSearchController {
     private TextField clientTextField;
 
     @FXML
-    private TableView<Proposal> proposalTableView;
+    private TableView<ProposalRow> proposalTableView;
 
     @FXML
-    private TableColumn<Proposal, String> ideaTableColumn;
+    private TableColumn<ProposalRow, String> ideaTableColumn;
 
     @FXML
-    private TableColumn<Proposal, String> descriptionTableColumn;
+    private TableColumn<ProposalRow, String> descriptionTableColumn;
 
     @FXML
-    private TableColumn<Proposal, String> statusTableColumn;
+    private TableColumn<ProposalRow, String> statusTableColumn;
 
     @FXML
-    private TableColumn<Proposal, String> clientTableColumn;
+    private TableColumn<ProposalRow, String> clientTableColumn;
 
     @FXML
     private Button approveButton;
@@ -56,30 +81,55 @@ public class ProposalSearchController {
     @FXML
     private Button rejectButton;
 
+    @FXML
+    private Button exportButton;
+
+    @FXML
+    private ProgressBar exportProgressBar;
+
+    @FXML
+    private ProgressIndicator loadingIndicator;
+
     private final ProposalDatabaseRepository<Proposal> proposalRepository = new ProposalDatabaseRepository<>();
     private final ClientDatabaseRepository<Client> clientRepository = new ClientDatabaseRepository<>();
     private final DashboardController dashboardController = new DashboardController();
+    private final CsvExporter csvExporter = new CsvExporter();
+    private final ProposalSearchIndex proposalSearchIndex = ProposalSearchIndex.getInstance();
+    private final SearchExecutor<SearchResult> searchExecutor = new SearchExecutor<>("proposal-search",
+            Duration.ofMillis(300), this::showResult, e -> showError("Search Failed", e.getMessage()));
+    private final ScreenTasks tasks = new ScreenTasks();
+    private final Map<Long, String> clientNames = new ConcurrentHashMap<>();
+    private static final String UNKNOWN_CLIENT = "Unknown Client";
+    private static final int PAGE_SIZE = 100;
+    private static final int STREAMED_ROWS = 2 * PAGE_SIZE;
+    private ProposalSearchCriteria activeCriteria;
+    private ProposalSort activeSort = ProposalSort.DEFAULT;
+    private LazyPagedList<ProposalRow> shownProposals;
+    private MicroBatchSubscriber<ProposalRow> streamedProposals;
+    private final SimpleBooleanProperty streaming = new SimpleBooleanProperty();
+    private ChangeEventBus.Subscription proposalSubscription;
+    private ChangeEventBus.Subscription clientSubscription;
+    private static final QueryResultCache<ProposalQuery, PageSource<Proposal>> SEARCH_CACHE =
+            new QueryResultCache<>("proposal-search", 64, EntityType.PROPOSAL, EntityType.CLIENT);
     private static final Logger log = LoggerFactory.getLogger(ProposalSearchController.class);
 
     /**
      * Inicijalizira kontroler. Postavlja tvornice vrijednosti za stupce tablice
      * i prilagođava UI ovisno o roli prijavljenog korisnika.
+     * Promjena kriterija pretrage pokreće pretragu u pozadini nakon kratke stanke u unosu.
+     * Imena klijenata dohvaćaju se u pozadini zajedno sa stranicama rezultata, a svaka stranica se odmah pretvara
+     * u retke s gotovim tekstovima stupaca, pa iscrtavanje ćelija ne pristupa bazi i ne stvara nova svojstva.
+     * Rezultati se u tablicu učitavaju po stranicama (prvi retci pretrage bez naslova mogu se prikazati i prije
+     * nego što su stranice pripremljene), a klik na zaglavlje stupca ponovno pokreće pretragu s novim redoslijedom;
+     * opis se ne može poredati.
      */
     public void initialize() {
-        ideaTableColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getTitle()));
-        descriptionTableColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getDescription()));
-        statusTableColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getStatus().toString()));
-
-        clientTableColumn.setCellValueFactory(cellData -> {
-            Long clientId = cellData.getValue().getClientId();
-            Client client = null;
-            try {
-                client = clientRepository.findById(clientId);
-            } catch (EmptyRepositoryResultException | SQLException e) {
-                log.error("Error fetching client name for proposal: {}", e.getMessage(), e);
-            }
-            return new SimpleStringProperty(client != null ? client.getName() : "Unknown Client");
-        });
+        PagedTableSupport.bindText(ideaTableColumn, ProposalRow::titleProperty);
+        PagedTableSupport.bindText(descriptionTableColumn, ProposalRow::descriptionProperty);
+        PagedTableSupport.bindText(statusTableColumn, ProposalRow::statusProperty);
+        PagedTableSupport.bindText(clientTableColumn, ProposalRow::clientProperty);
+        descriptionTableColumn.setSortable(false);
+        PagedTableSupport.sortOnServer(proposalTableView, this::sortProposals);
 
         statusComboBox.setItems(FXCollections.observableArrayList("Pending", "Approved", "Rejected"));
 
@@ -87,55 +137,492 @@ public class ProposalSearchController {
             dashboardController.disableButton(approveButton);
             dashboardController.disableButton(rejectButton);
         }
+
+        ideaTextField.textProperty().addListener((observable, oldValue, newValue) -> scheduleSearch());
+        statusComboBox.valueProperty().addListener((observable, oldValue, newValue) -> scheduleSearch());
+        clientTextField.textProperty().addListener((observable, oldValue, newValue) -> scheduleSearch());
+        loadingIndicator.visibleProperty().bind(searchExecutor.searchingProperty().or(tasks.busyProperty()).or(streaming));
+    }
+
+    /**
+     * Vraća ekran u početno stanje (prazni kriteriji i tablica) i, dok je ekran prikazan,
+     * primjenjuje promjene prijedloga primljene sa sabirnice događaja na pojedine retke tablice.
+     * Zapamćena imena klijenata se zaboravljaju, jer promjene klijenata dok ekran nije prikazan nisu primljene,
+     * a dok je ekran prikazan ažuriraju se iz promjena klijenata.
+     */
+    @Override
+    public void onShow() {
+        ideaTextField.clear();
+        statusComboBox.setValue(null);
+        clientTextField.clear();
+        searchExecutor.cancel();
+        activeCriteria = null;
+        proposalTableView.getSortOrder().clear();
+        activeSort = ProposalSort.DEFAULT;
+        showProposals(PageSource.of(List.of(), PAGE_SIZE));
+
+        clientNames.clear();
+        proposalSubscription = ChangeEventSupport.subscribeOnFxThread(EntityType.PROPOSAL, this::applyProposalChange);
+        clientSubscription = ChangeEventSupport.subscribeOnFxThread(EntityType.CLIENT, this::applyClientChange);
+    }
+
+    /**
+     * Otkazuje pretragu i učitavanja u tijeku, prestaje učitavati stranice rezultata i prestaje primati promjene
+     * prijedloga i klijenata.
+     */
+    @Override
+    public void onHide() {
+        searchExecutor.cancel();
+        tasks.cancelLoads();
+        closeShownResults();
+        if (proposalSubscription != null) {
+            proposalSubscription.close();
+            proposalSubscription = null;
+        }
+        if (clientSubscription != null) {
+            clientSubscription.close();
+            clientSubscription = null;
+        }
+        SEARCH_CACHE.logStats();
+    }
+
+    /**
+     * Zaustavlja pozadinske dretve pretrage.
+     */
+    @Override
+    public void onDispose() {
+        searchExecutor.close();
     }
 
     /**
      * Filtrira prijedloge na temelju unesenih kriterija.
      * Regularni korisnici vide samo svoje prijedloge, dok administratori vide sve.
+     * Pretraga se odmah pokreće u pozadini, a prethodna pretraga koja se još izvodi se otkazuje.
      */
     public void filterProposals() {
-        Long currentUserId = SessionManager.getLoggedInUserId();
-        boolean isAdmin = SessionManager.isAdmin();
-        List<Proposal> proposalList = proposalRepository.findAll();
+        activeCriteria = buildSearchCriteria();
+        ProposalSearchCriteria criteria = activeCriteria;
+        ProposalSort sort = activeSort;
+        searchExecutor.submitNow(cancellation -> findProposals(criteria, sort, cancellation));
+    }
 
-        if (!isAdmin) {
-            proposalList = proposalList.stream()
-                    .filter(proposal -> proposal.getUserId() == currentUserId)
-                    .toList();
+    /**
+     * Zakazuje pretragu nakon promjene kriterija. Pretraga se pokreće tek kada korisnik zastane s unosom.
+     */
+    private void scheduleSearch() {
+        activeCriteria = buildSearchCriteria();
+        ProposalSearchCriteria criteria = activeCriteria;
+        ProposalSort sort = activeSort;
+        searchExecutor.submit(cancellation -> findProposals(criteria, sort, cancellation));
+    }
+
+    /**
+     * Poziva se kada korisnik promijeni poredavanje tablice. Ako se redoslijed promijenio, pretraga se odmah ponovno
+     * pokreće, a baza vraća prijedloge već poredane.
+     */
+    private void sortProposals() {
+        ProposalSort sort = sortFromTable();
+        if (sort.equals(activeSort)) {
+            return;
+        }
+        activeSort = sort;
+        if (activeCriteria != null) {
+            filterProposals();
+        }
+    }
+
+    /**
+     * Određuje redoslijed prema prvom stupcu po kojem je tablica poredana.
+     *
+     * @return Redoslijed pretrage; zadani redoslijed ako tablica nije poredana.
+     */
+    private ProposalSort sortFromTable() {
+        if (proposalTableView.getSortOrder().isEmpty()) {
+            return ProposalSort.DEFAULT;
         }
 
-        String idea = ideaTextField.getText();
-        if (!idea.isEmpty()) {
-            proposalList = new ArrayList<>(proposalList.stream()
-                    .filter(proposal -> proposal.getTitle().toLowerCase().contains(idea.toLowerCase()))
-                    .toList());
+        TableColumn<ProposalRow, ?> column = proposalTableView.getSortOrder().get(0);
+        ProposalSort.Column sortColumn;
+        if (column == ideaTableColumn) {
+            sortColumn = ProposalSort.Column.TITLE;
+        } else if (column == statusTableColumn) {
+            sortColumn = ProposalSort.Column.STATUS;
+        } else {
+            sortColumn = ProposalSort.Column.CLIENT;
         }
+        return new ProposalSort(sortColumn, column.getSortType() == TableColumn.SortType.ASCENDING);
+    }
 
-        String status = statusComboBox.getValue();
-        if (status != null && !status.isEmpty()) {
-            proposalList = new ArrayList<>(proposalList.stream()
-                    .filter(proposal -> proposal.getStatus().toString().equalsIgnoreCase(status))
-                    .toList());
-        }
-
-        String clientName = clientTextField.getText().trim();
-        if (!clientName.isEmpty()) {
-            List<Proposal> filteredProposals = new ArrayList<>();
-            for (Proposal proposal : proposalList) {
-                try {
-                    Client client = clientRepository.findById(proposal.getClientId());
-                    if (client != null && client.getName().toLowerCase().contains(clientName.toLowerCase())) {
-                        filteredProposals.add(proposal);
-                    }
-                } catch (EmptyRepositoryResultException | SQLException e) {
-                    throw new ProposalSearchException(e);
-                }
+    /**
+     * Pronalazi prijedloge koji zadovoljavaju kriterije. Izvodi se na pozadinskoj dretvi.
+     * Bez pretrage po naslovu i uz redoslijed po ID-ju baza čita prijedloge redom iz primarnog ključa, pa se prvih
+     * {@value #STREAMED_ROWS} redaka dodaje u tablicu dok se upit još čita, a izvor stranica za sve retke priprema
+     * se u pozadini pod istom oznakom za otkazivanje; kada je pripremljen, tablica prelazi na stranice.
+     * Inače se odmah vraća izvor stranica.
+     *
+     * @param criteria Kriteriji pretrage.
+     * @param sort Redoslijed rezultata.
+     * @param cancellation Oznaka za otkazivanje pretrage.
+     * @return Izvor redaka s pronađenim prijedlozima, ili prvi retci i izvor redaka koji se još priprema.
+     */
+    private SearchResult findProposals(ProposalSearchCriteria criteria, ProposalSort sort,
+                                       QueryCancellation cancellation) {
+        ProposalSearchCriteria normalizedCriteria = criteria.normalized();
+        if ((normalizedCriteria.idea() == null || normalizedCriteria.idea().isEmpty())
+                && sort.column() == ProposalSort.Column.ID) {
+            CompletableFuture<PageSource<ProposalRow>> pendingPages = CompletableFuture.supplyAsync(
+                    () -> findPages(normalizedCriteria, sort, cancellation), BackgroundExecutor::execute);
+            return new SearchResult(null, proposalRepository.publishMatching(normalizedCriteria, sort, STREAMED_ROWS,
+                    this::toStreamedRow, BackgroundExecutor::execute), pendingPages);
+        }
+
+        return new SearchResult(findPages(normalizedCriteria, sort, cancellation), null, null);
+    }
+
+    /**
+     * Vraća izvor prijedloga koji zadovoljavaju kriterije iz međuspremnika rezultata ili ga stvara i sprema
+     * u međuspremnik. Uz svaku učitanu stranicu dohvaćaju se imena klijenata koja još nisu poznata,
+     * a prijedlozi se pretvaraju u retke tablice. Izvodi se na pozadinskoj dretvi.
+     *
+     * @param criteria Normalizirani kriteriji pretrage.
+     * @param sort Redoslijed rezultata.
+     * @param cancellation Oznaka za otkazivanje pretrage.
+     * @return Izvor redaka s pronađenim prijedlozima.
+     */
+    private PageSource<ProposalRow> findPages(ProposalSearchCriteria criteria, ProposalSort sort,
+                                              QueryCancellation cancellation) {
+        PageSource<Proposal> proposals = SEARCH_CACHE.get(new ProposalQuery(criteria, sort),
+                () -> searchProposals(criteria, sort, cancellation));
+        cancellation.throwIfCancelled();
+
+        return proposals.mapPages(page -> {
+            loadClientNames(page);
+            return page.stream().map(this::toRow).toList();
+        });
+    }
+
+    /**
+     * Pretvara prijedlog pročitan zajedno s imenom klijenta u redak tablice i pamti ime klijenta.
+     * Izvodi se na dretvi koja čita upit.
+     *
+     * @param proposal Prijedlog.
+     * @param clientName Ime klijenta ili {@code null} ako klijent ne postoji.
+     * @return Redak tablice.
+     */
+    private ProposalRow toStreamedRow(Proposal proposal, String clientName) {
+        String name = clientName == null ? UNKNOWN_CLIENT : clientName;
+        clientNames.put(proposal.getClientId(), name);
+        return new ProposalRow(proposal, name);
+    }
+
+    /**
+     * Pretvara prijedlog u redak tablice. Ime klijenta mora već biti učitano.
+     *
+     * @param proposal Prijedlog.
+     * @return Redak tablice.
+     */
+    private ProposalRow toRow(Proposal proposal) {
+        return new ProposalRow(proposal, clientNames.getOrDefault(proposal.getClientId(), UNKNOWN_CLIENT));
+    }
+
+    /**
+     * Jednim upitom dohvaća imena klijenata zadanih prijedloga koja još nisu poznata. Izvodi se na pozadinskoj dretvi.
+     * Klijenti koji ne postoje pamte se kao nepoznati.
+     *
+     * @param proposals Prijedlozi čiji se klijenti prikazuju.
+     */
+    private void loadClientNames(List<Proposal> proposals) {
+        Set<Long> missingIds = proposals.stream()
+                .map(Proposal::getClientId)
+                .filter(clientId -> !clientNames.containsKey(clientId))
+                .collect(Collectors.toSet());
+        if (missingIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, String> names = clientRepository.findNamesByIds(missingIds);
+        for (Long clientId : missingIds) {
+            clientNames.put(clientId, names.getOrDefault(clientId, UNKNOWN_CLIENT));
+        }
+    }
+
+    /**
+     * Pronalazi prijedloge koji zadovoljavaju kriterije. Izvodi se na pozadinskoj dretvi.
+     * Pretraga po naslovu koristi memorijski indeks trigrama, a pronađeni prijedlozi čitaju se iz baze kao i
+     * stranice ostalih pretraga, sa samo početkom opisa. Ostali kriteriji se provjeravaju nad kandidatima,
+     * koji se zatim poredaju u memoriji; bez pretrage po naslovu svi kriteriji i redoslijed primjenjuju se u upitima
+     * nad bazom, koja vraća samo stranice koje tablica zatraži.
+     *
+     * @param criteria Kriteriji pretrage.
+     * @param sort Redoslijed rezultata.
+     * @param cancellation Oznaka za otkazivanje pretrage.
+     * @return Izvor pronađenih prijedloga.
+     */
+    private PageSource<Proposal> searchProposals(ProposalSearchCriteria criteria, ProposalSort sort,
+                                                 QueryCancellation cancellation) {
+        if (criteria.idea() == null || criteria.idea().isEmpty()) {
+            return proposalRepository.findPages(criteria, sort, PAGE_SIZE, cancellation);
+        }
+
+        List<Long> candidateIds = proposalSearchIndex.findByTitle(criteria.idea());
+        cancellation.throwIfCancelled();
+        List<Proposal> candidates = proposalRepository.findPreviewsByIds(candidateIds);
+        cancellation.throwIfCancelled();
+
+        Set<Long> clientIds;
+        if (criteria.clientName() == null || criteria.clientName().isEmpty()) {
+            clientIds = null;
+        } else {
+            clientIds = clientRepository.findMatching(new ClientSearchCriteria(criteria.clientName(), null, null, null), cancellation)
+                    .stream()
+                    .map(Client::getId)
+                    .collect(Collectors.toSet());
+        }
+
+        FilterEngine<Proposal> filter = filterBuilder(criteria)
+                .matching(clientIds == null ? null : proposal -> clientIds.contains(proposal.getClientId()))
+                .build();
+        List<Proposal> proposals = filter.filter(candidates);
+        if (sort.column() == ProposalSort.Column.CLIENT) {
+            loadClientNames(proposals);
+        }
+        return PageSource.of(proposals.stream().sorted(comparator(sort)).toList(), PAGE_SIZE);
+    }
+
+    /**
+     * Vraća usporedbu prijedloga u zadanom redoslijedu, za rezultate pretrage po naslovu koji se poredaju u memoriji.
+     * Imena klijenata moraju već biti učitana.
+     *
+     * @param sort Redoslijed rezultata.
+     * @return Usporedba prijedloga.
+     */
+    private Comparator<Proposal> comparator(ProposalSort sort) {
+        Comparator<Proposal> byColumn = switch (sort.column()) {
+            case ID -> Comparator.comparingLong(Proposal::getId);
+            case TITLE -> Comparator.comparing(proposal -> Objects.requireNonNullElse(proposal.getTitle(), ""));
+            case STATUS -> Comparator.comparing(proposal -> proposal.getStatus().toString());
+            case CLIENT -> Comparator.comparing(proposal -> clientNames.getOrDefault(proposal.getClientId(), UNKNOWN_CLIENT));
+        };
+        Comparator<Proposal> order = byColumn.thenComparingLong(Proposal::getId);
+        return sort.ascending() ? order : order.reversed();
+    }
+
+    /**
+     * Stvara graditelja filtera s kriterijima pretrage koji se mogu provjeriti nad samim prijedlogom
+     * (korisnik, status i naslov); ime klijenta provjerava se zasebno.
+     *
+     * @param criteria Kriteriji pretrage.
+     * @return Graditelj filtera.
+     */
+    private static FilterEngine.Builder<Proposal> filterBuilder(ProposalSearchCriteria criteria) {
+        return FilterEngine.<Proposal>builder()
+                .equalTo(Proposal::getUserId, criteria.userId())
+                .equalTo(Proposal::getStatus, criteria.status())
+                .contains(Proposal::getTitle, criteria.idea());
+    }
+
+    /**
+     * Prikazuje rezultate pretrage u tablici. Tablica učitava samo stranice koje prikazuje,
+     * a stranice prethodnih rezultata se prestaju učitavati.
+     *
+     * @param proposals Izvor redaka s pronađenim prijedlozima.
+     */
+    private void showProposals(PageSource<ProposalRow> proposals) {
+        closeShownResults();
+        shownProposals = new LazyPagedList<>(proposals, e -> showError("Loading Proposals Failed", e.getMessage()));
+        proposalTableView.setItems(shownProposals);
+    }
+
+    /**
+     * Prikazuje rezultat pretrage. Izvor stranica predaje se tablici. Prve retke koje baza još čita dodaje
+     * u tablicu u skupinama, jednom po iscrtavanju ekrana, a kada je izvor stranica pripremljen, tablica prelazi
+     * na stranice, pa u memoriji nikad nisu svi pronađeni retci.
+     *
+     * @param result Rezultat pretrage.
+     */
+    private void showResult(SearchResult result) {
+        if (result.firstRows() == null) {
+            showProposals(result.pages());
+            return;
+        }
+
+        closeShownResults();
+        ObservableList<ProposalRow> rows = FXCollections.observableArrayList();
+        proposalTableView.setItems(rows);
+        MicroBatchSubscriber<ProposalRow> subscriber = new MicroBatchSubscriber<>(rows, () -> { },
+                e -> showError("Loading Proposals Failed", e.getMessage()));
+        streamedProposals = subscriber;
+        streaming.set(true);
+        result.firstRows().subscribe(subscriber);
+        result.pendingPages().whenComplete((pages, error) ->
+                Platform.runLater(() -> showPagesAfterStream(subscriber, rows, pages, error)));
+    }
+
+    /**
+     * Prelazi s prvih redaka pretrage na izvor stranica, ako su ti retci još prikazani. Već prikazani retci
+     * postaju prve stranice liste, pa se ne učitavaju ponovno. Ako je pretraga otkazana, ne radi ništa;
+     * ako priprema stranica nije uspjela, u tablici ostaju prvi retci.
+     *
+     * @param subscriber Pretplatnik koji je dodavao prve retke.
+     * @param firstRows Prikazani prvi retci.
+     * @param pages Izvor stranica ili {@code null} ako priprema nije uspjela.
+     * @param error Greška pripreme stranica ili {@code null}.
+     */
+    private void showPagesAfterStream(MicroBatchSubscriber<ProposalRow> subscriber, List<ProposalRow> firstRows,
+                                      PageSource<ProposalRow> pages, Throwable error) {
+        if (streamedProposals != subscriber) {
+            return;
+        }
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (!(cause instanceof CancellationException)) {
+                streaming.set(false);
+                log.error("Loading proposal pages failed: {}", cause.getMessage(), cause);
+                showError("Loading Proposals Failed", cause.getMessage());
+            }
+            return;
+        }
+
+        List<ProposalRow> shownRows = List.copyOf(firstRows);
+        closeShownResults();
+        shownProposals = new LazyPagedList<>(pages, shownRows, e -> showError("Loading Proposals Failed", e.getMessage()));
+        proposalTableView.setItems(shownProposals);
+    }
+
+    /**
+     * Prestaje učitavati prikazane rezultate prethodne pretrage, bilo po stranicama ili kao retke koji se još čitaju.
+     */
+    private void closeShownResults() {
+        if (shownProposals != null) {
+            shownProposals.close();
+            shownProposals = null;
+        }
+        if (streamedProposals != null) {
+            streamedProposals.close();
+            streamedProposals = null;
+        }
+        streaming.set(false);
+    }
+
+    /**
+     * Zamjenjuje prikazani redak prijedloga, ako je već učitan u tablicu.
+     *
+     * @param proposalId ID prijedloga.
+     * @param row Novi redak.
+     * @return {@code true} ako je redak pronađen i zamijenjen.
+     */
+    private boolean replaceShownRow(long proposalId, ProposalRow row) {
+        if (shownProposals != null) {
+            return shownProposals.replaceLoaded(shownRow -> shownRow != null && shownRow.proposal().getId() == proposalId, row);
+        }
+        ObservableList<ProposalRow> rows = proposalTableView.getItems();
+        for (int index = 0; index < rows.size(); index++) {
+            if (rows.get(index).proposal().getId() == proposalId) {
+                rows.set(index, row);
+                return true;
             }
-            proposalList = filteredProposals;
+        }
+        return false;
+    }
+
+    /**
+     * Primjenjuje promjenu jednog prijedloga na prikazane rezultate pretrage.
+     * Izmijenjeni prijedlog koji i dalje zadovoljava kriterije zadnje pretrage zamjenjuje se u učitanoj stranici
+     * ako su rezultati poredani po ID-ju, pa mu se mjesto u tablici ne mijenja. U ostalim slučajevima
+     * (novi ili obrisani prijedlog, promjena koja utječe na kriterije ili redoslijed) zakazuje se ponovna pretraga.
+     *
+     * @param event Događaj o promjeni prijedloga.
+     */
+    private void applyProposalChange(ChangeEvent event) {
+        if (activeCriteria == null) {
+            return;
+        }
+
+        Proposal changedProposal = (Proposal) event.entity();
+        if (event.changeType() != ChangeType.DELETED && !clientNames.containsKey(changedProposal.getClientId())) {
+            tasks.load("Loading client name", () -> {
+                loadClientNames(List.of(changedProposal));
+                return changedProposal;
+            }, loadedProposal -> applyProposalChange(event));
+            return;
+        }
+
+        boolean matches = event.changeType() == ChangeType.UPDATED
+                && filterBuilder(activeCriteria).build().test(changedProposal)
+                && matchesClientName(changedProposal);
+        boolean replaced = matches
+                && activeSort.column() == ProposalSort.Column.ID
+                && replaceShownRow(event.entityId(), toRow(changedProposal));
+        if (!replaced) {
+            scheduleSearch();
+        }
+    }
+
+    /**
+     * Primjenjuje promjenu jednog klijenta na zapamćena imena klijenata: ime preimenovanog klijenta se ažurira,
+     * a obrisanog zaboravlja. Retci tablice sadrže ime klijenta, a o imenu ovise i kriterij imena klijenta
+     * i redoslijed po klijentu, pa se zadnja pretraga ponovno pokreće ako se promijenilo ime prikazanog klijenta
+     * ili je zadan kriterij imena klijenta.
+     *
+     * @param event Događaj o promjeni klijenta.
+     */
+    private void applyClientChange(ChangeEvent event) {
+        boolean known = clientNames.containsKey(event.entityId());
+        boolean nameChanged = false;
+        if (known) {
+            String newName = event.changeType() == ChangeType.DELETED || event.entity() == null
+                    ? null
+                    : ((Client) event.entity()).getName();
+            String oldName = newName == null
+                    ? clientNames.remove(event.entityId())
+                    : clientNames.put(event.entityId(), newName);
+            nameChanged = !Objects.equals(oldName, newName);
         }
 
-        ObservableList<Proposal> proposalObservableList = FXCollections.observableList(proposalList);
-        proposalTableView.setItems(proposalObservableList);
+        if (activeCriteria != null && (nameChanged
+                || (activeCriteria.clientName() != null && !activeCriteria.clientName().isEmpty()))) {
+            scheduleSearch();
+        }
+    }
+
+    /**
+     * Provjerava zadovoljava li klijent prijedloga kriterij imena klijenta zadnje pretrage.
+     * Ime klijenta mora već biti učitano.
+     *
+     * @param proposal Prijedlog čiji se klijent provjerava.
+     * @return {@code true} ako kriterij nije zadan ili ga ime klijenta zadovoljava.
+     */
+    private boolean matchesClientName(Proposal proposal) {
+        if (activeCriteria.clientName() == null || activeCriteria.clientName().isEmpty()) {
+            return true;
+        }
+        String clientName = clientNames.get(proposal.getClientId());
+        return FilterEngine.containsIgnoreCase(clientName, activeCriteria.clientName().toLowerCase());
+    }
+
+    /**
+     * Izvozi prijedloge koji zadovoljavaju trenutne kriterije pretrage u CSV datoteku.
+     * Izvoz se izvodi u pozadini, a napredak se prikazuje u traci napretka.
+     */
+    public void exportProposals() {
+        ProposalSearchCriteria criteria = buildSearchCriteria();
+        CsvExportSupport.exportInBackground(exportButton, exportProgressBar, "proposals.csv",
+                (target, progress) -> csvExporter.exportProposals(criteria, target, progress),
+                () -> proposalRepository.count(criteria));
+    }
+
+    /**
+     * Stvara kriterije pretrage iz trenutnih vrijednosti polja za pretragu.
+     * Regularni korisnici pretražuju samo svoje prijedloge.
+     * @return Kriteriji pretrage.
+     */
+    private ProposalSearchCriteria buildSearchCriteria() {
+        String status = statusComboBox.getValue();
+        return new ProposalSearchCriteria(
+                ideaTextField.getText(),
+                status == null || status.isEmpty() ? null : enums.ProposalStatus.valueOf(status.toUpperCase()),
+                clientTextField.getText().trim(),
+                SessionManager.isAdmin() ? null : SessionManager.getLoggedInUserId());
     }
 
     /**
@@ -143,17 +630,29 @@ public class ProposalSearchController {
      * @throws SwitchingScreensExcpetion ako dođe do greške pri otvaranju ekrana.
      */
     public void openProposalEditScreen() throws SwitchingScreensExcpetion {
-        Proposal selectedProposal = proposalTableView.getSelectionModel().getSelectedItem();
+        Proposal selectedProposal = selectedProposal();
         new MenuController().showProposalEditScreen(selectedProposal);
     }
 
     /**
-     * Obrađuje brisanje odabranog prijedloga, uz korisničku potvrdu.
-     * @throws SQLException ako dođe do SQL greške.
-     * @throws EmptyRepositoryResultException ako prijedlog ne postoji.
+     * Otvara prozor s poviješću promjena odabranog prijedloga.
+     * @throws SwitchingScreensExcpetion ako dođe do greške pri otvaranju prozora.
+     */
+    public void openProposalHistoryScreen() throws SwitchingScreensExcpetion {
+        Proposal selectedProposal = selectedProposal();
+
+        if (selectedProposal == null) {
+            showError("No Proposal Selected", "Please select a proposal to view its history.");
+            return;
+        }
+        new MenuController().showProposalHistoryScreen(selectedProposal);
+    }
+
+    /**
+     * Obrađuje brisanje odabranog prijedloga, uz korisničku potvrdu. Prijedlog se briše na pozadinskoj dretvi.
      */
-    public void handleDeleteProposal() throws SQLException, EmptyRepositoryResultException {
-        Proposal selectedProposal = proposalTableView.getSelectionModel().getSelectedItem();
+    public void handleDeleteProposal() {
+        Proposal selectedProposal = selectedProposal();
 
         if (selectedProposal == null) {
             showError("No Proposal Selected", "Please select a proposal to delete.");
@@ -173,37 +672,33 @@ public class ProposalSearchController {
         confirmation.setContentText("Are you sure you want to delete this proposal?");
 
         if (confirmation.showAndWait().orElse(ButtonType.CANCEL) == ButtonType.OK) {
-            proposalRepository.deleteProposal(selectedProposal.getId());
-            proposalTableView.getItems().remove(selectedProposal);
+            tasks.perform("Deleting proposal", () -> {
+                proposalRepository.deleteProposal(selectedProposal.getId());
+                return selectedProposal;
+            }, deletedProposal -> log.info("Deleted proposal {}", deletedProposal.getId()));
         }
     }
 
     /**
      * Odobrava odabrani prijedlog.
-     * @throws SQLException ako dođe do SQL greške.
-     * @throws EmptyRepositoryResultException ako prijedlog ne postoji.
      */
-    public void handleApproveProposal() throws SQLException, EmptyRepositoryResultException {
+    public void handleApproveProposal() {
         updateProposalStatus(enums.ProposalStatus.APPROVED);
     }
 
     /**
      * Odbija odabrani prijedlog.
-     * @throws SQLException ako dođe do SQL greške.
-     * @throws EmptyRepositoryResultException ako prijedlog ne postoji.
      */
-    public void handleRejectProposal() throws SQLException, EmptyRepositoryResultException {
+    public void handleRejectProposal() {
         updateProposalStatus(enums.ProposalStatus.REJECTED);
     }
 
     /**
-     * Privatna metoda koja ažurira status prijedloga na zadanu vrijednost.
+     * Privatna metoda koja ažurira status prijedloga na zadanu vrijednost. Status se ažurira na pozadinskoj dretvi.
      * @param newStatus Novi status (APPROVED ili REJECTED).
-     * @throws SQLException ako dođe do SQL greške.
-     * @throws EmptyRepositoryResultException ako prijedlog ne postoji.
      */
-    private void updateProposalStatus(enums.ProposalStatus newStatus) throws SQLException, EmptyRepositoryResultException {
-        Proposal selectedProposal = proposalTableView.getSelectionModel().getSelectedItem();
+    private void updateProposalStatus(enums.ProposalStatus newStatus) {
+        Proposal selectedProposal = selectedProposal();
         if (selectedProposal == null) {
             showError("No Proposal Selected", "Please select a proposal.");
             return;
@@ -214,22 +709,32 @@ public class ProposalSearchController {
         confirmation.setHeaderText("Are you sure you want to " + newStatus.toString().toLowerCase() + " this proposal?");
         confirmation.setContentText("Proposal Details:\n"
                 + "Title: " + selectedProposal.getTitle() + "\n"
-                + "Description: " + selectedProposal.getDescription() + "\n"
+                + "Description: " + ProposalRow.descriptionPreview(selectedProposal) + "\n"
                 + "Current Status: " + selectedProposal.getStatus());
 
         if (confirmation.showAndWait().orElse(ButtonType.CANCEL) == ButtonType.OK) {
-            proposalRepository.updateStatus(selectedProposal.getId(), newStatus);
-            filterProposals();
-            proposalTableView.refresh();
-
-            Alert successAlert = new Alert(Alert.AlertType.INFORMATION);
-            successAlert.setTitle("Proposal " + newStatus);
-            successAlert.setHeaderText("Proposal successfully " + newStatus.toString().toLowerCase() + "!");
-            successAlert.setContentText("Proposal '" + selectedProposal.getTitle() + "' is now marked as " + newStatus + ".");
-            successAlert.showAndWait();
+            tasks.perform("Updating proposal status", () -> {
+                proposalRepository.updateStatus(selectedProposal.getId(), newStatus);
+                return selectedProposal;
+            }, updatedProposal -> {
+                Alert successAlert = new Alert(Alert.AlertType.INFORMATION);
+                successAlert.setTitle("Proposal " + newStatus);
+                successAlert.setHeaderText("Proposal successfully " + newStatus.toString().toLowerCase() + "!");
+                successAlert.setContentText("Proposal '" + updatedProposal.getTitle() + "' is now marked as " + newStatus + ".");
+                successAlert.showAndWait();
+            });
         }
     }
 
+    /**
+     * Vraća prijedlog iz odabranog retka tablice.
+     * @return Odabrani prijedlog ili {@code null} ako nijedan učitani redak nije odabran.
+     */
+    private Proposal selectedProposal() {
+        ProposalRow selectedRow = proposalTableView.getSelectionModel().getSelectedItem();
+        return selectedRow == null ? null : selectedRow.proposal();
+    }
+
     /**
      * Prikazuje dijalog s porukom o grešci.
      * @param title Naslov prozora.
@@ -242,4 +747,25 @@ public class ProposalSearchController {
         alert.setContentText(message);
         alert.showAndWait();
     }
-}
\ No newline at end of file
+
+    /**
+     * Ključ međuspremnika rezultata: isti kriteriji u različitom redoslijedu daju različite stranice.
+     *
+     * @param criteria Normalizirani kriteriji pretrage.
+     * @param sort Redoslijed rezultata.
+     */
+    private record ProposalQuery(ProposalSearchCriteria criteria, ProposalSort sort) {
+    }
+
+    /**
+     * Rezultat pretrage: stranice koje tablica učitava po potrebi, ili prvi retci koji se dodaju u tablicu
+     * dok baza još čita rezultat upita, zajedno sa stranicama koje se još pripremaju.
+     *
+     * @param pages Izvor stranica s pronađenim prijedlozima ili {@code null} ako se stranice još pripremaju.
+     * @param firstRows Izdavač prvih redaka ili {@code null} ako su stranice već pripremljene.
+     * @param pendingPages Izvor stranica koji se još priprema ili {@code null} ako su stranice već pripremljene.
+     */
+    private record SearchResult(PageSource<ProposalRow> pages, Flow.Publisher<ProposalRow> firstRows,
+                                CompletableFuture<PageSource<ProposalRow>> pendingPages) {
+    }
+}
@@ -0,0 +1,29 @@
+package controller;
+
+/**
+ * Životni ciklus kontrolera ekrana koji {@link ScreenRegistry} učitava jednom i ponovno koristi.
+ * Budući da se scena i kontroler ne stvaraju ponovno pri svakom prikazu, kontroler u {@link #onShow()}
+ * vraća ekran u početno stanje i pokreće učitavanje podataka, a u {@link #onHide()} zaustavlja posao
+ * koji ima smisla samo dok je ekran prikazan.
+ */
+public interface ScreenLifecycle {
+
+    /**
+     * Poziva se na JavaFX dretvi svaki put kada se ekran prikaže u glavnom prozoru, uključujući prvi prikaz.
+     */
+    default void onShow() {
+    }
+
+    /**
+     * Poziva se na JavaFX dretvi kada se u glavnom prozoru prikaže drugi ekran.
+     */
+    default void onHide() {
+    }
+
+    /**
+     * Poziva se na JavaFX dretvi kada se ekran uklanja iz registra (npr. pri odjavi) i više se neće prikazati.
+     * Oslobađa pozadinske dretve i ostale resurse kontrolera.
+     */
+    default void onDispose() {
+    }
+}
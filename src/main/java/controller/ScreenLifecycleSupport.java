@@ -0,0 +1,49 @@
+package controller;
+
+import javafx.scene.Node;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pomoćna klasa za praćenje životnog ciklusa ekrana prikazanih u prozoru.
+ */
+final class ScreenLifecycleSupport {
+
+    /**
+     * Privatni konstruktor kako bi se spriječilo stvaranje instanci.
+     */
+    private ScreenLifecycleSupport() {
+    }
+
+    /**
+     * Izvodi zadanu akciju jednom, kada se scena čvora ukloni iz prozora ili se prozor zatvori
+     * (npr. kada se u glavnom prozoru prikaže drugi ekran ili se zatvori prozor za uređivanje).
+     *
+     * @param node Čvor ekrana.
+     * @param action Akcija koja oslobađa resurse ekrana.
+     */
+    static void runWhenHidden(Node node, Runnable action) {
+        AtomicBoolean done = new AtomicBoolean();
+        Runnable runOnce = () -> {
+            if (done.compareAndSet(false, true)) {
+                action.run();
+            }
+        };
+
+        node.sceneProperty().addListener((sceneObservable, oldScene, newScene) -> {
+            if (newScene != null) {
+                newScene.windowProperty().addListener((windowObservable, oldWindow, newWindow) -> {
+                    if (newWindow == null) {
+                        runOnce.run();
+                    } else {
+                        newWindow.showingProperty().addListener((showingObservable, wasShowing, isShowing) -> {
+                            if (!isShowing) {
+                                runOnce.run();
+                            }
+                        });
+                    }
+                });
+            }
+        });
+    }
+}
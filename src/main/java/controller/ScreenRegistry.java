@@ -0,0 +1,217 @@
+package controller;
+
+import hr.javafx.business.businessproposalsystem.BusinessProposalApplication;
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import session.SessionManager;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Registar ekrana glavnog prozora. Svaka FXML datoteka se učitava jednom po prijavi, a scena i kontroler
+ * se čuvaju i ponovno koriste pri svakom sljedećem prikazu ekrana.
+ * Kontroleri koji implementiraju {@link ScreenLifecycle} dobivaju obavijest pri svakom prikazu i skrivanju ekrana,
+ * kako bi vratili ekran u početno stanje. Nakon prijave se najčešće korišteni ekrani učitavaju na pozadinskoj dretvi,
+ * a pri odjavi se registar prazni jer ekrani ovise o roli prijavljenog korisnika.
+ * Registrom se upravlja isključivo s JavaFX dretve.
+ */
+final class ScreenRegistry {
+
+    /**
+     * Ekrani koji se prikazuju u glavnom prozoru.
+     */
+    enum Screen {
+        DASHBOARD("dashboardScreen.fxml", "Dashboard", 700, 600),
+        PROPOSAL_SEARCH("proposalSearchScreen.fxml", "Search Proposals", 700, 600),
+        CLIENT_SEARCH("clientSearchScreen.fxml", "Search Clients", 700, 600),
+        CLIENT_EDIT("clientEditScreen.fxml", "Edit Clients", 700, 600),
+        AUDIT_LOG("auditLogScreen.fxml", "Audit Log", 700, 600);
+
+        private final String fxml;
+        private final String title;
+        private final double width;
+        private final double height;
+
+        Screen(String fxml, String title, double width, double height) {
+            this.fxml = fxml;
+            this.title = title;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    /**
+     * Učitani ekran: scena i kontroler iz FXML datoteke.
+     */
+    private record LoadedScreen(Scene scene, Object controller) {}
+
+    private static final Logger log = LoggerFactory.getLogger(ScreenRegistry.class);
+    private static final Map<Screen, LoadedScreen> SCREENS = new EnumMap<>(Screen.class);
+    private static final ExecutorService PRELOADER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "screen-preloader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static LoadedScreen currentScreen;
+    private static long generation;
+
+    /**
+     * Privatni konstruktor kako bi se spriječilo stvaranje instanci.
+     */
+    private ScreenRegistry() {
+    }
+
+    /**
+     * Prikazuje ekran u glavnom prozoru. Ekran se učitava samo ako već nije u registru.
+     * Prethodno prikazani ekran dobiva {@link ScreenLifecycle#onHide()}, a novi {@link ScreenLifecycle#onShow()}.
+     * Zapisuje trajanje promjene ekrana do prvog rasporeda (layout) nove scene.
+     *
+     * @param screen Ekran koji se prikazuje.
+     * @throws IOException Ako dođe do greške pri učitavanju FXML datoteke.
+     */
+    static void show(Screen screen) throws IOException {
+        long start = System.nanoTime();
+        LoadedScreen loadedScreen = SCREENS.get(screen);
+        boolean cached = loadedScreen != null;
+        if (!cached) {
+            FXMLLoader fxmlLoader = new FXMLLoader(BusinessProposalApplication.class.getResource(screen.fxml));
+            Parent root = fxmlLoader.load();
+            loadedScreen = new LoadedScreen(new Scene(root, screen.width, screen.height), fxmlLoader.getController());
+            SCREENS.put(screen, loadedScreen);
+        }
+
+        if (currentScreen != null && currentScreen != loadedScreen
+                && currentScreen.controller() instanceof ScreenLifecycle lifecycle) {
+            lifecycle.onHide();
+        }
+        currentScreen = loadedScreen;
+
+        Stage mainStage = BusinessProposalApplication.getMainStage();
+        mainStage.setTitle(screen.title);
+        mainStage.setScene(loadedScreen.scene());
+        if (loadedScreen.controller() instanceof ScreenLifecycle lifecycle) {
+            lifecycle.onShow();
+        }
+        mainStage.show();
+
+        logSwitchLatency(screen, loadedScreen.scene(), cached, start);
+    }
+
+    /**
+     * Na pozadinskoj dretvi učitava ekrane koje prijavljeni korisnik najčešće otvara:
+     * pretragu prijedloga, a administratoru i pretragu klijenata te audit log.
+     * Već učitani ekrani se preskaču.
+     */
+    static void preloadCommonScreens() {
+        List<Screen> screens = SessionManager.isAdmin()
+                ? List.of(Screen.PROPOSAL_SEARCH, Screen.CLIENT_SEARCH, Screen.AUDIT_LOG)
+                : List.of(Screen.PROPOSAL_SEARCH);
+        for (Screen screen : screens) {
+            if (!SCREENS.containsKey(screen)) {
+                preload(screen, generation);
+            }
+        }
+    }
+
+    /**
+     * Učitava FXML datoteke svih ekrana na pozivajućoj dretvi i odmah ih odbacuje. Ekrani ovise o roli korisnika,
+     * pa se prije prijave ne spremaju u registar; učitavanje samo unaprijed učitava klase kontrola i kontrolera
+     * te zagrijava FXML parser, kako bi prvo stvarno učitavanje nakon prijave bilo brže.
+     * Poziva se s pozadinske dretve pri pokretanju aplikacije.
+     */
+    static void warmUp() {
+        for (Screen screen : Screen.values()) {
+            FXMLLoader fxmlLoader = new FXMLLoader(BusinessProposalApplication.class.getResource(screen.fxml));
+            try {
+                fxmlLoader.load();
+            } catch (IOException | RuntimeException e) {
+                log.warn("Warming up screen {} failed: {}", screen, e.getMessage(), e);
+                continue;
+            }
+            dispose(fxmlLoader.getController());
+        }
+    }
+
+    /**
+     * Uklanja sve ekrane iz registra (npr. pri odjavi). Prikazani ekran dobiva {@link ScreenLifecycle#onHide()},
+     * a svi ekrani {@link ScreenLifecycle#onDispose()}. Ekrani koji se upravo učitavaju u pozadini se odbacuju.
+     */
+    static void clear() {
+        if (currentScreen != null && currentScreen.controller() instanceof ScreenLifecycle lifecycle) {
+            lifecycle.onHide();
+        }
+        currentScreen = null;
+        generation++;
+
+        for (LoadedScreen loadedScreen : SCREENS.values()) {
+            dispose(loadedScreen.controller());
+        }
+        SCREENS.clear();
+    }
+
+    /**
+     * Učitava FXML na pozadinskoj dretvi, a scenu stvara i sprema u registar na JavaFX dretvi.
+     * Rezultat se odbacuje ako je registar u međuvremenu ispražnjen ili je ekran već učitan pri prikazu.
+     */
+    private static void preload(Screen screen, long requestedGeneration) {
+        PRELOADER.execute(() -> {
+            long start = System.nanoTime();
+            FXMLLoader fxmlLoader = new FXMLLoader(BusinessProposalApplication.class.getResource(screen.fxml));
+            Parent root;
+            try {
+                root = fxmlLoader.load();
+            } catch (IOException | RuntimeException e) {
+                log.warn("Preloading screen {} failed: {}", screen, e.getMessage(), e);
+                return;
+            }
+            Object controller = fxmlLoader.getController();
+
+            Platform.runLater(() -> {
+                if (requestedGeneration != generation || SCREENS.containsKey(screen)) {
+                    dispose(controller);
+                    return;
+                }
+                SCREENS.put(screen, new LoadedScreen(new Scene(root, screen.width, screen.height), controller));
+                log.info("Preloaded screen {} in {} ms", screen, (System.nanoTime() - start) / 1_000_000);
+            });
+        });
+    }
+
+    private static void dispose(Object controller) {
+        if (controller instanceof ScreenLifecycle lifecycle) {
+            lifecycle.onDispose();
+        }
+    }
+
+    /**
+     * Zapisuje trajanje promjene ekrana nakon što JavaFX prvi put izračuna raspored nove scene,
+     * jer se CSS i raspored primjenjuju tek u sljedećem pulsu, a ne pri postavljanju scene.
+     */
+    private static void logSwitchLatency(Screen screen, Scene scene, boolean cached, long start) {
+        boolean[] logged = new boolean[1];
+        Runnable listener = new Runnable() {
+            @Override
+            public void run() {
+                if (logged[0]) {
+                    return;
+                }
+                logged[0] = true;
+                log.info("Switched to screen {} in {} ms ({})", screen, (System.nanoTime() - start) / 1_000_000,
+                        cached ? "cached" : "loaded");
+                Platform.runLater(() -> scene.removePostLayoutPulseListener(this));
+            }
+        };
+        scene.addPostLayoutPulseListener(listener);
+    }
+}
@@ -0,0 +1,130 @@
+package controller;
+
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.concurrent.Task;
+import javafx.scene.control.Alert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import task.BackgroundExecutor;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
+/**
+ * Pozadinski poslovi jednog ekrana. Posao (npr. poziv repozitorija) izvodi se kao JavaFX {@link Task}
+ * na zajedničkom {@link BackgroundExecutor}-u, a rezultat se predaje ekranu na JavaFX dretvi.
+ * Dok se neki posao izvodi, {@link #busyProperty()} je {@code true}, pa ekran na njega može vezati
+ * indikator učitavanja ili onemogućiti gumbe. Greška posla zapisuje se u log i prikazuje u dijalogu.
+ * Poslovi učitavanja se otkazuju kada korisnik napusti ekran, a poslovi koji mijenjaju podatke se dovršavaju.
+ * Svim metodama se pristupa s JavaFX dretve.
+ */
+final class ScreenTasks {
+
+    private static final Logger log = LoggerFactory.getLogger(ScreenTasks.class);
+
+    private final Set<Task<?>> loadTasks = new HashSet<>();
+    private final ReadOnlyBooleanWrapper busy = new ReadOnlyBooleanWrapper();
+    private int runningTasks;
+
+    /**
+     * Pokreće posao učitavanja podataka. Posao se otkazuje pozivom {@link #cancelLoads()},
+     * npr. kada korisnik napusti ekran ili pokrene novo učitavanje istih podataka.
+     *
+     * @param description Opis posla za log i dijalog s greškom, npr. "Loading audit log".
+     * @param work Posao koji se izvodi na pozadinskoj dretvi.
+     * @param onSuccess Prima rezultat na JavaFX dretvi.
+     * @param <T> Tip rezultata.
+     */
+    <T> void load(String description, Callable<T> work, Consumer<T> onSuccess) {
+        Task<T> task = start(description, work, onSuccess);
+        loadTasks.add(task);
+        task.runningProperty().addListener((observable, wasRunning, isRunning) -> {
+            if (!isRunning) {
+                loadTasks.remove(task);
+            }
+        });
+    }
+
+    /**
+     * Pokreće posao koji mijenja podatke (npr. spremanje ili brisanje). Posao se ne otkazuje
+     * kada korisnik napusti ekran, kako promjena ne bi ostala napola provedena.
+     *
+     * @param description Opis posla za log i dijalog s greškom, npr. "Deleting proposal".
+     * @param work Posao koji se izvodi na pozadinskoj dretvi.
+     * @param onSuccess Prima rezultat na JavaFX dretvi.
+     * @param <T> Tip rezultata.
+     */
+    <T> void perform(String description, Callable<T> work, Consumer<T> onSuccess) {
+        start(description, work, onSuccess);
+    }
+
+    /**
+     * Otkazuje sve poslove učitavanja koji se još izvode; njihov rezultat se ne predaje ekranu.
+     */
+    void cancelLoads() {
+        for (Task<?> task : Set.copyOf(loadTasks)) {
+            task.cancel();
+        }
+    }
+
+    /**
+     * Svojstvo koje je {@code true} dok se izvodi barem jedan posao ekrana.
+     *
+     * @return Svojstvo zauzetosti ekrana.
+     */
+    ReadOnlyBooleanProperty busyProperty() {
+        return busy.getReadOnlyProperty();
+    }
+
+    private <T> Task<T> start(String description, Callable<T> work, Consumer<T> onSuccess) {
+        Task<T> task = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return work.call();
+            }
+        };
+
+        long start = System.nanoTime();
+        task.setOnSucceeded(event -> {
+            finished();
+            log.debug("{} finished in {} ms", description, (System.nanoTime() - start) / 1_000_000);
+            onSuccess.accept(task.getValue());
+        });
+        task.setOnFailed(event -> {
+            finished();
+            Throwable error = task.getException();
+            log.error("{} failed: {}", description, error.getMessage(), error);
+            showError(description + " failed", error.getMessage());
+        });
+        task.setOnCancelled(event -> {
+            finished();
+            log.debug("{} cancelled after {} ms", description, (System.nanoTime() - start) / 1_000_000);
+        });
+
+        runningTasks++;
+        busy.set(true);
+        BackgroundExecutor.execute(task);
+        return task;
+    }
+
+    private void finished() {
+        runningTasks--;
+        busy.set(runningTasks > 0);
+    }
+
+    /**
+     * Prikazuje dijalog s porukom o grešci.
+     * @param title Naslov prozora.
+     * @param message Poruka koja se prikazuje.
+     */
+    private static void showError(String title, String message) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle(title);
+        alert.setHeaderText("Error");
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+}
@@ -1,5 +1,6 @@
 package database;
 
+import exception.RepositoryAccessException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,16 +18,18 @@ import java.util.Properties;
 public class DatabaseConnection {
 
     private static final Logger log = LoggerFactory.getLogger(DatabaseConnection.class);
+    private static final String PROPERTIES_FILE = "database.properties";
 
     /**
      * Uspostavlja konekciju s bazom podataka.
-     * Podaci za spajanje (URL, korisničko ime, lozinka) čitaju se iz datoteke `database.properties`.
+     * Podaci za spajanje (URL, korisničko ime, lozinka) čitaju se iz datoteke `database.properties`,
+     * ili iz datoteke zadane sustavskim svojstvom {@code database.properties} (npr. u testovima).
      *
      * @return Objekt {@link Connection} koji predstavlja aktivnu konekciju, ili {@code null} ako spajanje ne uspije.
      */
     public Connection connectToDatabase() {
         Properties props = new Properties();
-        try(FileReader reader = new FileReader("database.properties")) {
+        try(FileReader reader = new FileReader(System.getProperty(PROPERTIES_FILE, PROPERTIES_FILE))) {
             props.load(reader);
 
             return DriverManager.getConnection(
@@ -40,6 +43,23 @@ public class DatabaseConnection {
         return null;
     }
 
+    /**
+     * Otvara i zatvara jednu konekciju kako bi se JDBC upravljački program i klijentske klase baze učitali
+     * prije prvog upita korisnika. Poziva se s pozadinske dretve pri pokretanju aplikacije.
+     *
+     * @throws RepositoryAccessException ako se konekcija ne može uspostaviti.
+     */
+    public void warmUp() {
+        try (Connection connection = connectToDatabase()) {
+            if (connection == null || !connection.isValid(0)) {
+                throw new RepositoryAccessException("Database connection is not available");
+            }
+        } catch (SQLException e) {
+            log.error("Database error while warming up connection: {}", e.getMessage(), e);
+            throw new RepositoryAccessException(e);
+        }
+    }
+
     /**
      * Zatvara proslijeđenu konekciju s bazom podataka.
      * Ako dođe do greške prilikom zatvaranja, ona se logira.
@@ -0,0 +1,140 @@
+package database;
+
+import exception.RepositoryAccessException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Pomoćna klasa koja osigurava postojanje pomoćnih tablica koje koristi aplikacija.
+ * Sve naredbe koriste {@code IF NOT EXISTS}, pa se mogu sigurno izvršiti na svakoj konekciji.
+ */
+public final class DatabaseSchema {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseSchema.class);
+    private static final String[] FULL_TEXT_ALIASES = {"FT_INIT", "FT_CREATE_INDEX", "FT_DROP_INDEX", "FT_DROP_ALL",
+            "FT_REINDEX", "FT_SEARCH", "FT_SEARCH_DATA"};
+
+    private DatabaseSchema() {
+    }
+
+    /**
+     * Stvara sve pomoćne tablice i indekse koji još ne postoje.
+     * Poziva se jednom pri pokretanju aplikacije, prije prvog pristupa repozitorijima.
+     *
+     * @throws RepositoryAccessException ako dođe do greške pri pristupu bazi.
+     */
+    public static void initialize() {
+        try (Connection connection = new DatabaseConnection().connectToDatabase()) {
+            ensureSettingsTable(connection);
+            ensureChangeLogTable(connection);
+            dropFullTextIndexes(connection);
+            ensureClientSearchColumns(connection);
+            ensureProposalIndexes(connection);
+        } catch (SQLException e) {
+            log.error("Database error while initializing schema: {}", e.getMessage(), e);
+            throw new RepositoryAccessException(e);
+        }
+    }
+
+    /**
+     * Stvara tablicu {@code APP_SETTINGS} u kojoj se pohranjuju interne postavke aplikacije
+     * (npr. sažetak zadnje sinkronizirane datoteke s korisnicima), ako ona još ne postoji.
+     *
+     * @param connection Aktivna konekcija s bazom podataka.
+     * @throws SQLException ako dođe do greške pri izvršavanju naredbe.
+     */
+    public static void ensureSettingsTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS APP_SETTINGS ("
+                    + "setting_key VARCHAR(100) PRIMARY KEY, "
+                    + "setting_value VARCHAR(1000))");
+        }
+    }
+
+    /**
+     * Stvara tablicu {@code CHANGE_LOG} u koju repozitoriji, u istoj transakciji kao i samu promjenu,
+     * zapisuju svaku promjenu prijedloga, klijenata i korisnika.
+     * Stupac {@code seq} je monotono rastući slijed po kojem čvorovi dohvaćaju promjene nastale od zadnje provjere.
+     *
+     * @param connection Aktivna konekcija s bazom podataka.
+     * @throws SQLException ako dođe do greške pri izvršavanju naredbe.
+     */
+    public static void ensureChangeLogTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS CHANGE_LOG ("
+                    + "seq BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY, "
+                    + "entity_type VARCHAR(20) NOT NULL, "
+                    + "entity_id BIGINT NOT NULL, "
+                    + "change_type VARCHAR(20) NOT NULL, "
+                    + "changed_fields VARCHAR(255), "
+                    + "node_id VARCHAR(36) NOT NULL, "
+                    + "changed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL)");
+            statement.execute("CREATE INDEX IF NOT EXISTS IDX_CHANGE_LOG_CHANGED_AT ON CHANGE_LOG(changed_at)");
+        }
+    }
+
+    /**
+     * Uklanja H2 indekse za pretraživanje cijelog teksta, njihove okidače i pomoćne funkcije ({@code FT_*}) iz baza
+     * u kojima su stvoreni. Pretraživanje cijelog teksta nije povezano ni s jednim ekranom, a okidači su usporavali
+     * svako spremanje prijedloga i klijenata.
+     *
+     * @param connection Aktivna konekcija s bazom podataka.
+     * @throws SQLException ako dođe do greške pri izvršavanju naredbe.
+     */
+    public static void dropFullTextIndexes(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            boolean fullTextInitialized;
+            try (ResultSet resultSet = statement.executeQuery(
+                    "SELECT COUNT(*) FROM INFORMATION_SCHEMA.SCHEMATA WHERE SCHEMA_NAME = 'FT'")) {
+                fullTextInitialized = resultSet.next() && resultSet.getLong(1) > 0;
+            }
+            if (!fullTextInitialized) {
+                return;
+            }
+
+            statement.execute("CALL FT_DROP_ALL()");
+            for (String alias : FULL_TEXT_ALIASES) {
+                statement.execute("DROP ALIAS IF EXISTS " + alias);
+            }
+            log.info("Full-text indexes removed");
+        }
+    }
+
+    /**
+     * Dodaje tablici {@code CLIENTS} generirane stupce s imenom, emailom, telefonom i tvrtkom pisanima malim slovima
+     * ({@code NAME_LC}, {@code EMAIL_LC}, {@code PHONE_LC}, {@code COMPANY_LC}) i indekse nad njima.
+     * Pretraga bez obzira na velika i mala slova tako ne računa {@code LOWER()} za svaki redak,
+     * a stranice poredane po imenu čitaju se redom iz indeksa.
+     *
+     * @param connection Aktivna konekcija s bazom podataka.
+     * @throws SQLException ako dođe do greške pri izvršavanju naredbe.
+     */
+    public static void ensureClientSearchColumns(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String column : new String[]{"NAME", "EMAIL", "PHONE", "COMPANY"}) {
+                statement.execute("ALTER TABLE CLIENTS ADD COLUMN IF NOT EXISTS " + column
+                        + "_LC VARCHAR GENERATED ALWAYS AS (LOWER(" + column + "))");
+                statement.execute("CREATE INDEX IF NOT EXISTS IDX_CLIENTS_" + column + "_LC ON CLIENTS("
+                        + column + "_LC, ID)");
+            }
+        }
+    }
+
+    /**
+     * Stvara indeks nad klijentom i statusom prijedloga ({@code IDX_PROPOSALS_CLIENT_STATUS}), iz kojeg se broj
+     * prijedloga i broj odobrenih prijedloga klijenata zbrajaju bez čitanja redaka prijedloga.
+     *
+     * @param connection Aktivna konekcija s bazom podataka.
+     * @throws SQLException ako dođe do greške pri izvršavanju naredbe.
+     */
+    public static void ensureProposalIndexes(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX IF NOT EXISTS IDX_PROPOSALS_CLIENT_STATUS ON PROPOSALS(client_id, status)");
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package enums;
+
+/**
+ * Vrsta promjene nad entitetom koja se objavljuje na sabirnici događaja.
+ */
+public enum ChangeType {
+    CREATED, UPDATED, DELETED
+}
@@ -0,0 +1,8 @@
+package enums;
+
+/**
+ * Vrsta entiteta na koju se odnosi objavljena promjena.
+ */
+public enum EntityType {
+    PROPOSAL, CLIENT, USER
+}
@@ -0,0 +1,5 @@
+package enums;
+
+public enum ImportFormat {
+    CSV, JSON_LINES
+}
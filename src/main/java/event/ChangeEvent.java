@@ -0,0 +1,30 @@
+package event;
+
+import enums.ChangeType;
+import enums.EntityType;
+import model.Entitiy;
+
+import java.util.Set;
+
+/**
+ * Događaj koji repozitorij objavljuje nakon što je promjena nad entitetom uspješno zapisana u bazu.
+ * Promjene drugih instanci aplikacije objavljuje {@link RemoteChangePoller}.
+ *
+ * @param changeType Vrsta promjene.
+ * @param entityType Vrsta entiteta.
+ * @param entityId ID promijenjenog entiteta.
+ * @param changedFields Nazivi promijenjenih polja; prazan skup za nove i obrisane entitete.
+ * @param entity Kopija entiteta nakon promjene (za obrisane entitete, stanje prije brisanja);
+ *               {@code null} za korisnike i za entitete koje je obrisala druga instanca aplikacije.
+ */
+public record ChangeEvent(
+        ChangeType changeType,
+        EntityType entityType,
+        long entityId,
+        Set<String> changedFields,
+        Entitiy entity
+) {
+    public ChangeEvent {
+        changedFields = Set.copyOf(changedFields);
+    }
+}
@@ -0,0 +1,93 @@
+package event;
+
+import enums.EntityType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Sabirnica događaja unutar procesa na kojoj repozitoriji objavljuju promjene podataka.
+ * Pretplatnici (otvoreni ekrani, međuspremnici) primaju samo događaje za vrstu entiteta na koju su se pretplatili,
+ * i to na dretvi koja je objavila događaj, pa sami moraju prebaciti obradu na JavaFX dretvu ako mijenjaju sučelje.
+ * Privatni konstruktor sprječava instanciranje ove pomoćne klase.
+ */
+public class ChangeEventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeEventBus.class);
+    private static final Map<EntityType, List<Consumer<ChangeEvent>>> SUBSCRIBERS = new EnumMap<>(EntityType.class);
+    private static final Map<EntityType, AtomicLong> VERSIONS = new EnumMap<>(EntityType.class);
+
+    static {
+        for (EntityType entityType : EntityType.values()) {
+            SUBSCRIBERS.put(entityType, new CopyOnWriteArrayList<>());
+            VERSIONS.put(entityType, new AtomicLong());
+        }
+    }
+
+    /**
+     * Privatni konstruktor kako bi se spriječilo stvaranje instanci.
+     */
+    private ChangeEventBus() {
+    }
+
+    /**
+     * Pretplaćuje potrošača na promjene zadane vrste entiteta.
+     *
+     * @param entityType Vrsta entiteta čije se promjene prate.
+     * @param subscriber Potrošač koji prima događaje.
+     * @return Pretplata kojom se potrošač odjavljuje sa sabirnice.
+     */
+    public static Subscription subscribe(EntityType entityType, Consumer<ChangeEvent> subscriber) {
+        List<Consumer<ChangeEvent>> subscribers = SUBSCRIBERS.get(entityType);
+        subscribers.add(subscriber);
+        return () -> subscribers.remove(subscriber);
+    }
+
+    /**
+     * Vraća verziju podataka zadane vrste entiteta: broj promjena te vrste objavljenih od pokretanja aplikacije.
+     * Verzija se povećava prije dostave događaja pretplatnicima, pa pretplatnik već vidi novu verziju.
+     *
+     * @param entityType Vrsta entiteta.
+     * @return Trenutna verzija podataka.
+     */
+    public static long version(EntityType entityType) {
+        return VERSIONS.get(entityType).get();
+    }
+
+    /**
+     * Objavljuje događaj svim pretplatnicima na vrstu entiteta iz događaja, nakon što poveća verziju podataka te vrste.
+     * Greška u jednom pretplatniku se logira i ne sprječava dostavu ostalima.
+     *
+     * @param event Događaj koji se objavljuje.
+     */
+    public static void publish(ChangeEvent event) {
+        VERSIONS.get(event.entityType()).incrementAndGet();
+        for (Consumer<ChangeEvent> subscriber : SUBSCRIBERS.get(event.entityType())) {
+            try {
+                subscriber.accept(event);
+            } catch (RuntimeException e) {
+                log.error("Change event subscriber failed for {} {} {}: {}",
+                        event.changeType(), event.entityType(), event.entityId(), e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Pretplata na sabirnici događaja.
+     */
+    @FunctionalInterface
+    public interface Subscription extends AutoCloseable {
+
+        /**
+         * Odjavljuje potrošača sa sabirnice. Višestruki pozivi nemaju dodatni učinak.
+         */
+        @Override
+        void close();
+    }
+}
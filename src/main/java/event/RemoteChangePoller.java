@@ -0,0 +1,186 @@
+package event;
+
+import enums.ChangeType;
+import enums.EntityType;
+import exception.EmptyRepositoryResultException;
+import exception.RepositoryAccessException;
+import model.ChangeLogEntry;
+import model.Client;
+import model.Entitiy;
+import model.Proposal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import repository.ChangeLogRepository;
+import repository.ClientDatabaseRepository;
+import repository.ProposalDatabaseRepository;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodički provjerava tablicu promjena i promjene koje su napravile druge instance aplikacije
+ * objavljuje na lokalnoj {@link ChangeEventBus} sabirnici, tako da lokalni međuspremnici i ekrani
+ * ostaju ažurni bez ponovnog učitavanja svih podataka.
+ * Svaka provjera je jedan upit "promjene nakon rednog broja N"; promjene ove instance se preskaču
+ * jer su lokalno već objavljene.
+ */
+public class RemoteChangePoller {
+
+    private static final Logger log = LoggerFactory.getLogger(RemoteChangePoller.class);
+
+    private static final Duration DEFAULT_POLL_INTERVAL = Duration.ofSeconds(2);
+    private static final Duration RETENTION = Duration.ofDays(7);
+    private static final Duration GAP_TIMEOUT = Duration.ofMinutes(1);
+    private static final int MAX_TRACKED_GAPS = 1000;
+
+    private static ScheduledExecutorService scheduler;
+
+    private final ChangeLogRepository changeLogRepository = new ChangeLogRepository();
+    private final ProposalDatabaseRepository<Proposal> proposalRepository = new ProposalDatabaseRepository<>();
+    private final ClientDatabaseRepository<Client> clientRepository = new ClientDatabaseRepository<>();
+    private final Map<Long, Long> missingSequences = new LinkedHashMap<>();
+    private long lastSequence;
+
+    /**
+     * Privatni konstruktor; provjera se pokreće metodom {@link #start()}.
+     *
+     * @param lastSequence Redni broj zadnje promjene koja se smatra obrađenom.
+     */
+    private RemoteChangePoller(long lastSequence) {
+        this.lastSequence = lastSequence;
+    }
+
+    /**
+     * Pokreće periodičku provjeru promjena na pozadinskoj dretvi sa zadanim intervalom.
+     * Promjene nastale prije pokretanja se ne objavljuju, a zapisi stariji od tjedan dana se brišu.
+     */
+    public static synchronized void start() {
+        start(DEFAULT_POLL_INTERVAL);
+    }
+
+    /**
+     * Pokreće periodičku provjeru promjena na pozadinskoj dretvi.
+     * Ako je provjera već pokrenuta, poziv nema učinka.
+     *
+     * @param interval Razmak između dviju provjera.
+     */
+    public static synchronized void start(Duration interval) {
+        if (scheduler != null) {
+            return;
+        }
+
+        ChangeLogRepository repository = new ChangeLogRepository();
+        int deleted = repository.deleteOlderThan(LocalDateTime.now().minus(RETENTION));
+        if (deleted > 0) {
+            log.info("Deleted {} expired change log entries.", deleted);
+        }
+
+        RemoteChangePoller poller = new RemoteChangePoller(repository.findLatestSequence());
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "remote-change-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(poller::pollSafely, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Remote change polling started on node {} from sequence {}.", ChangeLogRepository.NODE_ID, poller.lastSequence);
+    }
+
+    /**
+     * Zaustavlja periodičku provjeru promjena.
+     */
+    public static synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Izvodi jednu provjeru; greške se logiraju kako ne bi zaustavile daljnje provjere.
+     */
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            log.error("Error while polling remote changes: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Dohvaća nove promjene, sažima više promjena istog entiteta u jednu i objavljuje ih na sabirnici.
+     */
+    void poll() {
+        List<ChangeLogEntry> entries = changeLogRepository.findSince(lastSequence, missingSequences.keySet());
+        long now = System.nanoTime();
+        Map<String, ChangeLogEntry> latestChanges = new LinkedHashMap<>();
+        Map<String, Set<String>> changedFields = new HashMap<>();
+
+        for (ChangeLogEntry entry : entries) {
+            trackSequence(entry.sequence(), now);
+            if (ChangeLogRepository.NODE_ID.equals(entry.nodeId())) {
+                continue;
+            }
+
+            String key = entry.entityType() + ":" + entry.entityId();
+            latestChanges.remove(key);
+            latestChanges.put(key, entry);
+            changedFields.computeIfAbsent(key, ignored -> new TreeSet<>()).addAll(entry.changedFields());
+        }
+
+        missingSequences.values().removeIf(firstSeen -> now - firstSeen > GAP_TIMEOUT.toNanos());
+
+        latestChanges.forEach((key, entry) -> publish(entry, changedFields.get(key)));
+    }
+
+    /**
+     * Pomiče zadnji obrađeni redni broj i pamti preskočene redne brojeve koji se mogu pojaviti naknadno.
+     *
+     * @param sequence Redni broj primljene promjene.
+     * @param now Trenutno vrijeme u nanosekundama.
+     */
+    private void trackSequence(long sequence, long now) {
+        if (missingSequences.remove(sequence) != null || sequence <= lastSequence) {
+            return;
+        }
+        if (sequence - lastSequence - 1 <= MAX_TRACKED_GAPS) {
+            for (long missing = lastSequence + 1; missing < sequence; missing++) {
+                missingSequences.put(missing, now);
+            }
+        }
+        while (missingSequences.size() > MAX_TRACKED_GAPS) {
+            missingSequences.remove(missingSequences.keySet().iterator().next());
+        }
+        lastSequence = sequence;
+    }
+
+    /**
+     * Učitava trenutno stanje promijenjenog entiteta i objavljuje događaj na lokalnoj sabirnici.
+     * Ako entitet više ne postoji, objavljuje se brisanje.
+     *
+     * @param entry Zadnja promjena entiteta.
+     * @param fields Sva promijenjena polja entiteta od zadnje provjere.
+     */
+    private void publish(ChangeLogEntry entry, Set<String> fields) {
+        ChangeType changeType = entry.changeType();
+        Entitiy entity = null;
+
+        if (changeType != ChangeType.DELETED && entry.entityType() != EntityType.USER) {
+            try {
+                entity = entry.entityType() == EntityType.PROPOSAL
+                        ? proposalRepository.findById(entry.entityId())
+                        : clientRepository.findById(entry.entityId());
+            } catch (EmptyRepositoryResultException e) {
+                changeType = ChangeType.DELETED;
+            } catch (SQLException e) {
+                throw new RepositoryAccessException(e);
+            }
+        }
+
+        ChangeEventBus.publish(new ChangeEvent(changeType, entry.entityType(), entry.entityId(), fields, entity));
+    }
+}
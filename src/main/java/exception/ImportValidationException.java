@@ -0,0 +1,30 @@
+package exception;
+
+/**
+ * Označena (checked) iznimka koja se baca kada redak ulazne datoteke
+ * tijekom masovnog uvoza ne prođe validaciju (npr. nedostaje obavezno polje).
+ */
+public class ImportValidationException extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    public ImportValidationException() {
+        super();
+    }
+
+    public ImportValidationException(String message) {
+        super(message);
+    }
+
+    public ImportValidationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public ImportValidationException(Throwable cause) {
+        super(cause);
+    }
+
+    public ImportValidationException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
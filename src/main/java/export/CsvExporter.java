@@ -0,0 +1,185 @@
+package export;
+
+import model.AuditLog;
+import model.Client;
+import model.ClientSearchCriteria;
+import model.Proposal;
+import model.ProposalSearchCriteria;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import repository.AuditLogRepository;
+import repository.ClientDatabaseRepository;
+import repository.ProposalDatabaseRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.function.LongConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Izvozi prijedloge, klijente i zapise audit loga u CSV datoteke.
+ * Retci se čitaju izravno iz baze podataka ili audit datoteke i odmah zapisuju
+ * u međuspremljeni tok, bez stvaranja međuliste, pa potrošnja memorije ne ovisi o broju redaka.
+ */
+public class CsvExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(CsvExporter.class);
+    private static final int PROGRESS_INTERVAL = 500;
+
+    private final ProposalDatabaseRepository<Proposal> proposalRepository = new ProposalDatabaseRepository<>();
+    private final ClientDatabaseRepository<Client> clientRepository = new ClientDatabaseRepository<>();
+    private final AuditLogRepository auditLogRepository = new AuditLogRepository();
+
+    /**
+     * Izvozi prijedloge koji zadovoljavaju kriterije pretrage, zajedno s imenom klijenta.
+     *
+     * @param criteria Kriteriji pretrage.
+     * @param target Datoteka u koju se izvozi.
+     * @param progress Potrošač koji prima broj do sada izvezenih redaka.
+     * @return Broj izvezenih redaka.
+     * @throws IOException ako dođe do greške pri pisanju datoteke.
+     */
+    public long exportProposals(ProposalSearchCriteria criteria, Path target, LongConsumer progress) throws IOException {
+        return writeCsv(target, "id,title,description,status,client_id,client_name,user_id", progress, row ->
+                proposalRepository.forEachMatching(criteria, (proposal, clientName) -> row.write(
+                        proposal.getId(), proposal.getTitle(), proposal.getDescription(), proposal.getStatus(),
+                        proposal.getClientId(), clientName, proposal.getUserId())));
+    }
+
+    /**
+     * Izvozi klijente koji zadovoljavaju kriterije pretrage.
+     *
+     * @param criteria Kriteriji pretrage.
+     * @param target Datoteka u koju se izvozi.
+     * @param progress Potrošač koji prima broj do sada izvezenih redaka.
+     * @return Broj izvezenih redaka.
+     * @throws IOException ako dođe do greške pri pisanju datoteke.
+     */
+    public long exportClients(ClientSearchCriteria criteria, Path target, LongConsumer progress) throws IOException {
+        return writeCsv(target, "id,name,email,phone,company", progress, row ->
+                clientRepository.forEachMatching(criteria, client -> row.write(
+                        client.getId(), client.getName(), client.getEmail(), client.getPhone(), client.getCompany())));
+    }
+
+    /**
+     * Izvozi zapise audit loga iz zadanog vremenskog raspona koji zadovoljavaju zadani filter.
+     *
+     * @param from Početak raspona (uključivo); {@code null} za raspon bez početka.
+     * @param to Kraj raspona (isključivo); {@code null} za raspon bez kraja.
+     * @param filter Uvjet koji zapis mora zadovoljiti da bi bio izvezen.
+     * @param target Datoteka u koju se izvozi.
+     * @param progress Potrošač koji prima broj do sada izvezenih redaka.
+     * @return Broj izvezenih redaka.
+     * @throws IOException ako dođe do greške pri pisanju datoteke.
+     */
+    public long exportAuditLogs(Instant from, Instant to, Predicate<AuditLog> filter, Path target, LongConsumer progress)
+            throws IOException {
+        return writeCsv(target, "id,user_id,user_role,action,entity,old_value,new_value,timestamp", progress, row ->
+                auditLogRepository.forEachBetween(from, to, auditLog -> {
+                    if (filter.test(auditLog)) {
+                        row.write(auditLog.id(), auditLog.userId(), auditLog.userRole(), auditLog.action(),
+                                auditLog.entityName(), auditLog.oldValue(), auditLog.newValue(), auditLog.localTimestamp());
+                    }
+                }));
+    }
+
+    /**
+     * Otvara datoteku, zapisuje zaglavlje i prepušta izvoru da zapisuje retke.
+     *
+     * @param target Datoteka u koju se izvozi.
+     * @param header CSV zaglavlje.
+     * @param progress Potrošač koji prima broj do sada izvezenih redaka.
+     * @param source Izvor redaka.
+     * @return Broj izvezenih redaka.
+     * @throws IOException ako dođe do greške pri pisanju datoteke.
+     */
+    private long writeCsv(Path target, String header, LongConsumer progress, RowSource source) throws IOException {
+        long start = System.nanoTime();
+
+        try (BufferedWriter writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            writer.write(header);
+            writer.newLine();
+
+            CsvRowWriter rowWriter = new CsvRowWriter(writer, progress);
+            try {
+                source.writeRows(rowWriter);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            progress.accept(rowWriter.rows);
+            log.info("Exported {} rows to {} in {} ms", rowWriter.rows, target, (System.nanoTime() - start) / 1_000_000);
+            return rowWriter.rows;
+        }
+    }
+
+    /**
+     * Izvor redaka koji se zapisuju u CSV datoteku.
+     */
+    @FunctionalInterface
+    private interface RowSource {
+        void writeRows(CsvRowWriter row);
+    }
+
+    /**
+     * Zapisuje pojedinačne CSV retke i broji ih.
+     */
+    private static class CsvRowWriter {
+        private final BufferedWriter writer;
+        private final LongConsumer progress;
+        private long rows;
+
+        CsvRowWriter(BufferedWriter writer, LongConsumer progress) {
+            this.writer = writer;
+            this.progress = progress;
+        }
+
+        /**
+         * Zapisuje jedan redak s danim vrijednostima.
+         * @param values Vrijednosti stupaca; {@code null} se zapisuje kao prazno polje.
+         * @throws UncheckedIOException ako pisanje ne uspije.
+         */
+        void write(Object... values) {
+            try {
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    writeValue(values[i]);
+                }
+                writer.newLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            rows++;
+            if (rows % PROGRESS_INTERVAL == 0) {
+                progress.accept(rows);
+            }
+        }
+
+        /**
+         * Zapisuje jednu vrijednost, uz navodnike ako sadrži zarez, navodnik ili prijelom reda.
+         * @param value Vrijednost koja se zapisuje.
+         * @throws IOException ako pisanje ne uspije.
+         */
+        private void writeValue(Object value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            String text = value.toString();
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                writer.write(text);
+                return;
+            }
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
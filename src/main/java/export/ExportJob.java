@@ -0,0 +1,21 @@
+package export;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.LongConsumer;
+
+/**
+ * Funkcijsko sučelje koje predstavlja jedan izvoz podataka u datoteku.
+ */
+@FunctionalInterface
+public interface ExportJob {
+    /**
+     * Izvozi podatke u zadanu datoteku.
+     *
+     * @param target Putanja do datoteke u koju se izvozi.
+     * @param progress Potrošač koji povremeno prima broj do sada izvezenih redaka.
+     * @return Ukupan broj izvezenih redaka.
+     * @throws IOException ako dođe do greške pri pisanju datoteke.
+     */
+    long export(Path target, LongConsumer progress) throws IOException;
+}
@@ -0,0 +1,51 @@
+package export;
+
+import javafx.concurrent.Task;
+
+import java.nio.file.Path;
+import java.util.function.LongSupplier;
+
+/**
+ * JavaFX {@link Task} koji izvodi izvoz u pozadinskoj niti i objavljuje napredak
+ * kroz svojstva {@code progress} i {@code message}, tako da se UI može na njih vezati.
+ */
+public class ExportTask extends Task<Long> {
+
+    private final ExportJob job;
+    private final Path target;
+    private final LongSupplier expectedRows;
+
+    /**
+     * Konstruktor za stvaranje zadatka izvoza.
+     *
+     * @param job Izvoz koji se izvodi.
+     * @param target Datoteka u koju se izvozi.
+     * @param expectedRows Procjena ukupnog broja redaka (poziva se u pozadinskoj niti);
+     *                     negativna vrijednost označava da ukupan broj nije poznat.
+     */
+    public ExportTask(ExportJob job, Path target, LongSupplier expectedRows) {
+        this.job = job;
+        this.target = target;
+        this.expectedRows = expectedRows;
+    }
+
+    /**
+     * Izvodi izvoz i vraća broj izvezenih redaka.
+     * @return Broj izvezenih redaka.
+     * @throws Exception ako izvoz ne uspije.
+     */
+    @Override
+    protected Long call() throws Exception {
+        updateMessage("Exporting...");
+        long total = expectedRows.getAsLong();
+
+        long rows = job.export(target, written -> {
+            updateProgress(written, total > 0 ? total : -1);
+            updateMessage(written + " rows exported");
+        });
+
+        updateProgress(1, 1);
+        updateMessage(rows + " rows exported");
+        return rows;
+    }
+}
@@ -1,12 +1,31 @@
 package hr.javafx.business.businessproposalsystem;
 
+import controller.MenuController;
+import database.DatabaseConnection;
+import database.DatabaseSchema;
+import event.RemoteChangePoller;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import model.Client;
+import model.ClientSearchCriteria;
+import model.Proposal;
+import model.ProposalSearchCriteria;
+import model.ProposalSort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import repository.ClientDatabaseRepository;
+import repository.ProposalDatabaseRepository;
 import repository.UserRepository;
+import statistics.DashboardStatistics;
+import task.BackgroundExecutor;
+import task.FxThreadWatchdog;
+import task.StartupSequence;
 
 import java.io.IOException;
+import java.time.Duration;
 
 /**
  * Glavna ulazna točka za pokretanje JavaFX aplikacije "Business Proposal Management System".
@@ -15,27 +34,106 @@ import java.io.IOException;
 public class BusinessProposalApplication extends Application {
 
     private static Stage mainStage;
+    private static final Duration FX_THREAD_STALL_THRESHOLD = Duration.ofMillis(200);
+    private static final int REPOSITORY_WARM_UP_ROUNDS = 3;
+    private static final int WARM_UP_PAGE_SIZE = 100;
+    private static final Logger log = LoggerFactory.getLogger(BusinessProposalApplication.class);
+    private static final String EXIT_AFTER_PROPERTY = "startup.exitAfter";
+    private static final String EXIT_AFTER_LOGIN_SCREEN = "login-screen";
+    private static final String EXIT_AFTER_WARM_UP = "warm-up";
 
     /**
      * Metoda koja se poziva pri pokretanju JavaFX aplikacije.
-     * Postavlja glavni prozor aplikacije (Stage), inicijalizira korisnike iz datoteke u bazu
-     * i prikazuje ekran za prijavu.
+     * Postavlja glavni prozor aplikacije (Stage), pokreće nadzor zastoja JavaFX dretve i odmah prikazuje ekran za prijavu.
+     * Priprema baze i zagrijavanje izvode se zatim u pozadini (vidi {@link #warmUp()}), dok korisnik unosi podatke
+     * za prijavu; prijava pričeka samo dok korisnici ne budu sinkronizirani.
+     * Sistemsko svojstvo {@code startup.exitAfter} služi za mjerenje i pripremu pokretanja (AppCDS arhiva):
+     * s vrijednošću {@code login-screen} aplikacija se zatvara čim prikaže ekran za prijavu, a s vrijednošću
+     * {@code warm-up} nakon što završi zagrijavanje.
      *
      * @param stage Glavni prozor (Stage) koji automatski osigurava JavaFX platforma.
      * @throws IOException Ako dođe do greške pri učitavanju FXML datoteke.
      */
     @Override
     public void start(Stage stage) throws IOException {
+        StartupSequence.milestone("JavaFX started");
         setMainStage(stage);
+        FxThreadWatchdog.start(FX_THREAD_STALL_THRESHOLD);
 
-        UserRepository userRepository = new UserRepository();
-        userRepository.importUsersFromFile();
-
+        long loginScreenStart = System.nanoTime();
         FXMLLoader fxmlLoader = new FXMLLoader(BusinessProposalApplication.class.getResource("loginScreen.fxml"));
         Scene scene = new Scene(fxmlLoader.load(), 700, 400);
         stage.setTitle("Login!");
         stage.setScene(scene);
         stage.show();
+        log.info("Login screen loaded in {} ms", (System.nanoTime() - loginScreenStart) / 1_000_000);
+        StartupSequence.milestone("login screen shown");
+
+        if (EXIT_AFTER_LOGIN_SCREEN.equals(System.getProperty(EXIT_AFTER_PROPERTY))) {
+            Platform.exit();
+            return;
+        }
+        BackgroundExecutor.execute(BusinessProposalApplication::warmUp);
+    }
+
+    /**
+     * Priprema bazu i zagrijava aplikaciju na pozadinskoj dretvi, fazu po fazu, zapisujući trajanje svake faze:
+     * <ol>
+     *     <li>otvara prvu konekciju (učitava JDBC upravljački program),</li>
+     *     <li>stvara pomoćne tablice i sinkronizira korisnike iz datoteke, nakon čega se prijava može provjeriti,</li>
+     *     <li>pokreće praćenje promjena drugih instanci aplikacije,</li>
+     *     <li>unaprijed učitava FXML datoteke ekrana glavnog prozora,</li>
+     *     <li>učitava pokazatelje nadzorne ploče,</li>
+     *     <li>nekoliko puta izvodi najčešće upite repozitorija, kako bi se njihov kod preveo (JIT)
+     *         prije prve pretrage korisnika.</li>
+     * </ol>
+     * Memorijski indeksi za pretragu prijedloga i audit loga ne grade se ovdje, nego pri prvoj pretrazi,
+     * kako ne bi zauzimali memoriju korisnicima koji ne pretražuju.
+     */
+    private static void warmUp() {
+        try {
+            StartupSequence.phase("database connection", () -> new DatabaseConnection().warmUp());
+            StartupSequence.phase("schema", DatabaseSchema::initialize);
+            StartupSequence.phase("user sync", () -> new UserRepository().importUsersFromFile());
+        } finally {
+            StartupSequence.databaseReady();
+        }
+
+        StartupSequence.phase("change poller", RemoteChangePoller::start);
+        StartupSequence.phase("screen FXML preload", () -> new MenuController().warmUpScreens());
+        StartupSequence.phase("dashboard statistics", DashboardStatistics.getInstance()::ensureBuilt);
+        StartupSequence.phase("repository warm-up", BusinessProposalApplication::warmUpRepositories);
+        StartupSequence.milestone("startup complete");
+
+        if (EXIT_AFTER_WARM_UP.equals(System.getProperty(EXIT_AFTER_PROPERTY))) {
+            Platform.exit();
+        }
+    }
+
+    /**
+     * Izvodi upite kojima se pune tablice pretrage (prva stranica prijedloga i klijenata) nekoliko puta,
+     * kako bi se kod za izgradnju upita i čitanje redaka preveo prije prve pretrage korisnika.
+     */
+    private static void warmUpRepositories() {
+        ProposalDatabaseRepository<Proposal> proposalRepository = new ProposalDatabaseRepository<>();
+        ClientDatabaseRepository<Client> clientRepository = new ClientDatabaseRepository<>();
+        ProposalSearchCriteria allProposals = new ProposalSearchCriteria(null, null, null, null);
+        ClientSearchCriteria allClients = new ClientSearchCriteria(null, null, null, null);
+
+        for (int round = 0; round < REPOSITORY_WARM_UP_ROUNDS; round++) {
+            proposalRepository.findPages(allProposals, ProposalSort.DEFAULT, WARM_UP_PAGE_SIZE, null).loadPage(0);
+            clientRepository.findSummaryPage(allClients, 0, WARM_UP_PAGE_SIZE, null);
+        }
+    }
+
+    /**
+     * Metoda koja se poziva pri zatvaranju aplikacije. Zaustavlja praćenje promjena drugih instanci
+     * i nadzor JavaFX dretve.
+     */
+    @Override
+    public void stop() {
+        RemoteChangePoller.stop();
+        FxThreadWatchdog.stop();
     }
 
     /**
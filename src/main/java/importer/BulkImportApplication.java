@@ -0,0 +1,62 @@
+package importer;
+
+import database.DatabaseSchema;
+import model.Client;
+import model.Proposal;
+import repository.ClientDatabaseRepository;
+import repository.ProposalDatabaseRepository;
+import repository.UserRepository;
+
+import java.nio.file.Path;
+
+/**
+ * Ulazna točka za masovni uvoz bez grafičkog sučelja.
+ * Primjer pokretanja:
+ * {@code java -m hr.javafx.business.businessproposalsystem/importer.BulkImportApplication clients clients.csv 1000}
+ */
+public class BulkImportApplication {
+
+    private static final int MAX_REPORTED_REJECTIONS = 20;
+
+    /**
+     * Privatni konstruktor kako bi se spriječilo stvaranje instanci.
+     */
+    private BulkImportApplication() {
+    }
+
+    /**
+     * Pokreće uvoz i ispisuje sažetak na standardni izlaz.
+     *
+     * @param args {@code <clients|proposals> <datoteka> [veličina batcha]}
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: BulkImportApplication <clients|proposals> <file.csv|file.jsonl> [batchSize]");
+            System.exit(2);
+        }
+
+        DatabaseSchema.initialize();
+
+        Path file = Path.of(args[1]);
+        int batchSize = args.length > 2 ? Integer.parseInt(args[2]) : BulkImporter.DEFAULT_BATCH_SIZE;
+
+        ImportResult result = switch (args[0].toLowerCase()) {
+            case "clients" -> new BulkImporter<>(new ClientDatabaseRepository<Client>(),
+                    new ClientRowMapper(), "Client", batchSize).importFile(file);
+            case "proposals" -> new BulkImporter<>(new ProposalDatabaseRepository<Proposal>(),
+                    new ProposalRowMapper(new ClientDatabaseRepository<>().findAllIds(),
+                            new UserRepository().findAllIds()), "Proposal", batchSize).importFile(file);
+            default -> throw new IllegalArgumentException("Unknown entity type: " + args[0]);
+        };
+
+        System.out.printf("%s import: %d/%d rows imported in %d batches, %.1f rows/s, %d rejected%n",
+                result.entityName(), result.importedRows(), result.totalRows(), result.batches(),
+                result.rowsPerSecond(), result.rejectedRows().size());
+        result.rejectedRows().stream()
+                .limit(MAX_REPORTED_REJECTIONS)
+                .forEach(row -> System.out.printf("  line %d: %s%n", row.lineNumber(), row.reason()));
+        if (result.rejectedRows().size() > MAX_REPORTED_REJECTIONS) {
+            System.out.printf("  ... and %d more%n", result.rejectedRows().size() - MAX_REPORTED_REJECTIONS);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package importer;
+
+import enums.ImportFormat;
+import exception.ImportValidationException;
+import exception.RepositoryAccessException;
+import model.AuditLog;
+import model.Entitiy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import repository.AbstractRepository;
+import repository.AuditLogRepository;
+import session.SessionManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cjevovod za masovni uvoz entiteta iz CSV ili JSON-lines datoteke.
+ * Retci se raščlanjuju i validiraju paralelno, a ispravni se entiteti spremaju
+ * u batchevima zadane veličine putem {@link AbstractRepository#save(List)},
+ * gdje se svaki batch izvršava u vlastitoj transakciji.
+ * Za svaki uspješno spremljeni batch zapisuje se jedan sažeti zapis u audit log.
+ *
+ * @param <T> Tip entiteta koji se uvozi.
+ */
+public class BulkImporter<T extends Entitiy> {
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private static final Logger log = LoggerFactory.getLogger(BulkImporter.class);
+
+    private final AbstractRepository<T> repository;
+    private final ImportRowMapper<T> rowMapper;
+    private final String entityName;
+    private final int batchSize;
+    private final AuditLogRepository auditLogRepository = new AuditLogRepository();
+
+    /**
+     * Konstruktor za stvaranje cjevovoda za uvoz.
+     *
+     * @param repository Repozitorij u koji se entiteti spremaju.
+     * @param rowMapper Validator i pretvarač redaka u entitete.
+     * @param entityName Naziv entiteta za audit log (npr. Client, Proposal).
+     * @param batchSize Broj redaka po JDBC batchu i transakciji.
+     */
+    public BulkImporter(AbstractRepository<T> repository, ImportRowMapper<T> rowMapper, String entityName, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.repository = repository;
+        this.rowMapper = rowMapper;
+        this.entityName = entityName;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Uvozi sve retke iz zadane datoteke.
+     * Format se određuje prema ekstenziji datoteke ({@code .csv} ili {@code .jsonl}/{@code .ndjson}).
+     * CSV datoteka mora imati zaglavlje s nazivima stupaca; oznaka redoslijeda bajtova na početku datoteke
+     * se zanemaruje.
+     * Datoteka se čita redak po redak: po {@code batchSize} redaka se raščlanjuje paralelno i ispravni se spremaju
+     * kao jedan batch, pa potrošnja memorije ne ovisi o veličini datoteke.
+     *
+     * @param file Putanja do ulazne datoteke.
+     * @return Sažetak uvoza s brojem uvezenih i odbačenih redaka te propusnošću.
+     * @throws RepositoryAccessException ako se datoteka ne može pročitati.
+     */
+    public ImportResult importFile(Path file) {
+        long start = System.nanoTime();
+        ImportFormat format = detectFormat(file);
+        ImportProgress progress = new ImportProgress();
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            List<String> header = List.of();
+            long lineNumber = 0;
+            if (format == ImportFormat.CSV) {
+                String headerLine = reader.readLine();
+                if (headerLine != null) {
+                    lineNumber++;
+                    try {
+                        header = ImportRecordParser.parseCsvLine(ImportRecordParser.stripByteOrderMark(headerLine))
+                                .stream().map(String::toLowerCase).toList();
+                    } catch (ImportValidationException e) {
+                        throw new RepositoryAccessException("Invalid CSV header in " + file, e);
+                    }
+                }
+            }
+
+            List<NumberedLine> chunk = new ArrayList<>(batchSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber == 1) {
+                    line = ImportRecordParser.stripByteOrderMark(line);
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                chunk.add(new NumberedLine(lineNumber, line));
+                if (chunk.size() == batchSize) {
+                    importChunk(chunk, format, header, progress);
+                    chunk.clear();
+                }
+            }
+            importChunk(chunk, format, header, progress);
+        } catch (IOException e) {
+            log.error("IO error: {}", e.getMessage(), e);
+            throw new RepositoryAccessException("Error reading import file " + file, e);
+        }
+
+        ImportResult result = new ImportResult(entityName, progress.totalRows, progress.importedRows,
+                progress.batches, progress.rejectedRows, System.nanoTime() - start);
+        log.info("Imported {} of {} {} rows from {} in {} batches ({} rows/s, {} rejected)",
+                result.importedRows(), result.totalRows(), entityName, file, result.batches(),
+                String.format("%.1f", result.rowsPerSecond()), progress.rejectedRows.size());
+        return result;
+    }
+
+    /**
+     * Paralelno raščlanjuje i validira jedan dio datoteke, a ispravne retke sprema kao jedan batch.
+     * Ako spremanje batcha ne uspije, svi njegovi retci bilježe se kao odbačeni.
+     *
+     * @param chunk Neprazni retci dijela datoteke s brojevima redaka.
+     * @param format Format datoteke.
+     * @param header Zaglavlje CSV datoteke (prazno za JSON-lines).
+     * @param progress Dosadašnji tijek uvoza koji se nadopunjuje.
+     */
+    private void importChunk(List<NumberedLine> chunk, ImportFormat format, List<String> header,
+                             ImportProgress progress) {
+        List<ParsedRow<T>> parsedRows = chunk.parallelStream()
+                .map(line -> parseRow(line.number(), line.content(), format, header))
+                .toList();
+        progress.totalRows += parsedRows.size();
+
+        List<ParsedRow<T>> batch = new ArrayList<>(parsedRows.size());
+        for (ParsedRow<T> row : parsedRows) {
+            if (row.entity() != null) {
+                batch.add(row);
+            } else {
+                progress.rejectedRows.add(new RejectedRow(row.lineNumber(), row.rejectionReason(), row.content()));
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<T> entities = new ArrayList<>(batch.size());
+        batch.forEach(row -> entities.add(row.entity()));
+        try {
+            repository.save(entities);
+        } catch (SQLException | RepositoryAccessException e) {
+            log.error("Import batch starting at line {} failed: {}", batch.get(0).lineNumber(), e.getMessage(), e);
+            batch.forEach(row -> progress.rejectedRows.add(
+                    new RejectedRow(row.lineNumber(), "Batch failed: " + e.getMessage(), row.content())));
+            return;
+        }
+
+        progress.batches++;
+        progress.importedRows += entities.size();
+        logBatch(progress.batches, batch.get(0).lineNumber(), batch.get(batch.size() - 1).lineNumber(),
+                entities.size());
+    }
+
+    /**
+     * Raščlanjuje i validira jedan redak. Greške validacije ne prekidaju uvoz,
+     * nego se bilježe kao odbačeni redak.
+     *
+     * @param lineNumber Broj retka u datoteci.
+     * @param line Sadržaj retka.
+     * @param format Format datoteke.
+     * @param header Zaglavlje CSV datoteke (prazno za JSON-lines).
+     * @return Raščlanjeni redak s entitetom ili razlogom odbacivanja.
+     */
+    private ParsedRow<T> parseRow(long lineNumber, String line, ImportFormat format, List<String> header) {
+        try {
+            Map<String, String> fields = format == ImportFormat.CSV
+                    ? ImportRecordParser.parseCsvRecord(header, line)
+                    : ImportRecordParser.parseJsonLine(line);
+            return new ParsedRow<>(lineNumber, line, rowMapper.map(fields), null);
+        } catch (ImportValidationException e) {
+            return new ParsedRow<>(lineNumber, line, null, e.getMessage());
+        }
+    }
+
+    /**
+     * Zapisuje jedan sažeti zapis u audit log za uspješno spremljeni batch.
+     *
+     * @param batchNumber Redni broj batcha.
+     * @param firstLine Prvi redak datoteke u batchu.
+     * @param lastLine Zadnji redak datoteke u batchu.
+     * @param rowCount Broj spremljenih redaka.
+     */
+    private void logBatch(int batchNumber, long firstLine, long lastLine, int rowCount) {
+        String role;
+        if (!SessionManager.isUserLoggedIn()) {
+            role = "System";
+        } else {
+            role = SessionManager.isAdmin() ? "Admin" : "User";
+        }
+
+        AuditLog logEntry = new AuditLog(
+                null,
+                SessionManager.getLoggedInUserId(),
+                role,
+                "IMPORT",
+                entityName,
+                null,
+                "N/A",
+                "Batch " + batchNumber + ": " + rowCount + " rows (lines " + firstLine + "-" + lastLine + ")",
+                null
+        );
+        auditLogRepository.logChange(logEntry);
+    }
+
+    /**
+     * Određuje format ulazne datoteke prema njezinoj ekstenziji.
+     *
+     * @param file Putanja do datoteke.
+     * @return Format datoteke.
+     * @throws IllegalArgumentException ako ekstenzija nije podržana.
+     */
+    static ImportFormat detectFormat(Path file) {
+        String fileName = file.getFileName().toString().toLowerCase();
+        if (fileName.endsWith(".csv")) {
+            return ImportFormat.CSV;
+        }
+        if (fileName.endsWith(".jsonl") || fileName.endsWith(".ndjson")) {
+            return ImportFormat.JSON_LINES;
+        }
+        throw new IllegalArgumentException("Unsupported import file type: " + fileName);
+    }
+
+    /**
+     * Rezultat raščlanjivanja jednog retka: ili entitet ili razlog odbacivanja.
+     *
+     * @param lineNumber Broj retka u datoteci.
+     * @param content Izvorni sadržaj retka.
+     * @param entity Stvoreni entitet, ili {@code null} ako je redak odbačen.
+     * @param rejectionReason Razlog odbacivanja, ili {@code null} ako je redak ispravan.
+     * @param <T> Tip entiteta.
+     */
+    private record ParsedRow<T>(long lineNumber, String content, T entity, String rejectionReason) {}
+
+    /**
+     * Neprazni redak ulazne datoteke zajedno s njegovim brojem.
+     *
+     * @param number Broj retka u datoteci.
+     * @param content Sadržaj retka.
+     */
+    private record NumberedLine(long number, String content) {}
+
+    /**
+     * Tijek uvoza jedne datoteke: brojevi obrađenih i uvezenih redaka, spremljenih batcheva i odbačeni retci.
+     */
+    private static final class ImportProgress {
+        private long totalRows;
+        private long importedRows;
+        private int batches;
+        private final List<RejectedRow> rejectedRows = new ArrayList<>();
+    }
+}
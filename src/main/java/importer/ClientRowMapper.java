@@ -0,0 +1,46 @@
+package importer;
+
+import exception.ImportValidationException;
+import model.Client;
+
+import java.util.Map;
+
+/**
+ * Pretvara redak ulazne datoteke u {@link Client} objekt.
+ * Očekuje polja {@code name}, {@code email}, {@code phone} i {@code company}.
+ */
+public class ClientRowMapper implements ImportRowMapper<Client> {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Client map(Map<String, String> fields) throws ImportValidationException {
+        String name = requireField(fields, "name");
+        String email = requireField(fields, "email");
+        String phone = requireField(fields, "phone");
+        String company = requireField(fields, "company");
+
+        if (email.indexOf('@') <= 0) {
+            throw new ImportValidationException("Invalid email '" + email + "'");
+        }
+
+        return new Client(name, email, phone, company);
+    }
+
+    /**
+     * Dohvaća obavezno polje iz retka.
+     *
+     * @param fields Polja retka.
+     * @param name Naziv polja.
+     * @return Vrijednost polja.
+     * @throws ImportValidationException ako polje nedostaje ili je prazno.
+     */
+    static String requireField(Map<String, String> fields, String name) throws ImportValidationException {
+        String value = fields.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new ImportValidationException("Missing required field '" + name + "'");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,234 @@
+package importer;
+
+import exception.ImportValidationException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pomoćna klasa za raščlanjivanje pojedinačnih redaka ulaznih datoteka za masovni uvoz.
+ * Podržava CSV retke (s navodnicima prema RFC 4180, bez prijeloma reda unutar polja)
+ * i JSON-lines retke koji sadrže jedan ravni JSON objekt.
+ * Metode nemaju stanje pa se mogu sigurno pozivati paralelno iz više niti.
+ */
+public class ImportRecordParser {
+
+    /**
+     * Privatni konstruktor kako bi se spriječilo stvaranje instanci.
+     */
+    private ImportRecordParser() {
+    }
+
+    /**
+     * Uklanja UTF-8 oznaku redoslijeda bajtova ({@code U+FEFF}) s početka prvog retka datoteke.
+     * Takvu oznaku na početak datoteke zapisuju neki uređivači (npr. Excel pri spremanju CSV-a u UTF-8),
+     * a bez uklanjanja bi postala dio naziva prvog stupca zaglavlja.
+     *
+     * @param line Prvi redak datoteke.
+     * @return Redak bez početne oznake redoslijeda bajtova.
+     */
+    public static String stripByteOrderMark(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+
+    /**
+     * Raščlanjuje jedan CSV redak na listu vrijednosti.
+     *
+     * @param line Redak iz CSV datoteke.
+     * @return Lista vrijednosti polja, redom kako se pojavljuju u retku.
+     * @throws ImportValidationException ako redak sadrži nezatvorene navodnike.
+     */
+    public static List<String> parseCsvLine(String line) throws ImportValidationException {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inQuotes = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (inQuotes) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    inQuotes = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+            } else if (c == ',') {
+                values.add(current.toString().trim());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+
+        if (inQuotes) {
+            throw new ImportValidationException("Unterminated quoted value");
+        }
+        values.add(current.toString().trim());
+        return values;
+    }
+
+    /**
+     * Povezuje vrijednosti CSV retka s nazivima stupaca iz zaglavlja.
+     *
+     * @param header Nazivi stupaca (već normalizirani na mala slova).
+     * @param line Redak iz CSV datoteke.
+     * @return Mapa naziva stupca i vrijednosti.
+     * @throws ImportValidationException ako broj vrijednosti ne odgovara zaglavlju.
+     */
+    public static Map<String, String> parseCsvRecord(List<String> header, String line) throws ImportValidationException {
+        List<String> values = parseCsvLine(line);
+        if (values.size() != header.size()) {
+            throw new ImportValidationException("Expected " + header.size() + " columns but found " + values.size());
+        }
+
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            fields.put(header.get(i), values.get(i));
+        }
+        return fields;
+    }
+
+    /**
+     * Raščlanjuje jedan JSON-lines redak koji sadrži ravni JSON objekt
+     * (vrijednosti mogu biti stringovi, brojevi, {@code true}, {@code false} ili {@code null}).
+     *
+     * @param line Redak iz JSON-lines datoteke.
+     * @return Mapa naziva polja (malim slovima) i vrijednosti kao String; {@code null} vrijednosti se izostavljaju.
+     * @throws ImportValidationException ako redak nije ispravan ravni JSON objekt.
+     */
+    public static Map<String, String> parseJsonLine(String line) throws ImportValidationException {
+        Map<String, String> fields = new HashMap<>();
+        int[] position = {skipWhitespace(line, 0)};
+
+        expect(line, position, '{');
+        position[0] = skipWhitespace(line, position[0]);
+        if (position[0] < line.length() && line.charAt(position[0]) == '}') {
+            return fields;
+        }
+
+        while (true) {
+            position[0] = skipWhitespace(line, position[0]);
+            String key = readJsonString(line, position);
+            position[0] = skipWhitespace(line, position[0]);
+            expect(line, position, ':');
+            position[0] = skipWhitespace(line, position[0]);
+
+            String value;
+            if (position[0] < line.length() && line.charAt(position[0]) == '"') {
+                value = readJsonString(line, position);
+            } else {
+                int start = position[0];
+                while (position[0] < line.length() && ",} \t".indexOf(line.charAt(position[0])) < 0) {
+                    position[0]++;
+                }
+                value = line.substring(start, position[0]);
+                if (value.isEmpty()) {
+                    throw new ImportValidationException("Missing value for field '" + key + "'");
+                }
+                if ("null".equals(value)) {
+                    value = null;
+                }
+            }
+
+            if (value != null) {
+                fields.put(key.toLowerCase(), value.trim());
+            }
+
+            position[0] = skipWhitespace(line, position[0]);
+            if (position[0] >= line.length()) {
+                throw new ImportValidationException("Unterminated JSON object");
+            }
+            char separator = line.charAt(position[0]++);
+            if (separator == '}') {
+                return fields;
+            }
+            if (separator != ',') {
+                throw new ImportValidationException("Unexpected character '" + separator + "' in JSON object");
+            }
+        }
+    }
+
+    /**
+     * Čita JSON string počevši od trenutne pozicije (koja mora pokazivati na navodnik).
+     *
+     * @param line Redak koji se raščlanjuje.
+     * @param position Trenutna pozicija; pomiče se iza završnog navodnika.
+     * @return Dekodirana vrijednost stringa.
+     * @throws ImportValidationException ako string nije ispravno zapisan.
+     */
+    private static String readJsonString(String line, int[] position) throws ImportValidationException {
+        expect(line, position, '"');
+        StringBuilder value = new StringBuilder();
+
+        while (position[0] < line.length()) {
+            char c = line.charAt(position[0]++);
+            if (c == '"') {
+                return value.toString();
+            }
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            if (position[0] >= line.length()) {
+                break;
+            }
+            char escaped = line.charAt(position[0]++);
+            switch (escaped) {
+                case 'n' -> value.append('\n');
+                case 't' -> value.append('\t');
+                case 'r' -> value.append('\r');
+                case 'b' -> value.append('\b');
+                case 'f' -> value.append('\f');
+                case 'u' -> {
+                    if (position[0] + 4 > line.length()) {
+                        throw new ImportValidationException("Invalid unicode escape in JSON string");
+                    }
+                    try {
+                        value.append((char) Integer.parseInt(line.substring(position[0], position[0] + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw new ImportValidationException("Invalid unicode escape in JSON string", e);
+                    }
+                    position[0] += 4;
+                }
+                default -> value.append(escaped);
+            }
+        }
+
+        throw new ImportValidationException("Unterminated JSON string");
+    }
+
+    /**
+     * Provjerava da se na trenutnoj poziciji nalazi očekivani znak i pomiče poziciju iza njega.
+     *
+     * @param line Redak koji se raščlanjuje.
+     * @param position Trenutna pozicija.
+     * @param expected Očekivani znak.
+     * @throws ImportValidationException ako se na poziciji ne nalazi očekivani znak.
+     */
+    private static void expect(String line, int[] position, char expected) throws ImportValidationException {
+        if (position[0] >= line.length() || line.charAt(position[0]) != expected) {
+            throw new ImportValidationException("Expected '" + expected + "' at position " + position[0]);
+        }
+        position[0]++;
+    }
+
+    /**
+     * Preskače praznine počevši od zadane pozicije.
+     *
+     * @param line Redak koji se raščlanjuje.
+     * @param position Početna pozicija.
+     * @return Prva pozicija koja nije praznina.
+     */
+    private static int skipWhitespace(String line, int position) {
+        while (position < line.length() && Character.isWhitespace(line.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+}
@@ -0,0 +1,30 @@
+package importer;
+
+import java.util.List;
+
+/**
+ * Sažetak jednog izvođenja masovnog uvoza.
+ *
+ * @param entityName Naziv entiteta koji se uvozio (npr. Client, Proposal).
+ * @param totalRows Ukupan broj podatkovnih redaka u datoteci.
+ * @param importedRows Broj uspješno spremljenih redaka.
+ * @param batches Broj uspješno spremljenih batcheva.
+ * @param rejectedRows Retci koji nisu uvezeni, s razlogom odbacivanja.
+ * @param durationNanos Ukupno trajanje uvoza u nanosekundama.
+ */
+public record ImportResult(
+        String entityName,
+        long totalRows,
+        long importedRows,
+        int batches,
+        List<RejectedRow> rejectedRows,
+        long durationNanos
+) {
+    /**
+     * Izračunava propusnost uvoza.
+     * @return Broj uspješno uvezenih redaka u sekundi.
+     */
+    public double rowsPerSecond() {
+        return durationNanos == 0 ? 0 : importedRows / (durationNanos / 1_000_000_000.0);
+    }
+}
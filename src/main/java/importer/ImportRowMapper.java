@@ -0,0 +1,25 @@
+package importer;
+
+import exception.ImportValidationException;
+import model.Entitiy;
+
+import java.util.Map;
+
+/**
+ * Funkcijsko sučelje koje validira raščlanjeni redak ulazne datoteke
+ * i pretvara ga u entitet spreman za spremanje.
+ * Implementacije moraju biti bez stanja jer se pozivaju paralelno.
+ *
+ * @param <T> Tip entiteta koji se stvara.
+ */
+@FunctionalInterface
+public interface ImportRowMapper<T extends Entitiy> {
+    /**
+     * Validira polja retka i stvara entitet.
+     *
+     * @param fields Mapa naziva polja (malim slovima) i vrijednosti.
+     * @return Stvoreni entitet.
+     * @throws ImportValidationException ako redak ne prođe validaciju.
+     */
+    T map(Map<String, String> fields) throws ImportValidationException;
+}
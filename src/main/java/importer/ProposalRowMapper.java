@@ -0,0 +1,87 @@
+package importer;
+
+import enums.ProposalStatus;
+import exception.ImportValidationException;
+import model.Proposal;
+
+import java.util.Map;
+import java.util.Set;
+
+import static importer.ClientRowMapper.requireField;
+
+/**
+ * Pretvara redak ulazne datoteke u {@link Proposal} objekt.
+ * Očekuje polja {@code title}, {@code description}, {@code client_id} i {@code user_id},
+ * te opcionalno polje {@code status} (zadano {@link ProposalStatus#PENDING}).
+ */
+public class ProposalRowMapper implements ImportRowMapper<Proposal> {
+
+    private final Set<Long> knownClientIds;
+    private final Set<Long> knownUserIds;
+
+    /**
+     * Konstruktor koji prima skupove postojećih ID-jeva klijenata i korisnika za validaciju referenci.
+     * @param knownClientIds ID-jevi klijenata koji postoje u bazi podataka.
+     * @param knownUserIds ID-jevi korisnika koji postoje u bazi podataka.
+     */
+    public ProposalRowMapper(Set<Long> knownClientIds, Set<Long> knownUserIds) {
+        this.knownClientIds = knownClientIds;
+        this.knownUserIds = knownUserIds;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Proposal map(Map<String, String> fields) throws ImportValidationException {
+        String title = requireField(fields, "title");
+        String description = requireField(fields, "description");
+        long clientId = parseId(requireField(fields, "client_id"), "client_id");
+        long userId = parseId(requireField(fields, "user_id"), "user_id");
+
+        if (!knownClientIds.contains(clientId)) {
+            throw new ImportValidationException("Unknown client_id " + clientId);
+        }
+        if (!knownUserIds.contains(userId)) {
+            throw new ImportValidationException("Unknown user_id " + userId);
+        }
+
+        ProposalStatus status = ProposalStatus.PENDING;
+        String statusValue = fields.get("status");
+        if (statusValue != null && !statusValue.isEmpty()) {
+            try {
+                status = ProposalStatus.valueOf(statusValue.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new ImportValidationException("Invalid status '" + statusValue + "'", e);
+            }
+        }
+
+        return new Proposal.Builder(0L)
+                .withTitle(title)
+                .withDescription(description)
+                .withStatus(status)
+                .withClientId(clientId)
+                .withUserId(userId)
+                .build();
+    }
+
+    /**
+     * Pretvara vrijednost polja u pozitivan ID.
+     *
+     * @param value Vrijednost polja.
+     * @param name Naziv polja (za poruku o grešci).
+     * @return ID kao {@code long}.
+     * @throws ImportValidationException ako vrijednost nije pozitivan cijeli broj.
+     */
+    private static long parseId(String value, String name) throws ImportValidationException {
+        try {
+            long id = Long.parseLong(value);
+            if (id <= 0) {
+                throw new ImportValidationException("Field '" + name + "' must be positive");
+            }
+            return id;
+        } catch (NumberFormatException e) {
+            throw new ImportValidationException("Field '" + name + "' is not a number: " + value, e);
+        }
+    }
+}
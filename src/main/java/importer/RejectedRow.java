@@ -0,0 +1,10 @@
+package importer;
+
+/**
+ * Predstavlja redak ulazne datoteke koji nije uvezen.
+ *
+ * @param lineNumber Broj retka u datoteci (počevši od 1).
+ * @param reason Razlog odbacivanja.
+ * @param content Izvorni sadržaj retka.
+ */
+public record RejectedRow(long lineNumber, String reason, String content) {}
@@ -1,19 +1,28 @@
 package model;
 
 import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 
 /**
  * Predstavlja nepromjenjivi zapis (record) o jednoj promjeni u sustavu (audit log).
  * Implementira {@link Serializable} kako bi se instance mogle spremati u binarnu datoteku.
  *
- * @param id Jedinstveni identifikator zapisa.
+ * @param id Jedinstveni identifikator zapisa; dodjeljuje ga {@code AuditLogRepository} pri zapisivanju.
  * @param userId ID korisnika koji je izvršio promjenu.
  * @param userRole Rola korisnika koji je izvršio promjenu.
  * @param action Vrsta akcije (npr. ADD, UPDATE, DELETE).
  * @param entityName Naziv entiteta na kojem je izvršena promjena.
+ * @param entityId ID promijenjenog entiteta; {@code null} za zapise koji se ne odnose na jedan entitet
+ *                 (npr. skupni uvoz) i za zapise nastale prije uvođenja ovog polja.
  * @param oldValue Stara vrijednost podatka (kao String).
  * @param newValue Nova vrijednost podatka (kao String).
- * @param timestamp Vrijeme kada se promjena dogodila.
+ * @param timestamp Vrijeme kada je promjena zapisana; dodjeljuje ga {@code AuditLogRepository} pri zapisivanju,
+ *                  kao UTC trenutak u ISO obliku (npr. {@code 2024-01-15T07:00:00Z}). Stariji zapisi sadrže lokalno
+ *                  vrijeme u obliku {@code yyyy-MM-dd HH:mm:ss}.
  */
 public record AuditLog(
         Long id,
@@ -21,7 +30,42 @@ public record AuditLog(
         String userRole,
         String action,
         String entityName,
+        Long entityId,
         String oldValue,
         String newValue,
         String timestamp
-) implements Serializable {}
\ No newline at end of file
+) implements Serializable {
+
+    private static final DateTimeFormatter DISPLAY_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * Vraća vrijeme promjene kao trenutak u vremenu. Vrijeme je zapisano kao UTC trenutak u ISO obliku,
+     * a u starijim zapisima u lokalnoj vremenskoj zoni, u obliku {@code yyyy-MM-dd HH:mm:ss}
+     * (ili ISO obliku s {@code T} između datuma i vremena).
+     *
+     * @return Trenutak promjene ili {@code null} ako se vrijeme ne može pročitati.
+     */
+    public Instant instant() {
+        if (timestamp == null) {
+            return null;
+        }
+        try {
+            if (timestamp.endsWith("Z")) {
+                return Instant.parse(timestamp);
+            }
+            return LocalDateTime.parse(timestamp.replace(' ', 'T')).atZone(ZoneId.systemDefault()).toInstant();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Vraća vrijeme promjene za prikaz: lokalno vrijeme u obliku {@code yyyy-MM-dd HH:mm:ss}.
+     *
+     * @return Lokalno vrijeme promjene ili zapisano vrijeme, ako se ne može pročitati.
+     */
+    public String localTimestamp() {
+        Instant instant = instant();
+        return instant == null ? timestamp : DISPLAY_FORMAT.format(instant.atZone(ZoneId.systemDefault()));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package model;
+
+import enums.ChangeType;
+import enums.EntityType;
+
+import java.util.Set;
+
+/**
+ * Predstavlja jedan zapis iz tablice promjena ({@code CHANGE_LOG}) koju dijele svi čvorovi spojeni na istu bazu.
+ *
+ * @param sequence Monotono rastući redni broj promjene.
+ * @param entityType Vrsta promijenjenog entiteta.
+ * @param entityId ID promijenjenog entiteta.
+ * @param changeType Vrsta promjene.
+ * @param changedFields Nazivi promijenjenih polja.
+ * @param nodeId Oznaka čvora (instance aplikacije) koji je napravio promjenu.
+ */
+public record ChangeLogEntry(
+        long sequence,
+        EntityType entityType,
+        long entityId,
+        ChangeType changeType,
+        Set<String> changedFields,
+        String nodeId
+) {}
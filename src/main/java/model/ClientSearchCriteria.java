@@ -0,0 +1,37 @@
+package model;
+
+/**
+ * Predstavlja kriterije pretrage klijenata, onako kako ih zadaje ekran za pretragu klijenata.
+ * Svako polje je dio odgovarajuće vrijednosti klijenta (bez obzira na velika i mala slova);
+ * prazan ili {@code null} kriterij znači da se po tom polju ne filtrira.
+ *
+ * @param name Dio imena klijenta.
+ * @param email Dio email adrese klijenta.
+ * @param phone Dio telefonskog broja klijenta.
+ * @param company Dio naziva tvrtke klijenta.
+ */
+public record ClientSearchCriteria(
+        String name,
+        String email,
+        String phone,
+        String company
+) {
+
+    /**
+     * Vraća kriterije u normaliziranom obliku: tekstualni kriteriji pisani su malim slovima, a prazni su {@code null}.
+     * Kriteriji koji daju iste rezultate tako su jednaki, pa se mogu koristiti kao ključ međuspremnika rezultata.
+     *
+     * @return Normalizirani kriteriji.
+     */
+    public ClientSearchCriteria normalized() {
+        return new ClientSearchCriteria(
+                normalize(name),
+                normalize(email),
+                normalize(phone),
+                normalize(company));
+    }
+
+    private static String normalize(String value) {
+        return value == null || value.isEmpty() ? null : value.toLowerCase();
+    }
+}
@@ -0,0 +1,20 @@
+package model;
+
+/**
+ * Klijent zajedno s brojem svojih prijedloga, za prikaz u tablici klijenata.
+ *
+ * @param client Klijent.
+ * @param proposalCount Ukupan broj prijedloga klijenta.
+ * @param approvedCount Broj odobrenih prijedloga klijenta.
+ */
+public record ClientSummary(Client client, long proposalCount, long approvedCount) {
+
+    /**
+     * Vraća udio odobrenih prijedloga među svim prijedlozima klijenta.
+     *
+     * @return Udio između 0 i 1; 0 ako klijent nema prijedloga.
+     */
+    public double approvedRatio() {
+        return proposalCount == 0 ? 0 : (double) approvedCount / proposalCount;
+    }
+}
@@ -0,0 +1,72 @@
+package model;
+
+import enums.ChangeType;
+import enums.EntityType;
+import enums.ProposalStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Pokazatelji prikazani na nadzornoj ploči: broj prijedloga po statusu, klijenti s najviše prijedloga
+ * i zadnje promjene podataka.
+ *
+ * @param statusCounts Broj prijedloga po statusu.
+ * @param totalProposals Ukupan broj prijedloga.
+ * @param topClients Klijenti s najviše prijedloga, poredani silazno po broju prijedloga.
+ * @param recentActivity Zadnje promjene prijedloga i klijenata, od najnovije prema starijima.
+ */
+public record DashboardSummary(
+        Map<ProposalStatus, Long> statusCounts,
+        long totalProposals,
+        List<ClientTotal> topClients,
+        List<RecentChange> recentActivity
+) {
+    public DashboardSummary {
+        statusCounts = Map.copyOf(statusCounts);
+        topClients = List.copyOf(topClients);
+        recentActivity = List.copyOf(recentActivity);
+    }
+
+    /**
+     * Vraća broj prijedloga sa zadanim statusom.
+     *
+     * @param status Status prijedloga.
+     * @return Broj prijedloga, {@code 0} ako nema prijedloga s tim statusom.
+     */
+    public long count(ProposalStatus status) {
+        return statusCounts.getOrDefault(status, 0L);
+    }
+
+    /**
+     * Ukupan broj prijedloga jednog klijenta.
+     *
+     * @param clientId ID klijenta.
+     * @param clientName Ime klijenta.
+     * @param proposalCount Broj prijedloga klijenta.
+     */
+    public record ClientTotal(long clientId, String clientName, long proposalCount) {}
+
+    /**
+     * Jedna promjena prijedloga ili klijenta.
+     *
+     * @param entityType Vrsta promijenjenog entiteta.
+     * @param entityId ID promijenjenog entiteta.
+     * @param changeType Vrsta promjene.
+     * @param changedFields Nazivi promijenjenih polja; prazan skup za nove i obrisane entitete.
+     * @param changedAt Vrijeme promjene.
+     */
+    public record RecentChange(
+            EntityType entityType,
+            long entityId,
+            ChangeType changeType,
+            Set<String> changedFields,
+            LocalDateTime changedAt
+    ) {
+        public RecentChange {
+            changedFields = Set.copyOf(changedFields);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package model;
+
+import java.util.List;
+
+/**
+ * Predstavlja jednu stranicu rezultata pretrage, zajedno s ukupnim brojem pronađenih zapisa.
+ *
+ * @param items Zapisi na stranici.
+ * @param totalCount Ukupan broj zapisa koji zadovoljavaju kriterije pretrage.
+ * @param pageIndex Redni broj stranice, počevši od 0.
+ * @param pageSize Najveći broj zapisa na stranici.
+ * @param <T> Tip zapisa.
+ */
+public record Page<T>(
+        List<T> items,
+        long totalCount,
+        int pageIndex,
+        int pageSize
+) {
+
+    /**
+     * Izračunava ukupan broj stranica.
+     *
+     * @return Broj stranica; najmanje 1, i kada nema rezultata.
+     */
+    public int totalPages() {
+        return (int) Math.max(1, (totalCount + pageSize - 1) / pageSize);
+    }
+
+    /**
+     * Provjerava postoji li sljedeća stranica.
+     *
+     * @return {@code true} ako iza ove stranice ima još zapisa.
+     */
+    public boolean hasNext() {
+        return pageIndex + 1 < totalPages();
+    }
+
+    /**
+     * Provjerava postoji li prethodna stranica.
+     *
+     * @return {@code true} ako ovo nije prva stranica.
+     */
+    public boolean hasPrevious() {
+        return pageIndex > 0;
+    }
+}
@@ -11,6 +11,7 @@ import enums.ProposalStatus;
 public non-sealed class Proposal extends Entitiy implements Approver{
     private String title;
     private String description;
+    private boolean descriptionTruncated;
     private ProposalStatus status;
     private long clientId;
     private long userId;
@@ -58,11 +59,21 @@ public non-sealed class Proposal extends Entitiy implements Approver{
     }
 
     /**
-     * Postavlja opis prijedloga.
+     * Postavlja cijeli opis prijedloga.
      * @param description Novi opis prijedloga.
      */
     public void setDescription(String description) {
         this.description = description;
+        this.descriptionTruncated = false;
+    }
+
+    /**
+     * Provjerava sadrži li prijedlog samo početak opisa. Takav prijedlog vraćaju upiti za popise prijedloga,
+     * a cijeli opis treba dohvatiti prije uređivanja prijedloga.
+     * @return {@code true} ako je opis skraćen.
+     */
+    public boolean isDescriptionTruncated() {
+        return descriptionTruncated;
     }
 
     /**
@@ -136,6 +147,7 @@ public non-sealed class Proposal extends Entitiy implements Approver{
         private Long id;
         private String title;
         private String description;
+        private boolean descriptionTruncated;
         private ProposalStatus status;
         private long clientId;
         private long userId;
@@ -174,6 +186,16 @@ public non-sealed class Proposal extends Entitiy implements Approver{
             return this;
         }
 
+        /**
+         * Označava da je postavljeni opis samo početak opisa prijedloga.
+         * @param descriptionTruncated {@code true} ako je opis skraćen.
+         * @return Referenca na ovaj Builder.
+         */
+        public Builder withDescriptionTruncated(boolean descriptionTruncated) {
+            this.descriptionTruncated = descriptionTruncated;
+            return this;
+        }
+
         /**
          * Postavlja status prijedloga.
          * @param status Status prijedloga.
@@ -209,7 +231,9 @@ public non-sealed class Proposal extends Entitiy implements Approver{
          * @return Kreirana {@code Proposal} instanca.
          */
         public Proposal build(){
-            return new Proposal(id, title, description, status, clientId, userId);
+            Proposal proposal = new Proposal(id, title, description, status, clientId, userId);
+            proposal.descriptionTruncated = descriptionTruncated;
+            return proposal;
         }
     }
 
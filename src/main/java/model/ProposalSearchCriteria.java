@@ -0,0 +1,38 @@
+package model;
+
+import enums.ProposalStatus;
+
+/**
+ * Predstavlja kriterije pretrage prijedloga, onako kako ih zadaje ekran za pretragu prijedloga.
+ * Prazan ili {@code null} kriterij znači da se po tom polju ne filtrira.
+ *
+ * @param idea Dio naslova prijedloga (bez obzira na velika i mala slova).
+ * @param status Traženi status prijedloga.
+ * @param clientName Dio imena klijenta (bez obzira na velika i mala slova).
+ * @param userId ID korisnika čiji se prijedlozi traže; {@code null} za prijedloge svih korisnika.
+ */
+public record ProposalSearchCriteria(
+        String idea,
+        ProposalStatus status,
+        String clientName,
+        Long userId
+) {
+
+    /**
+     * Vraća kriterije u normaliziranom obliku: tekstualni kriteriji pisani su malim slovima, a prazni su {@code null}.
+     * Kriteriji koji daju iste rezultate tako su jednaki, pa se mogu koristiti kao ključ međuspremnika rezultata.
+     *
+     * @return Normalizirani kriteriji.
+     */
+    public ProposalSearchCriteria normalized() {
+        return new ProposalSearchCriteria(
+                normalize(idea),
+                status,
+                normalize(clientName),
+                userId);
+    }
+
+    private static String normalize(String value) {
+        return value == null || value.isEmpty() ? null : value.toLowerCase();
+    }
+}
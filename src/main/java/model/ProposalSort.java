@@ -0,0 +1,26 @@
+package model;
+
+/**
+ * Redoslijed rezultata pretrage prijedloga. Prijedlozi s jednakom vrijednošću stupca poredani su po ID-ju
+ * u istom smjeru, pa je redoslijed uvijek potpun i može se koristiti za čitanje po stranicama.
+ *
+ * @param column Stupac po kojem se prijedlozi poredavaju.
+ * @param ascending {@code true} za uzlazni, {@code false} za silazni redoslijed.
+ */
+public record ProposalSort(Column column, boolean ascending) {
+
+    /**
+     * Zadani redoslijed: uzlazno po ID-ju, tj. redom kojim su prijedlozi stvoreni.
+     */
+    public static final ProposalSort DEFAULT = new ProposalSort(Column.ID, true);
+
+    /**
+     * Stupci po kojima se prijedlozi mogu poredati.
+     */
+    public enum Column {
+        ID,
+        TITLE,
+        STATUS,
+        CLIENT
+    }
+}
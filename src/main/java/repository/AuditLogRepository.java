@@ -1,102 +1,707 @@
 package repository;
 
+import enums.EntityType;
 import model.AuditLog;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
 
 /**
  * Repozitorij za upravljanje zapisima o promjenama (audit log).
- * Koristi sinkronizirane metode za siguran, konkurentan pristup binarnoj datoteci
- * u kojoj se pohranjuju serijalizirani {@link AuditLog} objekti.
+ * Zapisi se pohranjuju kao serijalizirani {@link AuditLog} objekti koji se dodaju na kraj binarne datoteke,
+ * pa zapisivanje ne zahtijeva čitanje i ponovno zapisivanje cijele datoteke.
+ * Sve instance koje koriste isti direktorij dijele isto zaključavanje i iste indekse kako bi pristup datoteci
+ * bio siguran i konkurentan.
+ * Datoteke starijeg formata (jedna serijalizirana lista zapisa) i dalje se mogu čitati i nadopunjavati.
+ * Uz audit datoteku vodi se indeksna datoteka koja za svaki zapis s ID-jem entiteta pamti vrstu entiteta, ID
+ * i poziciju zapisa u audit datoteci, pa se povijest jednog entiteta čita bez čitanja cijelog audit loga.
+ * ID i vrijeme zapisa dodjeljuju se pod istim zaključavanjem pod kojim se zapis dodaje u datoteku, pa zapisi
+ * u datoteci slijede redom svojih vremena i ID-jeva.
  */
 public class AuditLogRepository {
-    private static final String AUDIT_LOG_FILE = "dat/audit_log.dat";
+    private static final String DATA_DIRECTORY = "dat";
+    private static final String AUDIT_LOG_FILE = "audit_log.dat";
+    private static final String ENTITY_INDEX_FILE = "audit_log.idx";
+    /**
+     * Oznaka na početku indeksne datoteke entiteta; iza nje slijedi duljina audit datoteke do koje je indeks
+     * nadopunjen. Datoteka bez oznake (stariji format) gradi se ponovno.
+     */
+    private static final int ENTITY_INDEX_MAGIC = 0x41494458;
+    private static final int ENTITY_INDEX_HEADER_LENGTH = Integer.BYTES + Long.BYTES;
     private static final Logger log = LoggerFactory.getLogger(AuditLogRepository.class);
 
-    private static boolean loggedInProgress = false;
+    private static final byte[] STREAM_HEADER = {
+            (byte) (ObjectStreamConstants.STREAM_MAGIC >> 8), (byte) ObjectStreamConstants.STREAM_MAGIC,
+            (byte) (ObjectStreamConstants.STREAM_VERSION >> 8), (byte) ObjectStreamConstants.STREAM_VERSION};
+    /**
+     * Koliko zapisi u datotekama zapisanima prije nego što je vrijeme zapisa dodjeljivano pri dodavanju
+     * mogu odstupati od redoslijeda vremena (vrijeme se uzimalo prije nego što je dretva zapisivanja dobila
+     * zaključavanje).
+     */
+    private static final Duration LEGACY_ORDER_TOLERANCE = Duration.ofMinutes(1);
+    private static final Map<Path, Store> STORES = new ConcurrentHashMap<>();
+
+    private final Store store;
 
     /**
-     * Sinkronizirano zapisuje jedan {@link AuditLog} zapis u binarnu datoteku.
-     * Ako je druga nit već u procesu pisanja, ova će pričekati koristeći wait/notify mehanizam.
-     *
-     * @param auditLog Zapis koji se sprema.
+     * Konstruktor koji koristi audit log u direktoriju {@code dat}.
      */
-    public synchronized void logChange(AuditLog auditLog) {
-        while (loggedInProgress) {
-            try {
-                wait();
-            } catch (InterruptedException e) {
-                log.error("Thread interrupted while waiting for logging access.", e);
-                Thread.currentThread().interrupt();
-            }
-        }
+    public AuditLogRepository() {
+        this(Path.of(DATA_DIRECTORY));
+    }
 
-        loggedInProgress = true;
+    /**
+     * Konstruktor koji koristi audit log u zadanom direktoriju; koristi se u testovima.
+     *
+     * @param directory Direktorij audit datoteke i indeksne datoteke.
+     */
+    public AuditLogRepository(Path directory) {
+        this.store = STORES.computeIfAbsent(directory.toAbsolutePath().normalize(), Store::new);
+    }
 
-        try {
-            List<AuditLog> logs = readAuditLogsInternal();
-            logs.add(auditLog);
+    /**
+     * Sinkronizirano dodaje jedan {@link AuditLog} zapis na kraj binarne datoteke.
+     * ID i vrijeme zapisa zadani u {@code auditLog} se zanemaruju: zapis dobiva sljedeći ID i trenutno vrijeme
+     * (nikad ranije od vremena prethodnog zapisa) pod zaključavanjem dodavanja, pa redoslijed zapisa u datoteci
+     * ne ovisi o redoslijedu kojim dretve zapisivanja dobivaju zaključavanje.
+     * Ako se zapis odnosi na jedan entitet, njegova pozicija dodaje se i u indeksnu datoteku entiteta, a indeksna
+     * datoteka pamti do koje je duljine audit datoteke nadopunjena. Zapise koji zbog greške ili prekida rada nisu
+     * dodani u indeksnu datoteku indeks dodaje pri sljedećem čitanju.
+     *
+     * @param auditLog Zapis koji se sprema; ID i vrijeme mogu biti {@code null}.
+     */
+    public void logChange(AuditLog auditLog) {
+        synchronized (store) {
+            auditLog = store.stamp(auditLog);
+            File file = store.auditLogFile;
+            boolean append = file.exists() && file.length() > 0;
+            long recordOffset = append ? file.length() : 0;
 
-            try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(AUDIT_LOG_FILE))) {
-                out.writeObject(logs);
+            try (ObjectOutputStream out = append
+                    ? new AppendingObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)))
+                    : new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+                out.writeObject(auditLog);
             } catch (IOException e) {
                 log.error("Error writing audit log: {}", e.getMessage(), e);
+                return;
+            }
+
+            if (store.entityIndexFile.exists()) {
+                store.entityIndex.append(auditLog, recordOffset, file.length());
             }
-        } finally {
-            loggedInProgress = false;
-            notifyAll();
         }
     }
 
     /**
-     * Sinkronizirano čita sve zapise iz binarne datoteke.
-     * Ako je druga nit u procesu pisanja, ova će pričekati.
+     * Dohvaća povijest promjena jednog entiteta, redom kojim su promjene zapisane.
+     * Pozicije zapisa čitaju se iz indeksa entiteta, pa se iz audit datoteke čitaju samo zapisi tog entiteta.
+     *
+     * @param entityType Vrsta entiteta.
+     * @param entityId ID entiteta.
+     * @return Lista zapisa o promjenama entiteta.
+     */
+    public List<AuditLog> findHistory(EntityType entityType, long entityId) {
+        List<AuditLog> history = new ArrayList<>();
+        for (long offset : store.entityIndex.offsetsOf(entityType, entityId)) {
+            store.readRecords(offset, (recordOffset, record) -> {
+                forEachEntry(record, auditLog -> {
+                    if (entityType == entityTypeOf(auditLog) && auditLog.entityId() == entityId) {
+                        history.add(auditLog);
+                    }
+                });
+                return false;
+            });
+        }
+        return history;
+    }
+
+    /**
+     * Čita sve zapise iz binarne datoteke.
      *
      * @return Lista svih {@link AuditLog} zapisa.
      */
-    public synchronized List<AuditLog> readAuditLogs() {
-        while (loggedInProgress) {
-            try {
-                wait();
-            } catch (InterruptedException e) {
-                log.error("Thread interrupted while waiting for logging access.", e);
-                Thread.currentThread().interrupt();
-            }
+    public List<AuditLog> readAuditLogs() {
+        List<AuditLog> logs = new ArrayList<>();
+        forEachAuditLog(logs::add);
+        return logs;
+    }
+
+    /**
+     * Prolazi kroz sve zapise redom kojim su zapisani, čitajući ih jedan po jedan iz datoteke,
+     * tako da potrošnja memorije ne ovisi o veličini audit loga.
+     * Čitaju se samo zapisi koji su bili u potpunosti zapisani u trenutku poziva;
+     * zapisivanje novih zapisa nije blokirano tijekom čitanja.
+     *
+     * @param consumer Potrošač koji prima svaki zapis.
+     */
+    public void forEachAuditLog(Consumer<AuditLog> consumer) {
+        forEachAuditLogFrom(0, consumer);
+    }
+
+    /**
+     * Prolazi kroz zapise dodane na kraj datoteke od zadane pozicije, tako da se nakon prvog čitanja
+     * mogu čitati samo novi zapisi. Pozicija mora biti {@code 0} ili vrijednost koju je vratio prethodni poziv.
+     * Čitaju se samo zapisi koji su bili u potpunosti zapisani u trenutku poziva.
+     *
+     * @param offset Pozicija u datoteci (u bajtovima) od koje se čita.
+     * @param consumer Potrošač koji prima svaki zapis.
+     * @return Pozicija iza zadnjeg pročitanog zapisa, za sljedeći poziv.
+     */
+    public long forEachAuditLogFrom(long offset, Consumer<AuditLog> consumer) {
+        return store.readRecords(offset, (recordOffset, record) -> {
+            forEachEntry(record, consumer);
+            return true;
+        });
+    }
+
+    /**
+     * Prolazi kroz zapise dodane na kraj datoteke od zadane pozicije, kao {@link #forEachAuditLogFrom(long, Consumer)},
+     * ali uz svaki zapis predaje i poziciju na kojoj je zapis spremljen, kako bi se zapis kasnije mogao pročitati
+     * s {@link #readRecordsAt(long[], ObjLongConsumer)}. Zapisi iz jedne liste starijeg formata dijele istu poziciju.
+     *
+     * @param offset Pozicija u datoteci (u bajtovima) od koje se čita.
+     * @param consumer Potrošač koji prima svaki zapis i njegovu poziciju u datoteci.
+     * @return Pozicija iza zadnjeg pročitanog zapisa, za sljedeći poziv.
+     */
+    public long forEachRecordFrom(long offset, ObjLongConsumer<AuditLog> consumer) {
+        return store.readRecords(offset, (recordOffset, record) -> {
+            forEachEntry(record, auditLog -> consumer.accept(auditLog, recordOffset));
+            return true;
+        });
+    }
+
+    /**
+     * Čita samo zapise spremljene na zadanim pozicijama u datoteci, bez čitanja zapisa između njih.
+     * Za listu starijeg formata predaju se svi njezini zapisi, redom.
+     *
+     * @param recordOffsets Uzlazno poredane pozicije zapisa koje je vratio
+     *                      {@link #forEachRecordFrom(long, ObjLongConsumer)}.
+     * @param consumer Potrošač koji prima svaki pročitani zapis i njegovu poziciju u datoteci.
+     */
+    public void readRecordsAt(long[] recordOffsets, ObjLongConsumer<AuditLog> consumer) {
+        store.readRecordsAt(recordOffsets, (recordOffset, record) -> {
+            forEachEntry(record, auditLog -> consumer.accept(auditLog, recordOffset));
+            return true;
+        });
+    }
+
+    /**
+     * Dohvaća zapise nastale u zadanom vremenskom rasponu, redom kojim su zapisani.
+     *
+     * @param from Početak raspona (uključivo); {@code null} za raspon bez početka.
+     * @param to Kraj raspona (isključivo); {@code null} za raspon bez kraja.
+     * @return Lista zapisa iz raspona.
+     */
+    public List<AuditLog> findBetween(Instant from, Instant to) {
+        List<AuditLog> logs = new ArrayList<>();
+        forEachBetween(from, to, logs::add);
+        return logs;
+    }
+
+    /**
+     * Prolazi kroz zapise nastale u zadanom vremenskom rasponu, redom kojim su zapisani.
+     * Budući da {@link #logChange(AuditLog)} zapisima dodjeljuje vrijeme redom kojim ih dodaje na kraj datoteke,
+     * početak raspona pronalazi se binarnim pretraživanjem rijetkog indeksa (vrijeme, pozicija u datoteci),
+     * a zapisi se zatim čitaju od te pozicije samo dok ne prođu kraj raspona. Zbog datoteka zapisanih prije
+     * takvog dodjeljivanja vremena, čitanje počinje i završava {@link #LEGACY_ORDER_TOLERANCE} prije početka
+     * i nakon kraja raspona, pa se ne gube zapisi koji su zapisani malo izvan redoslijeda.
+     * Indeks se gradi pri prvom pozivu i nadopunjuje samo novim zapisima.
+     * Zapisi čije se vrijeme ne može pročitati se preskaču.
+     *
+     * @param from Početak raspona (uključivo); {@code null} za raspon bez početka.
+     * @param to Kraj raspona (isključivo); {@code null} za raspon bez kraja.
+     * @param consumer Potrošač koji prima svaki zapis iz raspona.
+     */
+    public void forEachBetween(Instant from, Instant to, Consumer<AuditLog> consumer) {
+        long startOffset = from == null ? 0 : store.timeIndex.startOffset(from.minus(LEGACY_ORDER_TOLERANCE));
+        Instant stopAt = to == null ? null : to.plus(LEGACY_ORDER_TOLERANCE);
+
+        store.readRecords(startOffset, (recordOffset, record) -> {
+            boolean[] pastRange = {false};
+            forEachEntry(record, auditLog -> {
+                Instant instant = auditLog.instant();
+                if (instant == null || pastRange[0]) {
+                    return;
+                }
+                if (stopAt != null && !instant.isBefore(stopAt)) {
+                    pastRange[0] = true;
+                } else if ((from == null || !instant.isBefore(from)) && (to == null || instant.isBefore(to))) {
+                    consumer.accept(auditLog);
+                }
+            });
+            return !pastRange[0];
+        });
+    }
+
+    /**
+     * Predaje potrošaču zapise iz jednog serijaliziranog objekta: jedan zapis ili listu zapisa starijeg formata.
+     */
+    private static void forEachEntry(Object record, Consumer<AuditLog> consumer) {
+        if (record instanceof AuditLog auditLog) {
+            consumer.accept(auditLog);
+        } else if (record instanceof List<?> legacyLogs) {
+            legacyLogs.forEach(legacyLog -> consumer.accept((AuditLog) legacyLog));
         }
+    }
 
-        loggedInProgress = true;
+    /**
+     * {@link ObjectOutputStream} koji umjesto zaglavlja toka zapisuje oznaku za reset,
+     * čime se novi objekti mogu dodati na kraj postojećeg serijaliziranog toka.
+     */
+    private static class AppendingObjectOutputStream extends ObjectOutputStream {
+        AppendingObjectOutputStream(OutputStream out) throws IOException {
+            super(out);
+        }
 
-        try {
-            return readAuditLogsInternal();
-        } finally {
-            loggedInProgress = false;
-            notifyAll();
+        @Override
+        protected void writeStreamHeader() throws IOException {
+            reset();
         }
     }
 
     /**
-     * Interna, nesinkronizirana metoda za čitanje koju pozivaju sinkronizirane metode.
-     * Čita listu {@link AuditLog} objekata iz datoteke.
+     * Vraća vrstu entiteta na koji se zapis odnosi.
      *
-     * @return Lista zapisa ili prazna lista ako datoteka ne postoji, prazna je, ili dođe do greške.
+     * @param auditLog Zapis audit loga.
+     * @return Vrsta entiteta ili {@code null} ako zapis nema ID entiteta ili naziv entiteta nije poznata vrsta.
      */
-    private List<AuditLog> readAuditLogsInternal() {
-        File file = new File(AUDIT_LOG_FILE);
-        if (!file.exists() || file.length() == 0) {
-            return new ArrayList<>();
+    private static EntityType entityTypeOf(AuditLog auditLog) {
+        if (auditLog.entityId() == null) {
+            return null;
+        }
+        for (EntityType entityType : EntityType.values()) {
+            if (entityType.name().equalsIgnoreCase(auditLog.entityName())) {
+                return entityType;
+            }
+        }
+        return null;
+    }
+
+    private static void writeIndexEntry(DataOutput out, EntityType entityType, long entityId, long recordOffset)
+            throws IOException {
+        out.writeUTF(entityType.name());
+        out.writeLong(entityId);
+        out.writeLong(recordOffset);
+    }
+
+    /**
+     * Posjetitelj serijaliziranih zapisa u audit datoteci.
+     */
+    @FunctionalInterface
+    private interface RecordVisitor {
+        boolean visit(long recordOffset, Object record);
+    }
+
+    /**
+     * Audit datoteka i indeksna datoteka jednog direktorija, zajedno sa stanjem koje dijele sve instance
+     * repozitorija za taj direktorij: indeksima i zadnjim dodijeljenim ID-jem i vremenom.
+     * Spremište je ujedno i objekt zaključavanja pod kojim se zapisi dodaju u datoteke.
+     */
+    private static final class Store {
+        private final File auditLogFile;
+        private final File entityIndexFile;
+        private final TimeIndex timeIndex = new TimeIndex();
+        private final EntityIndex entityIndex = new EntityIndex();
+        private long lastAssignedId = -1;
+        private Instant lastInstant;
+
+        Store(Path directory) {
+            this.auditLogFile = directory.resolve(AUDIT_LOG_FILE).toFile();
+            this.entityIndexFile = directory.resolve(ENTITY_INDEX_FILE).toFile();
+        }
+
+        /**
+         * Čita serijalizirane zapise od zadane pozicije u datoteci i predaje ih posjetitelju zajedno s pozicijom
+         * na kojoj zapis počinje. Svaki zapis dodan s {@link AuditLogRepository#logChange(AuditLog)} može se čitati
+         * i sam za sebe, pa se čitanje može započeti na poziciji bilo kojeg zapisa.
+         *
+         * @param offset Pozicija u datoteci (u bajtovima) od koje se čita.
+         * @param visitor Posjetitelj koji prima zapise; vraćanjem {@code false} prekida čitanje.
+         * @return Pozicija kraja datoteke u trenutku poziva.
+         */
+        long readRecords(long offset, RecordVisitor visitor) {
+            File file = auditLogFile;
+            long length;
+            synchronized (this) {
+                length = file.exists() ? file.length() : 0;
+            }
+            if (length <= offset) {
+                return length;
+            }
+
+            try (FileInputStream fileInput = new FileInputStream(file)) {
+                fileInput.getChannel().position(offset);
+                // Tok koji broji bajtove mora biti izravno ispod ObjectInputStreama
+                // kako bi pozicija zapisa bila točna.
+                BoundedInputStream records =
+                        new BoundedInputStream(new BufferedInputStream(fileInput), length - offset);
+                InputStream input = records;
+                if (offset > 0) {
+                    // Dodani zapisi nemaju zaglavlje toka, pa se ispred njih čita zaglavlje
+                    // kakvo je na početku datoteke.
+                    input = new SequenceInputStream(new ByteArrayInputStream(STREAM_HEADER), records);
+                }
+                try (ObjectInputStream in = new ObjectInputStream(input)) {
+                    while (visitor.visit(offset + records.consumed(), in.readObject())) {
+                        // Posjetitelj je obradio zapis i traži sljedeći.
+                    }
+                }
+            } catch (EOFException e) {
+                // Kraj datoteke - svi zapisi su pročitani.
+            } catch (IOException | ClassNotFoundException e) {
+                log.error("Error reading audit log: {}", e.getMessage(), e);
+            }
+            return length;
+        }
+
+        /**
+         * Čita po jedan serijalizirani zapis sa svake od zadanih pozicija u datoteci, kroz istu otvorenu datoteku.
+         *
+         * @param offsets Uzlazno poredane pozicije na kojima zapisi počinju.
+         * @param visitor Posjetitelj koji prima zapise; vraćanjem {@code false} prekida čitanje.
+         */
+        void readRecordsAt(long[] offsets, RecordVisitor visitor) {
+            if (offsets.length == 0) {
+                return;
+            }
+
+            try (FileInputStream fileInput = new FileInputStream(auditLogFile)) {
+                for (long offset : offsets) {
+                    fileInput.getChannel().position(offset);
+                    // Tokovi se ne zatvaraju jer bi zatvorili i datoteku; za svaki zapis stvaraju se novi,
+                    // kako u međuspremniku ne bi ostali bajtovi s prethodne pozicije.
+                    InputStream input = new BufferedInputStream(fileInput);
+                    if (offset > 0) {
+                        input = new SequenceInputStream(new ByteArrayInputStream(STREAM_HEADER), input);
+                    }
+                    if (!visitor.visit(offset, new ObjectInputStream(input).readObject())) {
+                        return;
+                    }
+                }
+            } catch (IOException | ClassNotFoundException e) {
+                log.error("Error reading audit log: {}", e.getMessage(), e);
+            }
+        }
+
+        /**
+         * Vraća zapis sa sljedećim ID-jem i trenutnim vremenom. Vrijeme se zapisuje kao UTC trenutak, pa prijelaz
+         * s ljetnog na zimsko vrijeme ne vraća vremena zapisa unatrag; u lokalno vrijeme pretvara se samo za prikaz
+         * ({@link AuditLog#localTimestamp()}). Vrijeme nije ranije od vremena prethodnog zapisa,
+         * ni kada se sat sustava vrati unatrag. Najveći postojeći ID i najkasnije vrijeme čitaju se iz datoteke samo
+         * pri prvom pozivu, a nakon toga se pamte u memoriji. Poziva se pod zaključavanjem spremišta.
+         *
+         * @param auditLog Zapis kojem se dodjeljuju ID i vrijeme.
+         * @return Zapis s dodijeljenim ID-jem i vremenom.
+         */
+        AuditLog stamp(AuditLog auditLog) {
+            if (lastAssignedId < 0) {
+                long[] maxId = {0};
+                Instant[] latest = {null};
+                readRecords(0, (recordOffset, record) -> {
+                    forEachEntry(record, existing -> {
+                        if (existing.id() != null && existing.id() > maxId[0]) {
+                            maxId[0] = existing.id();
+                        }
+                        Instant instant = existing.instant();
+                        if (instant != null && (latest[0] == null || instant.isAfter(latest[0]))) {
+                            latest[0] = instant;
+                        }
+                    });
+                    return true;
+                });
+                lastAssignedId = maxId[0];
+                lastInstant = latest[0];
+            }
+
+            Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+            if (lastInstant != null && now.isBefore(lastInstant)) {
+                now = lastInstant;
+            }
+            lastInstant = now;
+            return new AuditLog(++lastAssignedId, auditLog.userId(), auditLog.userRole(), auditLog.action(),
+                    auditLog.entityName(), auditLog.entityId(), auditLog.oldValue(), auditLog.newValue(),
+                    DateTimeFormatter.ISO_INSTANT.format(now));
+        }
+
+        /**
+         * Rijetki indeks vremena zapisa: za prvi i zatim svaki {@value #SAMPLE_INTERVAL}. zapis pamti se vrijeme
+         * nastanka (u sekundama) i pozicija zapisa u datoteci. Budući da vremena zapisa rastu redom zapisivanja,
+         * i uzorci su poredani po vremenu, pa se pozicija početka raspona pronalazi binarnim pretraživanjem.
+         */
+        private class TimeIndex {
+            private static final int SAMPLE_INTERVAL = 64;
+
+            private long[] epochSeconds = new long[256];
+            private long[] offsets = new long[256];
+            private int size;
+            private long indexedOffset;
+            private int recordsSinceSample = SAMPLE_INTERVAL;
+
+            /**
+             * Vraća poziciju od koje treba čitati da bi se pročitali svi zapisi nastali od zadanog trenutka:
+             * poziciju zadnjeg uzorka starijeg od tog trenutka, ili početak datoteke.
+             */
+            synchronized long startOffset(Instant from) {
+                refresh();
+
+                long fromSecond = from.getEpochSecond();
+                int low = 0;
+                int high = size - 1;
+                int lastOlder = -1;
+                while (low <= high) {
+                    int middle = (low + high) >>> 1;
+                    if (epochSeconds[middle] < fromSecond) {
+                        lastOlder = middle;
+                        low = middle + 1;
+                    } else {
+                        high = middle - 1;
+                    }
+                }
+                return lastOlder >= 0 ? offsets[lastOlder] : 0;
+            }
+
+            private void refresh() {
+                indexedOffset = readRecords(indexedOffset, (recordOffset, record) -> {
+                    if (recordsSinceSample >= SAMPLE_INTERVAL) {
+                        Instant instant = firstInstant(record);
+                        if (instant != null) {
+                            addSample(instant.getEpochSecond(), recordOffset);
+                            recordsSinceSample = 0;
+                        }
+                    }
+                    recordsSinceSample++;
+                    return true;
+                });
+            }
+
+            private void addSample(long epochSecond, long offset) {
+                if (size == epochSeconds.length) {
+                    epochSeconds = Arrays.copyOf(epochSeconds, size * 2);
+                    offsets = Arrays.copyOf(offsets, size * 2);
+                }
+                epochSeconds[size] = epochSecond;
+                offsets[size] = offset;
+                size++;
+            }
+
+            private static Instant firstInstant(Object record) {
+                Instant[] first = {null};
+                forEachEntry(record, auditLog -> {
+                    if (first[0] == null) {
+                        first[0] = auditLog.instant();
+                    }
+                });
+                return first[0];
+            }
+        }
+
+        /**
+         * Indeks entiteta: za svaki par (vrsta entiteta, ID) pozicije zapisa o njegovim promjenama u audit datoteci.
+         * Indeks se čita iz indeksne datoteke i nadopunjuje samo novim unosima. Zaglavlje indeksne datoteke pamti
+         * duljinu audit datoteke do koje su unosi zapisani; ako je audit datoteka duža (dodavanje unosa nije uspjelo
+         * ili je rad prekinut između dva zapisivanja), nedostajući zapisi se prije čitanja indeksiraju iz audit
+         * datoteke. Ako indeksna datoteka ne postoji ili je starijeg formata, gradi se jednim prolazom kroz audit
+         * datoteku, nakon čega je {@link AuditLogRepository#logChange(AuditLog)} nadopunjuje.
+         */
+        private class EntityIndex {
+            private record Key(EntityType entityType, long entityId) {}
+
+            private final Map<Key, List<Long>> offsets = new HashMap<>();
+            private long loadedLength = ENTITY_INDEX_HEADER_LENGTH;
+
+            synchronized List<Long> offsetsOf(EntityType entityType, long entityId) {
+                refresh();
+                return List.copyOf(offsets.getOrDefault(new Key(entityType, entityId), List.of()));
+            }
+
+            /**
+             * Dodaje unos za zapis upravo dodan u audit datoteku i pomiče zaglavlje na novu duljinu audit datoteke.
+             * Ako indeks nije nadopunjen do pozicije zapisa, ne mijenja se, pa pri sljedećem čitanju indeksira sve
+             * zapise od zadnje zapisane duljine. Poziva se pod zaključavanjem spremišta.
+             *
+             * @param auditLog Dodani zapis.
+             * @param recordOffset Pozicija zapisa u audit datoteci.
+             * @param auditLogLength Duljina audit datoteke nakon dodavanja zapisa.
+             */
+            void append(AuditLog auditLog, long recordOffset, long auditLogLength) {
+                try (RandomAccessFile index = new RandomAccessFile(entityIndexFile, "rw")) {
+                    if (indexedLength(index) != recordOffset) {
+                        return;
+                    }
+                    EntityType entityType = entityTypeOf(auditLog);
+                    if (entityType != null) {
+                        ByteArrayOutputStream entry = new ByteArrayOutputStream();
+                        writeIndexEntry(new DataOutputStream(entry), entityType, auditLog.entityId(), recordOffset);
+                        index.seek(index.length());
+                        index.write(entry.toByteArray());
+                    }
+                    index.seek(Integer.BYTES);
+                    index.writeLong(auditLogLength);
+                } catch (IOException e) {
+                    log.error("Error writing audit log entity index: {}", e.getMessage(), e);
+                }
+            }
+
+            private void refresh() {
+                File indexFile = entityIndexFile;
+                long length;
+                synchronized (Store.this) {
+                    catchUp(indexFile);
+                    length = indexFile.length();
+                }
+                if (length <= loadedLength) {
+                    return;
+                }
+
+                try (FileInputStream fileInput = new FileInputStream(indexFile)) {
+                    fileInput.getChannel().position(loadedLength);
+                    BoundedInputStream entries =
+                            new BoundedInputStream(new BufferedInputStream(fileInput), length - loadedLength);
+                    DataInputStream in = new DataInputStream(entries);
+                    long start = loadedLength;
+                    while (entries.consumed() < length - start) {
+                        EntityType entityType = EntityType.valueOf(in.readUTF());
+                        long entityId = in.readLong();
+                        long recordOffset = in.readLong();
+                        List<Long> entityOffsets =
+                                offsets.computeIfAbsent(new Key(entityType, entityId), key -> new ArrayList<>());
+                        // Unos zapisan prije prekida rada, ali bez pomaknutog zaglavlja, ponovno se dodaje pri
+                        // nadopunjavanju; pozicije rastu, pa se ponovljeni unos prepoznaje po zadnjoj poziciji.
+                        if (entityOffsets.isEmpty() || entityOffsets.get(entityOffsets.size() - 1) < recordOffset) {
+                            entityOffsets.add(recordOffset);
+                        }
+                        loadedLength = start + entries.consumed();
+                    }
+                } catch (IOException | IllegalArgumentException e) {
+                    log.error("Error reading audit log entity index: {}", e.getMessage(), e);
+                }
+            }
+
+            /**
+             * Dodaje u indeksnu datoteku unose za zapise audit datoteke iza duljine zapisane u zaglavlju.
+             * Indeksnu datoteku koja ne postoji ili nema zaglavlje najprije stvara praznu.
+             * Poziva se pod zaključavanjem spremišta.
+             */
+            private void catchUp(File indexFile) {
+                long start = System.nanoTime();
+                try {
+                    long indexedLength;
+                    try (RandomAccessFile index = new RandomAccessFile(indexFile, "rw")) {
+                        indexedLength = indexedLength(index);
+                        if (indexedLength < 0) {
+                            index.setLength(0);
+                            index.writeInt(ENTITY_INDEX_MAGIC);
+                            index.writeLong(0);
+                            indexedLength = 0;
+                            offsets.clear();
+                            loadedLength = ENTITY_INDEX_HEADER_LENGTH;
+                        }
+                    }
+                    if (indexedLength >= auditLogFile.length()) {
+                        return;
+                    }
+
+                    long auditLogLength;
+                    try (DataOutputStream out = new DataOutputStream(
+                            new BufferedOutputStream(new FileOutputStream(indexFile, true)))) {
+                        auditLogLength = readRecords(indexedLength, (recordOffset, record) -> {
+                            forEachEntry(record, auditLog -> {
+                                EntityType entityType = entityTypeOf(auditLog);
+                                if (entityType != null) {
+                                    try {
+                                        writeIndexEntry(out, entityType, auditLog.entityId(), recordOffset);
+                                    } catch (IOException e) {
+                                        throw new UncheckedIOException(e);
+                                    }
+                                }
+                            });
+                            return true;
+                        });
+                    }
+                    try (RandomAccessFile index = new RandomAccessFile(indexFile, "rw")) {
+                        index.seek(Integer.BYTES);
+                        index.writeLong(auditLogLength);
+                    }
+                    log.info("Audit log entity index updated from offset {} in {} ms",
+                            indexedLength, (System.nanoTime() - start) / 1_000_000);
+                } catch (IOException | UncheckedIOException e) {
+                    log.error("Error building audit log entity index: {}", e.getMessage(), e);
+                }
+            }
+
+            /**
+             * Čita iz zaglavlja indeksne datoteke duljinu audit datoteke do koje je indeks nadopunjen.
+             *
+             * @return Zapisana duljina ili {@code -1} ako je datoteka prazna ili starijeg formata.
+             */
+            private static long indexedLength(RandomAccessFile index) throws IOException {
+                if (index.length() < ENTITY_INDEX_HEADER_LENGTH) {
+                    return -1;
+                }
+                index.seek(0);
+                return index.readInt() == ENTITY_INDEX_MAGIC ? index.readLong() : -1;
+            }
+        }
+    }
+
+    /**
+     * Ulazni tok koji čita najviše zadani broj bajtova iz omotanog toka i broji pročitane bajtove.
+     */
+    private static class BoundedInputStream extends FilterInputStream {
+        private final long limit;
+        private long remaining;
+
+        BoundedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+            this.remaining = limit;
+        }
+
+        long consumed() {
+            return limit - remaining;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int value = super.read();
+            if (value >= 0) {
+                remaining--;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = super.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
         }
 
-        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(file))) {
-            return (List<AuditLog>) in.readObject();
-        } catch (EOFException e) {
-            return new ArrayList<>();
-        } catch (IOException | ClassNotFoundException e) {
-            log.error("Error reading audit log: {}", e.getMessage(), e);
-            return new ArrayList<>();
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
         }
     }
-}
\ No newline at end of file
+}
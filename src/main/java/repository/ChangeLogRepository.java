@@ -0,0 +1,176 @@
+package repository;
+
+import database.DatabaseConnection;
+import enums.ChangeType;
+import enums.EntityType;
+import exception.RepositoryAccessException;
+import model.ChangeLogEntry;
+import model.DashboardSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Repozitorij za tablicu promjena ({@code CHANGE_LOG}) preko koje instance aplikacije spojene na isti
+ * H2 server saznaju za promjene koje su napravile druge instance.
+ * Repozitoriji prijedloga, klijenata i korisnika zapisuju promjene u ovu tablicu unutar iste transakcije
+ * kao i samu promjenu, pa zapis postoji ako i samo ako je promjena potvrđena.
+ */
+public class ChangeLogRepository {
+
+    /**
+     * Jedinstvena oznaka ove instance aplikacije, zapisuje se uz svaku promjenu koju ona napravi.
+     */
+    public static final String NODE_ID = UUID.randomUUID().toString();
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLogRepository.class);
+    private static final String DATABASE_ERROR = "Database error: {}";
+    private static final String FIELD_SEPARATOR = ",";
+
+    /**
+     * Zapisuje promjene jedne vrste nad više entiteta jednim batchom, koristeći konekciju (i transakciju) pozivatelja.
+     *
+     * @param connection Konekcija na kojoj je otvorena transakcija s promjenom.
+     * @param entityType Vrsta promijenjenih entiteta.
+     * @param entityIds ID-jevi promijenjenih entiteta.
+     * @param changeType Vrsta promjene.
+     * @param changedFields Nazivi promijenjenih polja.
+     * @throws SQLException ako dođe do greške pri zapisivanju.
+     */
+    static void record(Connection connection, EntityType entityType, Collection<Long> entityIds,
+                       ChangeType changeType, Set<String> changedFields) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO CHANGE_LOG (entity_type, entity_id, change_type, changed_fields, node_id) VALUES (?, ?, ?, ?, ?)")) {
+            String fields = String.join(FIELD_SEPARATOR, changedFields);
+            for (Long entityId : entityIds) {
+                statement.setString(1, entityType.name());
+                statement.setLong(2, entityId);
+                statement.setString(3, changeType.name());
+                statement.setString(4, fields);
+                statement.setString(5, NODE_ID);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * Dohvaća redni broj zadnje zapisane promjene.
+     *
+     * @return Najveći redni broj, ili 0 ako je tablica prazna.
+     * @throws RepositoryAccessException ako dođe do greške pri pristupu bazi.
+     */
+    public long findLatestSequence() {
+        try (Connection connection = new DatabaseConnection().connectToDatabase();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(seq), 0) FROM CHANGE_LOG")) {
+            return resultSet.next() ? resultSet.getLong(1) : 0;
+        } catch (SQLException e) {
+            log.error(DATABASE_ERROR, e.getMessage(), e);
+            throw new RepositoryAccessException(e);
+        }
+    }
+
+    /**
+     * Dohvaća promjene s rednim brojem većim od zadanog, te promjene s navedenim rednim brojevima.
+     * Navedeni redni brojevi služe za ponovnu provjeru "rupa" u slijedu: redni broj se dodjeljuje pri upisu,
+     * pa transakcija s manjim brojem može biti potvrđena nakon transakcije s većim brojem.
+     *
+     * @param sequence Redni broj zadnje obrađene promjene.
+     * @param missingSequences Redni brojevi koji su preskočeni pri ranijim provjerama.
+     * @return Promjene poredane po rednom broju.
+     * @throws RepositoryAccessException ako dođe do greške pri pristupu bazi.
+     */
+    public List<ChangeLogEntry> findSince(long sequence, Collection<Long> missingSequences) {
+        StringBuilder query = new StringBuilder(
+                "SELECT seq, entity_type, entity_id, change_type, changed_fields, node_id FROM CHANGE_LOG WHERE seq > ?");
+        if (!missingSequences.isEmpty()) {
+            query.append(" OR seq IN (").append(String.join(", ", Collections.nCopies(missingSequences.size(), "?"))).append(")");
+        }
+        query.append(" ORDER BY seq");
+
+        List<ChangeLogEntry> entries = new ArrayList<>();
+        try (Connection connection = new DatabaseConnection().connectToDatabase();
+             PreparedStatement statement = connection.prepareStatement(query.toString())) {
+
+            int parameterIndex = 1;
+            statement.setLong(parameterIndex++, sequence);
+            for (Long missingSequence : missingSequences) {
+                statement.setLong(parameterIndex++, missingSequence);
+            }
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    String fields = resultSet.getString("changed_fields");
+                    entries.add(new ChangeLogEntry(
+                            resultSet.getLong("seq"),
+                            EntityType.valueOf(resultSet.getString("entity_type")),
+                            resultSet.getLong("entity_id"),
+                            ChangeType.valueOf(resultSet.getString("change_type")),
+                            fields == null || fields.isEmpty() ? Set.of() : Set.of(fields.split(FIELD_SEPARATOR)),
+                            resultSet.getString("node_id")));
+                }
+            }
+        } catch (SQLException e) {
+            log.error(DATABASE_ERROR, e.getMessage(), e);
+            throw new RepositoryAccessException(e);
+        }
+        return entries;
+    }
+
+    /**
+     * Dohvaća zadnje promjene prijedloga i klijenata, bez obzira na to koja ih je instanca aplikacije napravila.
+     *
+     * @param limit Najveći broj promjena.
+     * @return Promjene od najnovije prema starijima.
+     * @throws RepositoryAccessException ako dođe do greške pri pristupu bazi.
+     */
+    public List<DashboardSummary.RecentChange> findRecent(int limit) {
+        List<DashboardSummary.RecentChange> changes = new ArrayList<>();
+        try (Connection connection = new DatabaseConnection().connectToDatabase();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT entity_type, entity_id, change_type, changed_fields, changed_at FROM CHANGE_LOG "
+                             + "WHERE entity_type IN (?, ?) ORDER BY seq DESC LIMIT ?")) {
+            statement.setString(1, EntityType.PROPOSAL.name());
+            statement.setString(2, EntityType.CLIENT.name());
+            statement.setInt(3, limit);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    String fields = resultSet.getString("changed_fields");
+                    changes.add(new DashboardSummary.RecentChange(
+                            EntityType.valueOf(resultSet.getString("entity_type")),
+                            resultSet.getLong("entity_id"),
+                            ChangeType.valueOf(resultSet.getString("change_type")),
+                            fields == null || fields.isEmpty() ? Set.of() : Set.of(fields.split(FIELD_SEPARATOR)),
+                            resultSet.getTimestamp("changed_at").toLocalDateTime()));
+                }
+            }
+        } catch (SQLException e) {
+            log.error(DATABASE_ERROR, e.getMessage(), e);
+            throw new RepositoryAccessException(e);
+        }
+        return changes;
+    }
+
+    /**
+     * Briše zapise promjena starije od zadanog trenutka.
+     *
+     * @param threshold Trenutak prije kojeg se zapisi brišu.
+     * @return Broj obrisanih zapisa.
+     * @throws RepositoryAccessException ako dođe do greške pri pristupu bazi.
+     */
+    public int deleteOlderThan(LocalDateTime threshold) {
+        try (Connection connection = new DatabaseConnection().connectToDatabase();
+             PreparedStatement statement = connection.prepareStatement("DELETE FROM CHANGE_LOG WHERE changed_at < ?")) {
+            statement.setTimestamp(1, Timestamp.valueOf(threshold));
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            log.error(DATABASE_ERROR, e.getMessage(), e);
+            throw new RepositoryAccessException(e);
+        }
+    }
+}
@@ -1,19 +1,32 @@
 package repository;
 
 import database.DatabaseConnection;
+import enums.ChangeType;
+import enums.EntityType;
+import enums.ProposalStatus;
+import event.ChangeEvent;
+import event.ChangeEventBus;
 import exception.EmptyRepositoryResultException;
 import exception.RepositoryAccessException;
 import model.AuditLog;
 import model.Client;
+import model.ClientSearchCriteria;
+import model.ClientSummary;
+import model.Page;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import session.SessionManager;
 
 import java.sql.*;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
 
 /**
  * Repozitorij za upravljanje podacima o klijentima ({@link Client}) u bazi podataka.
@@ -25,6 +38,7 @@ public class ClientDatabaseRepository<T extends Client> extends AbstractReposito
 
     private static final Logger log = LoggerFactory.getLogger(ClientDatabaseRepository.class);
     private static final String DATABASE_ERROR = "Database error: {}";
+    private static final int STREAMING_FETCH_SIZE = 500;
 
     /**
      * {@inheritDoc}
@@ -78,40 +92,390 @@ public class ClientDatabaseRepository<T extends Client> extends AbstractReposito
         return clients;
     }
 
+    /**
+     * Prolazi kroz sve klijente koji zadovoljavaju kriterije pretrage,
+     * čitajući ih izravno iz {@link ResultSet}-a bez stvaranja međuliste.
+     * Klijenti se predaju potrošaču redom prema ID-ju.
+     *
+     * @param criteria Kriteriji pretrage.
+     * @param consumer Potrošač koji prima svakog pronađenog klijenta.
+     * @throws RepositoryAccessException ako dođe do greške prilikom dohvaćanja podataka.
+     */
+    public void forEachMatching(ClientSearchCriteria criteria, Consumer<Client> consumer) {
+        forEachMatching(criteria, null, consumer);
+    }
+
+    /**
+     * Dohvaća sve klijente koji zadovoljavaju kriterije pretrage, uz mogućnost otkazivanja upita.
+     *
+     * @param criteria Kriteriji pretrage.
+     * @param cancellation Oznaka preko koje se upit može otkazati.
+     * @return Lista pronađenih klijenata poredana prema ID-ju.
+     * @throws RepositoryAccessException ako dođe do greške prilikom dohvaćanja podataka.
+     * @throws CancellationException ako je upit otkazan.
+     */
+    public List<Client> findMatching(ClientSearchCriteria criteria, QueryCancellation cancellation) {
+        List<Client> clients = new ArrayList<>();
+        forEachMatching(criteria, cancellation, clients::add);
+        return clients;
+    }
+
+    /**
+     * Prolazi kroz sve klijente koji zadovoljavaju kriterije pretrage; upit se može otkazati preko oznake za otkazivanje.
+     *
+     * @param criteria Kriteriji pretrage.
+     * @param cancellation Oznaka za otkazivanje upita, ili {@code null} ako se upit ne otkazuje.
+     * @param consumer Potrošač koji prima svakog pronađenog klijenta.
+     * @throws RepositoryAccessException ako dođe do greške prilikom dohvaćanja podataka.
+     * @throws CancellationException ako je upit otkazan.
+     */
+    private void forEachMatching(ClientSearchCriteria criteria, QueryCancellation cancellation, Consumer<Client> consumer) {
+        List<Object> parameters = new ArrayList<>();
+        String query = "SELECT id, name, email, phone, company FROM CLIENTS"
+                + buildWhereClause(criteria, parameters)
+                + " ORDER BY id";
+
+        try (Connection connection = new DatabaseConnection().connectToDatabase();
+             PreparedStatement statement = connection.prepareStatement(query)) {
+
+            statement.setFetchSize(STREAMING_FETCH_SIZE);
+            SqlFilter.bind(statement, parameters);
+            SqlFilter.register(statement, cancellation);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    SqlFilter.throwIfCancelled(cancellation);
+                    consumer.accept(extractClientFromResultSet(resultSet));
+                }
+            } finally {
+                SqlFilter.unregister(cancellation);
+            }
+        }
+        catch (SQLException e) {
+            SqlFilter.throwIfCancelled(cancellation);
+            log.error(DATABASE_ERROR, e.getMessage(), e);
+            throw new RepositoryAccessException(e);
+        }
+    }
+
+    /**
+     * Broji klijente koji zadovoljavaju kriterije pretrage.
+     *
+     * @param criteria Kriteriji pretrage.
+     * @return Broj klijenata.
+     * @throws RepositoryAccessException ako dođe do greške prilikom dohvaćanja podataka.
+     */
+    public long count(ClientSearchCriteria criteria) {
+        try (Connection connection = new DatabaseConnection().connectToDatabase()) {
+            return count(connection, criteria, null);
+        }
+        catch (SQLException e) {
+            log.error(DATABASE_ERROR, e.getMessage(), e);
+            throw new RepositoryAccessException(e);
+        }
+    }
+
+    /**
+     * Dohvaća jednu stranicu klijenata koji zadovoljavaju kriterije pretrage, poredanih po imenu,
+     * zajedno s ukupnim brojem pronađenih klijenata.
+     * Svi kriteriji primjenjuju se u jednom parametriziranom upitu nad stupcima pisanima malim slovima,
+     * a stranica se čita redom iz indeksa nad imenom.
+     *
+     * @param criteria Kriteriji pretrage.
+     * @param pageIndex Redni broj stranice, počevši od 0.
+     * @param pageSize Najveći broj klijenata na stranici.
+     * @param cancellation Oznaka preko koje se upit može otkazati.
+     * @return Stranica klijenata.
+     * @throws RepositoryAccessException ako dođe do greške prilikom dohvaćanja podataka.
+     * @throws CancellationException ako je upit otkazan.
+     */
+    public Page<Client> findPage(ClientSearchCriteria criteria, int pageIndex, int pageSize, QueryCancellation cancellation) {
+        List<Object> parameters = new ArrayList<>();
+        String query = "SELECT id, name, email, phone, company FROM CLIENTS"
+                + buildWhereClause(criteria, parameters)
+                + " ORDER BY name_lc, id LIMIT ? OFFSET ?";
+        parameters.add(pageSize);
+        parameters.add((long) pageIndex * pageSize);
+
+        try (Connection connection = new DatabaseConnection().connectToDatabase()) {
+            long totalCount = count(connection, criteria, cancellation);
+            List<Client> clients = new ArrayList<>();
+
+            try (PreparedStatement statement = connection.prepareStatement(query)) {
+                SqlFilter.bind(statement, parameters);
+                SqlFilter.register(statement, cancellation);
+
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        clients.add(extractClientFromResultSet(resultSet));
+                    }
+                } finally {
+                    SqlFilter.unregister(cancellation);
+                }
+            }
+
+            return new Page<>(clients, totalCount, pageIndex, pageSize);
+        }
+        catch (SQLException e) {
+            SqlFilter.throwIfCancelled(cancellation);
+            log.error(DATABASE_ERROR, e.getMessage(), e);
+            throw new RepositoryAccessException(e);
+        }
+    }
+
+    /**
+     * Dohvaća jednu stranicu klijenata kao i {@link #findPage}, zajedno s brojem prijedloga i brojem odobrenih
+     * prijedloga svakog klijenta. Stranica klijenata se odabire u podupitu, a prijedlozi se zbrajaju jednim
+     * {@code LEFT JOIN ... GROUP BY} upitom samo za klijente sa stranice, iz indeksa
+     * {@code IDX_PROPOSALS_CLIENT_STATUS}, bez čitanja redaka prijedloga.
+     *
+     * @param criteria Kriteriji pretrage.
+     * @param pageIndex Redni broj stranice, počevši od 0.
+     * @param pageSize Najveći broj klijenata na stranici.
+     * @param cancellation Oznaka preko koje se upit može otkazati.
+     * @return Stranica klijenata s brojem prijedloga.
+     * @throws RepositoryAccessException ako dođe do greške prilikom dohvaćanja podataka.
+     * @throws CancellationException ako je upit otkazan.
+     */
+    public Page<ClientSummary> findSummaryPage(ClientSearchCriteria criteria, int pageIndex, int pageSize,
+                                               QueryCancellation cancellation) {
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(ProposalStatus.APPROVED.name());
+        String query = "SELECT c.id, c.name, c.email, c.phone, c.company, COUNT(p.id) AS proposal_count,"
+                + " COUNT(CASE WHEN p.status = ? THEN 1 END) AS approved_count"
+                + " FROM (SELECT id, name, email, phone, company, name_lc FROM CLIENTS"
+                + buildWhereClause(criteria, parameters)
+                + " ORDER BY name_lc, id LIMIT ? OFFSET ?) c"
+                + " LEFT JOIN PROPOSALS p ON p.client_id = c.id"
+                + " GROUP BY c.id, c.name, c.email, c.phone, c.company, c.name_lc"
+                + " ORDER BY c.name_lc, c.id";
+        parameters.add(pageSize);
+        parameters.add((long) pageIndex * pageSize);
+
+        try (Connection connection = new DatabaseConnection().connectToDatabase()) {
+            long totalCount = count(connection, criteria, cancellation);
+            List<ClientSummary> summaries = new ArrayList<>();
+
+            try (PreparedStatement statement = connection.prepareStatement(query)) {
+                SqlFilter.bind(statement, parameters);
+                SqlFilter.register(statement, cancellation);
+
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        summaries.add(new ClientSummary(extractClientFromResultSet(resultSet),
+                                resultSet.getLong("proposal_count"), resultSet.getLong("approved_count")));
+                    }
+                } finally {
+                    SqlFilter.unregister(cancellation);
+                }
+            }
+
+            return new Page<>(summaries, totalCount, pageIndex, pageSize);
+        }
+        catch (SQLException e) {
+            SqlFilter.throwIfCancelled(cancellation);
+            log.error(DATABASE_ERROR, e.getMessage(), e);
+            throw new RepositoryAccessException(e);
+        }
+    }
+
+    /**
+     * Dohvaća klijente čije ime počinje zadanim prefiksom, bez obzira na velika i mala slova, poredane po imenu.
+     * Upit je raspon nad indeksom {@code IDX_CLIENTS_NAME_LC}, pa se čita samo traženi broj klijenata.
+     *
+     * @param prefix Početak imena; prazan prefiks vraća prve klijente po abecedi.
+     * @param limit Najveći broj klijenata.
+     * @param cancellation Oznaka za otkazivanje upita, ili {@code null} ako se upit ne otkazuje.
+     * @return Lista pronađenih klijenata.
+     * @throws RepositoryAccessException ako dođe do greške prilikom dohvaćanja podataka.
+     * @throws CancellationException ako je upit otkazan.
+     */
+    public List<Client> findByNamePrefix(String prefix, int limit, QueryCancellation cancellation) {
+        List<Client> clients = new ArrayList<>();
+        String query = "SELECT id, name, email, phone, company FROM CLIENTS"
+                + " WHERE name_lc LIKE ? ESCAPE '\\' ORDER BY name_lc, id LIMIT ?";
+
+        try (Connection connection = new DatabaseConnection().connectToDatabase();
+             PreparedStatement statement = connection.prepareStatement(query)) {
+
+            statement.setString(1, SqlFilter.escapeLike(prefix.toLowerCase()) + "%");
+            statement.setInt(2, limit);
+            SqlFilter.register(statement, cancellation);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    clients.add(extractClientFromResultSet(resultSet));
+                }
+            } finally {
+                SqlFilter.unregister(cancellation);
+            }
+        }
+        catch (SQLException e) {
+            SqlFilter.throwIfCancelled(cancellation);
+            log.error(DATABASE_ERROR, e.getMessage(), e);
+            throw new RepositoryAccessException(e);
+        }
+        return clients;
+    }
+
+    /**
+     * Broji klijente koji zadovoljavaju kriterije pretrage na zadanoj konekciji.
+     *
+     * @param connection Aktivna konekcija s bazom podataka.
+     * @param criteria Kriteriji pretrage.
+     * @param cancellation Oznaka za otkazivanje upita, ili {@code null} ako se upit ne otkazuje.
+     * @return Broj klijenata.
+     * @throws SQLException ako dođe do greške pri izvršavanju upita.
+     */
+    private static long count(Connection connection, ClientSearchCriteria criteria, QueryCancellation cancellation) throws SQLException {
+        List<Object> parameters = new ArrayList<>();
+        String query = "SELECT COUNT(*) FROM CLIENTS" + buildWhereClause(criteria, parameters);
+
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            SqlFilter.bind(statement, parameters);
+            SqlFilter.register(statement, cancellation);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : 0;
+            } finally {
+                SqlFilter.unregister(cancellation);
+            }
+        }
+    }
+
+    /**
+     * Slaže WHERE dio upita nad klijentima prema kriterijima pretrage.
+     *
+     * @param criteria Kriteriji pretrage.
+     * @param parameters Lista u koju se dodaju vrijednosti parametara, redom kojim se pojavljuju u upitu.
+     * @return WHERE dio upita (s vodećim razmakom).
+     */
+    private static String buildWhereClause(ClientSearchCriteria criteria, List<Object> parameters) {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+
+        if (SqlFilter.isSet(criteria.name())) {
+            SqlFilter.appendContainsLowercase(where, parameters, "name_lc", criteria.name());
+        }
+        if (SqlFilter.isSet(criteria.email())) {
+            SqlFilter.appendContainsLowercase(where, parameters, "email_lc", criteria.email());
+        }
+        if (SqlFilter.isSet(criteria.phone())) {
+            SqlFilter.appendContainsLowercase(where, parameters, "phone_lc", criteria.phone());
+        }
+        if (SqlFilter.isSet(criteria.company())) {
+            SqlFilter.appendContainsLowercase(where, parameters, "company_lc", criteria.company());
+        }
+
+        return where.toString();
+    }
+
     /**
      * {@inheritDoc}
+     * Svi klijenti iz liste upisuju se jednim JDBC batchom unutar jedne transakcije,
+     * a generirani ID-jevi postavljaju se natrag na proslijeđene objekte.
+     * Nakon potvrde transakcije za svakog klijenta objavljuje se događaj {@link ChangeType#CREATED}.
      */
     @Override
     public void save(List<T> entities) throws RepositoryAccessException, SQLException {
         try(Connection connection = new DatabaseConnection().connectToDatabase();
-            PreparedStatement statement = connection.prepareStatement("INSERT INTO CLIENTS(NAME, EMAIL, PHONE, COMPANY) VALUES (?, ?, ?, ?)"))
+            PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO CLIENTS(NAME, EMAIL, PHONE, COMPANY) VALUES (?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS))
         {
+            connection.setAutoCommit(false);
+            try {
+                for (T entity : entities) {
+                    statement.setString(1, entity.getName());
+                    statement.setString(2, entity.getEmail());
+                    statement.setString(3, entity.getPhone());
+                    statement.setString(4, entity.getCompany());
+                    statement.addBatch();
+                }
+
+                int[] affectedRows = statement.executeBatch();
+                if (affectedRows.length == 0) {
+                    throw new RepositoryAccessException("No rows affected");
+                }
+
+                try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                    for (int i = 0; i < entities.size() && generatedKeys.next(); i++) {
+                        entities.get(i).setId(generatedKeys.getLong(1));
+                    }
+                }
+
+                ChangeLogRepository.record(connection, EntityType.CLIENT,
+                        entities.stream().map(Client::getId).toList(), ChangeType.CREATED, Set.of());
+                connection.commit();
+            } catch (SQLException | RepositoryAccessException e) {
+                connection.rollback();
+                throw e;
+            }
+
             for (T entity : entities) {
-                statement.setString(1, entity.getName());
-                statement.setString(2, entity.getEmail());
-                statement.setString(3, entity.getPhone());
-                statement.setString(4, entity.getCompany());
-                statement.addBatch();
+                Client snapshot = new Client(entity.getId(), entity.getName(), entity.getEmail(), entity.getPhone(), entity.getCompany());
+                ChangeEventBus.publish(new ChangeEvent(ChangeType.CREATED, EntityType.CLIENT, entity.getId(), Set.of(), snapshot));
             }
+        }
+        catch (SQLException e) {
+            log.error(DATABASE_ERROR, e.getMessage(), e);
+            throw new RepositoryAccessException(e);
+        }
+    }
+
+    /**
+     * Dohvaća imena klijenata sa zadanim ID-jevima jednim upitom.
+     * Koristi se za prikaz imena klijenata uz prijedloge bez zasebnog upita za svaki redak.
+     *
+     * @param ids ID-jevi klijenata.
+     * @return Imena klijenata po ID-ju; klijenti koji ne postoje nisu u mapi.
+     * @throws RepositoryAccessException ako dođe do greške prilikom dohvaćanja podataka.
+     */
+    public Map<Long, String> findNamesByIds(Collection<Long> ids) {
+        Map<Long, String> names = new HashMap<>();
+        if (ids.isEmpty()) {
+            return names;
+        }
 
-            int[] affectedRows = statement.executeBatch();
-            if (affectedRows.length == 0) {
-                throw new RepositoryAccessException("No rows affected");
+        try (Connection connection = new DatabaseConnection().connectToDatabase();
+             PreparedStatement statement = connection.prepareStatement("SELECT id, name FROM CLIENTS WHERE id = ANY(?)")) {
+
+            statement.setArray(1, connection.createArrayOf("BIGINT", ids.toArray()));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    names.put(resultSet.getLong(1), resultSet.getString(2));
+                }
             }
         }
         catch (SQLException e) {
             log.error(DATABASE_ERROR, e.getMessage(), e);
             throw new RepositoryAccessException(e);
         }
+
+        return names;
     }
 
     /**
-     * Dohvaća sljedeći dostupan ID za zapis u audit logu.
-     * @return Sljedeći ID.
+     * Dohvaća ID-jeve svih klijenata u bazi podataka.
+     * Koristi se za validaciju referenci na klijente bez učitavanja cijelih zapisa.
+     *
+     * @return Skup ID-jeva svih klijenata.
+     * @throws RepositoryAccessException ako dođe do greške prilikom dohvaćanja podataka.
      */
-    private Long getNextAuditLogId() {
-        List<AuditLog> logs = new AuditLogRepository().readAuditLogs();
-        return logs.isEmpty() ? 1L : logs.get(logs.size() - 1).id() + 1;
+    public Set<Long> findAllIds() {
+        Set<Long> ids = new HashSet<>();
+
+        try (Connection connection = new DatabaseConnection().connectToDatabase();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT id FROM CLIENTS")) {
+
+            while (resultSet.next()) {
+                ids.add(resultSet.getLong(1));
+            }
+        }
+        catch (SQLException e) {
+            log.error(DATABASE_ERROR, e.getMessage(), e);
+            throw new RepositoryAccessException(e);
+        }
+
+        return ids;
     }
 
     /**
@@ -130,14 +494,15 @@ public class ClientDatabaseRepository<T extends Client> extends AbstractReposito
         }
 
         AuditLog logEntry = new AuditLog(
-                getNextAuditLogId(),
+                null,
                 SessionManager.getLoggedInUserId(),
                 SessionManager.isAdmin() ? "Admin" : "User",
                 "ADD",
                 "Client",
+                entity.getId(),
                 "N/A",
                 entity.toString(),
-                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))
+                null
         );
 
         AuditLogRepository auditLogRepository = new AuditLogRepository();
@@ -0,0 +1,97 @@
+package repository;
+
+import database.DatabaseConnection;
+import enums.ProposalStatus;
+import exception.RepositoryAccessException;
+import model.DashboardSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repozitorij za pokazatelje nadzorne ploče. Brojevi prijedloga po statusu i po klijentu računaju se u bazi
+ * {@code GROUP BY} upitima, a uz njih se čita i samo status i klijent svakog prijedloga, kako bi se pokazatelji
+ * nakon toga mogli ažurirati iz pojedinačnih promjena (vidi {@link statistics.DashboardStatistics}).
+ */
+public class DashboardRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardRepository.class);
+    private static final String DATABASE_ERROR = "Database error: {}";
+
+    /**
+     * Status i klijent jednog prijedloga, tj. polja o kojima ovise pokazatelji.
+     *
+     * @param status Status prijedloga.
+     * @param clientId ID klijenta prijedloga.
+     */
+    public record ProposalState(ProposalStatus status, long clientId) {}
+
+    /**
+     * Pokazatelji pročitani iz baze u jednom trenutku.
+     *
+     * @param statusCounts Broj prijedloga po statusu.
+     * @param clientTotals Broj prijedloga svakog klijenta, uključujući klijente bez prijedloga.
+     * @param proposals Status i klijent svakog prijedloga, prema ID-ju prijedloga.
+     */
+    public record Aggregates(
+            Map<ProposalStatus, Long> statusCounts,
+            List<DashboardSummary.ClientTotal> clientTotals,
+            Map<Long, ProposalState> proposals
+    ) {}
+
+    /**
+     * Čita pokazatelje unutar jedne transakcije s izolacijom {@code REPEATABLE READ}, pa brojevi po statusu,
+     * brojevi po klijentu i stanja prijedloga odgovaraju istom stanju baze.
+     *
+     * @return Pokazatelji iz baze.
+     * @throws RepositoryAccessException ako dođe do greške pri pristupu bazi.
+     */
+    public Aggregates loadAggregates() {
+        try (Connection connection = new DatabaseConnection().connectToDatabase()) {
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                Map<ProposalStatus, Long> statusCounts = new EnumMap<>(ProposalStatus.class);
+                try (ResultSet resultSet = statement.executeQuery(
+                        "SELECT status, COUNT(*) FROM PROPOSALS GROUP BY status")) {
+                    while (resultSet.next()) {
+                        statusCounts.put(ProposalStatus.valueOf(resultSet.getString(1)), resultSet.getLong(2));
+                    }
+                }
+
+                List<DashboardSummary.ClientTotal> clientTotals = new ArrayList<>();
+                try (ResultSet resultSet = statement.executeQuery(
+                        "SELECT c.id, c.name, COUNT(p.id) FROM CLIENTS c LEFT JOIN PROPOSALS p ON p.client_id = c.id "
+                                + "GROUP BY c.id, c.name")) {
+                    while (resultSet.next()) {
+                        clientTotals.add(new DashboardSummary.ClientTotal(
+                                resultSet.getLong(1), resultSet.getString(2), resultSet.getLong(3)));
+                    }
+                }
+
+                Map<Long, ProposalState> proposals = new HashMap<>();
+                try (ResultSet resultSet = statement.executeQuery("SELECT id, status, client_id FROM PROPOSALS")) {
+                    while (resultSet.next()) {
+                        proposals.put(resultSet.getLong(1), new ProposalState(
+                                ProposalStatus.valueOf(resultSet.getString(2)), resultSet.getLong(3)));
+                    }
+                }
+
+                connection.commit();
+                return new Aggregates(statusCounts, clientTotals, proposals);
+            }
+        } catch (SQLException e) {
+            log.error(DATABASE_ERROR, e.getMessage(), e);
+            throw new RepositoryAccessException(e);
+        }
+    }
+}
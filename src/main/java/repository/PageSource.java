@@ -0,0 +1,94 @@
+package repository;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Izvor rezultata pretrage koji se čitaju stranicu po stranicu.
+ * Broj rezultata i veličina stranice poznati su unaprijed, a pojedina stranica se dohvaća tek kada je potrebna,
+ * npr. kada postane vidljiva u tablici.
+ *
+ * @param <T> Tip redaka.
+ */
+public interface PageSource<T> {
+
+    /**
+     * Vraća ukupan broj redaka.
+     *
+     * @return Broj redaka.
+     */
+    int size();
+
+    /**
+     * Vraća najveći broj redaka na jednoj stranici.
+     *
+     * @return Veličina stranice.
+     */
+    int pageSize();
+
+    /**
+     * Dohvaća retke jedne stranice. Može se pozivati s pozadinskih dretvi.
+     *
+     * @param pageIndex Redni broj stranice, počevši od 0.
+     * @return Retci stranice; zadnja stranica može imati manje od {@link #pageSize()} redaka.
+     * @throws RepositoryAccessException ako dođe do greške prilikom dohvaćanja podataka.
+     */
+    List<T> loadPage(int pageIndex);
+
+    /**
+     * Vraća izvor čije se stranice dobivaju pretvorbom stranica ovog izvora, npr. u retke pripremljene za prikaz.
+     * Pretvorba se izvodi pri svakom učitavanju stranice, na dretvi koja stranicu učitava.
+     *
+     * @param mapper Pretvara učitanu stranicu.
+     * @param <R> Tip pretvorenih redaka.
+     * @return Izvor pretvorenih stranica iste veličine.
+     */
+    default <R> PageSource<R> mapPages(Function<List<T>, List<R>> mapper) {
+        PageSource<T> source = this;
+        return new PageSource<>() {
+            @Override
+            public int size() {
+                return source.size();
+            }
+
+            @Override
+            public int pageSize() {
+                return source.pageSize();
+            }
+
+            @Override
+            public List<R> loadPage(int pageIndex) {
+                return mapper.apply(source.loadPage(pageIndex));
+            }
+        };
+    }
+
+    /**
+     * Stvara izvor nad listom koja je već u memoriji.
+     *
+     * @param rows Retci.
+     * @param pageSize Veličina stranice.
+     * @param <T> Tip redaka.
+     * @return Izvor koji stranice čita iz liste.
+     */
+    static <T> PageSource<T> of(List<T> rows, int pageSize) {
+        List<T> copy = List.copyOf(rows);
+        return new PageSource<>() {
+            @Override
+            public int size() {
+                return copy.size();
+            }
+
+            @Override
+            public int pageSize() {
+                return pageSize;
+            }
+
+            @Override
+            public List<T> loadPage(int pageIndex) {
+                int from = Math.min(pageIndex * pageSize, copy.size());
+                return copy.subList(from, Math.min(from + pageSize, copy.size()));
+            }
+        };
+    }
+}
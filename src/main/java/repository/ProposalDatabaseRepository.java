@@ -2,37 +2,60 @@ package repository;
 
 
 import database.DatabaseConnection;
+import enums.ChangeType;
+import enums.EntityType;
+import event.ChangeEvent;
+import event.ChangeEventBus;
 import exception.EmptyRepositoryResultException;
 import exception.RepositoryAccessException;
 import model.AuditLog;
 import model.Client;
 import model.Proposal;
+import model.ProposalSearchCriteria;
+import model.ProposalSort;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import session.SessionManager;
 
 import java.sql.*;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 
 
 /**
  * Repozitorij za upravljanje podacima o prijedlozima ({@link Proposal}) u bazi podataka.
  * Pruža metode za pronalaženje, spremanje, ažuriranje i brisanje prijedloga.
- * Također, asinkrono logira sve promjene podataka u audit log.
+ * Također, asinkrono logira sve promjene podataka u audit log i nakon svake uspješne promjene
+ * objavljuje {@link ChangeEvent} na {@link ChangeEventBus}.
  *
  * @param <T> Tip prijedloga, mora nasljeđivati {@link Proposal}.
  */
 public class ProposalDatabaseRepository<T extends Proposal> extends AbstractRepository<T> {
 
+    /**
+     * Najveći broj znakova opisa koji upiti za popise prijedloga čitaju iz baze.
+     */
+    public static final int DESCRIPTION_PREVIEW_LENGTH = 200;
+
     private static final Logger log = LoggerFactory.getLogger(ProposalDatabaseRepository.class);
 
     private static final String DATABASE_ERROR = "Database error: {}";
-    private static final String DATE_PATTERN =  "yyyy-MM-dd HH:mm:ss";
     private static final String PROPOSAL = "Proposal";
     private static final String ADMIN = "Admin";
+    private static final int STREAMING_FETCH_SIZE = 500;
+
+    private static final String PREVIEW_COLUMNS = "p.id, p.title, "
+            + "LEFT(p.description, " + DESCRIPTION_PREVIEW_LENGTH + ") AS description, "
+            + "CHAR_LENGTH(p.description) > " + DESCRIPTION_PREVIEW_LENGTH + " AS description_truncated, "
+            + "p.status, p.client_id, p.user_id";
 
     /**
      * {@inheritDoc}
@@ -60,6 +83,67 @@ public class ProposalDatabaseRepository<T extends Proposal> extends AbstractRepo
         }
     }
 
+    /**
+     * Dohvaća cijeli opis prijedloga. Koristi se kada je prijedlog dohvaćen upitom za popis prijedloga,
+     * koji čita samo početak opisa.
+     *
+     * @param id ID prijedloga.
+     * @return Cijeli opis prijedloga.
+     * @throws EmptyRepositoryResultException ako prijedlog ne postoji.
+     * @throws RepositoryAccessException ako dođe do greške prilikom dohvaćanja podataka.
+     */
+    public String findDescription(Long id) throws EmptyRepositoryResultException {
+        String query = "SELECT description FROM proposals WHERE id = ?";
+
+        try (Connection connection = new DatabaseConnection().connectToDatabase();
+             PreparedStatement statement = connection.prepareStatement(query)) {
+
+            statement.setLong(1, id);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next()) {
+                    return resultSet.getString("description");
+                }
+            }
+        } catch (SQLException e) {
+            log.error(DATABASE_ERROR, e.getMessage(), e);
+            throw new RepositoryAccessException(e);
+        }
+        String errorMessage = "Proposal with id " + id + " not found";
+        log.warn(errorMessage);
+        throw new EmptyRepositoryResultException(errorMessage);
+    }
+
+    /**
+     * Dohvaća prijedloge sa zadanim ID-jevima, npr. rezultate pretrage memorijskog indeksa naslova.
+     * Prijedlozi sadrže samo početak opisa (vidi {@link Proposal#isDescriptionTruncated()}).
+     *
+     * @param ids ID-jevi prijedloga.
+     * @return Pronađeni prijedlozi poredani prema ID-ju; prijedlozi koji više ne postoje se izostavljaju.
+     * @throws RepositoryAccessException ako dođe do greške prilikom dohvaćanja podataka.
+     */
+    public List<Proposal> findPreviewsByIds(Collection<Long> ids) {
+        List<Proposal> proposals = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return proposals;
+        }
+        String query = "SELECT " + PREVIEW_COLUMNS + " FROM proposals p WHERE p.id = ANY(?) ORDER BY p.id";
+
+        try (Connection connection = new DatabaseConnection().connectToDatabase();
+             PreparedStatement statement = connection.prepareStatement(query)) {
+
+            statement.setArray(1, connection.createArrayOf("BIGINT", ids.toArray()));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    proposals.add(extractProposalPreviewFromResultSet(resultSet));
+                }
+            }
+        } catch (SQLException e) {
+            log.error(DATABASE_ERROR, e.getMessage(), e);
+            throw new RepositoryAccessException(e);
+        }
+        return proposals;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -84,41 +168,371 @@ public class ProposalDatabaseRepository<T extends Proposal> extends AbstractRepo
     }
 
     /**
-     * {@inheritDoc}
+     * Prolazi kroz ID-jeve i naslove svih prijedloga, čitajući ih izravno iz {@link ResultSet}-a
+     * bez dohvaćanja opisa i bez stvaranja međuliste.
+     *
+     * @param consumer Potrošač koji prima ID i naslov prijedloga.
+     * @throws RepositoryAccessException ako dođe do greške prilikom dohvaćanja podataka.
      */
-    @Override
-    public void save(List<T> entities) throws RepositoryAccessException, SQLException {
-        String sql = "INSERT INTO proposals (title, description, status, client_id, user_id) VALUES (?, ?, ?, ?, ?)";
+    public void forEachTitle(BiConsumer<Long, String> consumer) {
+        String query = "SELECT id, title FROM proposals";
 
         try (Connection connection = new DatabaseConnection().connectToDatabase();
-             PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(query)) {
+
+            while (resultSet.next()) {
+                consumer.accept(resultSet.getLong("id"), resultSet.getString("title"));
+            }
+        } catch (SQLException e) {
+            log.error(DATABASE_ERROR, e.getMessage(), e);
+            throw new RepositoryAccessException(e);
+        }
+    }
+
+    /**
+     * Prolazi kroz sve prijedloge koji zadovoljavaju kriterije pretrage, zajedno s imenom klijenta,
+     * čitajući ih izravno iz {@link ResultSet}-a bez stvaranja međuliste.
+     * Prijedlozi se predaju potrošaču redom prema ID-ju.
+     *
+     * @param criteria Kriteriji pretrage.
+     * @param consumer Potrošač koji prima prijedlog i ime njegovog klijenta.
+     * @throws RepositoryAccessException ako dođe do greške prilikom dohvaćanja podataka.
+     */
+    public void forEachMatching(ProposalSearchCriteria criteria, BiConsumer<Proposal, String> consumer) {
+        forEachMatching(criteria, null, consumer);
+    }
+
+    /**
+     * Dohvaća sve prijedloge koji zadovoljavaju kriterije pretrage, uz mogućnost otkazivanja upita.
+     *
+     * @param criteria Kriteriji pretrage.
+     * @param cancellation Oznaka preko koje se upit može otkazati.
+     * @return Lista pronađenih prijedloga poredana prema ID-ju.
+     * @throws RepositoryAccessException ako dođe do greške prilikom dohvaćanja podataka.
+     * @throws CancellationException ako je upit otkazan.
+     */
+    public List<Proposal> findMatching(ProposalSearchCriteria criteria, QueryCancellation cancellation) {
+        List<Proposal> proposals = new ArrayList<>();
+        forEachMatching(criteria, cancellation, (proposal, clientName) -> proposals.add(proposal));
+        return proposals;
+    }
+
+    /**
+     * Prolazi kroz sve prijedloge koji zadovoljavaju kriterije pretrage; upit se može otkazati preko oznake za otkazivanje.
+     *
+     * @param criteria Kriteriji pretrage.
+     * @param cancellation Oznaka za otkazivanje upita, ili {@code null} ako se upit ne otkazuje.
+     * @param consumer Potrošač koji prima prijedlog i ime njegovog klijenta.
+     * @throws RepositoryAccessException ako dođe do greške prilikom dohvaćanja podataka.
+     * @throws CancellationException ako je upit otkazan.
+     */
+    private void forEachMatching(ProposalSearchCriteria criteria, QueryCancellation cancellation,
+                                 BiConsumer<Proposal, String> consumer) {
+        List<Object> parameters = new ArrayList<>();
+        String query = "SELECT p.id, p.title, p.description, p.status, p.client_id, p.user_id, c.name AS client_name "
+                + "FROM proposals p LEFT JOIN clients c ON c.id = p.client_id"
+                + buildWhereClause(criteria, parameters)
+                + " ORDER BY p.id";
+
+        try (Connection connection = new DatabaseConnection().connectToDatabase();
+             PreparedStatement statement = connection.prepareStatement(query)) {
+
+            statement.setFetchSize(STREAMING_FETCH_SIZE);
+            SqlFilter.bind(statement, parameters);
+            SqlFilter.register(statement, cancellation);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    SqlFilter.throwIfCancelled(cancellation);
+                    consumer.accept(extractProposalFromResultSet(resultSet), resultSet.getString("client_name"));
+                }
+            } finally {
+                SqlFilter.unregister(cancellation);
+            }
+        } catch (SQLException e) {
+            SqlFilter.throwIfCancelled(cancellation);
+            log.error(DATABASE_ERROR, e.getMessage(), e);
+            throw new RepositoryAccessException(e);
+        }
+    }
+
+    /**
+     * Izdaje prve prijedloge koji zadovoljavaju kriterije pretrage, u zadanom redoslijedu, dok se rezultat upita
+     * još čita, pa pretplatnik prve prijedloge dobiva prije nego što baza pročita zadnji.
+     * Upit se izvodi pri svakoj pretplati; pretplatnik koji otkaže pretplatu prekida čitanje.
+     * Uz prijedlog se čita i ime njegovog klijenta, a prijedlog se pretvara u redak na dretvi koja čita upit.
+     * Prijedlozi sadrže samo početak opisa (vidi {@link Proposal#isDescriptionTruncated()}).
+     *
+     * @param criteria Kriteriji pretrage.
+     * @param sort Redoslijed prijedloga.
+     * @param limit Najveći broj prijedloga.
+     * @param mapper Pretvara prijedlog i ime njegovog klijenta ({@code null} ako klijent ne postoji) u redak.
+     * @param executor Izvršitelj na kojem se upit izvodi i retci predaju pretplatniku.
+     * @param <R> Tip redaka.
+     * @return Izdavač redaka.
+     */
+    public <R> Flow.Publisher<R> publishMatching(ProposalSearchCriteria criteria, ProposalSort sort, int limit,
+                                                 BiFunction<Proposal, String, R> mapper, Executor executor) {
+        List<Object> parameters = new ArrayList<>();
+        String direction = sort.ascending() ? " ASC" : " DESC";
+        String query = "SELECT " + PREVIEW_COLUMNS + ", c.name AS client_name "
+                + "FROM proposals p LEFT JOIN clients c ON c.id = p.client_id"
+                + buildWhereClause(criteria, parameters)
+                + " ORDER BY "
+                + (sort.column() == ProposalSort.Column.ID ? "" : sortExpression(sort.column()) + direction + ", ")
+                + "p.id" + direction
+                + " LIMIT ?";
+        parameters.add(limit);
+
+        return new ResultSetPublisher<>(query, parameters, resultSet -> mapper.apply(
+                extractProposalPreviewFromResultSet(resultSet), resultSet.getString("client_name")), executor);
+    }
+
+    /**
+     * Broji prijedloge koji zadovoljavaju kriterije pretrage.
+     *
+     * @param criteria Kriteriji pretrage.
+     * @return Broj prijedloga.
+     * @throws RepositoryAccessException ako dođe do greške prilikom dohvaćanja podataka.
+     */
+    public long count(ProposalSearchCriteria criteria) {
+        List<Object> parameters = new ArrayList<>();
+        String query = "SELECT COUNT(*) FROM proposals p LEFT JOIN clients c ON c.id = p.client_id"
+                + buildWhereClause(criteria, parameters);
+
+        try (Connection connection = new DatabaseConnection().connectToDatabase();
+             PreparedStatement statement = connection.prepareStatement(query)) {
 
-            for (T entity : entities) {
-                statement.setString(1, entity.getTitle());
-                statement.setString(2, entity.getDescription());
-                statement.setString(3, entity.getStatus().toString());
-                statement.setLong(4, entity.getClientId());
-                statement.setLong(5, entity.getUserId());
-                statement.addBatch();
+            SqlFilter.bind(statement, parameters);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : 0;
             }
+        } catch (SQLException e) {
+            log.error(DATABASE_ERROR, e.getMessage(), e);
+            throw new RepositoryAccessException(e);
+        }
+    }
 
-            int[] affectedRows = statement.executeBatch();
-            if (affectedRows.length == 0) {
-                throw new RepositoryAccessException("No rows affected while saving proposals.");
+    /**
+     * Pronalazi prijedloge koji zadovoljavaju kriterije pretrage i vraća ih kao izvor koji se čita po stranicama.
+     * Jednim upitom se broje pronađeni prijedlozi i za svaku stranicu pamti ključ njenog prvog retka
+     * (vrijednost stupca po kojem se poredava i ID), pa se svaka stranica, uključujući i udaljene,
+     * čita upitom sa skupom ključeva ({@code WHERE (stupac, id) >= (?, ?) ORDER BY stupac, id LIMIT ?})
+     * umjesto s {@code OFFSET}-om, koji bi morao preskočiti sve prethodne retke.
+     * Stranice se čitaju s trenutnim podacima u bazi; promjene nakon poziva ove metode mogu pomaknuti granice stranica.
+     * Prijedlozi na stranicama sadrže samo početak opisa (vidi {@link Proposal#isDescriptionTruncated()}).
+     *
+     * @param criteria Kriteriji pretrage.
+     * @param sort Redoslijed prijedloga.
+     * @param pageSize Veličina stranice.
+     * @param cancellation Oznaka preko koje se upit za brojanje može otkazati.
+     * @return Izvor pronađenih prijedloga.
+     * @throws RepositoryAccessException ako dođe do greške prilikom dohvaćanja podataka.
+     * @throws CancellationException ako je upit otkazan.
+     */
+    public PageSource<Proposal> findPages(ProposalSearchCriteria criteria, ProposalSort sort, int pageSize,
+                                   QueryCancellation cancellation) {
+        List<Object> parameters = new ArrayList<>();
+        String sortExpression = sortExpression(sort.column());
+        String direction = sort.ascending() ? " ASC" : " DESC";
+        String query = "SELECT sort_key, id, total FROM ("
+                + "SELECT " + sortExpression + " AS sort_key, p.id AS id, COUNT(*) OVER () AS total,"
+                + " ROW_NUMBER() OVER (ORDER BY " + sortExpression + direction + ", p.id" + direction + ") AS rn"
+                + " FROM proposals p LEFT JOIN clients c ON c.id = p.client_id"
+                + buildWhereClause(criteria, parameters)
+                + ") WHERE MOD(rn - 1, ?) = 0 ORDER BY rn";
+        parameters.add(pageSize);
+
+        List<Object[]> pageStartKeys = new ArrayList<>();
+        int total = 0;
+        try (Connection connection = new DatabaseConnection().connectToDatabase();
+             PreparedStatement statement = connection.prepareStatement(query)) {
+
+            SqlFilter.bind(statement, parameters);
+            SqlFilter.register(statement, cancellation);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    pageStartKeys.add(new Object[]{resultSet.getObject("sort_key"), resultSet.getLong("id")});
+                    total = resultSet.getInt("total");
+                }
+            } finally {
+                SqlFilter.unregister(cancellation);
             }
         } catch (SQLException e) {
+            SqlFilter.throwIfCancelled(cancellation);
             log.error(DATABASE_ERROR, e.getMessage(), e);
             throw new RepositoryAccessException(e);
         }
+
+        return new KeysetPageSource(criteria, sort, pageSize, total, List.copyOf(pageStartKeys));
+    }
+
+    /**
+     * Vraća SQL izraz stupca po kojem se prijedlozi poredavaju. Izrazi nemaju {@code NULL} vrijednosti,
+     * kako bi usporedba ključeva stranica bila ispravna.
+     */
+    private static String sortExpression(ProposalSort.Column column) {
+        return switch (column) {
+            case ID -> "p.id";
+            case TITLE -> "COALESCE(p.title, '')";
+            case STATUS -> "COALESCE(p.status, '')";
+            case CLIENT -> "COALESCE(c.name, '')";
+        };
+    }
+
+    /**
+     * Izvor prijedloga koji svaku stranicu čita upitom od ključa njenog prvog retka.
+     */
+    private final class KeysetPageSource implements PageSource<Proposal> {
+        private final ProposalSearchCriteria criteria;
+        private final ProposalSort sort;
+        private final int pageSize;
+        private final int total;
+        private final List<Object[]> pageStartKeys;
+
+        KeysetPageSource(ProposalSearchCriteria criteria, ProposalSort sort, int pageSize, int total,
+                         List<Object[]> pageStartKeys) {
+            this.criteria = criteria;
+            this.sort = sort;
+            this.pageSize = pageSize;
+            this.total = total;
+            this.pageStartKeys = pageStartKeys;
+        }
+
+        @Override
+        public int size() {
+            return total;
+        }
+
+        @Override
+        public int pageSize() {
+            return pageSize;
+        }
+
+        @Override
+        public List<Proposal> loadPage(int pageIndex) {
+            List<Proposal> proposals = new ArrayList<>();
+            if (pageIndex < 0 || pageIndex >= pageStartKeys.size()) {
+                return proposals;
+            }
+
+            List<Object> parameters = new ArrayList<>();
+            Object[] startKey = pageStartKeys.get(pageIndex);
+            String operator = sort.ascending() ? " >= " : " <= ";
+            String direction = sort.ascending() ? " ASC" : " DESC";
+            String sortExpression = sortExpression(sort.column());
+
+            StringBuilder query = new StringBuilder("SELECT " + PREVIEW_COLUMNS
+                    + " FROM proposals p LEFT JOIN clients c ON c.id = p.client_id")
+                    .append(buildWhereClause(criteria, parameters));
+            if (sort.column() == ProposalSort.Column.ID) {
+                query.append(" AND p.id").append(operator).append("?");
+                parameters.add(startKey[1]);
+                query.append(" ORDER BY p.id").append(direction);
+            } else {
+                query.append(" AND (").append(sortExpression).append(", p.id)").append(operator).append("(?, ?)");
+                parameters.add(startKey[0]);
+                parameters.add(startKey[1]);
+                query.append(" ORDER BY ").append(sortExpression).append(direction).append(", p.id").append(direction);
+            }
+            query.append(" LIMIT ?");
+            parameters.add(pageSize);
+
+            try (Connection connection = new DatabaseConnection().connectToDatabase();
+                 PreparedStatement statement = connection.prepareStatement(query.toString())) {
+
+                SqlFilter.bind(statement, parameters);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        proposals.add(extractProposalPreviewFromResultSet(resultSet));
+                    }
+                }
+            } catch (SQLException e) {
+                log.error(DATABASE_ERROR, e.getMessage(), e);
+                throw new RepositoryAccessException(e);
+            }
+            return proposals;
+        }
+    }
+
+    /**
+     * Slaže WHERE dio upita nad prijedlozima ({@code p}) i klijentima ({@code c}) prema kriterijima pretrage.
+     *
+     * @param criteria Kriteriji pretrage.
+     * @param parameters Lista u koju se dodaju vrijednosti parametara, redom kojim se pojavljuju u upitu.
+     * @return WHERE dio upita (s vodećim razmakom).
+     */
+    private static String buildWhereClause(ProposalSearchCriteria criteria, List<Object> parameters) {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+
+        if (criteria.userId() != null) {
+            where.append(" AND p.user_id = ?");
+            parameters.add(criteria.userId());
+        }
+        if (SqlFilter.isSet(criteria.idea())) {
+            SqlFilter.appendContains(where, parameters, "p.title", criteria.idea());
+        }
+        if (criteria.status() != null) {
+            where.append(" AND p.status = ?");
+            parameters.add(criteria.status().toString());
+        }
+        if (SqlFilter.isSet(criteria.clientName())) {
+            SqlFilter.appendContains(where, parameters, "c.name", criteria.clientName());
+        }
+
+        return where.toString();
     }
 
     /**
-     * Dohvaća sljedeći dostupan ID za zapis u audit logu.
-     * @return Sljedeći ID.
+     * {@inheritDoc}
+     * Svi prijedlozi iz liste upisuju se jednim JDBC batchom unutar jedne transakcije,
+     * a generirani ID-jevi postavljaju se natrag na proslijeđene objekte.
+     * Nakon potvrde transakcije za svaki prijedlog objavljuje se događaj {@link ChangeType#CREATED}.
      */
-    private Long getNextAuditLogId() {
-        List<AuditLog> logs = new AuditLogRepository().readAuditLogs();
-        return logs.isEmpty() ? 1L : logs.get(logs.size() - 1).id() + 1;
+    @Override
+    public void save(List<T> entities) throws RepositoryAccessException, SQLException {
+        String sql = "INSERT INTO proposals (title, description, status, client_id, user_id) VALUES (?, ?, ?, ?, ?)";
+
+        try (Connection connection = new DatabaseConnection().connectToDatabase();
+             PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+            connection.setAutoCommit(false);
+            try {
+                for (T entity : entities) {
+                    statement.setString(1, entity.getTitle());
+                    statement.setString(2, entity.getDescription());
+                    statement.setString(3, entity.getStatus().toString());
+                    statement.setLong(4, entity.getClientId());
+                    statement.setLong(5, entity.getUserId());
+                    statement.addBatch();
+                }
+
+                int[] affectedRows = statement.executeBatch();
+                if (affectedRows.length == 0) {
+                    throw new RepositoryAccessException("No rows affected while saving proposals.");
+                }
+
+                try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                    for (int i = 0; i < entities.size() && generatedKeys.next(); i++) {
+                        entities.get(i).setId(generatedKeys.getLong(1));
+                    }
+                }
+
+                ChangeLogRepository.record(connection, EntityType.PROPOSAL,
+                        entities.stream().map(Proposal::getId).toList(), ChangeType.CREATED, Set.of());
+                connection.commit();
+            } catch (SQLException | RepositoryAccessException e) {
+                connection.rollback();
+                throw e;
+            }
+
+            entities.forEach(entity -> publishChange(ChangeType.CREATED, entity, Set.of()));
+        } catch (SQLException e) {
+            log.error(DATABASE_ERROR, e.getMessage(), e);
+            throw new RepositoryAccessException(e);
+        }
     }
 
     /**
@@ -137,14 +551,15 @@ public class ProposalDatabaseRepository<T extends Proposal> extends AbstractRepo
         }
 
         AuditLog logEntry = new AuditLog(
-                getNextAuditLogId(),
+                null,
                 SessionManager.getLoggedInUserId(),
                 SessionManager.isAdmin() ? ADMIN : "User",
                 "ADD",
                 PROPOSAL,
+                entity.getId(),
                 "N/A",
                 entity.getTitle(),
-                LocalDateTime.now().format(DateTimeFormatter.ofPattern(DATE_PATTERN))
+                null
         );
 
         AuditLogRepository auditLogRepository = new AuditLogRepository();
@@ -165,6 +580,7 @@ public class ProposalDatabaseRepository<T extends Proposal> extends AbstractRepo
              PreparedStatement statement = connection.prepareStatement(query)) {
 
             Proposal oldProposal = findById(proposal.getId());
+            connection.setAutoCommit(false);
 
             statement.setString(1, proposal.getTitle());
             statement.setString(2, proposal.getDescription());
@@ -178,18 +594,18 @@ public class ProposalDatabaseRepository<T extends Proposal> extends AbstractRepo
 
             StringBuilder oldValueBuilder = new StringBuilder();
             StringBuilder newValueBuilder = new StringBuilder();
-            boolean hasChanges = false;
+            Set<String> changedFields = new LinkedHashSet<>();
 
             if (!oldProposal.getTitle().equals(proposal.getTitle())) {
                 oldValueBuilder.append("'").append(oldProposal.getTitle()).append("', ");
                 newValueBuilder.append("'").append(proposal.getTitle()).append("', ");
-                hasChanges = true;
+                changedFields.add("title");
             }
 
             if (!oldProposal.getDescription().equals(proposal.getDescription())) {
                 oldValueBuilder.append("'").append(oldProposal.getDescription()).append("', ");
                 newValueBuilder.append("'").append(proposal.getDescription()).append("', ");
-                hasChanges = true;
+                changedFields.add("description");
             }
 
             if (oldProposal.getClientId() != proposal.getClientId()) {
@@ -199,31 +615,41 @@ public class ProposalDatabaseRepository<T extends Proposal> extends AbstractRepo
 
                 oldValueBuilder.append("'").append(oldClient.getName()).append("', ");
                 newValueBuilder.append("'").append(newClient.getName()).append("', ");
-                hasChanges = true;
+                changedFields.add("clientId");
             }
 
-            if (!hasChanges) {
+            if (changedFields.isEmpty()) {
+                connection.commit();
                 log.info("Update called for proposal ID {}, but no changes were detected.", proposal.getId());
                 return;
             }
 
+            ChangeLogRepository.record(connection, EntityType.PROPOSAL, List.of(proposal.getId()), ChangeType.UPDATED, changedFields);
+            connection.commit();
+
             String finalOldValue = oldValueBuilder.substring(0, oldValueBuilder.length() - 2);
             String finalNewValue = newValueBuilder.substring(0, newValueBuilder.length() - 2);
 
             AuditLog logEntry = new AuditLog(
-                    getNextAuditLogId(),
+                    null,
                     SessionManager.getLoggedInUserId(),
                     SessionManager.isAdmin() ? ADMIN : "User",
                     "UPDATE",
                     PROPOSAL,
+                    proposal.getId(),
                     finalOldValue,
                     finalNewValue,
-                    LocalDateTime.now().format(DateTimeFormatter.ofPattern(DATE_PATTERN))
+                    null
             );
 
             AuditLogRepository auditLogRepository = new AuditLogRepository();
             new Thread(() -> auditLogRepository.logChange(logEntry)).start();
 
+            oldProposal.setTitle(proposal.getTitle());
+            oldProposal.setDescription(proposal.getDescription());
+            oldProposal.setClientId(proposal.getClientId());
+            publishChange(ChangeType.UPDATED, oldProposal, changedFields);
+
         } catch (SQLException | EmptyRepositoryResultException e) {
             log.error(DATABASE_ERROR, e.getMessage(), e);
             throw new RepositoryAccessException(e);
@@ -238,6 +664,24 @@ public class ProposalDatabaseRepository<T extends Proposal> extends AbstractRepo
      * @throws SQLException ako dođe do greške pri čitanju stupaca.
      */
     private static Proposal extractProposalFromResultSet(ResultSet resultSet) throws SQLException {
+        return proposalBuilderFromResultSet(resultSet).build();
+    }
+
+    /**
+     * Pomoćna metoda za kreiranje {@link Proposal} objekta iz retka upita koji čita stupce {@link #PREVIEW_COLUMNS}.
+     * Prijedlog sadrži samo početak opisa, a {@link Proposal#isDescriptionTruncated()} govori je li opis dulji.
+     *
+     * @param resultSet ResultSet iz kojeg se čitaju podaci.
+     * @return Kreirani Proposal objekt.
+     * @throws SQLException ako dođe do greške pri čitanju stupaca.
+     */
+    private static Proposal extractProposalPreviewFromResultSet(ResultSet resultSet) throws SQLException {
+        return proposalBuilderFromResultSet(resultSet)
+                .withDescriptionTruncated(resultSet.getBoolean("description_truncated"))
+                .build();
+    }
+
+    private static Proposal.Builder proposalBuilderFromResultSet(ResultSet resultSet) throws SQLException {
         Long id = resultSet.getLong("id");
         String title = resultSet.getString("title");
         String description = resultSet.getString("description");
@@ -250,8 +694,26 @@ public class ProposalDatabaseRepository<T extends Proposal> extends AbstractRepo
                 .withDescription(description)
                 .withStatus(Enum.valueOf(enums.ProposalStatus.class, status))
                 .withClientId(clientId)
-                .withUserId(userId)
+                .withUserId(userId);
+    }
+
+    /**
+     * Objavljuje promjenu prijedloga na sabirnici događaja.
+     * Događaj nosi kopiju prijedloga kako pretplatnici ne bi dijelili objekt s pozivateljem.
+     *
+     * @param changeType Vrsta promjene.
+     * @param proposal Prijedlog nakon promjene.
+     * @param changedFields Nazivi promijenjenih polja.
+     */
+    private static void publishChange(ChangeType changeType, Proposal proposal, Set<String> changedFields) {
+        Proposal snapshot = new Proposal.Builder(proposal.getId())
+                .withTitle(proposal.getTitle())
+                .withDescription(proposal.getDescription())
+                .withStatus(proposal.getStatus())
+                .withClientId(proposal.getClientId())
+                .withUserId(proposal.getUserId())
                 .build();
+        ChangeEventBus.publish(new ChangeEvent(changeType, EntityType.PROPOSAL, proposal.getId(), changedFields, snapshot));
     }
 
     /**
@@ -293,6 +755,7 @@ public class ProposalDatabaseRepository<T extends Proposal> extends AbstractRepo
         try (Connection connection = new DatabaseConnection().connectToDatabase();
              PreparedStatement statement = connection.prepareStatement(query)) {
 
+            connection.setAutoCommit(false);
             statement.setLong(1, proposalId);
             int affectedRows = statement.executeUpdate();
 
@@ -300,20 +763,26 @@ public class ProposalDatabaseRepository<T extends Proposal> extends AbstractRepo
                 throw new RepositoryAccessException("Proposal ID not found or already deleted.");
             }
 
+            ChangeLogRepository.record(connection, EntityType.PROPOSAL, List.of(proposalId), ChangeType.DELETED, Set.of());
+            connection.commit();
+
             AuditLog logEntry = new AuditLog(
-                    getNextAuditLogId(),
+                    null,
                     SessionManager.getLoggedInUserId(),
                     SessionManager.isAdmin() ? ADMIN : "User",
                     "DELETE",
                     PROPOSAL,
+                    proposalId,
                     oldProposal.getTitle(), // Logira naslov
                     "Deleted",
-                    LocalDateTime.now().format(DateTimeFormatter.ofPattern(DATE_PATTERN))
+                    null
             );
 
             AuditLogRepository auditLogRepository = new AuditLogRepository();
             new Thread(() -> auditLogRepository.logChange(logEntry)).start();
 
+            publishChange(ChangeType.DELETED, oldProposal, Set.of());
+
         } catch (SQLException e) {
             log.error(DATABASE_ERROR, e.getMessage(), e);
             throw new RepositoryAccessException(e);
@@ -336,6 +805,7 @@ public class ProposalDatabaseRepository<T extends Proposal> extends AbstractRepo
         try (Connection connection = new DatabaseConnection().connectToDatabase();
              PreparedStatement statement = connection.prepareStatement(query)) {
 
+            connection.setAutoCommit(false);
             statement.setString(1, newStatus.toString());
             statement.setLong(2, proposalId);
 
@@ -344,20 +814,27 @@ public class ProposalDatabaseRepository<T extends Proposal> extends AbstractRepo
                 throw new RepositoryAccessException("No rows updated. Proposal ID might be incorrect.");
             }
 
+            ChangeLogRepository.record(connection, EntityType.PROPOSAL, List.of(proposalId), ChangeType.UPDATED, Set.of("status"));
+            connection.commit();
+
             AuditLog logEntry = new AuditLog(
-                    getNextAuditLogId(),
+                    null,
                     SessionManager.getLoggedInUserId(),
                     SessionManager.isAdmin() ? ADMIN : "User",
                     "UPDATE STATUS",
                     PROPOSAL,
+                    proposalId,
                     oldProposal.getStatus().toString(),
                     newStatus.toString(),
-                    LocalDateTime.now().format(DateTimeFormatter.ofPattern(DATE_PATTERN))
+                    null
             );
 
             AuditLogRepository auditLogRepository = new AuditLogRepository();
             new Thread(() -> auditLogRepository.logChange(logEntry)).start();
 
+            oldProposal.setStatus(newStatus);
+            publishChange(ChangeType.UPDATED, oldProposal, Set.of("status"));
+
         } catch (SQLException e) {
             log.error(DATABASE_ERROR, e.getMessage(), e);
             throw new RepositoryAccessException(e);
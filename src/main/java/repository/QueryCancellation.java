@@ -0,0 +1,77 @@
+package repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Oznaka za otkazivanje upita koji se izvodi na pozadinskoj dretvi.
+ * Repozitorij prijavljuje {@link Statement} koji trenutno izvodi, pa otkazivanje poziva {@link Statement#cancel()}
+ * i prekida upit i na strani baze podataka, a ne samo na strani aplikacije.
+ */
+public class QueryCancellation {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryCancellation.class);
+
+    private Statement statement;
+    private volatile boolean cancelled;
+
+    /**
+     * Otkazuje upit. Ako se upit trenutno izvodi, otkazuje se i na strani baze podataka.
+     */
+    public synchronized void cancel() {
+        cancelled = true;
+        if (statement != null) {
+            cancelStatement(statement);
+        }
+    }
+
+    /**
+     * Provjerava je li upit otkazan.
+     *
+     * @return {@code true} ako je upit otkazan.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Baca {@link CancellationException} ako je upit otkazan.
+     * Koristi se između koraka pretrage kako se nakon otkazivanja ne bi pokretali novi upiti.
+     */
+    public void throwIfCancelled() {
+        if (cancelled) {
+            throw new CancellationException("Query was cancelled");
+        }
+    }
+
+    /**
+     * Prijavljuje naredbu koja se upravo izvodi. Ako je upit već otkazan, naredba se odmah otkazuje.
+     *
+     * @param statement Naredba koja se izvodi.
+     */
+    synchronized void register(Statement statement) {
+        this.statement = statement;
+        if (cancelled) {
+            cancelStatement(statement);
+        }
+    }
+
+    /**
+     * Odjavljuje naredbu nakon što je njeno izvođenje završeno.
+     */
+    synchronized void unregister() {
+        this.statement = null;
+    }
+
+    private static void cancelStatement(Statement statement) {
+        try {
+            statement.cancel();
+        } catch (SQLException e) {
+            log.warn("Could not cancel running statement: {}", e.getMessage());
+        }
+    }
+}
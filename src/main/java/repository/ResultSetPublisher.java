@@ -0,0 +1,117 @@
+package repository;
+
+import database.DatabaseConnection;
+import exception.RepositoryAccessException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+
+/**
+ * Izdavač redaka upita koji retke predaje pretplatniku dok se {@link ResultSet} još čita, umjesto da čeka
+ * posljednji redak. Svaka pretplata izvodi upit zasebno, na vlastitoj konekciji, s lijenim izvođenjem upita
+ * ({@code LAZY_QUERY_EXECUTION}), pa H2 šalje prve retke čim ih pronađe.
+ * Čitanje poštuje potražnju pretplatnika: kada je međuspremnik pretplatnika pun, čitanje čeka, a kada pretplatnik
+ * otkaže pretplatu, čitanje se prekida i konekcija zatvara.
+ *
+ * @param <T> Tip redaka.
+ */
+final class ResultSetPublisher<T> implements Flow.Publisher<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(ResultSetPublisher.class);
+    private static final String DATABASE_ERROR = "Database error: {}";
+    private static final int FETCH_SIZE = 100;
+    private static final int BUFFER_CAPACITY = 1024;
+
+    private final String query;
+    private final List<Object> parameters;
+    private final RowReader<T> rowReader;
+    private final Executor executor;
+
+    /**
+     * Čita jedan redak iz {@link ResultSet}-a.
+     *
+     * @param <T> Tip retka.
+     */
+    @FunctionalInterface
+    interface RowReader<T> {
+
+        /**
+         * Čita trenutni redak.
+         *
+         * @param resultSet ResultSet postavljen na redak koji se čita.
+         * @return Pročitani redak.
+         * @throws SQLException ako dođe do greške pri čitanju stupaca.
+         */
+        T read(ResultSet resultSet) throws SQLException;
+    }
+
+    /**
+     * Stvara izdavača. Upit se ne izvodi dok se pretplatnik ne pretplati.
+     *
+     * @param query Parametrizirani upit.
+     * @param parameters Vrijednosti parametara upita.
+     * @param rowReader Čita redak iz rezultata upita.
+     * @param executor Izvršitelj na kojem se upit izvodi i retci predaju pretplatniku.
+     */
+    ResultSetPublisher(String query, List<Object> parameters, RowReader<T> rowReader, Executor executor) {
+        this.query = query;
+        this.parameters = List.copyOf(parameters);
+        this.rowReader = rowReader;
+        this.executor = executor;
+    }
+
+    /**
+     * Pretplaćuje pretplatnika i pokreće upit na izvršitelju.
+     *
+     * @param subscriber Pretplatnik koji prima retke.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        SubmissionPublisher<T> publisher = new SubmissionPublisher<>(executor, BUFFER_CAPACITY);
+        publisher.subscribe(subscriber);
+        executor.execute(() -> publish(publisher));
+    }
+
+    /**
+     * Čita retke i predaje ih izdavaču sve dok pretplatnik ne otkaže pretplatu. Nakon zadnjeg retka
+     * pretplatnik prima {@code onComplete}, a nakon greške {@code onError}.
+     */
+    private void publish(SubmissionPublisher<T> publisher) {
+        long start = System.nanoTime();
+        int rows = 0;
+        try (Connection connection = new DatabaseConnection().connectToDatabase()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET LAZY_QUERY_EXECUTION TRUE");
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement(query)) {
+                statement.setFetchSize(FETCH_SIZE);
+                SqlFilter.bind(statement, parameters);
+
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (publisher.hasSubscribers() && resultSet.next()) {
+                        publisher.submit(rowReader.read(resultSet));
+                        rows++;
+                    }
+                }
+            }
+            log.debug("Streamed {} rows in {} ms", rows, (System.nanoTime() - start) / 1_000_000);
+            publisher.close();
+        } catch (SQLException e) {
+            log.error(DATABASE_ERROR, e.getMessage(), e);
+            publisher.closeExceptionally(new RepositoryAccessException(e));
+        } catch (RuntimeException e) {
+            log.error("Streaming query failed: {}", e.getMessage(), e);
+            publisher.closeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Pomoćna klasa za slaganje parametriziranih uvjeta pretrage u SQL upitima repozitorija.
+ */
+final class SqlFilter {
+
+    /**
+     * Privatni konstruktor kako bi se spriječilo stvaranje instanci.
+     */
+    private SqlFilter() {
+    }
+
+    /**
+     * Provjerava je li kriterij pretrage zadan.
+     * @param value Vrijednost kriterija.
+     * @return {@code true} ako vrijednost nije {@code null} ni prazna.
+     */
+    static boolean isSet(String value) {
+        return value != null && !value.isEmpty();
+    }
+
+    /**
+     * Dodaje uvjet "sadrži, bez obzira na velika i mala slova" nad zadanim stupcem.
+     *
+     * @param where Graditelj WHERE dijela upita.
+     * @param parameters Lista parametara upita kojoj se dodaje uzorak.
+     * @param column Stupac (ili izraz) nad kojim se filtrira.
+     * @param value Traženi dio vrijednosti.
+     */
+    static void appendContains(StringBuilder where, List<Object> parameters, String column, String value) {
+        where.append(" AND LOWER(").append(column).append(") LIKE ? ESCAPE '\\'");
+        parameters.add("%" + escapeLike(value.toLowerCase()) + "%");
+    }
+
+    /**
+     * Dodaje uvjet "sadrži, bez obzira na velika i mala slova" nad stupcem čija je vrijednost već pisana malim slovima
+     * (npr. generirani stupac s indeksom), pa se {@code LOWER()} ne računa za svaki redak.
+     *
+     * @param where Graditelj WHERE dijela upita.
+     * @param parameters Lista parametara upita kojoj se dodaje uzorak.
+     * @param lowercaseColumn Stupac s vrijednošću pisanom malim slovima.
+     * @param value Traženi dio vrijednosti.
+     */
+    static void appendContainsLowercase(StringBuilder where, List<Object> parameters, String lowercaseColumn, String value) {
+        where.append(" AND ").append(lowercaseColumn).append(" LIKE ? ESCAPE '\\'");
+        parameters.add("%" + escapeLike(value.toLowerCase()) + "%");
+    }
+
+    /**
+     * Escapira posebne znakove LIKE uzorka kako bi se tražio doslovni tekst.
+     * @param value Tekst koji se traži.
+     * @return Tekst sa escapiranim znakovima {@code \}, {@code %} i {@code _}.
+     */
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Postavlja parametre pripremljenog upita redom kojim su dodani.
+     *
+     * @param statement Pripremljeni upit.
+     * @param parameters Vrijednosti parametara.
+     * @throws SQLException ako postavljanje parametra ne uspije.
+     */
+    static void bind(PreparedStatement statement, List<Object> parameters) throws SQLException {
+        for (int i = 0; i < parameters.size(); i++) {
+            statement.setObject(i + 1, parameters.get(i));
+        }
+    }
+
+    /**
+     * Prijavljuje naredbu oznaci za otkazivanje, ako je oznaka zadana.
+     *
+     * @param statement Naredba koja se izvodi.
+     * @param cancellation Oznaka za otkazivanje, ili {@code null}.
+     */
+    static void register(Statement statement, QueryCancellation cancellation) {
+        if (cancellation != null) {
+            cancellation.register(statement);
+        }
+    }
+
+    /**
+     * Odjavljuje naredbu s oznake za otkazivanje, ako je oznaka zadana.
+     *
+     * @param cancellation Oznaka za otkazivanje, ili {@code null}.
+     */
+    static void unregister(QueryCancellation cancellation) {
+        if (cancellation != null) {
+            cancellation.unregister();
+        }
+    }
+
+    /**
+     * Baca {@link CancellationException} ako je greška pri izvođenju upita posljedica otkazivanja,
+     * kako se otkazani upit ne bi logirao i prijavljivao kao greška baze podataka.
+     *
+     * @param cancellation Oznaka za otkazivanje, ili {@code null}.
+     */
+    static void throwIfCancelled(QueryCancellation cancellation) {
+        if (cancellation != null) {
+            cancellation.throwIfCancelled();
+        }
+    }
+}
@@ -2,6 +2,9 @@ package repository;
 
 import at.favre.lib.crypto.bcrypt.BCrypt;
 import database.DatabaseConnection;
+import database.DatabaseSchema;
+import enums.ChangeType;
+import enums.EntityType;
 import enums.UserRole;
 import exception.RepositoryAccessException;
 import model.User;
@@ -9,14 +12,21 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Stream;
 
 /**
@@ -28,6 +38,7 @@ public class UserRepository {
     private static final String USERS_FILE_PATH = "dat/users.txt";
     private static final String IO_ERROR = "IO error: {}";
     private static final int NUMBER_OF_ROWS_PER_USER = 4;
+    private static final String USERS_FILE_HASH_KEY = "users.file.sha256";
     private static final Logger log = LoggerFactory.getLogger(UserRepository.class);
 
     /**
@@ -96,32 +107,110 @@ public class UserRepository {
     }
 
     /**
-     * Uvozi korisnike iz tekstualne datoteke u bazu podataka.
+     * Sinkronizira korisnike iz tekstualne datoteke s bazom podataka.
      * Ova metoda se poziva pri pokretanju aplikacije kako bi osigurala da su korisnici prisutni u bazi.
-     * Ako korisnik već postoji u bazi, preskače ga.
+     * Upisuju se samo korisnici čije korisničko ime još ne postoji u bazi; ID, lozinka i rola postojećih korisnika
+     * se ne mijenjaju. Svi korisnici upisuju se jednom {@code INSERT ... WHERE NOT EXISTS} naredbom u batchu unutar
+     * jedne transakcije i preko jedne konekcije.
+     * Ako se SHA-256 sažetak datoteke podudara sa sažetkom zadnje uspješne sinkronizacije, sinkronizacija se preskače.
      *
      * @throws RepositoryAccessException ako dođe do greške pri čitanju datoteke ili pristupu bazi.
      */
     public void importUsersFromFile() {
+        byte[] fileContent;
         try {
-            List<String> fileRows = Files.readAllLines(Path.of(USERS_FILE_PATH));
-            for (int recordNumber = 0; recordNumber < (fileRows.size() / NUMBER_OF_ROWS_PER_USER); recordNumber++) {
-                Long id = Long.parseLong(fileRows.get(recordNumber * NUMBER_OF_ROWS_PER_USER));
-                String username = fileRows.get(recordNumber * NUMBER_OF_ROWS_PER_USER + 1);
-                String hashedPassword = fileRows.get(recordNumber * NUMBER_OF_ROWS_PER_USER + 2);
-                UserRole role = UserRole.valueOf(fileRows.get(recordNumber * NUMBER_OF_ROWS_PER_USER + 3));
-
-                save(new User.Builder(id)
-                        .withUsername(username)
-                        .withHashedPassword(hashedPassword)
-                        .withIsAdmin(role == UserRole.ADMIN)
-                        .build());
-
-            }
+            fileContent = Files.readAllBytes(Path.of(USERS_FILE_PATH));
         } catch (IOException e) {
             log.error(IO_ERROR, e.getMessage(), e);
             throw new RepositoryAccessException("Error reading users file", e);
         }
+
+        String fileHash = calculateHash(fileContent);
+        List<String> fileRows = new String(fileContent, StandardCharsets.UTF_8).lines().toList();
+
+        try (Connection connection = new DatabaseConnection().connectToDatabase()) {
+            DatabaseSchema.ensureSettingsTable(connection);
+            DatabaseSchema.ensureChangeLogTable(connection);
+
+            if (fileHash.equals(findSyncedUsersFileHash(connection))) {
+                log.info("Users file unchanged since last sync, skipping user import.");
+                return;
+            }
+
+            connection.setAutoCommit(false);
+            try (PreparedStatement insertStmt = connection.prepareStatement(
+                    "INSERT INTO USERS (id, username, hashed_password, role) SELECT ?, ?, ?, ? "
+                            + "WHERE NOT EXISTS (SELECT 1 FROM USERS WHERE username = ?)");
+                 PreparedStatement hashStmt = connection.prepareStatement(
+                         "MERGE INTO APP_SETTINGS (setting_key, setting_value) KEY (setting_key) VALUES (?, ?)")) {
+
+                int userCount = fileRows.size() / NUMBER_OF_ROWS_PER_USER;
+                List<Long> userIds = new ArrayList<>();
+                for (int recordNumber = 0; recordNumber < userCount; recordNumber++) {
+                    Long id = Long.parseLong(fileRows.get(recordNumber * NUMBER_OF_ROWS_PER_USER));
+                    String username = fileRows.get(recordNumber * NUMBER_OF_ROWS_PER_USER + 1);
+                    userIds.add(id);
+                    insertStmt.setLong(1, id);
+                    insertStmt.setString(2, username);
+                    insertStmt.setString(3, fileRows.get(recordNumber * NUMBER_OF_ROWS_PER_USER + 2));
+                    insertStmt.setString(4, UserRole.valueOf(fileRows.get(recordNumber * NUMBER_OF_ROWS_PER_USER + 3)).name());
+                    insertStmt.setString(5, username);
+                    insertStmt.addBatch();
+                }
+                int[] insertCounts = insertStmt.executeBatch();
+                List<Long> insertedIds = new ArrayList<>();
+                for (int i = 0; i < insertCounts.length; i++) {
+                    if (insertCounts[i] > 0) {
+                        insertedIds.add(userIds.get(i));
+                    }
+                }
+                ChangeLogRepository.record(connection, EntityType.USER, insertedIds, ChangeType.CREATED, Set.of());
+
+                hashStmt.setString(1, USERS_FILE_HASH_KEY);
+                hashStmt.setString(2, fileHash);
+                hashStmt.executeUpdate();
+
+                connection.commit();
+                log.info("Synchronized users file: {} of {} users added.", insertedIds.size(), userCount);
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            log.error("Database error while synchronizing users: {}", e.getMessage(), e);
+            throw new RepositoryAccessException(e);
+        }
+    }
+
+    /**
+     * Dohvaća sažetak datoteke s korisnicima zapisan pri zadnjoj uspješnoj sinkronizaciji.
+     *
+     * @param connection Aktivna konekcija s bazom podataka.
+     * @return Zapisani sažetak, ili {@code null} ako sinkronizacija još nije provedena.
+     * @throws SQLException ako dođe do greške pri pristupu bazi.
+     */
+    private String findSyncedUsersFileHash(Connection connection) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "SELECT setting_value FROM APP_SETTINGS WHERE setting_key = ?")) {
+            stmt.setString(1, USERS_FILE_HASH_KEY);
+            try (ResultSet resultSet = stmt.executeQuery()) {
+                return resultSet.next() ? resultSet.getString(1) : null;
+            }
+        }
+    }
+
+    /**
+     * Izračunava SHA-256 sažetak sadržaja datoteke u heksadecimalnom zapisu.
+     *
+     * @param content Sadržaj datoteke.
+     * @return Heksadecimalni zapis sažetka.
+     */
+    private static String calculateHash(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm is not available", e);
+        }
     }
 
     /**
@@ -155,4 +244,29 @@ public class UserRepository {
             throw new RepositoryAccessException(e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Dohvaća ID-jeve svih korisnika u bazi podataka.
+     * Koristi se za validaciju referenci na korisnike bez učitavanja cijelih zapisa.
+     *
+     * @return Skup ID-jeva svih korisnika.
+     * @throws RepositoryAccessException ako dođe do greške prilikom dohvaćanja podataka.
+     */
+    public Set<Long> findAllIds() {
+        Set<Long> ids = new HashSet<>();
+
+        try (Connection connection = new DatabaseConnection().connectToDatabase();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT id FROM USERS")) {
+
+            while (resultSet.next()) {
+                ids.add(resultSet.getLong(1));
+            }
+        } catch (SQLException e) {
+            log.error("Database error while reading user IDs: {}", e.getMessage(), e);
+            throw new RepositoryAccessException(e);
+        }
+
+        return ids;
+    }
+}
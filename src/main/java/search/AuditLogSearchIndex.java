@@ -0,0 +1,431 @@
+package search;
+
+import model.AuditLog;
+import repository.AuditLogRepository;
+import repository.PageSource;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Invertirani indeks riječi iz starih i novih vrijednosti te naziva entiteta u zapisima audit loga.
+ * Indeks ne čuva same zapise: za svaki zapis pamti samo poziciju u audit datoteci i vrijeme nastanka,
+ * a za svaku riječ rastuću listu rednih brojeva zapisa u kojima se pojavljuje. Pronađeni zapisi čitaju se
+ * iz audit datoteke tek kada su potrebni, preko {@link AuditLogRepository#readRecordsAt(long[], ObjLongConsumer)}.
+ * Indeks se nadopunjuje samo zapisima dodanima na kraj audit datoteke od zadnjeg čitanja,
+ * pa pretraga ne čita cijelu datoteku ponovno.
+ * Riječ iz upita odgovara svim riječima koje njome počinju, a zapis mora sadržavati sve riječi iz upita.
+ * Budući da su zapisi poredani po vremenu nastanka, vremenski raspon pretrage pretvara se binarnim pretraživanjem
+ * u raspon rednih brojeva zapisa. Zapisi iz starijih datoteka mogu biti do minute izvan redoslijeda vremena,
+ * pa se raspon rednih brojeva proširuje za toliko, a vrijeme se zatim provjerava za svaki zapis.
+ * Instanca je jedna po aplikaciji i sigurna je za istodobno korištenje s više dretvi.
+ */
+public final class AuditLogSearchIndex {
+
+    private static final AuditLogSearchIndex INSTANCE = new AuditLogSearchIndex();
+    /**
+     * Koliko zapisi u starijim audit datotekama mogu odstupati od redoslijeda vremena.
+     */
+    private static final long LEGACY_ORDER_TOLERANCE_SECONDS = 60;
+    /**
+     * Najveći broj zapisa koji se odjednom čita iz datoteke pri provjeri dodatnog uvjeta.
+     */
+    private static final int READ_BATCH_SIZE = 1024;
+
+    private final AuditLogRepository auditLogRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long[] recordOffsets = new long[1024];
+    private long[] epochSeconds = new long[1024];
+    private int size;
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+    private long indexedOffset;
+
+    private AuditLogSearchIndex() {
+        this(new AuditLogRepository());
+    }
+
+    /**
+     * Konstruktor koji koristi zadani repozitorij audit loga; koristi se u testovima.
+     *
+     * @param auditLogRepository Repozitorij iz čije se datoteke zapisi indeksiraju i čitaju.
+     */
+    AuditLogSearchIndex(AuditLogRepository auditLogRepository) {
+        this.auditLogRepository = auditLogRepository;
+    }
+
+    /**
+     * Vraća jedinu instancu indeksa.
+     *
+     * @return Indeks audit loga.
+     */
+    public static AuditLogSearchIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Dodaje u indeks zapise koji su zapisani u audit datoteku od zadnjeg osvježavanja.
+     */
+    public void refresh() {
+        lock.writeLock().lock();
+        try {
+            indexedOffset = auditLogRepository.forEachRecordFrom(indexedOffset, this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Pronalazi zapise koji sadrže sve riječi iz upita (kao početak neke riječi u staroj ili novoj vrijednosti
+     * ili nazivu entiteta) i zadovoljavaju dodatni filter. Prije pretrage indeks se osvježava novim zapisima.
+     *
+     * @param text Tekst upita; prazan ili {@code null} znači da se po tekstu ne filtrira.
+     * @param filter Dodatni uvjet, npr. akcija; provjerava se samo nad zapisima koji sadrže tražene riječi.
+     * @return Pronađeni zapisi, redom kojim su zapisani.
+     */
+    public List<AuditLog> search(String text, Predicate<AuditLog> filter) {
+        return search(text, null, null, filter);
+    }
+
+    /**
+     * Pronalazi zapise iz zadanog vremenskog raspona koji sadrže sve riječi iz upita i zadovoljavaju dodatni filter.
+     * Prije pretrage indeks se osvježava novim zapisima.
+     *
+     * @param text Tekst upita; prazan ili {@code null} znači da se po tekstu ne filtrira.
+     * @param from Početak raspona (uključivo); {@code null} za raspon bez početka.
+     * @param to Kraj raspona (isključivo); {@code null} za raspon bez kraja.
+     * @param filter Dodatni uvjet, npr. akcija; provjerava se samo nad zapisima iz raspona koji sadrže tražene riječi.
+     * @return Pronađeni zapisi, redom kojim su zapisani.
+     */
+    public List<AuditLog> search(String text, Instant from, Instant to, Predicate<AuditLog> filter) {
+        refresh();
+        int[] positions = applyFilter(matchingPositions(text, from, to), filter, null);
+        return read(positions, 0, positions.length);
+    }
+
+    /**
+     * Pronalazi zapise kao i {@link #search(String, Instant, Instant, Predicate)}, ali ih vraća kao izvor koji se
+     * čita po stranicama. Pamte se samo redni brojevi pronađenih zapisa, a stranica se čita kao raspon tih rednih
+     * brojeva ({@code [stranica * veličina, (stranica + 1) * veličina)}) izravno iz audit datoteke.
+     * Ako je zadan filter ili redoslijed, zapisi pronađeni u indeksu čitaju se iz datoteke već pri pretrazi;
+     * za poredavanje se pronađeni zapisi privremeno drže u memoriji, a nakon pretrage ostaju samo redni brojevi.
+     *
+     * @param text Tekst upita; prazan ili {@code null} znači da se po tekstu ne filtrira.
+     * @param from Početak raspona (uključivo); {@code null} za raspon bez početka.
+     * @param to Kraj raspona (isključivo); {@code null} za raspon bez kraja.
+     * @param filter Dodatni uvjet, npr. akcija.
+     * @param order Redoslijed zapisa; {@code null} za redoslijed kojim su zapisani. Zapisi jednaki po redoslijedu
+     *              ostaju poredani redom kojim su zapisani.
+     * @param pageSize Veličina stranice.
+     * @return Izvor pronađenih zapisa.
+     */
+    public PageSource<AuditLog> searchPages(String text, Instant from, Instant to, Predicate<AuditLog> filter,
+                                            Comparator<AuditLog> order, int pageSize) {
+        refresh();
+        return new PositionPageSource(applyFilter(matchingPositions(text, from, to), filter, order), pageSize);
+    }
+
+    /**
+     * Vraća rastuće redne brojeve zapisa iz raspona koji sadrže sve riječi iz upita.
+     */
+    private int[] matchingPositions(String text, Instant from, Instant to) {
+        List<String> queryTokens = tokenize(text);
+        long fromSecond = from == null ? Long.MIN_VALUE : ceilSecond(from);
+        long toSecond = to == null ? Long.MAX_VALUE : ceilSecond(to);
+
+        lock.readLock().lock();
+        try {
+            int first = from == null ? 0 : firstPositionAtOrAfter(fromSecond - LEGACY_ORDER_TOLERANCE_SECONDS);
+            int end = to == null ? size : firstPositionAtOrAfter(toSecond + LEGACY_ORDER_TOLERANCE_SECONDS);
+
+            BitSet matches = null;
+            for (String token : queryTokens) {
+                BitSet tokenMatches = findPrefix(token);
+                if (matches == null) {
+                    matches = tokenMatches;
+                } else {
+                    matches.and(tokenMatches);
+                }
+                if (matches.isEmpty()) {
+                    return new int[0];
+                }
+            }
+
+            IntStream.Builder result = IntStream.builder();
+            int position = matches == null ? first : matches.nextSetBit(first);
+            while (position >= 0 && position < end) {
+                if (epochSeconds[position] >= fromSecond && epochSeconds[position] < toSecond) {
+                    result.add(position);
+                }
+                position = matches == null ? position + 1 : matches.nextSetBit(position + 1);
+            }
+            return result.build().toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Zadržava redne brojeve zapisa koji zadovoljavaju filter i poredava ih prema zadanom redoslijedu.
+     * Zapisi se za to čitaju iz datoteke u skupinama; bez filtra i redoslijeda datoteka se ne čita.
+     */
+    private int[] applyFilter(int[] positions, Predicate<AuditLog> filter, Comparator<AuditLog> order) {
+        boolean unfiltered = filter == null || filter instanceof FilterEngine<AuditLog> engine && engine.isEmpty();
+        if (unfiltered && order == null) {
+            return positions;
+        }
+
+        IntStream.Builder accepted = IntStream.builder();
+        List<Map.Entry<Integer, AuditLog>> sorted = new ArrayList<>();
+        for (int from = 0; from < positions.length; from += READ_BATCH_SIZE) {
+            int to = Math.min(from + READ_BATCH_SIZE, positions.length);
+            List<AuditLog> batch = read(positions, from, to);
+            for (int i = from; i < to; i++) {
+                AuditLog entry = batch.get(i - from);
+                if (!unfiltered && !filter.test(entry)) {
+                    continue;
+                }
+                if (order == null) {
+                    accepted.add(positions[i]);
+                } else {
+                    sorted.add(Map.entry(positions[i], entry));
+                }
+            }
+        }
+        if (order == null) {
+            return accepted.build().toArray();
+        }
+
+        sorted.sort(Map.Entry.comparingByValue(order));
+        return sorted.stream().mapToInt(Map.Entry::getKey).toArray();
+    }
+
+    /**
+     * Čita iz audit datoteke zapise zadanih rednih brojeva {@code positions[from]} do {@code positions[to - 1]}.
+     * Svaki zapis u datoteci čita se jednom, i kada mu pripada više rednih brojeva (lista starijeg formata).
+     *
+     * @return Zapisi redom kojim su zadani redni brojevi.
+     */
+    private List<AuditLog> read(int[] positions, int from, int to) {
+        long[] offsets = new long[to - from];
+        int[] listIndexes = new int[to - from];
+        lock.readLock().lock();
+        try {
+            for (int i = from; i < to; i++) {
+                long offset = recordOffsets[positions[i]];
+                offsets[i - from] = offset;
+                listIndexes[i - from] = positions[i] - firstPositionOfRecord(offset);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<Long, List<AuditLog>> records = new HashMap<>();
+        auditLogRepository.readRecordsAt(LongStream.of(offsets).sorted().distinct().toArray(),
+                (entry, recordOffset) -> records.computeIfAbsent(recordOffset, key -> new ArrayList<>(1)).add(entry));
+
+        List<AuditLog> result = new ArrayList<>(offsets.length);
+        for (int i = 0; i < offsets.length; i++) {
+            List<AuditLog> record = records.get(offsets[i]);
+            if (record == null || listIndexes[i] >= record.size()) {
+                throw new IllegalStateException("Audit log record at offset " + offsets[i] + " could not be read");
+            }
+            result.add(record.get(listIndexes[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Vraća broj zapisa u indeksu.
+     *
+     * @return Broj indeksiranih zapisa.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stvara uvjet koji provjerava sadrži li zapis sve riječi iz upita, bez korištenja indeksa.
+     * Koristi se kada se zapisi čitaju izravno iz datoteke, npr. pri izvozu.
+     *
+     * @param text Tekst upita; prazan ili {@code null} propušta sve zapise.
+     * @return Uvjet s istim značenjem kao pretraga indeksa.
+     */
+    public static Predicate<AuditLog> matchingText(String text) {
+        List<String> queryTokens = tokenize(text);
+        if (queryTokens.isEmpty()) {
+            return entry -> true;
+        }
+        return entry -> {
+            Set<String> entryTokens = entryTokens(entry);
+            return queryTokens.stream().allMatch(queryToken ->
+                    entryTokens.stream().anyMatch(entryToken -> entryToken.startsWith(queryToken)));
+        };
+    }
+
+    private void add(AuditLog entry, long recordOffset) {
+        int position = size;
+        if (position == recordOffsets.length) {
+            recordOffsets = Arrays.copyOf(recordOffsets, position * 2);
+            epochSeconds = Arrays.copyOf(epochSeconds, position * 2);
+        }
+        recordOffsets[position] = recordOffset;
+
+        // Zapis bez čitljivog vremena dobiva vrijeme prethodnog zapisa, kako bi vremena ostala poredana.
+        Instant instant = entry.instant();
+        epochSeconds[position] = instant != null ? instant.getEpochSecond()
+                : position > 0 ? epochSeconds[position - 1] : Long.MIN_VALUE;
+        size++;
+
+        for (String token : entryTokens(entry)) {
+            postings.computeIfAbsent(token, key -> new Postings()).add(position);
+        }
+    }
+
+    /**
+     * Vremena zapisa zapisana su u sekundama, pa se trenutak zaokružuje na sljedeću cijelu sekundu.
+     */
+    private static long ceilSecond(Instant instant) {
+        return instant.getEpochSecond() + (instant.getNano() > 0 ? 1 : 0);
+    }
+
+    /**
+     * Binarnim pretraživanjem pronalazi redni broj prvog zapisa nastalog u zadanoj sekundi ili kasnije.
+     * Zapis ispred pronađenog rednog broja nastao je ranije, pa su i svi zapisi ispred njega, uz odstupanje
+     * od redoslijeda od najviše {@link #LEGACY_ORDER_TOLERANCE_SECONDS}, nastali prije zadane sekunde
+     * uvećane za to odstupanje.
+     */
+    private int firstPositionAtOrAfter(long second) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (epochSeconds[middle] < second) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Pronalazi prvi redni broj zapisa spremljenog na zadanoj poziciji u datoteci. Pozicije rastu s rednim brojem,
+     * a više rednih brojeva ima istu poziciju samo za zapise iz liste starijeg formata.
+     */
+    private int firstPositionOfRecord(long recordOffset) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (recordOffsets[middle] < recordOffset) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private BitSet findPrefix(String prefix) {
+        BitSet result = new BitSet(size);
+        for (Postings tokenPostings : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            tokenPostings.addTo(result);
+        }
+        return result;
+    }
+
+    private static Set<String> entryTokens(AuditLog entry) {
+        Set<String> tokens = new HashSet<>();
+        tokens.addAll(tokenize(entry.entityName()));
+        tokens.addAll(tokenize(entry.oldValue()));
+        tokens.addAll(tokenize(entry.newValue()));
+        return tokens;
+    }
+
+    /**
+     * Dijeli tekst na riječi pisane malim slovima; riječ je niz slova i znamenki.
+     *
+     * @param text Tekst; {@code null} nema riječi.
+     * @return Riječi iz teksta.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordCharacter = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordCharacter && start < 0) {
+                start = i;
+            } else if (!wordCharacter && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Izvor zapisa koji stranicu čita kao raspon rednih brojeva pronađenih zapisa, izravno iz audit datoteke.
+     */
+    private final class PositionPageSource implements PageSource<AuditLog> {
+        private final int[] positions;
+        private final int pageSize;
+
+        PositionPageSource(int[] positions, int pageSize) {
+            this.positions = positions;
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public int size() {
+            return positions.length;
+        }
+
+        @Override
+        public int pageSize() {
+            return pageSize;
+        }
+
+        @Override
+        public List<AuditLog> loadPage(int pageIndex) {
+            int from = Math.min(pageIndex * pageSize, positions.length);
+            int to = Math.min(from + pageSize, positions.length);
+            return read(positions, from, to);
+        }
+    }
+
+    /**
+     * Rastuća lista rednih brojeva zapisa u kojima se riječ pojavljuje, spremljena u polje cijelih brojeva.
+     */
+    private static final class Postings {
+        private int[] positions = new int[4];
+        private int size;
+
+        void add(int position) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+
+        void addTo(BitSet bits) {
+            for (int i = 0; i < size; i++) {
+                bits.set(positions[i]);
+            }
+        }
+    }
+}
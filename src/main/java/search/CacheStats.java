@@ -0,0 +1,35 @@
+package search;
+
+/**
+ * Statistika međuspremnika rezultata upita.
+ *
+ * @param hits Broj dohvaćanja koja su rezultat našla u međuspremniku.
+ * @param misses Broj dohvaćanja koja su morala izvesti upit.
+ * @param evictions Broj rezultata izbačenih jer je međuspremnik bio pun.
+ * @param invalidations Broj rezultata uklonjenih jer su se promijenili podaci o kojima ovise.
+ * @param size Trenutni broj rezultata u međuspremniku.
+ */
+public record CacheStats(
+        long hits,
+        long misses,
+        long evictions,
+        long invalidations,
+        int size
+) {
+
+    /**
+     * Izračunava udio dohvaćanja koja su rezultat našla u međuspremniku.
+     *
+     * @return Udio pogodaka između 0 i 1; 0 ako još nije bilo dohvaćanja.
+     */
+    public double hitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d, misses=%d (%.0f%% hit ratio), evictions=%d, invalidations=%d, size=%d",
+                hits, misses, hitRatio() * 100, evictions, invalidations, size);
+    }
+}
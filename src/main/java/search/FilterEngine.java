@@ -0,0 +1,215 @@
+package search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Filter koji aktivne kriterije pretrage spaja u jedan uvjet koji se provjerava u jednom prolazu kroz retke.
+ * Traženi tekst normalizira se jednom, pri izgradnji filtera, a usporedba bez obzira na velika i mala slova
+ * radi se nad dijelovima postojećeg teksta ({@link String#regionMatches(boolean, int, String, int, int)}),
+ * pa provjera retka ne stvara nove nizove znakova. Jednostavne usporedbe jednakosti provjeravaju se prije tekstualnih.
+ * Veliki skupovi redaka filtriraju se paralelno na zajedničkom fork/join bazenu dretvi.
+ *
+ * @param <T> Tip redaka koji se filtriraju.
+ */
+public final class FilterEngine<T> implements Predicate<T> {
+
+    /**
+     * Broj redaka od kojeg se filtriranje izvodi paralelno.
+     */
+    public static final int PARALLEL_THRESHOLD = 50_000;
+
+    private final List<Predicate<T>> conditions;
+
+    private FilterEngine(List<Predicate<T>> conditions) {
+        this.conditions = conditions;
+    }
+
+    /**
+     * Stvara graditelja filtera.
+     *
+     * @param <T> Tip redaka koji se filtriraju.
+     * @return Novi graditelj.
+     */
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Provjerava zadovoljava li redak sve uvjete filtera.
+     *
+     * @param row Redak koji se provjerava.
+     * @return {@code true} ako redak zadovoljava sve uvjete.
+     */
+    @Override
+    public boolean test(T row) {
+        for (int i = 0; i < conditions.size(); i++) {
+            if (!conditions.get(i).test(row)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Provjerava ima li filter ijedan uvjet.
+     *
+     * @return {@code true} ako filter propušta sve retke.
+     */
+    public boolean isEmpty() {
+        return conditions.isEmpty();
+    }
+
+    /**
+     * Vraća retke koji zadovoljavaju filter, redom kojim su zadani.
+     * Iznad {@link #PARALLEL_THRESHOLD} redaka provjera se izvodi paralelno.
+     *
+     * @param rows Retci koji se filtriraju.
+     * @return Nova lista redaka koji zadovoljavaju filter.
+     */
+    public List<T> filter(List<T> rows) {
+        if (isEmpty()) {
+            return new ArrayList<>(rows);
+        }
+        if (rows.size() >= PARALLEL_THRESHOLD) {
+            return rows.parallelStream().filter(this).toList();
+        }
+
+        List<T> result = new ArrayList<>();
+        for (T row : rows) {
+            if (test(row)) {
+                result.add(row);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Provjerava sadrži li tekst traženi podniz bez obzira na velika i mala slova, bez stvaranja novih nizova znakova.
+     *
+     * @param text Tekst u kojem se traži; {@code null} ne sadrži ništa.
+     * @param needle Traženi podniz.
+     * @return {@code true} ako tekst sadrži podniz.
+     */
+    public static boolean containsIgnoreCase(String text, String needle) {
+        if (needle.isEmpty()) {
+            return true;
+        }
+        if (text == null) {
+            return false;
+        }
+
+        char firstLower = Character.toLowerCase(needle.charAt(0));
+        char firstUpper = Character.toUpperCase(firstLower);
+        int needleLength = needle.length();
+        int lastStart = text.length() - needleLength;
+        for (int i = 0; i <= lastStart; i++) {
+            char current = text.charAt(i);
+            if ((current == firstLower || current == firstUpper || Character.toLowerCase(current) == firstLower)
+                    && text.regionMatches(true, i, needle, 0, needleLength)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Graditelj filtera. Kriteriji koji nisu zadani ({@code null} ili prazan tekst) se preskaču.
+     *
+     * @param <T> Tip redaka koji se filtriraju.
+     */
+    public static final class Builder<T> {
+        private final List<Predicate<T>> exactConditions = new ArrayList<>();
+        private final List<Predicate<T>> textConditions = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Dodaje uvjet jednakosti vrijednosti polja.
+         *
+         * @param field Funkcija koja čita polje retka.
+         * @param value Tražena vrijednost; {@code null} znači da se po polju ne filtrira.
+         * @return Ovaj graditelj.
+         */
+        public Builder<T> equalTo(Function<T, ?> field, Object value) {
+            if (value != null) {
+                exactConditions.add(row -> Objects.equals(field.apply(row), value));
+            }
+            return this;
+        }
+
+        /**
+         * Dodaje uvjet jednakosti teksta bez obzira na velika i mala slova.
+         *
+         * @param field Funkcija koja čita tekst retka.
+         * @param value Traženi tekst; prazan ili {@code null} znači da se po polju ne filtrira.
+         * @return Ovaj graditelj.
+         */
+        public Builder<T> equalsIgnoreCase(Function<T, String> field, String value) {
+            if (value != null && !value.isEmpty()) {
+                exactConditions.add(row -> value.equalsIgnoreCase(field.apply(row)));
+            }
+            return this;
+        }
+
+        /**
+         * Dodaje uvjet da tekst počinje zadanim prefiksom.
+         *
+         * @param field Funkcija koja čita tekst retka.
+         * @param prefix Traženi prefiks; prazan ili {@code null} znači da se po polju ne filtrira.
+         * @return Ovaj graditelj.
+         */
+        public Builder<T> startsWith(Function<T, String> field, String prefix) {
+            if (prefix != null && !prefix.isEmpty()) {
+                exactConditions.add(row -> {
+                    String text = field.apply(row);
+                    return text != null && text.startsWith(prefix);
+                });
+            }
+            return this;
+        }
+
+        /**
+         * Dodaje uvjet da tekst sadrži traženi podniz bez obzira na velika i mala slova.
+         *
+         * @param field Funkcija koja čita tekst retka.
+         * @param needle Traženi podniz; prazan ili {@code null} znači da se po polju ne filtrira.
+         * @return Ovaj graditelj.
+         */
+        public Builder<T> contains(Function<T, String> field, String needle) {
+            if (needle != null && !needle.isEmpty()) {
+                String normalizedNeedle = needle.toLowerCase();
+                textConditions.add(row -> containsIgnoreCase(field.apply(row), normalizedNeedle));
+            }
+            return this;
+        }
+
+        /**
+         * Dodaje proizvoljan uvjet, koji se provjerava nakon uvjeta jednakosti.
+         *
+         * @param condition Uvjet; {@code null} znači da se uvjet ne dodaje.
+         * @return Ovaj graditelj.
+         */
+        public Builder<T> matching(Predicate<T> condition) {
+            if (condition != null) {
+                textConditions.add(condition);
+            }
+            return this;
+        }
+
+        /**
+         * Gradi filter.
+         *
+         * @return Filter sa svim zadanim uvjetima.
+         */
+        public FilterEngine<T> build() {
+            List<Predicate<T>> conditions = new ArrayList<>(exactConditions);
+            conditions.addAll(textConditions);
+            return new FilterEngine<>(List.copyOf(conditions));
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package search;
+
+import javafx.application.Platform;
+import javafx.collections.ObservableListBase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import repository.PageSource;
+import task.BackgroundExecutor;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Lista samo za čitanje koja se puni po stranicama iz {@link PageSource}-a, namijenjena kao sadržaj {@code TableView}-a.
+ * Veličina liste je ukupan broj rezultata, ali u memoriji su samo stranice koje je tablica tražila
+ * (vidljivi retci) i po {@value #PREFETCH_PAGES} susjedna stranica sa svake strane, kako bi pomicanje tablice
+ * rijetko dočekalo prazne retke. Stranica koja još nije učitana vraća {@code null} i učitava se na
+ * {@link BackgroundExecutor}-u; kada stigne, lista javlja promjenu tih redaka pa ih tablica ponovno iscrtava.
+ * U memoriji se drži najviše {@value #MAX_LOADED_PAGES} stranica; stranice koje najdulje nisu korištene se odbacuju
+ * i ponovno učitavaju ako zatrebaju.
+ * Svim metodama se pristupa s JavaFX dretve.
+ *
+ * @param <T> Tip redaka.
+ */
+public class LazyPagedList<T> extends ObservableListBase<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(LazyPagedList.class);
+    private static final int PREFETCH_PAGES = 1;
+    private static final int MAX_LOADED_PAGES = 8;
+
+    private final PageSource<T> source;
+    private final int pageSize;
+    private final int pageCount;
+    private final Consumer<Throwable> errorConsumer;
+    private final Set<Integer> pendingPages = new HashSet<>();
+    private final Map<Integer, List<T>> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+            return size() > MAX_LOADED_PAGES;
+        }
+    };
+    private boolean closed;
+    private boolean failed;
+
+    /**
+     * Stvara listu nad izvorom. Stranice se ne učitavaju dok ih tablica ne zatraži.
+     *
+     * @param source Izvor redaka.
+     * @param errorConsumer Prima grešku učitavanja stranice na JavaFX dretvi; nakon greške se stranice više ne učitavaju.
+     */
+    public LazyPagedList(PageSource<T> source, Consumer<Throwable> errorConsumer) {
+        this.source = source;
+        this.pageSize = Math.max(1, source.pageSize());
+        this.pageCount = (source.size() + pageSize - 1) / pageSize;
+        this.errorConsumer = errorConsumer;
+    }
+
+    /**
+     * Stvara listu nad izvorom čiji su prvi retci već učitani, npr. jer su prikazani dok se izvor pripremao.
+     * Potpune stranice tih redaka koriste se bez učitavanja; ostale stranice se učitavaju kada ih tablica zatraži.
+     *
+     * @param source Izvor redaka.
+     * @param firstRows Prvi retci izvora, redom.
+     * @param errorConsumer Prima grešku učitavanja stranice na JavaFX dretvi; nakon greške se stranice više ne učitavaju.
+     */
+    public LazyPagedList(PageSource<T> source, List<T> firstRows, Consumer<Throwable> errorConsumer) {
+        this(source, errorConsumer);
+        int loadedPages = Math.min(Math.min(firstRows.size() / pageSize, pageCount), MAX_LOADED_PAGES);
+        for (int pageIndex = 0; pageIndex < loadedPages; pageIndex++) {
+            pages.put(pageIndex, List.copyOf(firstRows.subList(pageIndex * pageSize, (pageIndex + 1) * pageSize)));
+        }
+    }
+
+    /**
+     * Vraća redak s zadanim indeksom ako je njegova stranica učitana; inače pokreće učitavanje stranice
+     * i susjednih stranica te vraća {@code null}.
+     *
+     * @param index Indeks retka.
+     * @return Redak ili {@code null} ako se njegova stranica još učitava.
+     */
+    @Override
+    public T get(int index) {
+        Objects.checkIndex(index, size());
+        int pageIndex = index / pageSize;
+        for (int neighbour = pageIndex - PREFETCH_PAGES; neighbour <= pageIndex + PREFETCH_PAGES; neighbour++) {
+            request(neighbour);
+        }
+
+        List<T> page = pages.get(pageIndex);
+        int offset = index - pageIndex * pageSize;
+        return page == null || offset >= page.size() ? null : page.get(offset);
+    }
+
+    /**
+     * Vraća ukupan broj redaka izvora.
+     *
+     * @return Broj redaka.
+     */
+    @Override
+    public int size() {
+        return source.size();
+    }
+
+    /**
+     * Zamjenjuje redak u učitanim stranicama, npr. nakon što je prijedlog promijenjen, bez ponovnog učitavanja stranice.
+     *
+     * @param sameRow Prepoznaje redak koji se zamjenjuje.
+     * @param row Novi redak.
+     * @return {@code true} ako je redak pronađen u učitanoj stranici i zamijenjen.
+     */
+    public boolean replaceLoaded(Predicate<T> sameRow, T row) {
+        for (Map.Entry<Integer, List<T>> entry : pages.entrySet()) {
+            List<T> page = entry.getValue();
+            for (int offset = 0; offset < page.size(); offset++) {
+                if (sameRow.test(page.get(offset))) {
+                    List<T> updatedPage = new ArrayList<>(page);
+                    T oldRow = updatedPage.set(offset, row);
+                    entry.setValue(List.copyOf(updatedPage));
+
+                    beginChange();
+                    nextSet(entry.getKey() * pageSize + offset, oldRow);
+                    endChange();
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Zaustavlja učitavanje: stranice koje stignu nakon zatvaranja se odbacuju. Poziva se kada lista
+     * više nije prikazana u tablici.
+     */
+    public void close() {
+        closed = true;
+        pages.clear();
+        pendingPages.clear();
+    }
+
+    private void request(int pageIndex) {
+        if (closed || failed || pageIndex < 0 || pageIndex >= pageCount
+                || pages.containsKey(pageIndex) || !pendingPages.add(pageIndex)) {
+            return;
+        }
+
+        BackgroundExecutor.execute(() -> {
+            try {
+                List<T> page = source.loadPage(pageIndex);
+                Platform.runLater(() -> pageLoaded(pageIndex, page));
+            } catch (RuntimeException e) {
+                log.error("Loading page {} failed: {}", pageIndex, e.getMessage(), e);
+                Platform.runLater(() -> pageFailed(pageIndex, e));
+            }
+        });
+    }
+
+    private void pageLoaded(int pageIndex, List<T> page) {
+        if (closed || !pendingPages.remove(pageIndex)) {
+            return;
+        }
+        pages.put(pageIndex, List.copyOf(page));
+
+        int from = pageIndex * pageSize;
+        int to = Math.min(from + pageSize, size());
+        beginChange();
+        for (int index = from; index < to; index++) {
+            nextSet(index, null);
+        }
+        endChange();
+    }
+
+    private void pageFailed(int pageIndex, Throwable error) {
+        if (closed || !pendingPages.remove(pageIndex) || failed) {
+            return;
+        }
+        failed = true;
+        errorConsumer.accept(error);
+    }
+}
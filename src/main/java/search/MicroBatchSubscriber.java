@@ -0,0 +1,127 @@
+package search;
+
+import javafx.animation.AnimationTimer;
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+/**
+ * Pretplatnik koji retke izdavača (npr. upita koji se još čita) dodaje u listu prikazanu u tablici.
+ * Retci koji stignu između dva iscrtavanja ekrana skupljaju se i dodaju jednom promjenom liste po iscrtavanju
+ * (JavaFX pulsu), pa tablica ne obrađuje promjenu za svaki redak, a prvi retci se prikazuju čim stignu.
+ * Od izdavača se traži najviše {@value #REQUESTED_AHEAD} redaka unaprijed; nove retke pretplatnik traži tek kada
+ * prethodne doda u listu, pa čitanje ne može pretjecati prikaz.
+ * Konstruktor i {@link #close()} pozivaju se s JavaFX dretve.
+ *
+ * @param <T> Tip redaka.
+ */
+public class MicroBatchSubscriber<T> implements Flow.Subscriber<T> {
+
+    private static final int MAX_ROWS_PER_PULSE = 2000;
+    private static final int REQUESTED_AHEAD = 4000;
+
+    private final ObservableList<T> target;
+    private final Runnable completionHandler;
+    private final Consumer<Throwable> errorConsumer;
+    private final Queue<T> pending = new ConcurrentLinkedQueue<>();
+    private final AnimationTimer pulse = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            drain();
+        }
+    };
+    private volatile Flow.Subscription subscription;
+    private volatile boolean completed;
+    private volatile Throwable error;
+    private volatile boolean closed;
+
+    /**
+     * Stvara pretplatnika i počinje dodavati retke u listu pri svakom pulsu.
+     *
+     * @param target Lista u koju se retci dodaju.
+     * @param completionHandler Poziva se na JavaFX dretvi kada su svi retci dodani u listu.
+     * @param errorConsumer Prima grešku izdavača na JavaFX dretvi, nakon što su dodani retci koji su stigli prije nje.
+     */
+    public MicroBatchSubscriber(ObservableList<T> target, Runnable completionHandler, Consumer<Throwable> errorConsumer) {
+        this.target = target;
+        this.completionHandler = completionHandler;
+        this.errorConsumer = errorConsumer;
+        pulse.start();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        if (closed) {
+            subscription.cancel();
+        } else {
+            subscription.request(REQUESTED_AHEAD);
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        pending.add(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        error = throwable;
+    }
+
+    @Override
+    public void onComplete() {
+        completed = true;
+    }
+
+    /**
+     * Prestaje primati retke: otkazuje pretplatu i odbacuje retke koji još nisu dodani u listu.
+     * Poziva se kada lista više nije prikazana u tablici.
+     */
+    public void close() {
+        closed = true;
+        pulse.stop();
+        pending.clear();
+        Flow.Subscription currentSubscription = subscription;
+        if (currentSubscription != null) {
+            currentSubscription.cancel();
+        }
+    }
+
+    /**
+     * Dodaje u listu retke koji su stigli od prethodnog pulsa, najviše {@value #MAX_ROWS_PER_PULSE}, i traži
+     * od izdavača isto toliko novih redaka. Kraj se provjerava prije preuzimanja redaka, kako bi se svi retci
+     * izdani prije kraja dodali u listu prije obavijesti o kraju.
+     */
+    private void drain() {
+        if (closed) {
+            return;
+        }
+        boolean finished = completed || error != null;
+
+        List<T> batch = new ArrayList<>();
+        T item;
+        while (batch.size() < MAX_ROWS_PER_PULSE && (item = pending.poll()) != null) {
+            batch.add(item);
+        }
+        if (!batch.isEmpty()) {
+            target.addAll(batch);
+            subscription.request(batch.size());
+        }
+
+        if (finished && pending.isEmpty()) {
+            closed = true;
+            pulse.stop();
+            if (error != null) {
+                errorConsumer.accept(error);
+            } else {
+                completionHandler.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package search;
+
+import enums.ChangeType;
+import enums.EntityType;
+import event.ChangeEvent;
+import event.ChangeEventBus;
+import model.Proposal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import repository.ProposalDatabaseRepository;
+
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Memorijski indeks naslova prijedloga za pretragu podnizova.
+ * Indeks čuva samo ID-jeve i naslove prijedloga; ostali podaci pronađenih prijedloga dohvaćaju se iz baze.
+ * Gradi se jednom, pri prvoj pretrazi, a nakon toga se inkrementalno ažurira
+ * iz događaja na {@link ChangeEventBus} sabirnici (spremanje, ažuriranje i brisanje prijedloga,
+ * uključujući promjene drugih instanci aplikacije).
+ */
+public class ProposalSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProposalSearchIndex.class);
+    private static final ProposalSearchIndex INSTANCE = new ProposalSearchIndex();
+
+    private final Consumer<BiConsumer<Long, String>> loader;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TrigramIndex titleIndex = new TrigramIndex();
+    private volatile boolean built;
+
+    /**
+     * Privatni konstruktor; koristi se zajednička instanca iz {@link #getInstance()}.
+     */
+    private ProposalSearchIndex() {
+        this(new ProposalDatabaseRepository<Proposal>()::forEachTitle);
+    }
+
+    /**
+     * Konstruktor koji prima izvor ID-jeva i naslova prijedloga iz kojeg se indeks gradi; koristi se u testovima.
+     *
+     * @param loader Izvor koji predaje ID i naslov svakog prijedloga zadanom potrošaču.
+     */
+    ProposalSearchIndex(Consumer<BiConsumer<Long, String>> loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Vraća zajedničku instancu indeksa.
+     *
+     * @return Indeks prijedloga.
+     */
+    public static ProposalSearchIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Pronalazi prijedloge čiji naslov sadrži traženi tekst, bez obzira na velika i mala slova.
+     *
+     * @param query Traženi tekst.
+     * @return ID-jevi pronađenih prijedloga poredani uzlazno.
+     */
+    public List<Long> findByTitle(String query) {
+        ensureBuilt();
+        lock.readLock().lock();
+        try {
+            return titleIndex.search(query);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gradi indeks iz naslova svih prijedloga u bazi, ako već nije izgrađen, i pretplaćuje ga na promjene prijedloga.
+     * Pretplata se otvara prije učitavanja kako se ne bi izgubile promjene nastale tijekom izgradnje;
+     * ako učitavanje ne uspije, pretplata se zatvara, a sljedeća pretraga pokušava ponovno.
+     */
+    public void ensureBuilt() {
+        if (built) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (built) {
+                return;
+            }
+            long start = System.nanoTime();
+            ChangeEventBus.Subscription subscription = ChangeEventBus.subscribe(EntityType.PROPOSAL, this::apply);
+            try {
+                loader.accept(titleIndex::put);
+            } catch (RuntimeException e) {
+                subscription.close();
+                titleIndex.clear();
+                throw e;
+            }
+            built = true;
+            log.info("Proposal search index built with {} proposals in {} ms",
+                    titleIndex.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Primjenjuje jednu promjenu prijedloga na indeks.
+     *
+     * @param event Događaj o promjeni prijedloga.
+     */
+    private void apply(ChangeEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.changeType() == ChangeType.DELETED || event.entity() == null) {
+                titleIndex.remove(event.entityId());
+            } else {
+                Proposal proposal = (Proposal) event.entity();
+                titleIndex.put(proposal.getId(), proposal.getTitle());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package search;
+
+import enums.EntityType;
+import event.ChangeEventBus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Ograničeni međuspremnik rezultata pretraga, s izbacivanjem najdulje nekorištenog rezultata.
+ * Ključ rezultata čine normalizirani kriteriji pretrage i verzija podataka tablica o kojima rezultat ovisi
+ * ({@link ChangeEventBus#version(EntityType)}). Svaka promjena koju repozitoriji (ili drugi čvorovi, preko
+ * {@link event.RemoteChangePoller}) objave na sabirnici povećava verziju, pa se zastarjeli rezultati
+ * više ne pronalaze i odmah se uklanjaju iz međuspremnika.
+ *
+ * @param <K> Tip kriterija pretrage; mora imati ispravne {@code equals} i {@code hashCode}.
+ * @param <V> Tip rezultata pretrage; rezultat se ne smije mijenjati nakon spremanja.
+ */
+public final class QueryResultCache<K, V> {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryResultCache.class);
+
+    private record Key<K>(K criteria, long version) {}
+
+    private final String name;
+    private final Set<EntityType> dependencies;
+    private final Map<Key<K>, V> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * Stvara međuspremnik i pretplaćuje ga na promjene tablica o kojima rezultati ovise.
+     *
+     * @param name Naziv međuspremnika, za logiranje.
+     * @param maxEntries Najveći broj spremljenih rezultata.
+     * @param dependency Vrsta entiteta o kojoj rezultati ovise.
+     * @param otherDependencies Ostale vrste entiteta o kojima rezultati ovise.
+     */
+    public QueryResultCache(String name, int maxEntries, EntityType dependency, EntityType... otherDependencies) {
+        this.name = name;
+        this.dependencies = EnumSet.of(dependency, otherDependencies);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key<K>, V> eldest) {
+                if (size() > maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        for (EntityType entityType : dependencies) {
+            ChangeEventBus.subscribe(entityType, event -> invalidateStale());
+        }
+    }
+
+    /**
+     * Vraća spremljeni rezultat za zadane kriterije ili izvodi pretragu i sprema njezin rezultat.
+     * Pretraga se izvodi izvan zaključavanja, a rezultat se ne sprema ako su se podaci promijenili tijekom pretrage.
+     * Ako pretraga baci iznimku (npr. jer je otkazana), ništa se ne sprema.
+     *
+     * @param criteria Normalizirani kriteriji pretrage.
+     * @param search Pretraga koja se izvodi ako rezultata nema u međuspremniku.
+     * @return Rezultat pretrage.
+     */
+    public V get(K criteria, Supplier<V> search) {
+        long version = currentVersion();
+        Key<K> key = new Key<>(criteria, version);
+
+        synchronized (this) {
+            V cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+
+        V result = search.get();
+
+        synchronized (this) {
+            if (result != null && version == currentVersion()) {
+                entries.put(key, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Vraća trenutnu statistiku međuspremnika.
+     *
+     * @return Statistika pogodaka, promašaja, izbacivanja i poništavanja.
+     */
+    public synchronized CacheStats stats() {
+        return new CacheStats(hits, misses, evictions, invalidations, entries.size());
+    }
+
+    /**
+     * Zapisuje trenutnu statistiku međuspremnika u log.
+     */
+    public void logStats() {
+        log.info("Query cache {}: {}", name, stats());
+    }
+
+    private synchronized void invalidateStale() {
+        long version = currentVersion();
+        int sizeBefore = entries.size();
+        entries.keySet().removeIf(key -> key.version() != version);
+        invalidations += sizeBefore - entries.size();
+    }
+
+    /**
+     * Zbraja verzije tablica o kojima rezultati ovise. Verzije samo rastu, pa se zbroj mijenja čim se promijeni
+     * bilo koja od tablica.
+     */
+    private long currentVersion() {
+        long version = 0;
+        for (EntityType entityType : dependencies) {
+            version += ChangeEventBus.version(entityType);
+        }
+        return version;
+    }
+}
@@ -0,0 +1,176 @@
+package search;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import repository.QueryCancellation;
+import task.BackgroundExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Izvršitelj pretraga za ekrane s pretragom.
+ * Upiti se izvode na virtualnim dretvama zajedničkog {@link BackgroundExecutor}-a, tako da JavaFX dretva
+ * nikada ne čeka bazu podataka; vlastita dretva izvršitelja služi samo za odgodu pokretanja.
+ * Uzastopne promjene kriterija se objedinjuju (debounce), a pokretanjem nove pretrage otkazuje se
+ * prethodna pretraga koja još čeka ili se izvodi, uključujući JDBC upit preko {@link QueryCancellation}.
+ * Na JavaFX dretvu se predaje samo rezultat najnovije pretrage. Pretrage se zakazuju s JavaFX dretve.
+ *
+ * @param <R> Tip rezultata pretrage.
+ */
+public class SearchExecutor<R> {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchExecutor.class);
+
+    /**
+     * Pretraga koja se može otkazati.
+     *
+     * @param <R> Tip rezultata pretrage.
+     */
+    @FunctionalInterface
+    public interface CancellableSearch<R> {
+
+        /**
+         * Izvodi pretragu.
+         *
+         * @param cancellation Oznaka za otkazivanje koju pretraga prosljeđuje repozitoriju.
+         * @return Rezultat pretrage.
+         */
+        R run(QueryCancellation cancellation);
+    }
+
+    private final ScheduledExecutorService scheduler;
+    private final Duration debounceDelay;
+    private final Consumer<R> resultConsumer;
+    private final Consumer<Throwable> errorConsumer;
+
+    private long latestGeneration;
+    private ScheduledFuture<?> pendingSearch;
+    private QueryCancellation runningCancellation;
+    private final ReadOnlyBooleanWrapper searching = new ReadOnlyBooleanWrapper();
+
+    /**
+     * Stvara izvršitelj pretraga.
+     *
+     * @param name Naziv dretve koja odgađa pokretanje pretraga.
+     * @param debounceDelay Vrijeme mirovanja nakon zadnje promjene prije pokretanja pretrage.
+     * @param resultConsumer Prima rezultat najnovije pretrage na JavaFX dretvi.
+     * @param errorConsumer Prima grešku najnovije pretrage na JavaFX dretvi.
+     */
+    public SearchExecutor(String name, Duration debounceDelay, Consumer<R> resultConsumer, Consumer<Throwable> errorConsumer) {
+        this.debounceDelay = debounceDelay;
+        this.resultConsumer = resultConsumer;
+        this.errorConsumer = errorConsumer;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Zakazuje pretragu nakon vremena mirovanja. Svaki novi poziv odgađa i zamjenjuje prethodni.
+     *
+     * @param search Pretraga koja se izvodi.
+     */
+    public synchronized void submit(CancellableSearch<R> search) {
+        schedule(search, debounceDelay.toMillis());
+    }
+
+    /**
+     * Odmah pokreće pretragu i otkazuje sve prethodne pretrage.
+     *
+     * @param search Pretraga koja se izvodi.
+     */
+    public synchronized void submitNow(CancellableSearch<R> search) {
+        schedule(search, 0);
+    }
+
+    /**
+     * Otkazuje pretragu koja čeka ili se izvodi; rezultat otkazane pretrage se ne predaje JavaFX dretvi.
+     * Izvršitelj se i dalje može koristiti za nove pretrage.
+     */
+    public synchronized void cancel() {
+        cancelPrevious();
+        latestGeneration++;
+        searching.set(false);
+    }
+
+    /**
+     * Otkazuje sve pretrage i zaustavlja dretvu za odgodu pokretanja.
+     */
+    public synchronized void close() {
+        cancel();
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Svojstvo koje je {@code true} od zakazivanja pretrage do predaje njenog rezultata ili greške,
+     * npr. za prikaz indikatora učitavanja.
+     *
+     * @return Svojstvo koje označava pretragu u tijeku.
+     */
+    public ReadOnlyBooleanProperty searchingProperty() {
+        return searching.getReadOnlyProperty();
+    }
+
+    private void schedule(CancellableSearch<R> search, long delayMillis) {
+        if (scheduler.isShutdown()) {
+            return;
+        }
+        cancelPrevious();
+        long generation = ++latestGeneration;
+        QueryCancellation cancellation = new QueryCancellation();
+        runningCancellation = cancellation;
+        searching.set(true);
+        pendingSearch = scheduler.schedule(() -> BackgroundExecutor.execute(() -> execute(search, cancellation, generation)),
+                delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void cancelPrevious() {
+        if (pendingSearch != null) {
+            pendingSearch.cancel(false);
+        }
+        if (runningCancellation != null) {
+            runningCancellation.cancel();
+        }
+    }
+
+    private void execute(CancellableSearch<R> search, QueryCancellation cancellation, long generation) {
+        if (cancellation.isCancelled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            R result = search.run(cancellation);
+            log.debug("Search {} finished in {} ms", generation, (System.nanoTime() - start) / 1_000_000);
+            Platform.runLater(() -> {
+                if (isLatest(generation, cancellation)) {
+                    searching.set(false);
+                    resultConsumer.accept(result);
+                }
+            });
+        } catch (CancellationException e) {
+            log.debug("Search {} cancelled after {} ms", generation, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            if (cancellation.isCancelled()) {
+                return;
+            }
+            log.error("Search failed: {}", e.getMessage(), e);
+            Platform.runLater(() -> {
+                if (isLatest(generation, cancellation)) {
+                    searching.set(false);
+                    errorConsumer.accept(e);
+                }
+            });
+        }
+    }
+
+    private synchronized boolean isLatest(long generation, QueryCancellation cancellation) {
+        return generation == latestGeneration && !cancellation.isCancelled();
+    }
+}
@@ -0,0 +1,192 @@
+package search;
+
+import java.util.*;
+
+/**
+ * Invertirani indeks trigrama za pretragu podnizova bez obzira na velika i mala slova.
+ * Za svaki trigram (tri uzastopna znaka) pamti poredani niz ID-jeva dokumenata koji ga sadrže.
+ * Upit se rješava presjekom lista pojavljivanja trigrama iz upita, a tekst se provjerava samo za preostale kandidate,
+ * pa trajanje upita ovisi o broju kandidata, a ne o ukupnom broju dokumenata.
+ * Indeks čuva samo izvorni tekst dokumenta; mala slova se primjenjuju znak po znak pri izračunu trigrama i usporedbi.
+ * Klasa nije sigurna za istovremeni pristup iz više dretvi; sinkronizaciju osigurava pozivatelj.
+ */
+public class TrigramIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<Long, String> texts = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    /**
+     * Dodaje dokument u indeks ili zamjenjuje postojeći dokument s istim ID-jem.
+     *
+     * @param id ID dokumenta.
+     * @param text Tekst dokumenta.
+     */
+    public void put(long id, String text) {
+        remove(id);
+        String document = text == null ? "" : text;
+        texts.put(id, document);
+        for (long gram : grams(document)) {
+            postings.computeIfAbsent(gram, ignored -> new Postings()).add(id);
+        }
+    }
+
+    /**
+     * Uklanja dokument iz indeksa.
+     *
+     * @param id ID dokumenta.
+     */
+    public void remove(long id) {
+        String previous = texts.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (long gram : grams(previous)) {
+            Postings ids = postings.get(gram);
+            if (ids != null && ids.remove(id) && ids.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * Vraća ID-jeve dokumenata čiji tekst sadrži traženi podniz, bez obzira na velika i mala slova.
+     * Upiti kraći od tri znaka ne mogu koristiti trigrame pa se rješavaju prolaskom kroz sve dokumente.
+     *
+     * @param query Traženi podniz.
+     * @return ID-jevi pronađenih dokumenata poredani uzlazno.
+     */
+    public List<Long> search(String query) {
+        String normalized = query.toLowerCase(Locale.ROOT);
+        List<Long> result = new ArrayList<>();
+
+        if (normalized.length() < GRAM_LENGTH) {
+            texts.forEach((id, text) -> {
+                if (containsIgnoreCase(text, normalized)) {
+                    result.add(id);
+                }
+            });
+            Collections.sort(result);
+            return result;
+        }
+
+        List<Postings> postingLists = new ArrayList<>();
+        for (long gram : grams(normalized)) {
+            Postings ids = postings.get(gram);
+            if (ids == null) {
+                return result;
+            }
+            postingLists.add(ids);
+        }
+        postingLists.sort(Comparator.comparingInt(ids -> ids.size));
+
+        Postings smallest = postingLists.get(0);
+        List<Postings> others = postingLists.subList(1, postingLists.size());
+        for (int i = 0; i < smallest.size; i++) {
+            long id = smallest.ids[i];
+            if (containsInAll(others, id) && containsIgnoreCase(texts.get(id), normalized)) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Vraća broj dokumenata u indeksu.
+     *
+     * @return Broj dokumenata.
+     */
+    public int size() {
+        return texts.size();
+    }
+
+    /**
+     * Uklanja sve dokumente iz indeksa.
+     */
+    public void clear() {
+        texts.clear();
+        postings.clear();
+    }
+
+    private static boolean containsInAll(List<Postings> postingLists, long id) {
+        for (Postings ids : postingLists) {
+            if (!ids.contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsIgnoreCase(String text, String query) {
+        for (int i = 0; i + query.length() <= text.length(); i++) {
+            if (text.regionMatches(true, i, query, 0, query.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Rastavlja tekst na različite trigrame malih slova, pri čemu je svaki trigram zapisan kao jedan {@code long}
+     * (tri znaka po 16 bitova), kako se za svaki trigram ne bi stvarao novi {@link String}.
+     *
+     * @param text Tekst dokumenta ili upita.
+     * @return Poredani niz različitih trigrama.
+     */
+    private static long[] grams(String text) {
+        int count = Math.max(0, text.length() - GRAM_LENGTH + 1);
+        long[] grams = new long[count];
+        for (int i = 0; i < count; i++) {
+            grams[i] = ((long) Character.toLowerCase(text.charAt(i)) << 32)
+                    | ((long) Character.toLowerCase(text.charAt(i + 1)) << 16)
+                    | Character.toLowerCase(text.charAt(i + 2));
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || grams[distinct - 1] != grams[i]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    /**
+     * Lista pojavljivanja jednog trigrama: uzlazno poredani ID-jevi dokumenata u nizu primitivnih vrijednosti.
+     * Novi prijedlozi dobivaju sve veće ID-jeve, pa se dodaju na kraj niza bez pomicanja ostalih elemenata.
+     */
+    private static final class Postings {
+
+        private long[] ids = new long[2];
+        private int size;
+
+        private void add(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            int insertAt = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        private boolean remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        private boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+}
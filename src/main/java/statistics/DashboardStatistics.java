@@ -0,0 +1,207 @@
+package statistics;
+
+import enums.ChangeType;
+import enums.EntityType;
+import enums.ProposalStatus;
+import event.ChangeEvent;
+import event.ChangeEventBus;
+import model.Client;
+import model.DashboardSummary;
+import model.Proposal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import repository.ChangeLogRepository;
+import repository.DashboardRepository;
+import repository.DashboardRepository.ProposalState;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Pokazatelji nadzorne ploče koji se iz baze računaju jednom, a nakon toga se inkrementalno ažuriraju
+ * iz događaja na {@link ChangeEventBus} sabirnici (spremanje, ažuriranje i brisanje prijedloga i klijenata,
+ * uključujući promjene drugih instanci aplikacije). Događaj nosi samo novo stanje prijedloga, pa se za svaki
+ * prijedlog pamti status i klijent, kako bi se pri promjeni umanjili brojači prethodnog statusa i klijenta.
+ * Klijenti su poredani po broju prijedloga, pa {@link #summary()} ne ovisi o broju prijedloga ni klijenata.
+ */
+public final class DashboardStatistics {
+
+    /**
+     * Broj klijenata s najviše prijedloga koji se prikazuju na nadzornoj ploči.
+     */
+    public static final int TOP_CLIENTS = 5;
+
+    /**
+     * Broj zadnjih promjena koje se prikazuju na nadzornoj ploči.
+     */
+    public static final int RECENT_ACTIVITY = 10;
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardStatistics.class);
+    private static final String UNKNOWN_CLIENT = "Unknown Client";
+    private static final Comparator<DashboardSummary.ClientTotal> BY_PROPOSAL_COUNT =
+            Comparator.comparingLong(DashboardSummary.ClientTotal::proposalCount).reversed()
+                    .thenComparingLong(DashboardSummary.ClientTotal::clientId);
+    private static final DashboardStatistics INSTANCE = new DashboardStatistics();
+
+    private final Supplier<DashboardRepository.Aggregates> aggregatesLoader;
+    private final IntFunction<List<DashboardSummary.RecentChange>> recentChangesLoader;
+    private final Map<ProposalStatus, Long> statusCounts = new EnumMap<>(ProposalStatus.class);
+    private final Map<Long, ProposalState> proposals = new HashMap<>();
+    private final Map<Long, DashboardSummary.ClientTotal> clientTotals = new HashMap<>();
+    private final NavigableSet<DashboardSummary.ClientTotal> clientRanking = new TreeSet<>(BY_PROPOSAL_COUNT);
+    private final Deque<DashboardSummary.RecentChange> recentActivity = new ArrayDeque<>();
+    private final List<ChangeEventBus.Subscription> subscriptions = new ArrayList<>();
+    private volatile boolean built;
+
+    /**
+     * Privatni konstruktor; koristi se zajednička instanca iz {@link #getInstance()}.
+     */
+    private DashboardStatistics() {
+        this(() -> new DashboardRepository().loadAggregates(), limit -> new ChangeLogRepository().findRecent(limit));
+    }
+
+    /**
+     * Konstruktor koji prima izvore početnih pokazatelja i zadnjih promjena; koristi se u testovima.
+     *
+     * @param aggregatesLoader Izvor pokazatelja iz baze.
+     * @param recentChangesLoader Izvor zadnjih promjena za zadani najveći broj promjena.
+     */
+    DashboardStatistics(Supplier<DashboardRepository.Aggregates> aggregatesLoader,
+                        IntFunction<List<DashboardSummary.RecentChange>> recentChangesLoader) {
+        this.aggregatesLoader = aggregatesLoader;
+        this.recentChangesLoader = recentChangesLoader;
+    }
+
+    /**
+     * Vraća zajedničku instancu pokazatelja.
+     *
+     * @return Pokazatelji nadzorne ploče.
+     */
+    public static DashboardStatistics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Vraća trenutne pokazatelje. Pri prvom pozivu pokazatelji se učitavaju iz baze, pa se prvi poziv
+     * ne smije izvoditi na JavaFX dretvi.
+     *
+     * @return Pokazatelji nadzorne ploče.
+     */
+    public DashboardSummary summary() {
+        ensureBuilt();
+        synchronized (this) {
+            List<DashboardSummary.ClientTotal> topClients = new ArrayList<>(TOP_CLIENTS);
+            for (DashboardSummary.ClientTotal clientTotal : clientRanking) {
+                if (topClients.size() == TOP_CLIENTS || clientTotal.proposalCount() == 0) {
+                    break;
+                }
+                topClients.add(clientTotal);
+            }
+            return new DashboardSummary(statusCounts, proposals.size(), topClients, List.copyOf(recentActivity));
+        }
+    }
+
+    /**
+     * Vraća jesu li pokazatelji već učitani, tj. hoće li {@link #summary()} odgovoriti bez upita bazi.
+     *
+     * @return {@code true} ako su pokazatelji učitani.
+     */
+    public boolean isBuilt() {
+        return built;
+    }
+
+    /**
+     * Učitava pokazatelje iz baze, ako već nisu učitani, i pretplaćuje ih na promjene prijedloga i klijenata.
+     * Pretplata se otvara prije učitavanja kako se ne bi izgubile promjene nastale tijekom učitavanja; one se
+     * primjenjuju nakon učitavanja, a promjena koja je već sadržana u učitanim podacima ne mijenja brojače.
+     */
+    public synchronized void ensureBuilt() {
+        if (built) {
+            return;
+        }
+        long start = System.nanoTime();
+        subscriptions.add(ChangeEventBus.subscribe(EntityType.PROPOSAL, this::apply));
+        subscriptions.add(ChangeEventBus.subscribe(EntityType.CLIENT, this::apply));
+        try {
+            DashboardRepository.Aggregates aggregates = aggregatesLoader.get();
+            List<DashboardSummary.RecentChange> recentChanges = recentChangesLoader.apply(RECENT_ACTIVITY);
+
+            statusCounts.putAll(aggregates.statusCounts());
+            proposals.putAll(aggregates.proposals());
+            for (DashboardSummary.ClientTotal clientTotal : aggregates.clientTotals()) {
+                putClientTotal(clientTotal);
+            }
+            recentActivity.addAll(recentChanges);
+        } catch (RuntimeException e) {
+            subscriptions.forEach(ChangeEventBus.Subscription::close);
+            subscriptions.clear();
+            throw e;
+        }
+        built = true;
+        log.info("Dashboard statistics loaded for {} proposals and {} clients in {} ms",
+                proposals.size(), clientTotals.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Primjenjuje jednu promjenu prijedloga ili klijenta na pokazatelje.
+     *
+     * @param event Događaj o promjeni.
+     */
+    private synchronized void apply(ChangeEvent event) {
+        if (event.entityType() == EntityType.PROPOSAL) {
+            ProposalState newState = event.changeType() == ChangeType.DELETED || event.entity() == null
+                    ? null
+                    : stateOf((Proposal) event.entity());
+            ProposalState oldState = newState == null
+                    ? proposals.remove(event.entityId())
+                    : proposals.put(event.entityId(), newState);
+            if (oldState != null) {
+                count(oldState, -1);
+            }
+            if (newState != null) {
+                count(newState, 1);
+            }
+        } else if (event.changeType() == ChangeType.DELETED || event.entity() == null) {
+            DashboardSummary.ClientTotal clientTotal = clientTotals.remove(event.entityId());
+            if (clientTotal != null) {
+                clientRanking.remove(clientTotal);
+            }
+        } else {
+            DashboardSummary.ClientTotal clientTotal = clientTotals.get(event.entityId());
+            putClientTotal(new DashboardSummary.ClientTotal(event.entityId(), ((Client) event.entity()).getName(),
+                    clientTotal == null ? 0 : clientTotal.proposalCount()));
+        }
+
+        recentActivity.addFirst(new DashboardSummary.RecentChange(event.entityType(), event.entityId(),
+                event.changeType(), event.changedFields(), LocalDateTime.now()));
+        while (recentActivity.size() > RECENT_ACTIVITY) {
+            recentActivity.removeLast();
+        }
+    }
+
+    /**
+     * Dodaje prijedlog zadanog stanja u brojače (ili ga oduzima, za {@code delta} {@code -1}).
+     */
+    private void count(ProposalState state, int delta) {
+        statusCounts.merge(state.status(), (long) delta, Long::sum);
+
+        DashboardSummary.ClientTotal clientTotal = clientTotals.get(state.clientId());
+        String clientName = clientTotal == null ? UNKNOWN_CLIENT : clientTotal.clientName();
+        long proposalCount = clientTotal == null ? 0 : clientTotal.proposalCount();
+        putClientTotal(new DashboardSummary.ClientTotal(state.clientId(), clientName, proposalCount + delta));
+    }
+
+    private void putClientTotal(DashboardSummary.ClientTotal clientTotal) {
+        DashboardSummary.ClientTotal previous = clientTotals.put(clientTotal.clientId(), clientTotal);
+        if (previous != null) {
+            clientRanking.remove(previous);
+        }
+        clientRanking.add(clientTotal);
+    }
+
+    private static ProposalState stateOf(Proposal proposal) {
+        return new ProposalState(proposal.getStatus(), proposal.getClientId());
+    }
+}
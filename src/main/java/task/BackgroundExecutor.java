@@ -0,0 +1,31 @@
+package task;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Zajednički izvršitelj pozadinskih poslova aplikacije (učitavanje podataka, spremanje, izvoz).
+ * Svaki posao se izvodi u vlastitoj virtualnoj dretvi, pa poslovi koji čekaju bazu podataka ili datoteku
+ * ne zauzimaju dretve operacijskog sustava i ne moraju dijeliti ograničeni bazen dretvi.
+ * JavaFX {@link javafx.concurrent.Task} je {@link Runnable}, pa se može izravno predati izvršitelju.
+ */
+public final class BackgroundExecutor {
+
+    private static final ExecutorService EXECUTOR =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("background-", 0).factory());
+
+    /**
+     * Privatni konstruktor kako bi se spriječilo stvaranje instanci.
+     */
+    private BackgroundExecutor() {
+    }
+
+    /**
+     * Pokreće posao u novoj virtualnoj dretvi.
+     *
+     * @param work Posao koji se izvodi.
+     */
+    public static void execute(Runnable work) {
+        EXECUTOR.execute(work);
+    }
+}
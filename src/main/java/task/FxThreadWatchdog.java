@@ -0,0 +1,100 @@
+package task;
+
+import javafx.application.Platform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Nadzornik JavaFX dretve. Pozadinska dretva u kratkim razmacima šalje JavaFX dretvi prazan posao
+ * i mjeri koliko dugo čeka na njegovo izvođenje. Ako JavaFX dretva ne odgovori unutar zadanog praga,
+ * zapisuje upozorenje sa stogom poziva JavaFX dretve (što ju blokira), a kada dretva ponovno odgovori,
+ * zapisuje ukupno trajanje zastoja.
+ */
+public final class FxThreadWatchdog {
+
+    private static final Logger log = LoggerFactory.getLogger(FxThreadWatchdog.class);
+    private static final long CHECK_INTERVAL_MILLIS = 50;
+
+    private static ScheduledExecutorService scheduler;
+    private static Thread fxThread;
+    private static long thresholdNanos;
+    private static volatile long heartbeatSentAt;
+    private static volatile boolean heartbeatPending;
+    private static volatile boolean stallReported;
+
+    /**
+     * Privatni konstruktor kako bi se spriječilo stvaranje instanci.
+     */
+    private FxThreadWatchdog() {
+    }
+
+    /**
+     * Pokreće nadzor JavaFX dretve. Poziva se s JavaFX dretve; višestruki pozivi nemaju dodatni učinak.
+     *
+     * @param threshold Najdulje trajanje zastoja JavaFX dretve koje se ne zapisuje.
+     */
+    public static synchronized void start(Duration threshold) {
+        if (scheduler != null) {
+            return;
+        }
+        fxThread = Thread.currentThread();
+        thresholdNanos = threshold.toNanos();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fx-thread-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(FxThreadWatchdog::check, CHECK_INTERVAL_MILLIS, CHECK_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+        log.info("FX thread watchdog started with a threshold of {} ms", threshold.toMillis());
+    }
+
+    /**
+     * Zaustavlja nadzor JavaFX dretve.
+     */
+    public static synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private static void check() {
+        long now = System.nanoTime();
+        if (!heartbeatPending) {
+            heartbeatPending = true;
+            heartbeatSentAt = now;
+            Platform.runLater(FxThreadWatchdog::heartbeat);
+            return;
+        }
+
+        long stalledNanos = now - heartbeatSentAt;
+        if (stalledNanos > thresholdNanos && !stallReported) {
+            stallReported = true;
+            log.warn("FX thread has not responded for {} ms:{}{}", stalledNanos / 1_000_000, System.lineSeparator(),
+                    stackTrace(fxThread));
+        }
+    }
+
+    private static void heartbeat() {
+        long stalledNanos = System.nanoTime() - heartbeatSentAt;
+        if (stalledNanos > thresholdNanos) {
+            log.warn("FX thread stalled for {} ms", stalledNanos / 1_000_000);
+        }
+        heartbeatPending = false;
+        stallReported = false;
+    }
+
+    private static String stackTrace(Thread thread) {
+        return Arrays.stream(thread.getStackTrace())
+                .map(element -> "\tat " + element)
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+}
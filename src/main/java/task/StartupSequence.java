@@ -0,0 +1,76 @@
+package task;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bilježi faze pokretanja aplikacije i njihovo trajanje, kako bi se usporavanje pokretanja vidjelo u logu.
+ * Svaka faza zapisuje vlastito trajanje i vrijeme proteklo od pokretanja procesa.
+ * Ekran za prijavu prikazuje se prije pripreme baze (sheme i sinkronizacije korisnika), pa prijava
+ * prije provjere korisničkih podataka čeka {@link #awaitDatabaseReady()}.
+ */
+public final class StartupSequence {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupSequence.class);
+    private static final Instant PROCESS_START = ProcessHandle.current().info().startInstant().orElseGet(Instant::now);
+    private static final CompletableFuture<Void> DATABASE_READY = new CompletableFuture<>();
+
+    /**
+     * Privatni konstruktor kako bi se spriječilo stvaranje instanci.
+     */
+    private StartupSequence() {
+    }
+
+    /**
+     * Izvodi fazu pokretanja i zapisuje njeno trajanje. Greška u fazi se zapisuje, ali ne prekida pokretanje,
+     * kako bi se ostale faze (i prijava, koja će grešku prikazati korisniku) ipak izvele.
+     *
+     * @param phase Naziv faze.
+     * @param work Posao faze.
+     * @return {@code true} ako je faza uspješno završila.
+     */
+    public static boolean phase(String phase, Runnable work) {
+        long start = System.nanoTime();
+        try {
+            work.run();
+            log.info("Startup phase '{}' took {} ms ({} ms since process start)",
+                    phase, (System.nanoTime() - start) / 1_000_000, sinceProcessStart());
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Startup phase '{}' failed after {} ms: {}", phase, (System.nanoTime() - start) / 1_000_000,
+                    e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Zapisuje trenutak u pokretanju, npr. prikaz ekrana za prijavu.
+     *
+     * @param milestone Naziv trenutka.
+     */
+    public static void milestone(String milestone) {
+        log.info("Startup milestone '{}' reached {} ms since process start", milestone, sinceProcessStart());
+    }
+
+    /**
+     * Označava da su shema i korisnici pripremljeni (ili da priprema nije uspjela), pa se prijava može provjeriti.
+     */
+    public static void databaseReady() {
+        DATABASE_READY.complete(null);
+    }
+
+    /**
+     * Čeka da shema i korisnici budu pripremljeni. Poziva se s pozadinske dretve, prije prvog upita nad korisnicima.
+     */
+    public static void awaitDatabaseReady() {
+        DATABASE_READY.join();
+    }
+
+    private static long sinceProcessStart() {
+        return Duration.between(PROCESS_START, Instant.now()).toMillis();
+    }
+}
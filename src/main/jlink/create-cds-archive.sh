@@ -0,0 +1,34 @@
+#!/bin/sh
+# Creates the AppCDS archive for the jlink image and installs the launcher that uses it.
+# Run by the "appcds" profile after javafx:jlink, from the project directory (database.properties and dat/ are
+# read by the training launch). The database must be reachable and a display is needed; without DISPLAY the
+# training launch runs under xvfb-run when it is installed.
+#
+# Usage: src/main/jlink/create-cds-archive.sh [image directory]
+set -e
+
+IMAGE=${1:-target/app}
+MAIN=hr.javafx.business.businessproposalsystem/hr.javafx.business.businessproposalsystem.BusinessProposalApplication
+SCRIPT_DIR=$(dirname "$0")
+
+# A dynamic archive is layered on top of the base CDS archive of the runtime, which jlink does not create.
+"$IMAGE/bin/java" -Xshare:dump -Xlog:cds=warning
+
+# Training launch: shows the login screen, runs the background warm-up (all screen FXML, search indexes and
+# the hot repository queries) and exits, archiving every class loaded on the way.
+rm -f "$IMAGE/lib/app.jsa"
+if [ -z "$DISPLAY" ] && command -v xvfb-run >/dev/null 2>&1; then
+    RUN="xvfb-run -a"
+else
+    RUN=""
+fi
+$RUN "$IMAGE/bin/java" -XX:ArchiveClassesAtExit="$IMAGE/lib/app.jsa" -Dstartup.exitAfter=warm-up -m "$MAIN"
+
+if [ ! -f "$IMAGE/lib/app.jsa" ]; then
+    echo "Training launch did not create $IMAGE/lib/app.jsa" >&2
+    exit 1
+fi
+
+cp "$SCRIPT_DIR/app" "$IMAGE/bin/app"
+chmod +x "$IMAGE/bin/app"
+echo "Created $IMAGE/lib/app.jsa ($(wc -c < "$IMAGE/lib/app.jsa") bytes)"
@@ -0,0 +1,58 @@
+#!/bin/sh
+# Compares time to the login window of the jlink image without CDS, with the default CDS archive of the runtime
+# and with the AppCDS archive created by the "appcds" profile.
+# Each launch exits as soon as the login screen is shown (-Dstartup.exitAfter=login-screen); the time is the
+# "login screen shown" startup milestone, measured by the application from process start, read from the log.
+# The first launch of each configuration only warms the OS file cache and is not counted.
+# Run from the project directory, like the application.
+#
+# Usage: src/main/jlink/startup-benchmark.sh [image directory] [launches per configuration]
+set -e
+
+IMAGE=${1:-target/app}
+RUNS=${2:-10}
+MAIN=hr.javafx.business.businessproposalsystem/hr.javafx.business.businessproposalsystem.BusinessProposalApplication
+LOG=logs/pogreske.log
+
+if [ -z "$DISPLAY" ] && command -v xvfb-run >/dev/null 2>&1; then
+    RUN="xvfb-run -a"
+else
+    RUN=""
+fi
+
+login_window_ms() {
+    before=$(grep -c "Startup milestone 'login screen shown'" "$LOG" 2>/dev/null || true)
+    $RUN "$IMAGE/bin/java" "$@" -Dstartup.exitAfter=login-screen -m "$MAIN" >/dev/null 2>&1
+    after=$(grep -c "Startup milestone 'login screen shown'" "$LOG" 2>/dev/null || true)
+    if [ "${after:-0}" -le "${before:-0}" ]; then
+        echo "Launch with options '$*' did not show the login screen; see $LOG" >&2
+        exit 1
+    fi
+    grep "Startup milestone 'login screen shown'" "$LOG" | tail -n 1 | sed 's/.*reached \([0-9]*\) ms.*/\1/'
+}
+
+measure() {
+    label=$1
+    shift
+    login_window_ms "$@" >/dev/null
+    total=0
+    min=
+    max=0
+    run=1
+    while [ "$run" -le "$RUNS" ]; do
+        ms=$(login_window_ms "$@")
+        total=$((total + ms))
+        if [ -z "$min" ] || [ "$ms" -lt "$min" ]; then min=$ms; fi
+        if [ "$ms" -gt "$max" ]; then max=$ms; fi
+        run=$((run + 1))
+    done
+    printf '%-14s avg %5d ms  min %5d ms  max %5d ms  (%d launches)\n' "$label" $((total / RUNS)) "$min" "$max" "$RUNS"
+}
+
+measure "no CDS" -Xshare:off
+measure "default CDS"
+if [ -f "$IMAGE/lib/app.jsa" ]; then
+    measure "AppCDS" -XX:SharedArchiveFile="$IMAGE/lib/app.jsa"
+else
+    echo "No $IMAGE/lib/app.jsa; build the image with: ./mvnw -Pappcds package" >&2
+fi
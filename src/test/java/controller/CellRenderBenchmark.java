@@ -0,0 +1,169 @@
+package controller;
+
+import com.sun.management.ThreadMXBean;
+import enums.ProposalStatus;
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.control.TableColumn;
+import model.Proposal;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Mjerenje alokacije memorije pri pomicanju tablice prijedloga, bez grafičkog sučelja i bez pristupa bazi.
+ * Pomicanje se oponaša kao na ekranu: u svakom okviru tablica se pomakne za nekoliko redaka, a svaka vidljiva ćelija
+ * ponovno traži vrijednost od tvornice vrijednosti svog stupca. Uspoređuje tvornice koje pri svakom iscrtavanju
+ * stvaraju novo svojstvo (i traže ime klijenta) s tvornicama koje vraćaju svojstva iz {@link ProposalRow}.
+ * Nalazi se među testnim izvorima kako ne bi bio dio aplikacije. Primjer pokretanja:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=controller.CellRenderBenchmark -Dexec.args="100000 2000"}
+ */
+public class CellRenderBenchmark {
+
+    private static final int VISIBLE_ROWS = 30;
+    private static final int ROWS_PER_FRAME = 3;
+    private static final int FRAMES_PER_SECOND = 60;
+    private static final int WARMUP_ROUNDS = 5;
+
+    /**
+     * Privatni konstruktor kako bi se spriječilo stvaranje instanci.
+     */
+    private CellRenderBenchmark() {
+    }
+
+    /**
+     * Pokreće mjerenje i ispisuje alocirane bajtove po okviru i brzinu alokacije pri 60 okvira u sekundi.
+     *
+     * @param args {@code [broj redaka] [broj okvira]}; zadano 100000 redaka i 2000 okvira.
+     */
+    public static void main(String[] args) {
+        int rowCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+
+        List<Proposal> proposals = generateProposals(rowCount);
+        Map<Long, String> clientNames = new HashMap<>();
+        for (long clientId = 0; clientId < 1000; clientId++) {
+            clientNames.put(clientId, "Client " + clientId);
+        }
+
+        long rowsStart = allocatedBytes();
+        List<ProposalRow> rows = proposals.stream()
+                .map(proposal -> new ProposalRow(proposal, clientNames.get(proposal.getClientId())))
+                .toList();
+        long rowBytes = allocatedBytes() - rowsStart;
+
+        List<TableColumn<Proposal, String>> perRenderColumns = List.of(
+                perRenderColumn(Proposal::getTitle),
+                perRenderColumn(Proposal::getDescription),
+                perRenderColumn(proposal -> proposal.getStatus().toString()),
+                perRenderColumn(proposal -> clientNames.getOrDefault(proposal.getClientId(), "Unknown Client")));
+        List<TableColumn<ProposalRow, String>> rowColumns = List.of(
+                rowColumn(ProposalRow::titleProperty),
+                rowColumn(ProposalRow::descriptionProperty),
+                rowColumn(ProposalRow::statusProperty),
+                rowColumn(ProposalRow::clientProperty));
+
+        System.out.printf("%,d rows, %d visible rows, %d rows scrolled per frame%n", rowCount, VISIBLE_ROWS, ROWS_PER_FRAME);
+        System.out.printf("building rows once: %,d bytes (%.1f bytes per row)%n", rowBytes, (double) rowBytes / rowCount);
+        measure("new property per cell render", proposals, perRenderColumns, frames);
+        measure("precomputed row properties", rows, rowColumns, frames);
+    }
+
+    private static TableColumn<Proposal, String> perRenderColumn(Function<Proposal, String> value) {
+        TableColumn<Proposal, String> column = new TableColumn<>();
+        column.setCellValueFactory(cellData -> new SimpleStringProperty(value.apply(cellData.getValue())));
+        return column;
+    }
+
+    private static TableColumn<ProposalRow, String> rowColumn(Function<ProposalRow, ReadOnlyStringProperty> text) {
+        TableColumn<ProposalRow, String> column = new TableColumn<>();
+        PagedTableSupport.bindText(column, text);
+        return column;
+    }
+
+    /**
+     * Oponaša pomicanje tablice od vrha prema dnu i ispisuje alokaciju po okviru.
+     */
+    private static <S> void measure(String name, List<S> items, List<TableColumn<S, String>> columns, int frames) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            scroll(items, columns, frames);
+        }
+
+        long start = allocatedBytes();
+        long checksum = scroll(items, columns, frames);
+        long bytes = allocatedBytes() - start;
+
+        double bytesPerFrame = (double) bytes / frames;
+        System.out.printf("%-32s %,12.0f bytes/frame  %8.2f MB/s at %d fps  (checksum %d)%n",
+                name, bytesPerFrame, bytesPerFrame * FRAMES_PER_SECOND / (1024 * 1024), FRAMES_PER_SECOND, checksum);
+    }
+
+    /**
+     * Kao u tablici, svaki redak ćelija prikazuje jedan redak podataka dok ne izađe iz vidljivog dijela, a tada se
+     * ponovno koristi za redak koji je ušao. Kao {@code TableCell}, ćelija pri promjeni retka prestaje slušati staru
+     * vrijednost, traži novu od tvornice vrijednosti stupca i počinje slušati nju.
+     */
+    private static <S> long scroll(List<S> items, List<TableColumn<S, String>> columns, int frames) {
+        List<ObservableValue<String>> cells = new ArrayList<>(Collections.nCopies(VISIBLE_ROWS * columns.size(), null));
+        int[] cellRows = new int[VISIBLE_ROWS];
+        Arrays.fill(cellRows, -1);
+        InvalidationListener cellListener = observable -> { };
+        long checksum = 0;
+        int maxFirstRow = Math.max(1, items.size() - VISIBLE_ROWS);
+        for (int frame = 0; frame < frames; frame++) {
+            int firstRow = (frame * ROWS_PER_FRAME) % maxFirstRow;
+            for (int row = firstRow; row < firstRow + VISIBLE_ROWS && row < items.size(); row++) {
+                int cellRow = row % VISIBLE_ROWS;
+                if (cellRows[cellRow] == row) {
+                    continue;
+                }
+                cellRows[cellRow] = row;
+
+                S item = items.get(row);
+                for (int columnIndex = 0; columnIndex < columns.size(); columnIndex++) {
+                    TableColumn<S, String> column = columns.get(columnIndex);
+                    int cell = cellRow * columns.size() + columnIndex;
+                    ObservableValue<String> previous = cells.get(cell);
+                    if (previous != null) {
+                        previous.removeListener(cellListener);
+                    }
+                    ObservableValue<String> value =
+                            column.getCellValueFactory().call(new TableColumn.CellDataFeatures<>(null, column, item));
+                    value.addListener(cellListener);
+                    cells.set(cell, value);
+
+                    String text = value.getValue();
+                    checksum += text == null ? 0 : text.length();
+                }
+            }
+        }
+        return checksum;
+    }
+
+    private static long allocatedBytes() {
+        return ((ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    private static List<Proposal> generateProposals(int count) {
+        ProposalStatus[] statuses = ProposalStatus.values();
+        List<Proposal> proposals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            proposals.add(new Proposal.Builder((long) i)
+                    .withTitle("Proposal " + i)
+                    .withDescription("Description of proposal " + i)
+                    .withStatus(statuses[i % statuses.length])
+                    .withClientId(i % 1000)
+                    .withUserId(i % 50)
+                    .build());
+        }
+        return proposals;
+    }
+}
@@ -0,0 +1,74 @@
+package importer;
+
+import exception.ImportValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ImportRecordParserTest {
+
+    @Test
+    void splitsPlainValuesAndTrimsThem() throws ImportValidationException {
+        assertEquals(List.of("Acme", "info@acme.com", "", "Acme d.o.o."),
+                ImportRecordParser.parseCsvLine(" Acme ,info@acme.com,,Acme d.o.o."));
+    }
+
+    @Test
+    void keepsSeparatorsInsideQuotedValues() throws ImportValidationException {
+        assertEquals(List.of("Review, phase 1", "x"),
+                ImportRecordParser.parseCsvLine("\"Review, phase 1\",x"));
+    }
+
+    @Test
+    void unescapesDoubledQuotes() throws ImportValidationException {
+        assertEquals(List.of("Say \"hi\"", "\""),
+                ImportRecordParser.parseCsvLine("\"Say \"\"hi\"\"\",\"\"\"\""));
+    }
+
+    @Test
+    void readsEmptyQuotedAndTrailingEmptyValues() throws ImportValidationException {
+        assertEquals(List.of("", "a", ""), ImportRecordParser.parseCsvLine("\"\",a,"));
+    }
+
+    @Test
+    void rejectsUnterminatedQuotes() {
+        assertThrows(ImportValidationException.class, () -> ImportRecordParser.parseCsvLine("\"open,value"));
+        assertThrows(ImportValidationException.class, () -> ImportRecordParser.parseCsvLine("a,\"b\"\""));
+    }
+
+    @Test
+    void mapsValuesToHeaderColumns() throws ImportValidationException {
+        Map<String, String> fields = ImportRecordParser.parseCsvRecord(List.of("title", "description"),
+                "Budget,\"Costs, \"\"draft\"\"\"");
+
+        assertEquals(Map.of("title", "Budget", "description", "Costs, \"draft\""), fields);
+    }
+
+    @Test
+    void stripsByteOrderMarkFromTheHeaderLine() throws ImportValidationException {
+        assertEquals(List.of("name", "email"),
+                ImportRecordParser.parseCsvLine(ImportRecordParser.stripByteOrderMark("\uFEFFname,email")));
+        assertEquals("name", ImportRecordParser.stripByteOrderMark("name"));
+        assertEquals("", ImportRecordParser.stripByteOrderMark(""));
+    }
+
+    @Test
+    void rejectsRecordsWithWrongColumnCount() {
+        assertThrows(ImportValidationException.class,
+                () -> ImportRecordParser.parseCsvRecord(List.of("title", "description"), "a,b,c"));
+        assertThrows(ImportValidationException.class,
+                () -> ImportRecordParser.parseCsvRecord(List.of("title", "description"), "\"a,b\""));
+    }
+
+    @Test
+    void parsesJsonLinesWithEscapesAndNulls() throws ImportValidationException {
+        Map<String, String> fields = ImportRecordParser.parseJsonLine(
+                "{\"Title\": \"Say \\\"hi\\\"\\n\", \"client_id\": 7, \"status\": null}");
+
+        assertEquals(Map.of("title", "Say \"hi\"", "client_id", "7"), fields);
+    }
+}
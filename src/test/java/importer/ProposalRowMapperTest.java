@@ -0,0 +1,50 @@
+package importer;
+
+import enums.ProposalStatus;
+import exception.ImportValidationException;
+import model.Proposal;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProposalRowMapperTest {
+
+    private final ProposalRowMapper mapper = new ProposalRowMapper(Set.of(10L), Set.of(1L));
+
+    @Test
+    void mapsValidRow() throws ImportValidationException {
+        Proposal proposal = mapper.map(row("10", "1", "approved"));
+
+        assertEquals("Budget", proposal.getTitle());
+        assertEquals(10L, proposal.getClientId());
+        assertEquals(1L, proposal.getUserId());
+        assertEquals(ProposalStatus.APPROVED, proposal.getStatus());
+    }
+
+    @Test
+    void rejectsUnknownClient() {
+        ImportValidationException e = assertThrows(ImportValidationException.class, () -> mapper.map(row("11", "1", "")));
+        assertEquals("Unknown client_id 11", e.getMessage());
+    }
+
+    @Test
+    void rejectsUnknownUser() {
+        ImportValidationException e = assertThrows(ImportValidationException.class, () -> mapper.map(row("10", "2", "")));
+        assertEquals("Unknown user_id 2", e.getMessage());
+    }
+
+    private static Map<String, String> row(String clientId, String userId, String status) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("title", "Budget");
+        fields.put("description", "Yearly budget");
+        fields.put("client_id", clientId);
+        fields.put("user_id", userId);
+        fields.put("status", status);
+        return fields;
+    }
+}
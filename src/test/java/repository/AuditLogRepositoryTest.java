@@ -0,0 +1,221 @@
+package repository;
+
+import enums.EntityType;
+import model.AuditLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditLogRepositoryTest {
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 15, 8, 0);
+
+    @TempDir
+    Path directory;
+
+    private AuditLogRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new AuditLogRepository(directory);
+    }
+
+    @Test
+    void readsOnlyRecordsAppendedAfterTheReturnedOffset() throws IOException {
+        log("PROPOSAL", 1L, "a");
+        log("PROPOSAL", 2L, "b");
+        log("CLIENT", 1L, "c");
+
+        List<AuditLog> first = new ArrayList<>();
+        long offset = repository.forEachAuditLogFrom(0, first::add);
+
+        log("PROPOSAL", 1L, "d");
+        log("CLIENT", 2L, "e");
+
+        List<AuditLog> appended = new ArrayList<>();
+        long end = new AuditLogRepository(directory).forEachAuditLogFrom(offset, appended::add);
+
+        assertEquals(List.of("a", "b", "c"), values(first));
+        assertEquals(List.of("d", "e"), values(appended));
+        assertEquals(List.of(4L, 5L), appended.stream().map(AuditLog::id).toList());
+        assertEquals(Files.size(directory.resolve("audit_log.dat")), end);
+        assertEquals(end, repository.forEachAuditLogFrom(end, auditLog -> {
+            throw new AssertionError("No records expected after the end offset");
+        }));
+        assertEquals(List.of("a", "b", "c", "d", "e"), values(repository.readAuditLogs()));
+    }
+
+    @Test
+    void findsEntityHistoryThroughTheIndexAcrossAppends() {
+        log("PROPOSAL", 1L, "created");
+        log("CLIENT", 1L, "client");
+        log("Import", null, "bulk");
+        log("PROPOSAL", 2L, "other");
+
+        assertEquals(List.of("created"), values(repository.findHistory(EntityType.PROPOSAL, 1L)));
+        assertTrue(Files.exists(directory.resolve("audit_log.idx")));
+
+        log("PROPOSAL", 1L, "updated");
+        log("proposal", 1L, "deleted");
+
+        assertEquals(List.of("created", "updated", "deleted"),
+                values(repository.findHistory(EntityType.PROPOSAL, 1L)));
+        assertEquals(List.of("client"), values(repository.findHistory(EntityType.CLIENT, 1L)));
+        assertTrue(repository.findHistory(EntityType.CLIENT, 3L).isEmpty());
+    }
+
+    @Test
+    void indexesRecordsMissingFromTheEntityIndexAfterAnInterruptedAppend() throws IOException {
+        log("PROPOSAL", 1L, "a");
+        assertEquals(List.of("a"), values(repository.findHistory(EntityType.PROPOSAL, 1L)));
+        byte[] indexBeforeAppend = Files.readAllBytes(directory.resolve("audit_log.idx"));
+        log("PROPOSAL", 1L, "b");
+
+        // Rad je prekinut nakon dodavanja zapisa "b" u audit datoteku, a prije dodavanja u indeksnu datoteku.
+        Path restarted = Files.createDirectory(directory.resolve("restarted"));
+        Files.copy(directory.resolve("audit_log.dat"), restarted.resolve("audit_log.dat"));
+        Files.write(restarted.resolve("audit_log.idx"), indexBeforeAppend);
+        AuditLogRepository restartedRepository = new AuditLogRepository(restarted);
+        restartedRepository.logChange(new AuditLog(null, 1L, "ADMIN", "UPDATE", "PROPOSAL", 1L, null, "c", null));
+
+        assertEquals(List.of("a", "b", "c"), values(restartedRepository.findHistory(EntityType.PROPOSAL, 1L)));
+        restartedRepository.logChange(new AuditLog(null, 1L, "ADMIN", "UPDATE", "PROPOSAL", 1L, null, "d", null));
+        assertEquals(List.of("a", "b", "c", "d"),
+                values(restartedRepository.findHistory(EntityType.PROPOSAL, 1L)));
+    }
+
+    @Test
+    void rebuildsEntityIndexWrittenInTheOlderFormat() throws IOException {
+        writeLog(List.of(entry(1L, START), entry(2L, START.plusSeconds(1))));
+        try (DataOutputStream out = new DataOutputStream(
+                new FileOutputStream(directory.resolve("audit_log.idx").toFile()))) {
+            out.writeUTF("PROPOSAL");
+            out.writeLong(1L);
+            out.writeLong(0L);
+        }
+
+        assertEquals(List.of("v2"), values(repository.findHistory(EntityType.PROPOSAL, 2L)));
+        assertEquals(List.of("v1"), values(repository.findHistory(EntityType.PROPOSAL, 1L)));
+    }
+
+    @Test
+    void findsRangeInTheMiddleOfALargeLogIncludingSlightlyReorderedRecords() throws IOException {
+        List<AuditLog> logs = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            logs.add(entry(i + 1L, START.plusSeconds(10L * i)));
+        }
+        // Stariji zapisi mogli su biti dodani nekoliko sekundi izvan redoslijeda vremena.
+        Collections.swap(logs, 499, 500);
+        writeLog(logs);
+
+        List<AuditLog> range = repository.findBetween(
+                instant(START.plusSeconds(4990)), instant(START.plusSeconds(5100)));
+        assertEquals(List.of(501L, 500L, 502L, 503L, 504L, 505L, 506L, 507L, 508L, 509L, 510L),
+                range.stream().map(AuditLog::id).toList());
+
+        List<AuditLog> afterSwap = repository.findBetween(
+                instant(START.plusSeconds(5000)), instant(START.plusSeconds(5020)));
+        assertEquals(List.of(501L, 502L), afterSwap.stream().map(AuditLog::id).toList());
+
+        assertEquals(1000, repository.findBetween(null, null).size());
+        assertTrue(repository.findBetween(instant(START.minusDays(1)), instant(START)).isEmpty());
+    }
+
+    @Test
+    void continuesIdsAndTimestampsAfterExistingRecords() throws IOException {
+        LocalDateTime future = LocalDateTime.now().plusHours(1).withNano(0);
+        writeLog(List.of(entry(41L, START), entry(42L, future)));
+
+        log("PROPOSAL", 1L, "new");
+
+        AuditLog added = repository.readAuditLogs().get(2);
+        assertEquals(43L, added.id());
+        assertEquals(instant(future), added.instant());
+        assertEquals(future.format(TIMESTAMP_FORMAT), added.localTimestamp());
+    }
+
+    @Test
+    void stampsTimestampsInUtcAndConvertsThemForDisplay() {
+        Instant before = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        log("PROPOSAL", 1L, "new");
+
+        AuditLog added = repository.readAuditLogs().get(0);
+        assertTrue(added.timestamp().endsWith("Z"));
+        assertFalse(added.instant().isBefore(before));
+        assertEquals(added.instant().atZone(ZoneId.systemDefault()).format(TIMESTAMP_FORMAT), added.localTimestamp());
+    }
+
+    @Test
+    void concurrentWritersAppendRecordsInIdAndTimeOrder() throws InterruptedException {
+        ExecutorService writers = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 400; i++) {
+            long entityId = i;
+            writers.execute(() -> log("PROPOSAL", entityId, "v" + entityId));
+        }
+        writers.shutdown();
+        assertTrue(writers.awaitTermination(30, TimeUnit.SECONDS));
+
+        List<AuditLog> logs = repository.readAuditLogs();
+        assertEquals(400, logs.size());
+        for (int i = 0; i < logs.size(); i++) {
+            assertEquals(i + 1L, logs.get(i).id());
+            if (i > 0) {
+                assertFalse(logs.get(i).instant().isBefore(logs.get(i - 1).instant()));
+            }
+        }
+    }
+
+    private void log(String entityName, Long entityId, String newValue) {
+        repository.logChange(new AuditLog(null, 1L, "ADMIN", "UPDATE", entityName, entityId,
+                null, newValue, null));
+    }
+
+    private static AuditLog entry(long id, LocalDateTime timestamp) {
+        return new AuditLog(id, 1L, "ADMIN", "UPDATE", "PROPOSAL", id, null, "v" + id,
+                timestamp.format(TIMESTAMP_FORMAT));
+    }
+
+    /**
+     * Zapisuje audit datoteku kakvu bi zapisivanje zapis po zapis ostavilo, ali sa zadanim ID-jevima i vremenima.
+     */
+    private void writeLog(List<AuditLog> logs) throws IOException {
+        try (ObjectOutputStream out = new ObjectOutputStream(
+                new FileOutputStream(directory.resolve("audit_log.dat").toFile()))) {
+            for (AuditLog auditLog : logs) {
+                out.writeObject(auditLog);
+                out.reset();
+            }
+        }
+    }
+
+    private static Instant instant(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    private static List<String> values(List<AuditLog> logs) {
+        return logs.stream().map(AuditLog::newValue).toList();
+    }
+}
@@ -0,0 +1,141 @@
+package repository;
+
+import enums.ProposalStatus;
+import model.Proposal;
+import model.ProposalSearchCriteria;
+import model.ProposalSort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Provjerava granice stranica {@link ProposalDatabaseRepository#findPages} nad memorijskom H2 bazom,
+ * s mnogo prijedloga s istom vrijednošću stupca po kojem se poredava.
+ */
+class ProposalKeysetPagingTest {
+
+    private static final int PAGE_SIZE = 4;
+    private static final String[] TITLES = {"Budget", "Audit", "Budget", "Plan", "Budget", "Audit"};
+    private static final Map<Long, String> CLIENT_NAMES = Map.of(1L, "Acme", 2L, "Beta");
+    private static final ProposalSearchCriteria NO_CRITERIA = new ProposalSearchCriteria(null, null, null, null);
+
+    @TempDir
+    Path directory;
+
+    private String databaseUrl;
+    private final List<Proposal> stored = new ArrayList<>();
+    private final ProposalDatabaseRepository<Proposal> repository = new ProposalDatabaseRepository<>();
+
+    @BeforeEach
+    void setUp() throws IOException, SQLException {
+        databaseUrl = "jdbc:h2:mem:" + directory.getFileName() + ";DB_CLOSE_DELAY=-1";
+        Path properties = directory.resolve("database.properties");
+        Files.writeString(properties, "databaseUrl = " + databaseUrl + "\nusername = sa\npassword = \n");
+        System.setProperty("database.properties", properties.toString());
+
+        try (Connection connection = DriverManager.getConnection(databaseUrl, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE CLIENTS(ID BIGINT PRIMARY KEY, NAME VARCHAR(200))");
+            statement.execute("CREATE TABLE PROPOSALS(ID BIGINT AUTO_INCREMENT PRIMARY KEY, TITLE VARCHAR(500),"
+                    + " DESCRIPTION CLOB, STATUS VARCHAR(20), CLIENT_ID BIGINT, USER_ID BIGINT)");
+            statement.execute("INSERT INTO CLIENTS VALUES (1, 'Acme'), (2, 'Beta')");
+
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO PROPOSALS (TITLE, DESCRIPTION, STATUS, CLIENT_ID, USER_ID) VALUES (?, ?, ?, ?, 1)",
+                    Statement.RETURN_GENERATED_KEYS)) {
+                for (int i = 0; i < 23; i++) {
+                    String title = TITLES[i % TITLES.length];
+                    ProposalStatus status = ProposalStatus.values()[i % 2];
+                    long clientId = i % 5 == 0 ? 3 : 1 + i % 2;
+                    insert.setString(1, title);
+                    insert.setString(2, "Description " + i);
+                    insert.setString(3, status.toString());
+                    insert.setLong(4, clientId);
+                    insert.executeUpdate();
+                    try (var keys = insert.getGeneratedKeys()) {
+                        keys.next();
+                        stored.add(new Proposal.Builder(keys.getLong(1)).withTitle(title).withStatus(status)
+                                .withClientId(clientId).withUserId(1L).build());
+                    }
+                }
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        System.clearProperty("database.properties");
+        try (Connection connection = DriverManager.getConnection(databaseUrl, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+    }
+
+    @Test
+    void pagesByTitleContainEveryProposalOnceAcrossEqualTitles() {
+        for (boolean ascending : new boolean[]{true, false}) {
+            assertPagesInOrder(new ProposalSort(ProposalSort.Column.TITLE, ascending), NO_CRITERIA,
+                    Proposal::getTitle);
+        }
+    }
+
+    @Test
+    void pagesByClientTreatMissingClientsAsEmptyNames() {
+        for (boolean ascending : new boolean[]{true, false}) {
+            assertPagesInOrder(new ProposalSort(ProposalSort.Column.CLIENT, ascending), NO_CRITERIA,
+                    proposal -> CLIENT_NAMES.getOrDefault(proposal.getClientId(), ""));
+        }
+    }
+
+    @Test
+    void pagesByStatusApplyCriteriaBeforeKeys() {
+        ProposalSearchCriteria pending = new ProposalSearchCriteria(null, ProposalStatus.PENDING, null, null);
+        assertPagesInOrder(new ProposalSort(ProposalSort.Column.TITLE, true), pending, Proposal::getTitle);
+    }
+
+    @Test
+    void pagesById() {
+        assertPagesInOrder(new ProposalSort(ProposalSort.Column.ID, false), NO_CRITERIA, proposal -> "");
+    }
+
+    private void assertPagesInOrder(ProposalSort sort, ProposalSearchCriteria criteria,
+                                    Function<Proposal, String> sortKey) {
+        Comparator<Proposal> order = Comparator.comparing(sortKey).thenComparingLong(Proposal::getId);
+        List<Long> expected = stored.stream()
+                .filter(proposal -> criteria.status() == null || proposal.getStatus() == criteria.status())
+                .sorted(sort.ascending() ? order : order.reversed())
+                .map(Proposal::getId)
+                .toList();
+
+        PageSource<Proposal> pages = repository.findPages(criteria, sort, PAGE_SIZE, new QueryCancellation());
+        assertEquals(expected.size(), pages.size());
+
+        List<Long> actual = new ArrayList<>();
+        int pageCount = (pages.size() + PAGE_SIZE - 1) / PAGE_SIZE;
+        for (int pageIndex = 0; pageIndex < pageCount; pageIndex++) {
+            List<Proposal> page = pages.loadPage(pageIndex);
+            assertEquals(Math.min(PAGE_SIZE, expected.size() - pageIndex * PAGE_SIZE), page.size());
+            page.forEach(proposal -> actual.add(proposal.getId()));
+        }
+        assertEquals(expected, actual, sort.toString());
+        assertTrue(pages.loadPage(pageCount).isEmpty());
+    }
+}
@@ -0,0 +1,128 @@
+package search;
+
+import model.AuditLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import repository.AuditLogRepository;
+import repository.PageSource;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AuditLogSearchIndexTest {
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 15, 8, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsMatchingPagesFromTheFileIncludingNewRecords() throws IOException {
+        List<AuditLog> logs = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            logs.add(entry(i + 1L, i % 3 == 0 ? "DELETE" : "UPDATE", "value " + (i % 2 == 0 ? "even" : "odd"),
+                    START.plusMinutes(i)));
+        }
+        writeLog(logs);
+        AuditLogRepository repository = new AuditLogRepository(directory);
+        AuditLogSearchIndex index = new AuditLogSearchIndex(repository);
+
+        PageSource<AuditLog> pages = index.searchPages("EVEN", null, null, null, null, 2);
+        assertEquals(5, pages.size());
+        assertEquals(List.of(1L, 3L), ids(pages.loadPage(0)));
+        assertEquals(List.of(9L), ids(pages.loadPage(2)));
+
+        repository.logChange(new AuditLog(null, 1L, "ADMIN", "UPDATE", "PROPOSAL", 1L, null, "even later", null));
+
+        assertEquals(List.of(1L, 3L, 5L, 7L, 9L, 11L), ids(index.search("even", auditLog -> true)));
+        assertEquals(11, index.size());
+    }
+
+    @Test
+    void appliesFilterAndOrderToRecordsReadFromTheFile() throws IOException {
+        writeLog(List.of(
+                entry(1L, "UPDATE", "banana", START),
+                entry(2L, "DELETE", "cherry", START.plusMinutes(1)),
+                entry(3L, "UPDATE", "apple", START.plusMinutes(2)),
+                entry(4L, "UPDATE", "date", START.plusMinutes(3))));
+        AuditLogSearchIndex index = new AuditLogSearchIndex(new AuditLogRepository(directory));
+
+        FilterEngine<AuditLog> updates = FilterEngine.<AuditLog>builder()
+                .equalsIgnoreCase(AuditLog::action, "UPDATE")
+                .build();
+        PageSource<AuditLog> pages = index.searchPages(null, null, null, updates,
+                Comparator.comparing(AuditLog::newValue), 10);
+
+        assertEquals(List.of("apple", "banana", "date"), pages.loadPage(0).stream().map(AuditLog::newValue).toList());
+    }
+
+    @Test
+    void findsRangeIncludingLegacyRecordsSlightlyOutOfOrder() throws IOException {
+        List<AuditLog> logs = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            logs.add(entry(i + 1L, "UPDATE", "v" + i, START.plusSeconds(10L * i)));
+        }
+        // Stariji zapisi mogli su biti dodani do minute izvan redoslijeda vremena.
+        Collections.swap(logs, 98, 100);
+        writeLog(logs);
+        AuditLogSearchIndex index = new AuditLogSearchIndex(new AuditLogRepository(directory));
+
+        List<AuditLog> range = index.search(null, instant(START.plusSeconds(1000)),
+                instant(START.plusSeconds(1050)), auditLog -> true);
+
+        assertEquals(List.of(101L, 102L, 103L, 104L, 105L), ids(range));
+    }
+
+    @Test
+    void readsEntriesOfALegacyListRecordFollowedByAppendedRecords() throws IOException {
+        try (ObjectOutputStream out = new ObjectOutputStream(
+                new FileOutputStream(directory.resolve("audit_log.dat").toFile()))) {
+            out.writeObject(new ArrayList<>(List.of(
+                    entry(1L, "UPDATE", "legacy first", START),
+                    entry(2L, "UPDATE", "legacy second", START.plusMinutes(1)))));
+        }
+        AuditLogRepository repository = new AuditLogRepository(directory);
+        repository.logChange(new AuditLog(null, 1L, "ADMIN", "UPDATE", "PROPOSAL", 1L, null, "appended", null));
+        AuditLogSearchIndex index = new AuditLogSearchIndex(repository);
+
+        assertEquals(List.of("legacy second"), index.search("second", auditLog -> true).stream()
+                .map(AuditLog::newValue).toList());
+        assertEquals(List.of(1L, 2L, 3L), ids(index.searchPages(null, null, null, null, null, 5).loadPage(0)));
+    }
+
+    private static AuditLog entry(long id, String action, String newValue, LocalDateTime timestamp) {
+        return new AuditLog(id, 1L, "ADMIN", action, "PROPOSAL", id, null, newValue,
+                timestamp.format(TIMESTAMP_FORMAT));
+    }
+
+    private void writeLog(List<AuditLog> logs) throws IOException {
+        try (ObjectOutputStream out = new ObjectOutputStream(
+                new FileOutputStream(directory.resolve("audit_log.dat").toFile()))) {
+            for (AuditLog auditLog : logs) {
+                out.writeObject(auditLog);
+                out.reset();
+            }
+        }
+    }
+
+    private static Instant instant(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    private static List<Long> ids(List<AuditLog> logs) {
+        return logs.stream().map(AuditLog::id).toList();
+    }
+}
@@ -0,0 +1,104 @@
+package search;
+
+import model.Client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Mjerenje brzine filtriranja klijenata u memoriji bez grafičkog sučelja i bez pristupa bazi.
+ * Uspoređuje filtriranje u više prolaza (jedan {@code stream} po polju, s {@code toLowerCase()} za svaki redak)
+ * s jednim prolazom kroz {@link FilterEngine}, sekvencijalno i paralelno.
+ * Nalazi se među testnim izvorima kako ne bi bio dio aplikacije. Primjer pokretanja:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=search.FilterBenchmark -Dexec.args="100000 1000000"}
+ */
+public class FilterBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASURED_ITERATIONS = 20;
+    private static final String[] COMPANIES = {"Acme", "Globex", "Initech", "Umbrella", "Hooli", "Stark", "Wayne", "Wonka"};
+
+    /**
+     * Privatni konstruktor kako bi se spriječilo stvaranje instanci.
+     */
+    private FilterBenchmark() {
+    }
+
+    /**
+     * Pokreće mjerenje za svaki zadani broj redaka i ispisuje prosječno trajanje jednog filtriranja.
+     *
+     * @param args Brojevi redaka; zadano 100000 i 1000000.
+     */
+    public static void main(String[] args) {
+        String[] sizes = args.length > 0 ? args : new String[]{"100000", "1000000"};
+
+        for (String size : sizes) {
+            List<Client> clients = generateClients(Integer.parseInt(size));
+            String name = "client 1";
+            String email = "@example";
+            String company = "TECH";
+
+            FilterEngine<Client> filter = FilterEngine.<Client>builder()
+                    .contains(Client::getName, name)
+                    .contains(Client::getEmail, email)
+                    .contains(Client::getCompany, company)
+                    .build();
+
+            System.out.printf("%n%,d rows%n", clients.size());
+            measure("multi-pass streams with toLowerCase", () -> multiPass(clients, name, email, company));
+            measure("FilterEngine, single pass", () -> sequential(filter, clients));
+            measure("FilterEngine, fork/join parallel", () -> filter.filter(clients));
+        }
+    }
+
+    /**
+     * Filtrira na način na koji su ekrani za pretragu filtrirali prije uvođenja {@link FilterEngine}-a.
+     */
+    private static List<Client> multiPass(List<Client> clients, String name, String email, String company) {
+        List<Client> result = new ArrayList<>(clients.stream()
+                .filter(client -> client.getName().toLowerCase().contains(name.toLowerCase()))
+                .toList());
+        result = new ArrayList<>(result.stream()
+                .filter(client -> client.getEmail().toLowerCase().contains(email.toLowerCase()))
+                .toList());
+        return new ArrayList<>(result.stream()
+                .filter(client -> client.getCompany().toLowerCase().contains(company.toLowerCase()))
+                .toList());
+    }
+
+    private static List<Client> sequential(FilterEngine<Client> filter, List<Client> clients) {
+        List<Client> result = new ArrayList<>();
+        for (Client client : clients) {
+            if (filter.test(client)) {
+                result.add(client);
+            }
+        }
+        return result;
+    }
+
+    private static void measure(String name, Supplier<List<Client>> filtering) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            filtering.get();
+        }
+
+        int matches = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            matches = filtering.get().size();
+        }
+        double averageMillis = (System.nanoTime() - start) / 1e6 / MEASURED_ITERATIONS;
+        System.out.printf("  %-40s %8.2f ms/op, %d matches%n", name, averageMillis, matches);
+    }
+
+    private static List<Client> generateClients(int count) {
+        Random random = new Random(42);
+        List<Client> clients = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String company = COMPANIES[random.nextInt(COMPANIES.length)] + (random.nextBoolean() ? " Tech" : " Industries");
+            clients.add(new Client(i, "Client " + i, "client" + i + "@example.com", "555-" + i, company));
+        }
+        return clients;
+    }
+}
@@ -0,0 +1,85 @@
+package search;
+
+import enums.ChangeType;
+import enums.EntityType;
+import enums.ProposalStatus;
+import event.ChangeEvent;
+import event.ChangeEventBus;
+import model.Proposal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProposalSearchIndexTest {
+
+    private Map<Long, String> storedTitles;
+    private int loads;
+    private boolean failLoad;
+    private ProposalSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        storedTitles = new LinkedHashMap<>(Map.of(3L, "Website redesign", 1L, "Market review", 2L, "Budget plan"));
+        loads = 0;
+        failLoad = false;
+        index = new ProposalSearchIndex(consumer -> {
+            loads++;
+            if (failLoad) {
+                throw new IllegalStateException("Database unavailable");
+            }
+            storedTitles.forEach(consumer);
+        });
+    }
+
+    @Test
+    void buildsOnceOnFirstSearch() {
+        assertEquals(List.of(1L), index.findByTitle("MARKET"));
+        assertEquals(List.of(2L), index.findByTitle("an"));
+        assertEquals(1, loads);
+    }
+
+    @Test
+    void appliesPublishedChangesAfterBuilding() {
+        index.ensureBuilt();
+
+        ChangeEventBus.publish(new ChangeEvent(ChangeType.UPDATED, EntityType.PROPOSAL, 3,
+                Set.of("title"), proposal(3, "Market entry")));
+        ChangeEventBus.publish(new ChangeEvent(ChangeType.DELETED, EntityType.PROPOSAL, 1, Set.of(), null));
+        ChangeEventBus.publish(new ChangeEvent(ChangeType.CREATED, EntityType.PROPOSAL, 4,
+                Set.of(), proposal(4, "Market salaries")));
+
+        assertEquals(List.of(3L, 4L), index.findByTitle("market"));
+        assertTrue(index.findByTitle("review").isEmpty());
+    }
+
+    @Test
+    void retriesAfterAFailedLoadWithoutKeepingTheSubscription() {
+        failLoad = true;
+        assertThrows(IllegalStateException.class, () -> index.findByTitle("market"));
+
+        ChangeEventBus.publish(new ChangeEvent(ChangeType.CREATED, EntityType.PROPOSAL, 5,
+                Set.of(), proposal(5, "Market research")));
+
+        failLoad = false;
+        assertEquals(List.of(1L), index.findByTitle("market"));
+        assertEquals(2, loads);
+    }
+
+    private static Proposal proposal(long id, String title) {
+        return new Proposal.Builder(id)
+                .withTitle(title)
+                .withDescription("")
+                .withStatus(ProposalStatus.PENDING)
+                .withClientId(1L)
+                .withUserId(1L)
+                .build();
+    }
+}
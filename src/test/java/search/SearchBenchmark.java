@@ -0,0 +1,80 @@
+package search;
+
+import database.DatabaseSchema;
+import model.Proposal;
+import model.ProposalSearchCriteria;
+import repository.ProposalDatabaseRepository;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Jednostavno mjerenje brzine pretrage prijedloga bez grafičkog sučelja.
+ * Uspoređuje {@code LIKE} upit u bazi i memorijski indeks trigrama nad naslovima prijedloga.
+ * Nalazi se među testnim izvorima kako ne bi bio dio aplikacije. Primjer pokretanja:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=search.SearchBenchmark -Dexec.args="'market review' 20"}
+ */
+public class SearchBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 3;
+
+    /**
+     * Privatni konstruktor kako bi se spriječilo stvaranje instanci.
+     */
+    private SearchBenchmark() {
+    }
+
+    /**
+     * Pokreće mjerenje i ispisuje prosječno trajanje i broj rezultata za svaki način pretrage.
+     *
+     * @param args {@code <upit> [broj ponavljanja]}
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: SearchBenchmark <query> [iterations]");
+            System.exit(2);
+        }
+
+        String query = args[0];
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        DatabaseSchema.initialize();
+
+        ProposalDatabaseRepository<Proposal> proposalRepository = new ProposalDatabaseRepository<>();
+        ProposalSearchIndex proposalSearchIndex = ProposalSearchIndex.getInstance();
+
+        long buildStart = System.nanoTime();
+        proposalSearchIndex.ensureBuilt();
+        System.out.printf("In-memory index build: %.1f ms%n", (System.nanoTime() - buildStart) / 1e6);
+
+        measure("LIKE on proposal title", iterations, () -> {
+            AtomicLong count = new AtomicLong();
+            proposalRepository.forEachMatching(new ProposalSearchCriteria(query, null, null, null),
+                    (proposal, clientName) -> count.incrementAndGet());
+            return count.get();
+        });
+        measure("In-memory trigram proposal titles", iterations,
+                () -> proposalSearchIndex.findByTitle(query).size());
+    }
+
+    /**
+     * Izvodi pretragu nekoliko puta za zagrijavanje, a zatim mjeri prosječno trajanje.
+     *
+     * @param name Naziv načina pretrage.
+     * @param iterations Broj mjerenih ponavljanja.
+     * @param search Pretraga koja vraća broj rezultata.
+     */
+    private static void measure(String name, int iterations, LongSupplier search) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            search.getAsLong();
+        }
+
+        long results = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            results = search.getAsLong();
+        }
+        double averageMillis = (System.nanoTime() - start) / 1e6 / iterations;
+        System.out.printf("%-50s %8.2f ms/query, %d results%n", name, averageMillis, results);
+    }
+}
@@ -0,0 +1,90 @@
+package search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramIndexTest {
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        index.put(1, "Market Review 2024");
+        index.put(2, "Annual market report");
+        index.put(3, "Website redesign");
+    }
+
+    @Test
+    void findsSubstringIgnoringCase() {
+        assertEquals(List.of(1L, 2L), index.search("MARKET"));
+        assertEquals(List.of(1L), index.search("et rev"));
+    }
+
+    @Test
+    void rejectsCandidatesThatHaveAllTrigramsButNotTheSubstring() {
+        index.put(4, "abcd bcde");
+
+        assertEquals(List.of(4L), index.search("bcd"));
+        assertTrue(index.search("abcde").isEmpty());
+    }
+
+    @Test
+    void keepsTheOriginalTextAndMatchesItsCaseInsensitively() {
+        index.put(4, "ÜBER Straße");
+
+        assertEquals(List.of(4L), index.search("über str"));
+        assertEquals(List.of(4L), index.search("STRA"));
+        assertEquals(List.of(1L, 2L), index.search("Market"));
+    }
+
+    @Test
+    void keepsPostingsSortedForOutOfOrderIds() {
+        index.put(10, "market");
+        index.put(0, "Market");
+
+        assertEquals(List.of(0L, 1L, 2L, 10L), index.search("market"));
+        index.remove(2);
+        assertEquals(List.of(0L, 1L, 10L), index.search("arket"));
+    }
+
+    @Test
+    void returnsNothingWhenAQueryTrigramIsUnknown() {
+        assertTrue(index.search("marxet").isEmpty());
+    }
+
+    @Test
+    void scansAllDocumentsForQueriesShorterThanATrigram() {
+        assertEquals(List.of(1L, 2L, 3L), index.search("e"));
+        assertEquals(List.of(1L, 2L), index.search("RK"));
+        assertEquals(List.of(1L, 2L, 3L), index.search(""));
+    }
+
+    @Test
+    void replacesAndRemovesDocuments() {
+        index.put(1, "Budget plan");
+
+        assertEquals(List.of(2L), index.search("market"));
+        assertEquals(List.of(1L), index.search("budget"));
+
+        index.remove(1);
+        index.remove(42);
+
+        assertTrue(index.search("budget").isEmpty());
+        assertTrue(index.search("bu").isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void indexesMissingTextAsEmpty() {
+        index.put(5, null);
+
+        assertEquals(List.of(1L, 2L, 3L, 5L), index.search(""));
+        assertEquals(List.of(3L), index.search("site"));
+    }
+}
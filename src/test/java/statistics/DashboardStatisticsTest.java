@@ -0,0 +1,170 @@
+package statistics;
+
+import enums.ChangeType;
+import enums.EntityType;
+import enums.ProposalStatus;
+import event.ChangeEvent;
+import event.ChangeEventBus;
+import model.Client;
+import model.DashboardSummary;
+import model.DashboardSummary.ClientTotal;
+import model.Proposal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import repository.DashboardRepository;
+import repository.DashboardRepository.ProposalState;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DashboardStatisticsTest {
+
+    private Map<ProposalStatus, Long> statusCounts;
+    private Map<Long, ProposalState> proposals;
+    private List<ClientTotal> clientTotals;
+
+    @BeforeEach
+    void setUp() {
+        statusCounts = new EnumMap<>(Map.of(ProposalStatus.PENDING, 2L, ProposalStatus.APPROVED, 1L));
+        proposals = new HashMap<>(Map.of(
+                1L, new ProposalState(ProposalStatus.PENDING, 10),
+                2L, new ProposalState(ProposalStatus.PENDING, 10),
+                3L, new ProposalState(ProposalStatus.APPROVED, 20)));
+        clientTotals = List.of(new ClientTotal(10, "Acme", 2), new ClientTotal(20, "Beta", 1),
+                new ClientTotal(30, "Gamma", 0));
+    }
+
+    @Test
+    void summarizesInitialLoad() {
+        DashboardSummary summary = load().summary();
+
+        assertEquals(3, summary.totalProposals());
+        assertEquals(2, summary.count(ProposalStatus.PENDING));
+        assertEquals(1, summary.count(ProposalStatus.APPROVED));
+        assertEquals(0, summary.count(ProposalStatus.REJECTED));
+        assertEquals(List.of(new ClientTotal(10, "Acme", 2), new ClientTotal(20, "Beta", 1)), summary.topClients());
+        assertEquals(1, summary.recentActivity().size());
+    }
+
+    @Test
+    void countsCreatedProposal() {
+        DashboardStatistics statistics = load();
+
+        publish(ChangeType.CREATED, proposal(4, ProposalStatus.PENDING, 20));
+
+        DashboardSummary summary = statistics.summary();
+        assertEquals(4, summary.totalProposals());
+        assertEquals(3, summary.count(ProposalStatus.PENDING));
+        assertEquals(List.of(new ClientTotal(10, "Acme", 2), new ClientTotal(20, "Beta", 2)), summary.topClients());
+        assertEquals(ChangeType.CREATED, summary.recentActivity().get(0).changeType());
+    }
+
+    @Test
+    void movesUpdatedProposalBetweenStatusesAndClients() {
+        DashboardStatistics statistics = load();
+
+        publish(ChangeType.UPDATED, proposal(1, ProposalStatus.REJECTED, 10));
+        publish(ChangeType.UPDATED, proposal(2, ProposalStatus.PENDING, 30));
+
+        DashboardSummary summary = statistics.summary();
+        assertEquals(3, summary.totalProposals());
+        assertEquals(1, summary.count(ProposalStatus.PENDING));
+        assertEquals(1, summary.count(ProposalStatus.REJECTED));
+        assertEquals(1, summary.count(ProposalStatus.APPROVED));
+        assertEquals(List.of(new ClientTotal(10, "Acme", 1), new ClientTotal(20, "Beta", 1),
+                new ClientTotal(30, "Gamma", 1)), summary.topClients());
+    }
+
+    @Test
+    void removesDeletedProposal() {
+        DashboardStatistics statistics = load();
+
+        ChangeEventBus.publish(new ChangeEvent(ChangeType.DELETED, EntityType.PROPOSAL, 3, Set.of(), null));
+
+        DashboardSummary summary = statistics.summary();
+        assertEquals(2, summary.totalProposals());
+        assertEquals(0, summary.count(ProposalStatus.APPROVED));
+        assertEquals(List.of(new ClientTotal(10, "Acme", 2)), summary.topClients());
+    }
+
+    @Test
+    void ignoresEventAlreadyReflectedInInitialLoad() {
+        DashboardStatistics statistics = load();
+
+        publish(ChangeType.CREATED, proposal(1, ProposalStatus.PENDING, 10));
+
+        DashboardSummary summary = statistics.summary();
+        assertEquals(3, summary.totalProposals());
+        assertEquals(2, summary.count(ProposalStatus.PENDING));
+        assertEquals(List.of(new ClientTotal(10, "Acme", 2), new ClientTotal(20, "Beta", 1)), summary.topClients());
+    }
+
+    @Test
+    void appliesEventPublishedDuringLoadOnlyOnce() throws InterruptedException {
+        Thread publisher = new Thread(() -> publish(ChangeType.CREATED, proposal(4, ProposalStatus.APPROVED, 30)));
+        DashboardStatistics statistics = new DashboardStatistics(() -> {
+            publisher.start();
+            while (publisher.getState() != Thread.State.BLOCKED) {
+                Thread.onSpinWait();
+            }
+            // Baza je pročitana nakon što je prijedlog 4 spremljen, ali prije nego što je događaj primijenjen.
+            statusCounts.merge(ProposalStatus.APPROVED, 1L, Long::sum);
+            proposals.put(4L, new ProposalState(ProposalStatus.APPROVED, 30));
+            return new DashboardRepository.Aggregates(statusCounts, List.of(new ClientTotal(10, "Acme", 2),
+                    new ClientTotal(20, "Beta", 1), new ClientTotal(30, "Gamma", 1)), proposals);
+        }, limit -> List.of());
+
+        statistics.ensureBuilt();
+        publisher.join();
+
+        DashboardSummary summary = statistics.summary();
+        assertEquals(4, summary.totalProposals());
+        assertEquals(2, summary.count(ProposalStatus.APPROVED));
+        assertEquals(new ClientTotal(30, "Gamma", 1), summary.topClients().get(2));
+    }
+
+    @Test
+    void followsClientRenamesAndDeletions() {
+        DashboardStatistics statistics = load();
+
+        publish(ChangeType.UPDATED, new Client(20, "Beta Ltd", "b@example.com", "1", "Beta"));
+        ChangeEventBus.publish(new ChangeEvent(ChangeType.DELETED, EntityType.CLIENT, 10, Set.of(), null));
+
+        assertEquals(List.of(new ClientTotal(20, "Beta Ltd", 1)), statistics.summary().topClients());
+        assertTrue(statistics.isBuilt());
+    }
+
+    private DashboardStatistics load() {
+        DashboardStatistics statistics = new DashboardStatistics(
+                () -> new DashboardRepository.Aggregates(statusCounts, clientTotals, proposals),
+                limit -> List.of(new DashboardSummary.RecentChange(EntityType.PROPOSAL, 3, ChangeType.CREATED,
+                        Set.of(), LocalDateTime.now())));
+        statistics.ensureBuilt();
+        return statistics;
+    }
+
+    private static Proposal proposal(long id, ProposalStatus status, long clientId) {
+        return new Proposal.Builder(id)
+                .withTitle("Proposal " + id)
+                .withDescription("")
+                .withStatus(status)
+                .withClientId(clientId)
+                .withUserId(1L)
+                .build();
+    }
+
+    private static void publish(ChangeType changeType, Proposal proposal) {
+        ChangeEventBus.publish(new ChangeEvent(changeType, EntityType.PROPOSAL, proposal.getId(), Set.of(), proposal));
+    }
+
+    private static void publish(ChangeType changeType, Client client) {
+        ChangeEventBus.publish(new ChangeEvent(changeType, EntityType.CLIENT, client.getId(), Set.of("name"), client));
+    }
+}